@@ -13,6 +13,8 @@ import com.emc.object.s3.S3Config;
 import com.emc.object.s3.jersey.S3JerseyClient;
 import com.google.common.base.Preconditions;
 import io.pravega.segmentstore.storage.AsyncStorageWrapper;
+import io.pravega.segmentstore.storage.SegmentPackingPolicy;
+import io.pravega.segmentstore.storage.SegmentRollingPolicy;
 import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.rolling.RollingStorage;
@@ -24,6 +26,7 @@ import java.util.concurrent.ExecutorService;
 public class ExtendedS3StorageFactory implements StorageFactory {
     private final ExtendedS3StorageConfig config;
     private final ExecutorService executor;
+    private final SegmentPackingPolicy packingPolicy;
 
     /**
      * Creates a new instance of the NFSStorageFactory class.
@@ -32,10 +35,23 @@ public class ExtendedS3StorageFactory implements StorageFactory {
      * @param executor An executor to use for background operations.
      */
     public ExtendedS3StorageFactory(ExtendedS3StorageConfig config, ExecutorService executor) {
+        this(config, executor, SegmentPackingPolicy.NO_PACKING);
+    }
+
+    /**
+     * Creates a new instance of the ExtendedS3StorageFactory class.
+     *
+     * @param config        The Configuration to use.
+     * @param executor      An executor to use for background operations.
+     * @param packingPolicy The SegmentPackingPolicy to apply to all Storage adapters created by this factory.
+     */
+    public ExtendedS3StorageFactory(ExtendedS3StorageConfig config, ExecutorService executor, SegmentPackingPolicy packingPolicy) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkNotNull(packingPolicy, "packingPolicy");
         this.config = config;
         this.executor = executor;
+        this.packingPolicy = packingPolicy;
     }
 
     @Override
@@ -47,6 +63,6 @@ public class ExtendedS3StorageFactory implements StorageFactory {
 
         S3JerseyClient client = new S3JerseyClient(s3Config);
         ExtendedS3Storage s = new ExtendedS3Storage(client, this.config);
-        return new AsyncStorageWrapper(new RollingStorage(s), this.executor);
+        return new AsyncStorageWrapper(new RollingStorage(s, SegmentRollingPolicy.NO_ROLLING, this.packingPolicy), this.executor);
     }
 }
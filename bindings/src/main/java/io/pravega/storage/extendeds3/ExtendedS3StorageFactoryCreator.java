@@ -10,6 +10,7 @@
 package io.pravega.storage.extendeds3;
 
 import io.pravega.segmentstore.storage.ConfigSetup;
+import io.pravega.segmentstore.storage.SegmentPackingConfig;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.StorageFactoryCreator;
 import java.util.concurrent.ScheduledExecutorService;
@@ -17,7 +18,8 @@ import java.util.concurrent.ScheduledExecutorService;
 public class ExtendedS3StorageFactoryCreator implements StorageFactoryCreator {
     @Override
     public StorageFactory createFactory(ConfigSetup setup, ScheduledExecutorService executor) {
-        return new ExtendedS3StorageFactory(setup.getConfig(ExtendedS3StorageConfig::builder), executor);
+        return new ExtendedS3StorageFactory(setup.getConfig(ExtendedS3StorageConfig::builder), executor,
+                setup.getConfig(SegmentPackingConfig::builder).getPackingPolicy());
     }
 
     @Override
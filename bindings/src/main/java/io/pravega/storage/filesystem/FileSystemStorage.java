@@ -45,6 +45,8 @@ import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.security.AccessControlException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -155,6 +157,11 @@ public class FileSystemStorage implements SyncStorage {
         execute(handle.getSegmentName(), () -> doWrite(handle, offset, data, length));
     }
 
+    @Override
+    public void write(SegmentHandle handle, long offset, List<ByteBuffer> data) throws StreamSegmentException {
+        execute(handle.getSegmentName(), () -> doWrite(handle, offset, data));
+    }
+
     @Override
     public void seal(SegmentHandle handle) throws StreamSegmentException {
         execute(handle.getSegmentName(), () -> doSeal(handle));
@@ -290,26 +297,8 @@ public class FileSystemStorage implements SyncStorage {
     private Void doWrite(SegmentHandle handle, long offset, InputStream data, int length) throws Exception {
         long traceId = LoggerHelpers.traceEnter(log, "write", handle.getSegmentName(), offset, length);
         Timer timer = new Timer();
-
-        if (handle.isReadOnly()) {
-            throw new IllegalArgumentException("Write called on a readonly handle of segment " + handle.getSegmentName());
-        }
-
-        Path path = Paths.get(config.getRoot(), handle.getSegmentName());
-
-        // Fix for the case where Pravega runs with super user privileges.
-        // This means that writes to readonly files also succeed. We need to explicitly check permissions in this case.
-        if (!isWritableFile(path)) {
-            throw new StreamSegmentSealedException(handle.getSegmentName());
-        }
-
         long totalBytesWritten = 0;
-        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
-            long fileSize = channel.size();
-            if (fileSize != offset) {
-                throw new BadOffsetException(handle.getSegmentName(), fileSize, offset);
-            }
-
+        try (FileChannel channel = openChannelForWrite(handle, offset)) {
             // Wrap the input data into a ReadableByteChannel, but do not close it. Doing so will result in closing
             // the underlying InputStream, which is not desirable if it is to be reused.
             ReadableByteChannel sourceChannel = Channels.newChannel(data);
@@ -328,6 +317,53 @@ public class FileSystemStorage implements SyncStorage {
         return null;
     }
 
+    private Void doWrite(SegmentHandle handle, long offset, List<ByteBuffer> data) throws Exception {
+        // Work on duplicates so that we do not change the positions of the given buffers.
+        ByteBuffer[] buffers = data.stream().map(ByteBuffer::duplicate).toArray(ByteBuffer[]::new);
+        long length = Arrays.stream(buffers).mapToLong(ByteBuffer::remaining).sum();
+        long traceId = LoggerHelpers.traceEnter(log, "write", handle.getSegmentName(), offset, length);
+        Timer timer = new Timer();
+        long totalBytesWritten = 0;
+        try (FileChannel channel = openChannelForWrite(handle, offset)) {
+            // Gathering write straight from the given buffers. Direct buffers (such as Cache contents) are handed to the
+            // OS without any intermediate copies.
+            channel.position(offset);
+            while (totalBytesWritten < length) {
+                long bytesWritten = channel.write(buffers);
+                assert bytesWritten > 0 : "Unable to make any progress writing data.";
+                totalBytesWritten += bytesWritten;
+            }
+            channel.force(false);
+        }
+        FileSystemMetrics.WRITE_LATENCY.reportSuccessEvent(timer.getElapsed());
+        FileSystemMetrics.WRITE_BYTES.add(totalBytesWritten);
+        LoggerHelpers.traceLeave(log, "write", traceId);
+        return null;
+    }
+
+    private FileChannel openChannelForWrite(SegmentHandle handle, long offset) throws IOException, StreamSegmentException {
+        if (handle.isReadOnly()) {
+            throw new IllegalArgumentException("Write called on a readonly handle of segment " + handle.getSegmentName());
+        }
+
+        Path path = Paths.get(config.getRoot(), handle.getSegmentName());
+
+        // Fix for the case where Pravega runs with super user privileges.
+        // This means that writes to readonly files also succeed. We need to explicitly check permissions in this case.
+        if (!isWritableFile(path)) {
+            throw new StreamSegmentSealedException(handle.getSegmentName());
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        if (fileSize != offset) {
+            channel.close();
+            throw new BadOffsetException(handle.getSegmentName(), fileSize, offset);
+        }
+
+        return channel;
+    }
+
     private boolean isWritableFile(Path path) throws IOException {
         PosixFileAttributes attrs = Files.readAttributes(path, PosixFileAttributes.class);
         return attrs.permissions().contains(OWNER_WRITE);
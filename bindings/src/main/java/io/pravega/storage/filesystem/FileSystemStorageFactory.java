@@ -11,6 +11,8 @@ package io.pravega.storage.filesystem;
 
 import com.google.common.base.Preconditions;
 import io.pravega.segmentstore.storage.AsyncStorageWrapper;
+import io.pravega.segmentstore.storage.SegmentPackingPolicy;
+import io.pravega.segmentstore.storage.SegmentRollingPolicy;
 import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.rolling.RollingStorage;
@@ -22,6 +24,7 @@ import java.util.concurrent.ExecutorService;
 public class FileSystemStorageFactory implements StorageFactory {
     private final FileSystemStorageConfig config;
     private final ExecutorService executor;
+    private final SegmentPackingPolicy packingPolicy;
 
     /**
      * Creates a new instance of the FileSystemStorageFactory class.
@@ -30,15 +33,28 @@ public class FileSystemStorageFactory implements StorageFactory {
      * @param executor An executor to use for background operations.
      */
     public FileSystemStorageFactory(FileSystemStorageConfig config, ExecutorService executor) {
+        this(config, executor, SegmentPackingPolicy.NO_PACKING);
+    }
+
+    /**
+     * Creates a new instance of the FileSystemStorageFactory class.
+     *
+     * @param config        The Configuration to use.
+     * @param executor      An executor to use for background operations.
+     * @param packingPolicy The SegmentPackingPolicy to apply to all Storage adapters created by this factory.
+     */
+    public FileSystemStorageFactory(FileSystemStorageConfig config, ExecutorService executor, SegmentPackingPolicy packingPolicy) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkNotNull(packingPolicy, "packingPolicy");
         this.config = config;
         this.executor = executor;
+        this.packingPolicy = packingPolicy;
     }
 
     @Override
     public Storage createStorageAdapter() {
         FileSystemStorage s = new FileSystemStorage(this.config);
-        return new AsyncStorageWrapper(new RollingStorage(s), this.executor);
+        return new AsyncStorageWrapper(new RollingStorage(s, SegmentRollingPolicy.NO_ROLLING, this.packingPolicy), this.executor);
     }
 }
@@ -10,6 +10,7 @@
 package io.pravega.storage.filesystem;
 
 import io.pravega.segmentstore.storage.ConfigSetup;
+import io.pravega.segmentstore.storage.SegmentPackingConfig;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.StorageFactoryCreator;
 import java.util.concurrent.ScheduledExecutorService;
@@ -23,6 +24,7 @@ public class FileSystemStorageFactoryCreator implements StorageFactoryCreator {
 
     @Override
     public StorageFactory createFactory(ConfigSetup setup, ScheduledExecutorService executor) {
-        return new FileSystemStorageFactory(setup.getConfig(FileSystemStorageConfig::builder), executor);
+        return new FileSystemStorageFactory(setup.getConfig(FileSystemStorageConfig::builder), executor,
+                setup.getConfig(SegmentPackingConfig::builder).getPackingPolicy());
     }
 }
@@ -28,7 +28,9 @@ import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
@@ -77,6 +79,7 @@ class HDFSStorage implements SyncStorage {
     private static final FsPermission READONLY_PERMISSION = new FsPermission(FsAction.READ, FsAction.READ, FsAction.READ);
     private static final int MAX_ATTEMPT_COUNT = 3;
     private static final long MAX_EPOCH = Long.MAX_VALUE;
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
 
     private static final Retry.RetryAndThrowExceptionally<FileNotFoundException, IOException> HDFS_RETRY = Retry
             .withExpBackoff(1, 5, MAX_ATTEMPT_COUNT)
@@ -340,6 +343,20 @@ class HDFSStorage implements SyncStorage {
 
     @Override
     public void write(SegmentHandle handle, long offset, InputStream data, int length) throws StreamSegmentException {
+        // We need to be very careful with IOUtils.copyBytes. There are many overloads with very similar signatures.
+        // There is a difference between (InputStream, OutputStream, int, boolean) and (InputStream, OutputStream, long, boolean),
+        // in that the one with "int" uses the third arg as a buffer size, and the one with "long" uses it as the number
+        // of bytes to copy.
+        write(handle, offset, length, stream -> IOUtils.copyBytes(data, stream, (long) length, false));
+    }
+
+    @Override
+    public void write(SegmentHandle handle, long offset, List<ByteBuffer> data) throws StreamSegmentException {
+        int length = data.stream().mapToInt(ByteBuffer::remaining).sum();
+        write(handle, offset, length, stream -> writeBuffers(data, stream));
+    }
+
+    private void write(SegmentHandle handle, long offset, int length, StreamWriter writer) throws StreamSegmentException {
         ensureInitializedAndNotClosed();
         long traceId = LoggerHelpers.traceEnter(log, "write", handle, offset, length);
         handle = asWritableHandle(handle);
@@ -375,12 +392,7 @@ class HDFSStorage implements SyncStorage {
                 return;
             }
 
-            // We need to be very careful with IOUtils.copyBytes. There are many overloads with very similar signatures.
-            // There is a difference between (InputStream, OutputStream, int, boolean) and (InputStream, OutputStream, long, boolean),
-            // in that the one with "int" uses the third arg as a buffer size, and the one with "long" uses it as the number
-            // of bytes to copy.
-            IOUtils.copyBytes(data, stream, (long) length, false);
-
+            writer.writeTo(stream);
             stream.flush();
         } catch (IOException ex) {
             throw HDFSExceptionHelpers.convertException(handle.getSegmentName(), ex);
@@ -654,5 +666,37 @@ class HDFSStorage implements SyncStorage {
         return length;
     }
 
+    private void writeBuffers(List<ByteBuffer> data, FSDataOutputStream stream) throws IOException {
+        byte[] transferBuffer = null;
+        for (ByteBuffer b : data) {
+            if (b.hasArray()) {
+                // Heap buffer: write directly from its backing array.
+                stream.write(b.array(), b.arrayOffset() + b.position(), b.remaining());
+            } else {
+                // Direct (or read-only) buffer: HDFS streams only accept byte arrays, so we copy it in pieces. Work on a
+                // duplicate so that we do not change the position of the given buffer.
+                if (transferBuffer == null) {
+                    transferBuffer = new byte[TRANSFER_BUFFER_SIZE];
+                }
+
+                ByteBuffer source = b.duplicate();
+                while (source.hasRemaining()) {
+                    int length = Math.min(source.remaining(), transferBuffer.length);
+                    source.get(transferBuffer, 0, length);
+                    stream.write(transferBuffer, 0, length);
+                }
+            }
+        }
+    }
+
+    //endregion
+
+    //region StreamWriter
+
+    @FunctionalInterface
+    private interface StreamWriter {
+        void writeTo(FSDataOutputStream stream) throws IOException;
+    }
+
     //endregion
 }
@@ -11,6 +11,8 @@ package io.pravega.storage.hdfs;
 
 import com.google.common.base.Preconditions;
 import io.pravega.segmentstore.storage.AsyncStorageWrapper;
+import io.pravega.segmentstore.storage.SegmentPackingPolicy;
+import io.pravega.segmentstore.storage.SegmentRollingPolicy;
 import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.rolling.RollingStorage;
@@ -22,6 +24,7 @@ import java.util.concurrent.Executor;
 public class HDFSStorageFactory implements StorageFactory {
     private final HDFSStorageConfig config;
     private final Executor executor;
+    private final SegmentPackingPolicy packingPolicy;
 
     /**
      * Creates a new instance of the HDFSStorageFactory class.
@@ -30,15 +33,28 @@ public class HDFSStorageFactory implements StorageFactory {
      * @param executor An executor to use for background operations.
      */
     public HDFSStorageFactory(HDFSStorageConfig config, Executor executor) {
+        this(config, executor, SegmentPackingPolicy.NO_PACKING);
+    }
+
+    /**
+     * Creates a new instance of the HDFSStorageFactory class.
+     *
+     * @param config        The Configuration to use.
+     * @param executor      An executor to use for background operations.
+     * @param packingPolicy The SegmentPackingPolicy to apply to all Storage adapters created by this factory.
+     */
+    public HDFSStorageFactory(HDFSStorageConfig config, Executor executor, SegmentPackingPolicy packingPolicy) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkNotNull(packingPolicy, "packingPolicy");
         this.config = config;
         this.executor = executor;
+        this.packingPolicy = packingPolicy;
     }
 
     @Override
     public Storage createStorageAdapter() {
         HDFSStorage s = new HDFSStorage(this.config);
-        return new AsyncStorageWrapper(new RollingStorage(s), this.executor);
+        return new AsyncStorageWrapper(new RollingStorage(s, SegmentRollingPolicy.NO_ROLLING, this.packingPolicy), this.executor);
     }
 }
@@ -10,6 +10,7 @@
 package io.pravega.storage.hdfs;
 
 import io.pravega.segmentstore.storage.ConfigSetup;
+import io.pravega.segmentstore.storage.SegmentPackingConfig;
 import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.StorageFactoryCreator;
 import java.util.concurrent.ScheduledExecutorService;
@@ -23,6 +24,7 @@ public class HDFSStorageFactoryCreator implements StorageFactoryCreator {
 
     @Override
     public StorageFactory createFactory(ConfigSetup setup, ScheduledExecutorService executor) {
-        return new HDFSStorageFactory(setup.getConfig(HDFSStorageConfig::builder), executor);
+        return new HDFSStorageFactory(setup.getConfig(HDFSStorageConfig::builder), executor,
+                setup.getConfig(SegmentPackingConfig::builder).getPackingPolicy());
     }
 }
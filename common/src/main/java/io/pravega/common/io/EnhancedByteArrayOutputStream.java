@@ -19,6 +19,22 @@ import java.io.OutputStream;
  * A ByteArrayOutputStream that exposes the contents as a ByteArraySegment, without requiring a memory copy.
  */
 public class EnhancedByteArrayOutputStream extends ByteArrayOutputStream implements RandomAccessOutputStream {
+    /**
+     * Creates a new instance of the EnhancedByteArrayOutputStream class with a default initial capacity.
+     */
+    public EnhancedByteArrayOutputStream() {
+        super();
+    }
+
+    /**
+     * Creates a new instance of the EnhancedByteArrayOutputStream class with the given initial capacity.
+     *
+     * @param initialSize The initial capacity, in bytes.
+     */
+    public EnhancedByteArrayOutputStream(int initialSize) {
+        super(initialSize);
+    }
+
     /**
      * Returns a readonly ByteArraySegment wrapping the current buffer of the ByteArrayOutputStream.
      *
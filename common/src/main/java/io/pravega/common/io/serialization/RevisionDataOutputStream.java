@@ -25,7 +25,7 @@ import javax.annotation.concurrent.NotThreadSafe;
  * RevisionDataOutput implementation that makes use of the {@link #DataOutputStream} for data encoding.
  */
 @NotThreadSafe
-abstract class RevisionDataOutputStream extends DataOutputStream implements RevisionDataOutput {
+public abstract class RevisionDataOutputStream extends DataOutputStream implements RevisionDataOutput {
     //region Constructor
 
     private RevisionDataOutputStream(OutputStream outputStream) {
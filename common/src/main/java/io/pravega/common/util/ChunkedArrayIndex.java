@@ -0,0 +1,393 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.common.util;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * SortedIndex backed by a two-level structure of sorted arrays (similar to a B+Tree with a single inner level).
+ * <p>
+ * Items are stored in Chunks, each of which holds up to {@link #MAX_CHUNK_SIZE} items, sorted by key. The keys are stored
+ * in a primitive long array alongside the items (so that searching does not require dereferencing any items), and the
+ * smallest key of each Chunk is also stored in a primitive long array which is used to locate the Chunk for any given key.
+ * Compared to the tree-based implementations, this index does not allocate an object per item, which significantly
+ * reduces memory usage and GC overhead when holding a large number of items.
+ * <p>
+ * This index is optimized for appending items in increasing key order: a full Chunk that is appended to is not split,
+ * but a new Chunk is started instead, which keeps all Chunks (except the last one) fully utilized.
+ * <p>
+ * Note: This class is not thread-safe and requires external synchronization when in a multi-threaded environment.
+ *
+ * @param <V> The type of the IndexEntries.
+ */
+@NotThreadSafe
+public class ChunkedArrayIndex<V extends SortedIndex.IndexEntry> implements SortedIndex<V> {
+    //region Members
+
+    private static final int MIN_CHUNK_SIZE = 4;
+    private static final int MAX_CHUNK_SIZE = 256;
+    private static final int INITIAL_CHUNK_COUNT = 1;
+    private Chunk[] chunks;
+    private long[] chunkFirstKeys;
+    private int chunkCount;
+    private int size;
+    private int modCount;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ChunkedArrayIndex class.
+     */
+    public ChunkedArrayIndex() {
+        clear();
+    }
+
+    //endregion
+
+    //region SortedIndex Implementation
+
+    @Override
+    public void clear() {
+        this.chunks = new Chunk[INITIAL_CHUNK_COUNT];
+        this.chunkFirstKeys = new long[INITIAL_CHUNK_COUNT];
+        this.chunkCount = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public V put(V item) {
+        Preconditions.checkNotNull(item, "item");
+        long key = item.key();
+        if (this.chunkCount == 0) {
+            insertChunk(0, new Chunk(MIN_CHUNK_SIZE));
+        }
+
+        // Locate the Chunk which should contain this key. If the key is smaller than any existing key, it will go at the
+        // beginning of the first chunk.
+        int chunkIndex = Math.max(0, locateChunk(key));
+        Chunk chunk = this.chunks[chunkIndex];
+        int pos = chunk.search(key);
+        if (pos >= 0) {
+            // Key already exists. Replace the item.
+            V result = chunk.get(pos);
+            chunk.values[pos] = item;
+            return result;
+        }
+
+        pos = -pos - 1;
+        if (chunk.count == MAX_CHUNK_SIZE) {
+            if (pos == MAX_CHUNK_SIZE && chunkIndex == this.chunkCount - 1) {
+                // Appending to the end of the index. Start a new Chunk instead of splitting the current one.
+                chunkIndex++;
+                pos = 0;
+                insertChunk(chunkIndex, new Chunk(MIN_CHUNK_SIZE));
+            } else {
+                // Split the Chunk in half and insert into whichever half the key belongs to.
+                Chunk upper = chunk.split();
+                insertChunk(chunkIndex + 1, upper);
+                if (pos > chunk.count) {
+                    pos -= chunk.count;
+                    chunkIndex++;
+                }
+            }
+
+            chunk = this.chunks[chunkIndex];
+        }
+
+        chunk.insert(pos, key, item);
+        if (pos == 0) {
+            this.chunkFirstKeys[chunkIndex] = key;
+        }
+
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(long key) {
+        int chunkIndex = locateChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+
+        Chunk chunk = this.chunks[chunkIndex];
+        int pos = chunk.search(key);
+        if (pos < 0) {
+            return null;
+        }
+
+        V result = chunk.get(pos);
+        chunk.remove(pos);
+        this.size--;
+        this.modCount++;
+        if (chunk.count == 0) {
+            removeChunk(chunkIndex);
+        } else {
+            if (pos == 0) {
+                this.chunkFirstKeys[chunkIndex] = chunk.keys[0];
+            }
+
+            mergeIfNeeded(chunkIndex);
+        }
+
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public V get(long key) {
+        int chunkIndex = locateChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+
+        Chunk chunk = this.chunks[chunkIndex];
+        int pos = chunk.search(key);
+        return pos >= 0 ? chunk.get(pos) : null;
+    }
+
+    @Override
+    public V getCeiling(long key) {
+        int chunkIndex = locateChunk(key);
+        if (chunkIndex < 0) {
+            // Key is smaller than all the keys in the index (or the index is empty).
+            return getFirst();
+        }
+
+        Chunk chunk = this.chunks[chunkIndex];
+        int pos = chunk.search(key);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+
+        if (pos < chunk.count) {
+            return chunk.get(pos);
+        } else if (chunkIndex < this.chunkCount - 1) {
+            // The ceiling is the first item in the next Chunk.
+            return this.chunks[chunkIndex + 1].get(0);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public V getFloor(long key) {
+        int chunkIndex = locateChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+
+        // The first key in this Chunk is smaller than or equal to the given key, so the result must be in this Chunk.
+        Chunk chunk = this.chunks[chunkIndex];
+        int pos = chunk.search(key);
+        return pos >= 0 ? chunk.get(pos) : chunk.get(-pos - 2);
+    }
+
+    @Override
+    public V getFirst() {
+        return this.chunkCount == 0 ? null : this.chunks[0].get(0);
+    }
+
+    @Override
+    public V getLast() {
+        if (this.chunkCount == 0) {
+            return null;
+        }
+
+        Chunk chunk = this.chunks[this.chunkCount - 1];
+        return chunk.get(chunk.count - 1);
+    }
+
+    @Override
+    public void forEach(Consumer<V> consumer) {
+        Preconditions.checkNotNull(consumer, "consumer");
+        final int originalModCount = this.modCount;
+        for (int i = 0; i < this.chunkCount; i++) {
+            Chunk chunk = this.chunks[i];
+            for (int j = 0; j < chunk.count; j++) {
+                consumer.accept(chunk.get(j));
+                if (originalModCount != this.modCount) {
+                    throw new ConcurrentModificationException("ChunkedArrayIndex has been modified; forEach cannot continue.");
+                }
+            }
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Locates the Chunk that may contain the given key. This is the last Chunk whose first key is smaller than or equal
+     * to the given key.
+     *
+     * @param key The key to search for.
+     * @return The index of the Chunk, or -1 if the index is empty or the key is smaller than all the keys in it.
+     */
+    private int locateChunk(long key) {
+        int pos = Arrays.binarySearch(this.chunkFirstKeys, 0, this.chunkCount, key);
+        return pos >= 0 ? pos : -pos - 2;
+    }
+
+    /**
+     * Merges the Chunk at the given index with one of its neighbors, if it is sparsely populated and their combined
+     * items fit in a single Chunk. This prevents the index from degenerating into many small Chunks after removals.
+     */
+    private void mergeIfNeeded(int chunkIndex) {
+        Chunk chunk = this.chunks[chunkIndex];
+        if (chunk.count > MAX_CHUNK_SIZE / 4) {
+            return;
+        }
+
+        if (chunkIndex < this.chunkCount - 1 && chunk.count + this.chunks[chunkIndex + 1].count <= MAX_CHUNK_SIZE / 2) {
+            chunk.append(this.chunks[chunkIndex + 1]);
+            removeChunk(chunkIndex + 1);
+        } else if (chunkIndex > 0 && chunk.count + this.chunks[chunkIndex - 1].count <= MAX_CHUNK_SIZE / 2) {
+            this.chunks[chunkIndex - 1].append(chunk);
+            removeChunk(chunkIndex);
+        } else {
+            chunk.trim();
+        }
+    }
+
+    private void insertChunk(int chunkIndex, Chunk chunk) {
+        if (this.chunkCount == this.chunks.length) {
+            int newLength = this.chunks.length * 2;
+            this.chunks = Arrays.copyOf(this.chunks, newLength);
+            this.chunkFirstKeys = Arrays.copyOf(this.chunkFirstKeys, newLength);
+        }
+
+        int toMove = this.chunkCount - chunkIndex;
+        System.arraycopy(this.chunks, chunkIndex, this.chunks, chunkIndex + 1, toMove);
+        System.arraycopy(this.chunkFirstKeys, chunkIndex, this.chunkFirstKeys, chunkIndex + 1, toMove);
+        this.chunks[chunkIndex] = chunk;
+        this.chunkFirstKeys[chunkIndex] = chunk.count == 0 ? Long.MIN_VALUE : chunk.keys[0];
+        this.chunkCount++;
+    }
+
+    private void removeChunk(int chunkIndex) {
+        int toMove = this.chunkCount - chunkIndex - 1;
+        System.arraycopy(this.chunks, chunkIndex + 1, this.chunks, chunkIndex, toMove);
+        System.arraycopy(this.chunkFirstKeys, chunkIndex + 1, this.chunkFirstKeys, chunkIndex, toMove);
+        this.chunkCount--;
+        this.chunks[this.chunkCount] = null;
+    }
+
+    //endregion
+
+    //region Chunk
+
+    /**
+     * A sorted array of items and their keys. The arrays grow (and shrink) as needed, up to MAX_CHUNK_SIZE.
+     */
+    private static class Chunk {
+        private long[] keys;
+        private Object[] values;
+        private int count;
+
+        Chunk(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.count = 0;
+        }
+
+        /**
+         * Searches for the given key.
+         *
+         * @return The position of the key, if found, or (-(insertion point) - 1) otherwise.
+         */
+        int search(long key) {
+            return Arrays.binarySearch(this.keys, 0, this.count, key);
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V get(int pos) {
+            return (V) this.values[pos];
+        }
+
+        void insert(int pos, long key, Object value) {
+            if (this.count == this.keys.length) {
+                resize(Math.min(MAX_CHUNK_SIZE, this.keys.length * 2));
+            }
+
+            System.arraycopy(this.keys, pos, this.keys, pos + 1, this.count - pos);
+            System.arraycopy(this.values, pos, this.values, pos + 1, this.count - pos);
+            this.keys[pos] = key;
+            this.values[pos] = value;
+            this.count++;
+        }
+
+        void remove(int pos) {
+            System.arraycopy(this.keys, pos + 1, this.keys, pos, this.count - pos - 1);
+            System.arraycopy(this.values, pos + 1, this.values, pos, this.count - pos - 1);
+            this.count--;
+            this.values[this.count] = null;
+        }
+
+        /**
+         * Moves the upper half of this Chunk's items into a new Chunk.
+         *
+         * @return The new Chunk.
+         */
+        Chunk split() {
+            int splitPos = this.count / 2;
+            Chunk upper = new Chunk(MAX_CHUNK_SIZE);
+            upper.count = this.count - splitPos;
+            System.arraycopy(this.keys, splitPos, upper.keys, 0, upper.count);
+            System.arraycopy(this.values, splitPos, upper.values, 0, upper.count);
+            Arrays.fill(this.values, splitPos, this.count, null);
+            this.count = splitPos;
+            return upper;
+        }
+
+        /**
+         * Appends all the items in the given Chunk to this one. All the keys in the given Chunk must be larger than
+         * the ones in this Chunk.
+         */
+        void append(Chunk other) {
+            int newCount = this.count + other.count;
+            if (newCount > this.keys.length) {
+                resize(Math.min(MAX_CHUNK_SIZE, Math.max(newCount, this.keys.length * 2)));
+            }
+
+            System.arraycopy(other.keys, 0, this.keys, this.count, other.count);
+            System.arraycopy(other.values, 0, this.values, this.count, other.count);
+            this.count = newCount;
+        }
+
+        /**
+         * Shrinks the arrays backing this Chunk if they are mostly unused.
+         */
+        void trim() {
+            if (this.keys.length > MIN_CHUNK_SIZE && this.count < this.keys.length / 4) {
+                resize(Math.max(MIN_CHUNK_SIZE, this.keys.length / 2));
+            }
+        }
+
+        private void resize(int capacity) {
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+    }
+
+    //endregion
+}
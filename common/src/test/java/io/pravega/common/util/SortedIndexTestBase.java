@@ -54,6 +54,16 @@ abstract class SortedIndexTestBase {
         }
     }
 
+    /**
+     * Unit tests for the ChunkedArrayIndex class.
+     */
+    public static class ChunkedArrayIndexTests extends SortedIndexTestBase {
+        @Override
+        protected SortedIndex<TestEntry> createIndex() {
+            return new ChunkedArrayIndex<>();
+        }
+    }
+
     //endregion
 
     //region Test Definitions
@@ -377,16 +387,24 @@ abstract class SortedIndexTestBase {
                 PerfResult partialResult = new PerfResult(itemCount);
                 results.add(partialResult);
 
+                long memoryBefore = getUsedMemory();
                 partialResult.insertElapsed = measure(() -> insert(index, itemCount));
+                partialResult.memoryUsed = getUsedMemory() - memoryBefore;
                 partialResult.getElapsed = measure(() -> readExact(index, itemCount));
                 partialResult.ceilingElapsed = measure(() -> readCeiling(index, itemCount));
                 partialResult.lastElapsed = measure(() -> readLast(index, itemCount));
+                partialResult.removeElapsed = measure(() -> remove(index, itemCount));
+                partialResult.randomInsertElapsed = measure(() -> insertRandom(index, itemCount));
             }
 
             outputStats(indexName, "Insert ", r -> r.insertElapsed, results);
             outputStats(indexName, "Get    ", r -> r.getElapsed, results);
             outputStats(indexName, "Ceiling", r -> r.ceilingElapsed, results);
             outputStats(indexName, "Last   ", r -> r.lastElapsed, results);
+            outputStats(indexName, "Remove ", r -> r.removeElapsed, results);
+            outputStats(indexName, "RndIns ", r -> r.randomInsertElapsed, results);
+            double avgMemory = results.stream().mapToDouble(r -> r.memoryUsed / (double) r.count).average().orElse(-1);
+            System.out.println(String.format("%s.Memory : Avg = %.1f bytes/item", indexName, avgMemory));
         }
 
         private void outputStats(String indexName, String statsName, Function<PerfResult, Long> statsProvider, Collection<PerfResult> results) {
@@ -420,6 +438,25 @@ abstract class SortedIndexTestBase {
             }
         }
 
+        private void remove(SortedIndex<TestEntry> rbt, int count) {
+            for (int i = 0; i < count; i++) {
+                rbt.remove(i);
+            }
+        }
+
+        private void insertRandom(SortedIndex<TestEntry> rbt, int count) {
+            Random rnd = new Random(0);
+            for (int i = 0; i < count; i++) {
+                rbt.put(new TestEntry(rnd.nextInt()));
+            }
+        }
+
+        private long getUsedMemory() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
         private long measure(Runnable r) {
             System.gc();
             long rbtStart = System.nanoTime();
@@ -434,6 +471,9 @@ abstract class SortedIndexTestBase {
             long getElapsed;
             long ceilingElapsed;
             long lastElapsed;
+            long removeElapsed;
+            long randomInsertElapsed;
+            long memoryUsed;
         }
     }
 
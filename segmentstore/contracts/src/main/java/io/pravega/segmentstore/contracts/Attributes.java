@@ -77,6 +77,25 @@ public class Attributes {
      */
     private static final UUID RETIRED_2 = new UUID(CORE_ATTRIBUTE_ID_PREFIX, 6);
 
+    /**
+     * Defines an attribute that is used by the StorageWriter to record the offset where the Segment range covered by
+     * FLUSH_CHECKSUM begins. Unlike other Core Attributes, this one is only stored in the Segment's Attribute Index.
+     */
+    public static final UUID FLUSH_CHECKSUM_START_OFFSET = new UUID(CORE_ATTRIBUTE_ID_PREFIX, 7);
+
+    /**
+     * Defines an attribute that is used by the StorageWriter to record the offset where the Segment range covered by
+     * FLUSH_CHECKSUM ends (exclusive). Unlike other Core Attributes, this one is only stored in the Segment's Attribute Index.
+     */
+    public static final UUID FLUSH_CHECKSUM_END_OFFSET = new UUID(CORE_ATTRIBUTE_ID_PREFIX, 8);
+
+    /**
+     * Defines an attribute that is used by the StorageWriter to record a CRC32 checksum of the Segment data it wrote to
+     * Storage between FLUSH_CHECKSUM_START_OFFSET and FLUSH_CHECKSUM_END_OFFSET. Unlike other Core Attributes, this one
+     * is only stored in the Segment's Attribute Index.
+     */
+    public static final UUID FLUSH_CHECKSUM = new UUID(CORE_ATTRIBUTE_ID_PREFIX, 9);
+
     /**
      * Determines whether the given Attribute Id refers to a Core Attribute.
      *
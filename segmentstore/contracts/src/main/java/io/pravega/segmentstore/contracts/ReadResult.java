@@ -106,6 +106,7 @@ public interface ReadResult extends Iterator<ReadResultEntry>, AutoCloseable {
 
             ReadResultEntryContents contents = entry.getContent().join();
             StreamHelpers.readAll(contents.getData(), target, bytesRead, Math.min(contents.getLength(), target.length - bytesRead));
+            contents.release();
             bytesRead += contents.getLength();
         }
 
@@ -9,14 +9,24 @@
  */
 package io.pravega.segmentstore.contracts;
 
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Contents for a ReadResultEntry.
+ *
+ * Contents may be backed by an InputStream or by a read-only ByteBuf view (which may point directly to data held in the
+ * Cache). In the latter case, this object owns one reference to the ByteBuf; this reference is released either by
+ * invoking {@link #release()} or automatically once the InputStream returned by {@link #getData()} has been fully
+ * consumed or closed. Consumers that use {@link #getBuffer()} directly must invoke {@link #release()} when done.
  */
 public class ReadResultEntryContents {
     private final int length;
     private final InputStream data;
+    private final ByteBuf buffer;
+    private final AtomicBoolean released;
 
     /**
      * Creates a new instance of the ReadResultEntryContents class.
@@ -27,6 +37,21 @@ public class ReadResultEntryContents {
     public ReadResultEntryContents(InputStream data, int length) {
         this.data = data;
         this.length = length;
+        this.buffer = null;
+        this.released = new AtomicBoolean(true);
+    }
+
+    /**
+     * Creates a new instance of the ReadResultEntryContents class that is backed by a buffer.
+     *
+     * @param buffer A ByteBuf containing the data. The readable bytes of this buffer make up the contents. This object
+     *               takes ownership of one reference to it.
+     */
+    public ReadResultEntryContents(ByteBuf buffer) {
+        this.buffer = Preconditions.checkNotNull(buffer, "buffer");
+        this.length = buffer.readableBytes();
+        this.data = new BufferInputStream(buffer.duplicate());
+        this.released = new AtomicBoolean(false);
     }
 
     /**
@@ -49,8 +74,94 @@ public class ReadResultEntryContents {
         return this.data;
     }
 
+    /**
+     * Gets a read-only ByteBuf view of the Data that was retrieved, if these contents are backed by a buffer. The returned
+     * object must not be used after {@link #release()} has been invoked.
+     *
+     * @return A ByteBuf, or null if these contents are only available as an InputStream (see {@link #getData()}).
+     */
+    public ByteBuf getBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Releases the reference to the underlying buffer (if any). Subsequent invocations have no effect.
+     */
+    public void release() {
+        if (this.released.compareAndSet(false, true)) {
+            this.buffer.release();
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("Length = %d", getLength());
     }
+
+    //region BufferInputStream
+
+    /**
+     * InputStream over a ByteBuf which releases the contents once it has been fully consumed or closed.
+     */
+    private class BufferInputStream extends InputStream {
+        private final ByteBuf source;
+
+        BufferInputStream(ByteBuf source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() {
+            if (!this.source.isReadable()) {
+                release();
+                return -1;
+            }
+
+            int result = this.source.readByte() & 0xFF;
+            releaseIfConsumed();
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Preconditions.checkPositionIndexes(off, off + len, b.length);
+            if (len == 0) {
+                return 0;
+            } else if (!this.source.isReadable()) {
+                release();
+                return -1;
+            }
+
+            len = Math.min(len, this.source.readableBytes());
+            this.source.readBytes(b, off, len);
+            releaseIfConsumed();
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            int toSkip = (int) Math.max(0, Math.min(n, this.source.readableBytes()));
+            this.source.skipBytes(toSkip);
+            releaseIfConsumed();
+            return toSkip;
+        }
+
+        @Override
+        public int available() {
+            return this.source.readableBytes();
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+
+        private void releaseIfConsumed() {
+            if (!this.source.isReadable()) {
+                release();
+            }
+        }
+    }
+
+    //endregion
 }
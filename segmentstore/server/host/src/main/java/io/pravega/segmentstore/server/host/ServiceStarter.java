@@ -24,6 +24,10 @@ import io.pravega.segmentstore.server.store.ServiceBuilderConfig;
 import io.pravega.segmentstore.server.store.ServiceConfig;
 import io.pravega.segmentstore.storage.impl.bookkeeper.BookKeeperConfig;
 import io.pravega.segmentstore.storage.impl.bookkeeper.BookKeeperLogFactory;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheConfig;
+import io.pravega.segmentstore.storage.impl.directmemory.DirectMemoryCacheFactory;
+import io.pravega.segmentstore.storage.impl.filelog.FileLogConfig;
+import io.pravega.segmentstore.storage.impl.filelog.FileLogFactory;
 import io.pravega.segmentstore.storage.impl.rocksdb.RocksDBCacheFactory;
 import io.pravega.segmentstore.storage.impl.rocksdb.RocksDBConfig;
 import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
@@ -70,7 +74,7 @@ public final class ServiceStarter {
     private ServiceBuilder createServiceBuilder() {
         ServiceBuilder builder = ServiceBuilder.newInMemoryBuilder(this.builderConfig);
         attachDataLogFactory(builder);
-        attachRocksDB(builder);
+        attachCacheFactory(builder);
         attachStorage(builder);
         attachZKSegmentManager(builder);
         return builder;
@@ -160,6 +164,8 @@ public final class ServiceStarter {
             switch (this.serviceConfig.getDataLogTypeImplementation()) {
                 case BOOKKEEPER:
                     return new BookKeeperLogFactory(setup.getConfig(BookKeeperConfig::builder), this.zkClient, setup.getCoreExecutor());
+                case FILESYSTEM:
+                    return new FileLogFactory(setup.getConfig(FileLogConfig::builder), setup.getCoreExecutor());
                 case INMEMORY:
                     return new InMemoryDurableDataLogFactory(setup.getCoreExecutor());
                 default:
@@ -168,8 +174,18 @@ public final class ServiceStarter {
         });
     }
 
-    private void attachRocksDB(ServiceBuilder builder) {
-        builder.withCacheFactory(setup -> new RocksDBCacheFactory(setup.getConfig(RocksDBConfig::builder)));
+    private void attachCacheFactory(ServiceBuilder builder) {
+        builder.withCacheFactory(setup -> {
+            switch (this.serviceConfig.getCacheImplementation()) {
+                case ROCKSDB:
+                    return new RocksDBCacheFactory(setup.getConfig(RocksDBConfig::builder));
+                case DIRECTMEMORY:
+                    return new DirectMemoryCacheFactory(setup.getConfig(DirectMemoryCacheConfig::builder),
+                            this.serviceConfig.getCachePolicy().getMaxSize());
+                default:
+                    throw new IllegalStateException("Unsupported cache implementation: " + this.serviceConfig.getCacheImplementation());
+            }
+        });
     }
 
     private void attachStorage(ServiceBuilder builder) {
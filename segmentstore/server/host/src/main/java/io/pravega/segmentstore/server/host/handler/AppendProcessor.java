@@ -89,6 +89,8 @@ public class AppendProcessor extends DelegatingRequestProcessor {
     @GuardedBy("lock")
     private final HashMap<Pair<String, UUID>, Long> latestEventNumbers = new HashMap<>();
     @GuardedBy("lock")
+    private final HashMap<UUID, Timer> waitingSince = new HashMap<>();
+    @GuardedBy("lock")
     private Append outstandingAppend = null;
 
     //endregion
@@ -207,12 +209,15 @@ public class AppendProcessor extends DelegatingRequestProcessor {
     }
 
     private Append getNextAppend() {
+        Append result;
+        Duration queueWait;
         synchronized (lock) {
             if (outstandingAppend != null || waitingAppends.isEmpty()) {
                 return null;
             }
             UUID writer = waitingAppends.keys().iterator().next();
             List<Append> appends = waitingAppends.get(writer);
+            queueWait = waitingSince.remove(writer).getElapsed();
             if (appends.get(0).isConditional()) {
                 outstandingAppend = appends.remove(0);
             } else {
@@ -238,8 +243,18 @@ public class AppendProcessor extends DelegatingRequestProcessor {
                 long eventNumber = last.getEventNumber();
                 outstandingAppend = new Append(segment, writer, eventNumber, eventCount, data, null, last.getRequestId());
             }
-            return outstandingAppend;
+
+            if (!appends.isEmpty()) {
+                // Whatever is left behind (i.e., a conditional append) starts waiting from now on.
+                waitingSince.put(writer, new Timer());
+            }
+
+            result = outstandingAppend;
         }
+
+        // Record how long the oldest Append in this batch sat in our queue before being dispatched to the Store.
+        this.statsRecorder.recordAppendQueueWait(queueWait);
+        return result;
     }
 
     private CompletableFuture<Void> storeAppend(Append append) {
@@ -302,6 +317,7 @@ public class AppendProcessor extends DelegatingRequestProcessor {
                 } else {
                     if (!conditionalFailed) {
                         waitingAppends.removeAll(append.getWriterId());
+                        waitingSince.remove(append.getWriterId());
                         latestEventNumbers.remove(Pair.of(append.getSegment(), append.getWriterId()));
                     }
                 }
@@ -413,6 +429,7 @@ public class AppendProcessor extends DelegatingRequestProcessor {
             Preconditions.checkState(lastEventNumber != null, "Data from unexpected connection: %s.", id);
             Preconditions.checkState(append.getEventNumber() >= lastEventNumber, "Event was already appended.");
             waitingAppends.put(id, append);
+            waitingSince.putIfAbsent(id, new Timer());
         }
         pauseOrResumeReading();
         performNextWrite();
@@ -234,10 +234,10 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
         if (!cachedEntries.isEmpty() || endOfSegment) {
             // We managed to collect some data. Send it.
-            ByteBuffer data = copyData(cachedEntries);
+            ByteBuffer data = toReplyData(cachedEntries);
             SegmentRead reply = new SegmentRead(segment, request.getOffset(), atTail, endOfSegment, data, request.getRequestId());
             connection.send(reply);
-            this.statsRecorder.read(segment, reply.getData().array().length);
+            this.statsRecorder.read(segment, data.remaining());
         } else if (truncated) {
             // We didn't collect any data, instead we determined that the current read offset was truncated.
             // Determine the current Start Offset and send that back.
@@ -252,12 +252,12 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
             nonCachedEntry.requestContent(TIMEOUT);
             nonCachedEntry.getContent()
                     .thenAccept(contents -> {
-                        ByteBuffer data = copyData(Collections.singletonList(contents));
+                        ByteBuffer data = toReplyData(Collections.singletonList(contents));
                         SegmentRead reply = new SegmentRead(segment, nonCachedEntry.getStreamSegmentOffset(),
                                                             false, endOfSegment,
                                                             data, request.getRequestId());
                         connection.send(reply);
-                        this.statsRecorder.read(segment, reply.getData().array().length);
+                        this.statsRecorder.read(segment, data.remaining());
                     })
                     .exceptionally(e -> {
                         if (Exceptions.unwrap(e) instanceof StreamSegmentTruncatedException) {
@@ -299,35 +299,69 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     private ReadResultEntry collectCachedEntries(long initialOffset, ReadResult readResult,
                                                  ArrayList<ReadResultEntryContents> cachedEntries) {
         long expectedOffset = initialOffset;
-        while (readResult.hasNext()) {
-            ReadResultEntry entry = readResult.next();
-            if (entry.getType() == Cache) {
-                Preconditions.checkState(entry.getStreamSegmentOffset() == expectedOffset,
-                        "Data returned from read was not contiguous.");
-                ReadResultEntryContents content = entry.getContent().getNow(null);
-                expectedOffset += content.getLength();
-                cachedEntries.add(content);
-            } else {
-                return entry;
+        try {
+            while (readResult.hasNext()) {
+                ReadResultEntry entry = readResult.next();
+                if (entry.getType() == Cache) {
+                    Preconditions.checkState(entry.getStreamSegmentOffset() == expectedOffset,
+                            "Data returned from read was not contiguous.");
+                    ReadResultEntryContents content = entry.getContent().getNow(null);
+                    expectedOffset += content.getLength();
+                    cachedEntries.add(content);
+                } else {
+                    return entry;
+                }
             }
+        } catch (Throwable ex) {
+            // We will not be sending any of these, so they must be released.
+            cachedEntries.forEach(ReadResultEntryContents::release);
+            throw ex;
         }
         return null;
     }
 
     /**
-     * Copy all of the contents provided into a byteBuffer and return it.
+     * Returns a ByteBuffer with all of the contents provided, releasing them in the process.
+     *
+     * If there is a single content backed by a heap buffer, a read-only view of it is returned (no copy is made). Heap
+     * buffers handed out by the Cache are never reused, so it is safe to keep using them after release. In every other
+     * case (multiple contents, off-heap views which may be reused once released, or stream-based contents), all the
+     * contents are copied into a single new ByteBuffer.
      */
     @SneakyThrows(IOException.class)
-    private ByteBuffer copyData(List<ReadResultEntryContents> contents) {
-        int totalSize = contents.stream().mapToInt(ReadResultEntryContents::getLength).sum();
+    private ByteBuffer toReplyData(List<ReadResultEntryContents> contents) {
+        try {
+            return copyReplyData(contents);
+        } finally {
+            // All contents must be released, even if we failed to copy some of them.
+            contents.forEach(ReadResultEntryContents::release);
+        }
+    }
 
+    private ByteBuffer copyReplyData(List<ReadResultEntryContents> contents) throws IOException {
+        if (contents.size() == 1) {
+            ReadResultEntryContents content = contents.get(0);
+            ByteBuf buffer = content.getBuffer();
+            if (buffer != null && !buffer.isDirect() && buffer.nioBufferCount() == 1) {
+                return buffer.nioBuffer();
+            }
+        }
+
+        int totalSize = contents.stream().mapToInt(ReadResultEntryContents::getLength).sum();
         ByteBuffer data = ByteBuffer.allocate(totalSize);
-        int bytesCopied = 0;
         for (ReadResultEntryContents content : contents) {
-            int copied = StreamHelpers.readAll(content.getData(), data.array(), bytesCopied, totalSize - bytesCopied);
-            Preconditions.checkState(copied == content.getLength(), "Read fewer bytes than available.");
-            bytesCopied += copied;
+            ByteBuf buffer = content.getBuffer();
+            if (buffer == null) {
+                int copied = StreamHelpers.readAll(content.getData(), data.array(), data.position(), content.getLength());
+                Preconditions.checkState(copied == content.getLength(), "Read fewer bytes than available.");
+            } else {
+                buffer.getBytes(buffer.readerIndex(), data.array(), data.position(), content.getLength());
+            }
+
+            data.position(data.position() + content.getLength());
         }
+
+        data.flip();
         return data;
     }
 
@@ -56,6 +56,13 @@ public interface SegmentStatsRecorder extends AutoCloseable {
      */
     void recordAppend(String streamSegmentName, long dataLength, int numOfEvents, Duration elapsed);
 
+    /**
+     * Method to record how long appends waited in the connection handler before being handed off to the Segment Store.
+     *
+     * @param elapsed The amount of time elapsed between the first queued append being received and it being dispatched.
+     */
+    void recordAppendQueueWait(Duration elapsed);
+
     /**
      * Method to notify merge of transaction.
      *
@@ -111,6 +118,10 @@ public interface SegmentStatsRecorder extends AutoCloseable {
             public void recordAppend(String streamSegmentName, long dataLength, int numOfEvents, Duration elapsed) {
             }
 
+            @Override
+            public void recordAppendQueueWait(Duration elapsed) {
+            }
+
             @Override
             public void merge(String streamSegmentName, long dataLength, int numOfEvents, long txnCreationTime) {
             }
@@ -86,6 +86,7 @@ public class AppendProcessorTest {
         verifyNoMoreInteractions(store);
 
         verify(mockedRecorder).recordAppend(eq(streamSegmentName), eq(8L), eq(1), any());
+        verify(mockedRecorder).recordAppendQueueWait(any());
     }
 
     @Test
@@ -17,16 +17,22 @@ import io.pravega.common.concurrent.Futures;
 import io.pravega.common.concurrent.Services;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 /**
  * Manages the lifecycle of Cache Entries. Decides which entries are to be kept in memory and which are eligible for
@@ -39,6 +45,17 @@ import lombok.extern.slf4j.Slf4j;
  * (in the clients) that is generated or updated gets assigned the current generation. As the CacheManager determines that
  * there are too many Cache Entries or that the maximum size has been exceeded, it will increment the oldest generation.
  * The CacheManager Clients can use this information to evict those Cache Entries that have a generation below the oldest generation number.
+ *
+ * When using {@link CachePolicy.EvictionMode#SEGMENTED}, the CacheManager also holds an oldest probationary generation
+ * (which is never smaller than the oldest generation). Probationary Cache Entries (those that have not been accessed since
+ * they were added) are evicted if their generation is below it. If the maximum size has been exceeded, the CacheManager
+ * will first try to increment the oldest probationary generation, and only increment the oldest generation if that is
+ * not enough, thus evicting entries that have been used only once before evicting entries that are used repeatedly.
+ *
+ * Each Client is registered under a {@link CachePolicy.PriorityClass}, and each PriorityClass has its own oldest (and oldest
+ * probationary) generation. The current generation is shared by all. Each PriorityClass is kept within its maximum share
+ * of the cache; if the cache as a whole exceeds its maximum size, the excess is evicted from the PriorityClasses with the
+ * lowest priority first, but never from a PriorityClass that does not exceed its minimum (reserved) share.
  */
 @Slf4j
 @ThreadSafe
@@ -46,15 +63,21 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     //region Members
 
     private static final String TRACE_OBJECT_ID = "CacheManager";
+    /**
+     * When using {@link CachePolicy.EvictionMode#SEGMENTED}, the maximum fraction of the cache that protected (non-probationary)
+     * entries may take up before they are evicted ahead of probationary entries.
+     */
+    private static final double MAX_PROTECTED_RATIO = 0.8;
     @GuardedBy("clients")
-    private final Collection<Client> clients;
+    private final Map<Client, ClientGroup> clients;
+    private final Map<String, ClientGroup> groups;
     private final ScheduledExecutorService executorService;
     private final AtomicInteger currentGeneration;
-    private final AtomicInteger oldestGeneration;
     private final AtomicLong cacheSize;
     private final CachePolicy policy;
     private final AtomicBoolean closed;
     private final SegmentStoreMetrics.CacheManager metrics;
+    private final Object policyLock = new Object();
 
     //endregion
 
@@ -71,8 +94,8 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         Preconditions.checkNotNull(executorService, "executorService");
 
         this.policy = policy;
-        this.clients = new HashSet<>();
-        this.oldestGeneration = new AtomicInteger();
+        this.clients = new HashMap<>();
+        this.groups = policy.getPriorityClasses().stream().collect(Collectors.toMap(CachePolicy.PriorityClass::getName, ClientGroup::new));
         this.currentGeneration = new AtomicInteger();
         this.cacheSize = new AtomicLong();
         this.executorService = executorService;
@@ -149,21 +172,33 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     //region Client Registration
 
     /**
-     * Registers the given client to this CacheManager.
+     * Registers the given client to this CacheManager, under the {@link CachePolicy#DEFAULT_PRIORITY_CLASS}.
      *
      * @param client The client to register.
      */
     public void register(Client client) {
+        register(client, CachePolicy.DEFAULT_PRIORITY_CLASS);
+    }
+
+    /**
+     * Registers the given client to this CacheManager.
+     *
+     * @param client        The client to register.
+     * @param priorityClass The name of the {@link CachePolicy.PriorityClass} this client belongs to. If the CachePolicy
+     *                      does not define such a PriorityClass, the {@link CachePolicy#DEFAULT_PRIORITY_CLASS} is used.
+     */
+    public void register(Client client, String priorityClass) {
         Exceptions.checkNotClosed(this.closed.get(), this);
         Preconditions.checkNotNull(client, "client");
+        ClientGroup group = this.groups.get(this.policy.getPriorityClass(priorityClass).getName());
         synchronized (this.clients) {
-            if (!this.clients.contains(client)) {
-                this.clients.add(client);
-                client.updateGenerations(this.currentGeneration.get(), this.oldestGeneration.get());
+            if (!this.clients.containsKey(client)) {
+                this.clients.put(client, group);
+                client.updateGenerations(this.currentGeneration.get(), group.oldestGeneration.get(), group.oldestProbationaryGeneration.get());
             }
         }
 
-        log.info("{} Registered {}.", TRACE_OBJECT_ID, client);
+        log.info("{} Registered {} ({}).", TRACE_OBJECT_ID, client, group.priorityClass.getName());
     }
 
     /**
@@ -187,50 +222,180 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
     //endregion
 
+    //region Cache Full Handling
+
+    /**
+     * Notifies this CacheManager that the underlying Cache is unable to accept new entries and immediately runs a cache
+     * policy iteration which evicts at least one generation from every Priority Class that has data in the cache, even if
+     * the cache does not exceed its maximum size. This is necessary because the CacheManager only tracks the length of
+     * the cached data, which is less than the amount of memory the Cache may actually use to store it.
+     *
+     * @return True if anything was evicted (in which case the caller may retry), false otherwise.
+     */
+    public boolean cacheFull() {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        boolean evicted = runCachePolicy(true);
+        log.info("{}: Cache is full. Evicted = {}.", TRACE_OBJECT_ID, evicted);
+        return evicted;
+    }
+
+    //endregion
+
     //region Helpers
 
+    /**
+     * Applies the CachePolicy to all the registered clients. Only one such evaluation may run at any given time.
+     *
+     * @param forceEviction If true, evicts at least one generation from every Priority Class (that has any data), even if
+     *                      the cache does not exceed its maximum size.
+     * @return True if the size of the cache has been reduced, false otherwise.
+     */
+    private boolean runCachePolicy(boolean forceEviction) {
+        synchronized (this.policyLock) {
+            return applyCachePolicy(forceEviction);
+        }
+    }
+
     protected void applyCachePolicy() {
-        // Run through all the active clients and gather status.
-        CacheStatus currentStatus = collectStatus();
+        runCachePolicy(false);
+    }
+
+    @GuardedBy("policyLock")
+    private boolean applyCachePolicy(boolean forceEviction) {
+        // Run through all the active clients and gather status, for each Priority Class.
+        HashMap<ClientGroup, CacheStatus> groupStatuses = new HashMap<>();
+        for (ClientGroup group : this.groups.values()) {
+            CacheStatus groupStatus = collectStatus(group);
+            if (groupStatus != null) {
+                groupStatuses.put(group, groupStatus);
+            }
+        }
+
+        CacheStatus currentStatus = aggregate(groupStatuses.values());
         if (currentStatus == null || currentStatus.getSize() == 0) {
             // This indicates we have no clients or those clients have no data.
             this.cacheSize.set(0);
-            return;
+            return false;
         }
 
+        long initialSize = currentStatus.getSize();
+
         // Increment current generation (if needed).
         boolean currentChanged = adjustCurrentGeneration(currentStatus);
 
-        // Increment oldest generation (if needed and if possible).
-        boolean oldestChanged = adjustOldestGeneration(currentStatus);
+        // Figure out how much each Priority Class may use, then apply the policy to each of them.
+        Map<ClientGroup, Long> targetSizes = getTargetSizes(groupStatuses);
+        boolean anyChanged = currentChanged;
+        for (ClientGroup group : this.groups.values()) {
+            CacheStatus groupStatus = groupStatuses.get(group);
+            long targetSize = targetSizes.getOrDefault(group, Long.MAX_VALUE);
+            if (forceEviction && groupStatus != null) {
+                // Pretend the group is (just) over its limit; this causes its oldest generation to be evicted.
+                targetSize = Math.min(targetSize, groupStatus.getSize() - 1);
+            }
+
+            CacheStatus newStatus = applyCachePolicy(group, groupStatus, targetSize, currentChanged);
+            if (newStatus != null) {
+                anyChanged = true;
+                groupStatuses.put(group, newStatus);
+            }
+        }
+
+        if (!anyChanged) {
+            // Nothing changed, nothing to do.
+            return false;
+        }
+
+        currentStatus = aggregate(groupStatuses.values());
+        this.cacheSize.set(currentStatus.getSize());
+        this.metrics.report(currentStatus.getSize(), currentStatus.getProbationarySize(),
+                currentStatus.getNewestGeneration() - currentStatus.getOldestGeneration());
+        groupStatuses.forEach((group, status) -> this.metrics.reportPriorityClass(group.priorityClass.getName(), status.getSize()));
+        return currentStatus.getSize() < initialSize;
+    }
 
+    /**
+     * Applies the CachePolicy to a single Priority Class.
+     *
+     * @param group          The ClientGroup for the Priority Class.
+     * @param currentStatus  The current CacheStatus for the group, or null if the group has no data.
+     * @param targetSize     The maximum size the group may use.
+     * @param currentChanged Whether the current generation has changed.
+     * @return The updated CacheStatus for the group, or null if nothing changed.
+     */
+    private CacheStatus applyCachePolicy(ClientGroup group, CacheStatus currentStatus, long targetSize, boolean currentChanged) {
+        // Increment oldest generation (if needed and if possible).
+        boolean oldestChanged = currentStatus != null && adjustOldestGeneration(group, currentStatus, targetSize);
         if (!currentChanged && !oldestChanged) {
             // Nothing changed, nothing to do.
-            return;
+            return null;
         }
 
         // Notify clients that something changed (if any of the above got changed). Run in a loop, until either we can't
         // adjust the oldest anymore or we are unable to trigger any changes to the clients.
         long sizeReduction;
         do {
-            sizeReduction = updateClients();
-            if (sizeReduction > 0) {
-                currentStatus = currentStatus.withUpdatedSize(-sizeReduction);
-                logCurrentStatus(currentStatus);
-                oldestChanged = adjustOldestGeneration(currentStatus);
+            sizeReduction = updateClients(group);
+            if (sizeReduction > 0 && currentStatus != null) {
+                currentStatus = getUpdatedStatus(group, currentStatus, sizeReduction);
+                logCurrentStatus(group, currentStatus);
+                oldestChanged = adjustOldestGeneration(group, currentStatus, targetSize);
             }
         } while (sizeReduction > 0 && oldestChanged);
-        this.cacheSize.set(currentStatus.getSize());
-        this.metrics.report(currentStatus.getSize(), currentStatus.getNewestGeneration() - currentStatus.getOldestGeneration());
+        return currentStatus;
     }
 
-    private CacheStatus collectStatus() {
-        int cg = this.currentGeneration.get();
-        int minGeneration = cg;
-        int maxGeneration = 0;
+    /**
+     * Determines the maximum size each Priority Class may use. No Priority Class may exceed its maximum share. If the
+     * cache as a whole exceeds its maximum size, the excess is taken out of the Priority Classes with the lowest priority
+     * first, but no Priority Class is reduced below its minimum share.
+     */
+    private Map<ClientGroup, Long> getTargetSizes(Map<ClientGroup, CacheStatus> groupStatuses) {
+        HashMap<ClientGroup, Long> result = new HashMap<>();
         long totalSize = 0;
-        Collection<Client> clients = getCurrentClients();
-        for (Client c : clients) {
+        for (val e : groupStatuses.entrySet()) {
+            long targetSize = Math.min(e.getValue().getSize(), getShare(e.getKey().priorityClass.getMaxShare()));
+            result.put(e.getKey(), targetSize);
+            totalSize += targetSize;
+        }
+
+        long excess = totalSize - this.policy.getMaxSize();
+        if (excess > 0) {
+            List<ClientGroup> byPriority = result.keySet().stream()
+                                                 .sorted(Comparator.comparingInt(g -> g.priorityClass.getPriority()))
+                                                 .collect(Collectors.toList());
+            for (ClientGroup group : byPriority) {
+                long targetSize = result.get(group);
+                long reduction = Math.min(excess, Math.max(0, targetSize - getShare(group.priorityClass.getMinShare())));
+                result.put(group, targetSize - reduction);
+                excess -= reduction;
+                if (excess <= 0) {
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private long getShare(double share) {
+        return share >= 1.0 ? this.policy.getMaxSize() : (long) (this.policy.getMaxSize() * share);
+    }
+
+    private CacheStatus getUpdatedStatus(ClientGroup group, CacheStatus previousStatus, long sizeReduction) {
+        if (this.policy.getEvictionMode() == CachePolicy.EvictionMode.SEGMENTED) {
+            // We cannot tell how much of the reduction came out of the probationary entries, so we need to ask the clients.
+            CacheStatus status = collectStatus(group);
+            return status == null ? previousStatus.withUpdatedSize(-previousStatus.getSize()) : status;
+        }
+
+        return previousStatus.withUpdatedSize(-sizeReduction);
+    }
+
+    private CacheStatus collectStatus(ClientGroup group) {
+        int cg = this.currentGeneration.get();
+        ArrayList<CacheStatus> statuses = new ArrayList<>();
+        for (Client c : getCurrentClients(group)) {
             CacheStatus clientStatus;
             try {
                 clientStatus = c.getCacheStatus();
@@ -246,14 +411,32 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
                 continue;
             }
 
-            totalSize += clientStatus.getSize();
             if (clientStatus.oldestGeneration > cg || clientStatus.newestGeneration > cg) {
                 log.warn("{} Client {} returned status that is out of bounds {}. CurrentGeneration = {}, OldestGeneration = {}.",
-                        TRACE_OBJECT_ID, c, clientStatus, this.currentGeneration, this.oldestGeneration);
+                        TRACE_OBJECT_ID, c, clientStatus, this.currentGeneration, group.oldestGeneration);
             }
 
-            minGeneration = Math.min(minGeneration, clientStatus.oldestGeneration);
-            maxGeneration = Math.max(maxGeneration, clientStatus.newestGeneration);
+            statuses.add(clientStatus);
+        }
+
+        return aggregate(statuses);
+    }
+
+    private CacheStatus aggregate(Collection<CacheStatus> statuses) {
+        int cg = this.currentGeneration.get();
+        int minGeneration = cg;
+        int maxGeneration = 0;
+        int minProbationaryGeneration = cg;
+        long totalSize = 0;
+        long probationarySize = 0;
+        for (CacheStatus status : statuses) {
+            totalSize += status.getSize();
+            minGeneration = Math.min(minGeneration, status.oldestGeneration);
+            maxGeneration = Math.max(maxGeneration, status.newestGeneration);
+            if (status.probationarySize > 0) {
+                probationarySize += status.probationarySize;
+                minProbationaryGeneration = Math.min(minProbationaryGeneration, status.oldestProbationaryGeneration);
+            }
         }
 
         if (minGeneration > maxGeneration) {
@@ -261,16 +444,18 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             return null;
         }
 
-        return new CacheStatus(totalSize, minGeneration, maxGeneration);
+        return new CacheStatus(totalSize, minGeneration, maxGeneration, Math.min(probationarySize, totalSize),
+                Math.max(minGeneration, Math.min(minProbationaryGeneration, maxGeneration)));
     }
 
-    private long updateClients() {
+    private long updateClients(ClientGroup group) {
         long sizeReduction = 0;
         int cg = this.currentGeneration.get();
-        int og = this.oldestGeneration.get();
-        for (Client c : getCurrentClients()) {
+        int og = group.oldestGeneration.get();
+        int opg = group.oldestProbationaryGeneration.get();
+        for (Client c : getCurrentClients(group)) {
             try {
-                sizeReduction += Math.max(0, c.updateGenerations(cg, og));
+                sizeReduction += Math.max(0, c.updateGenerations(cg, og, opg));
             } catch (ObjectClosedException ex) {
                 // This object was closed but it was not unregistered. Do it now.
                 log.warn("{} Detected closed client {}.", TRACE_OBJECT_ID, c);
@@ -298,10 +483,13 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         return shouldIncrement;
     }
 
-    private boolean adjustOldestGeneration(CacheStatus currentStatus) {
+    private boolean adjustOldestGeneration(ClientGroup group, CacheStatus currentStatus, long targetSize) {
+        // If possible, try to reduce the size by only evicting probationary entries.
+        boolean probationaryAdjusted = adjustOldestProbationaryGeneration(group, currentStatus, targetSize);
+
         // Figure out if we exceed the policy criteria.
-        int newOldestGeneration = this.oldestGeneration.get();
-        if (exceedsPolicy(currentStatus)) {
+        int newOldestGeneration = group.oldestGeneration.get();
+        if (exceedsPolicy(currentStatus, targetSize, probationaryAdjusted)) {
             // Start by setting the new value to the smallest reported value, and increment by one.
             newOldestGeneration = Math.max(newOldestGeneration, currentStatus.oldestGeneration) + 1;
 
@@ -312,19 +500,49 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             newOldestGeneration = Math.min(newOldestGeneration, this.currentGeneration.get());
         }
 
-        boolean isAdjusted = newOldestGeneration > this.oldestGeneration.get();
+        boolean isAdjusted = newOldestGeneration > group.oldestGeneration.get();
         if (isAdjusted) {
-            this.oldestGeneration.set(newOldestGeneration);
+            group.oldestGeneration.set(newOldestGeneration);
+            if (group.oldestProbationaryGeneration.get() < newOldestGeneration) {
+                // Probationary entries can never outlive protected ones.
+                group.oldestProbationaryGeneration.set(newOldestGeneration);
+            }
+        }
+
+        return isAdjusted || probationaryAdjusted;
+    }
+
+    private boolean adjustOldestProbationaryGeneration(ClientGroup group, CacheStatus currentStatus, long targetSize) {
+        // We only increment the OldestProbationaryGeneration if all of the following conditions are met:
+        // 1. We use Segmented LRU eviction.
+        // 2. We currently exceed the maximum size as defined by the cache policy.
+        // 3. There are probationary entries in the cache.
+        // 4. Protected entries do not take up most of the cache (otherwise they need to be evicted too).
+        if (this.policy.getEvictionMode() != CachePolicy.EvictionMode.SEGMENTED
+                || currentStatus.getSize() <= targetSize
+                || currentStatus.getProbationarySize() == 0
+                || currentStatus.getSize() - currentStatus.getProbationarySize() > targetSize * MAX_PROTECTED_RATIO) {
+            return false;
+        }
+
+        // Same as for the OldestGeneration: start from the smallest reported value, increment by one, and make sure we
+        // don't exceed the current generation.
+        int newValue = Math.max(group.oldestProbationaryGeneration.get(), currentStatus.getOldestProbationaryGeneration()) + 1;
+        newValue = Math.min(newValue, this.currentGeneration.get());
+        boolean isAdjusted = newValue > group.oldestProbationaryGeneration.get();
+        if (isAdjusted) {
+            group.oldestProbationaryGeneration.set(newValue);
         }
 
         return isAdjusted;
     }
 
-    private boolean exceedsPolicy(CacheStatus currentStatus) {
+    private boolean exceedsPolicy(CacheStatus currentStatus, long targetSize, boolean probationaryAdjusted) {
         // We need to increment the OldestGeneration only if any of the following conditions occurred:
-        // 1. We currently exceed the maximum size as defined by the cache policy.
+        // 1. We currently exceed the maximum size as defined by the cache policy (and we couldn't address this by only
+        // evicting probationary entries).
         // 2. The oldest generation reported by the clients is older than the oldest permissible generation.
-        return currentStatus.getSize() > this.policy.getMaxSize()
+        return (currentStatus.getSize() > targetSize && !probationaryAdjusted)
                 || currentStatus.getOldestGeneration() < getOldestPermissibleGeneration();
     }
 
@@ -332,24 +550,44 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         return this.currentGeneration.get() - this.policy.getMaxGenerations() + 1;
     }
 
-    private Collection<Client> getCurrentClients() {
+    private Collection<Client> getCurrentClients(ClientGroup group) {
         synchronized (this.clients) {
-            return new ArrayList<>(this.clients);
+            return this.clients.entrySet().stream()
+                               .filter(e -> e.getValue() == group)
+                               .map(Map.Entry::getKey)
+                               .collect(Collectors.toList());
         }
     }
 
-    private void logCurrentStatus(CacheStatus status) {
+    private void logCurrentStatus(ClientGroup group, CacheStatus status) {
         int size;
         synchronized (this.clients) {
             size = this.clients.size();
         }
 
-        log.info("{} Current Generation = {}, Oldest Generation = {}, Clients = {},  CacheSize = {} MB",
+        log.info("{} Current Generation = {}, Class = {}, Oldest Generation = {}, Oldest Probationary Generation = {}, Clients = {}, CacheSize = {} MB, ProbationarySize = {} MB",
                 TRACE_OBJECT_ID,
                 this.currentGeneration,
-                this.oldestGeneration,
+                group.priorityClass.getName(),
+                group.oldestGeneration,
+                group.oldestProbationaryGeneration,
                 size,
-                status.getSize() / 1048576);
+                status.getSize() / 1048576,
+                status.getProbationarySize() / 1048576);
+    }
+
+    //endregion
+
+    //region ClientGroup
+
+    /**
+     * The Clients registered under a particular {@link CachePolicy.PriorityClass}, along with the eviction state for them.
+     */
+    @RequiredArgsConstructor
+    private static class ClientGroup {
+        private final CachePolicy.PriorityClass priorityClass;
+        private final AtomicInteger oldestGeneration = new AtomicInteger();
+        private final AtomicInteger oldestProbationaryGeneration = new AtomicInteger();
     }
 
     //endregion
@@ -375,6 +613,24 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
          * @return The total size of the cache data that was trimmed by this update.
          */
         long updateGenerations(int currentGeneration, int oldestGeneration);
+
+        /**
+         * Called by the CacheManager to notify when there is a generation change (either current, oldest or oldest
+         * probationary). Clients that keep track of whether their entries have been accessed since they were added
+         * (and report them via {@link CacheStatus#getProbationarySize()}) should override this method; the default
+         * implementation treats all entries as protected.
+         *
+         * @param currentGeneration            The value of the current generation.
+         * @param oldestGeneration             The value of the oldest generation. This is the cutoff for which entries
+         *                                     can still exist in the cache.
+         * @param oldestProbationaryGeneration The value of the oldest probationary generation. This is the cutoff for
+         *                                     which entries that have not been accessed since they were added can still
+         *                                     exist in the cache. This is always at least oldestGeneration.
+         * @return The total size of the cache data that was trimmed by this update.
+         */
+        default long updateGenerations(int currentGeneration, int oldestGeneration, int oldestProbationaryGeneration) {
+            return updateGenerations(currentGeneration, oldestGeneration);
+        }
     }
 
     //endregion
@@ -400,31 +656,61 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
          */
         @Getter
         private final long size;
+        /**
+         * The total size of the cache items in this particular client that have not been accessed since they were added
+         * (probationary items).
+         */
+        @Getter
+        private final long probationarySize;
+        /**
+         * The oldest generation found in any probationary cache entry. This value is only meaningful if getProbationarySize()
+         * is greater than 0.
+         */
+        @Getter
+        private final int oldestProbationaryGeneration;
 
         /**
-         * Creates a new instance of the CacheStatus class.
+         * Creates a new instance of the CacheStatus class, for a client which does not track probationary entries.
          *
          * @param size             The total size of the cache items in this particular client.
          * @param oldestGeneration The oldest generation found in any cache entry.
          * @param newestGeneration The newest generation found in any cache entry.
          */
         public CacheStatus(long size, int oldestGeneration, int newestGeneration) {
+            this(size, oldestGeneration, newestGeneration, 0, oldestGeneration);
+        }
+
+        /**
+         * Creates a new instance of the CacheStatus class.
+         *
+         * @param size                         The total size of the cache items in this particular client.
+         * @param oldestGeneration             The oldest generation found in any cache entry.
+         * @param newestGeneration             The newest generation found in any cache entry.
+         * @param probationarySize             The total size of the probationary cache items in this particular client.
+         * @param oldestProbationaryGeneration The oldest generation found in any probationary cache entry.
+         */
+        public CacheStatus(long size, int oldestGeneration, int newestGeneration, long probationarySize, int oldestProbationaryGeneration) {
             Preconditions.checkArgument(size >= 0, "size must be a non-negative number");
             Preconditions.checkArgument(oldestGeneration >= 0, "oldestGeneration must be a non-negative number");
             Preconditions.checkArgument(newestGeneration >= oldestGeneration, "newestGeneration must be larger than or equal to oldestGeneration");
+            Preconditions.checkArgument(probationarySize >= 0 && probationarySize <= size, "probationarySize must be a non-negative number smaller than or equal to size");
             this.size = size;
             this.oldestGeneration = oldestGeneration;
             this.newestGeneration = newestGeneration;
+            this.probationarySize = probationarySize;
+            this.oldestProbationaryGeneration = oldestProbationaryGeneration;
         }
 
         private CacheStatus withUpdatedSize(long sizeDelta) {
             long newSize = Math.max(0, this.size + sizeDelta);
-            return new CacheStatus(newSize, this.oldestGeneration, this.newestGeneration);
+            return new CacheStatus(newSize, this.oldestGeneration, this.newestGeneration,
+                    Math.min(newSize, this.probationarySize), this.oldestProbationaryGeneration);
         }
 
         @Override
         public String toString() {
-            return String.format("Size = %d, OG-NG = %d-%d", this.size, this.oldestGeneration, this.newestGeneration);
+            return String.format("Size = %d, OG-NG = %d-%d, ProbationarySize = %d, OPG = %d", this.size, this.oldestGeneration,
+                    this.newestGeneration, this.probationarySize, this.oldestProbationaryGeneration);
         }
     }
 
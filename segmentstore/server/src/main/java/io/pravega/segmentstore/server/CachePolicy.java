@@ -11,16 +11,40 @@ package io.pravega.segmentstore.server;
 
 import com.google.common.base.Preconditions;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
 
 /**
  * Represents a Policy for a CacheManager.
  */
 public class CachePolicy {
     //region Members
+    /**
+     * The name of the Priority Class that is used for CacheManager Clients which do not declare one, or which declare
+     * a Priority Class that is not defined in the CachePolicy.
+     */
+    public static final String DEFAULT_PRIORITY_CLASS = "default";
+    /**
+     * The name of the Priority Class for Stream Segment data (Read Index).
+     */
+    public static final String STREAM_DATA_PRIORITY_CLASS = "streamData";
+    /**
+     * The name of the Priority Class for Table Segment indices (Key Caches).
+     */
+    public static final String TABLE_INDEX_PRIORITY_CLASS = "tableIndex";
+    /**
+     * The name of the Priority Class for Segment Attribute indices.
+     */
+    public static final String ATTRIBUTE_INDEX_PRIORITY_CLASS = "attributeIndex";
     public static final CachePolicy INFINITE = new CachePolicy(Long.MAX_VALUE, Duration.ofSeconds(Integer.MAX_VALUE), Duration.ofSeconds(Integer.MAX_VALUE));
     private final long maxSize;
     private final int maxGenerations;
     private final Duration generationDuration;
+    private final EvictionMode evictionMode;
+    private final Map<String, PriorityClass> priorityClasses;
 
     //endregion
 
@@ -34,10 +58,49 @@ public class CachePolicy {
      * @param generationDuration The amount of time one Cache generation spans.
      */
     public CachePolicy(long maxSize, Duration maxTime, Duration generationDuration) {
+        this(maxSize, maxTime, generationDuration, EvictionMode.GENERATIONAL);
+    }
+
+    /**
+     * Creates a new instance of the CachePolicy class.
+     *
+     * @param maxSize            The maximum size of the cache.
+     * @param maxTime            The maximum amount of time a cache entry can live in the cache.
+     * @param generationDuration The amount of time one Cache generation spans.
+     * @param evictionMode       The EvictionMode to use when the cache exceeds its maximum size.
+     */
+    public CachePolicy(long maxSize, Duration maxTime, Duration generationDuration, EvictionMode evictionMode) {
+        this(maxSize, maxTime, generationDuration, evictionMode, Collections.emptyList());
+    }
+
+    /**
+     * Creates a new instance of the CachePolicy class.
+     *
+     * @param maxSize            The maximum size of the cache.
+     * @param maxTime            The maximum amount of time a cache entry can live in the cache.
+     * @param generationDuration The amount of time one Cache generation spans.
+     * @param evictionMode       The EvictionMode to use when the cache exceeds its maximum size.
+     * @param priorityClasses    A Collection of PriorityClasses to divide the cache into. If this does not contain a
+     *                           PriorityClass named {@link #DEFAULT_PRIORITY_CLASS}, one will be added, with the lowest
+     *                           priority, no reserved share and a maximum share of the whole cache.
+     * @throws IllegalArgumentException If the minimum shares of the PriorityClasses add up to more than the whole cache,
+     *                                  or if two PriorityClasses have the same name.
+     */
+    public CachePolicy(long maxSize, Duration maxTime, Duration generationDuration, EvictionMode evictionMode, Collection<PriorityClass> priorityClasses) {
         Preconditions.checkArgument(maxSize > 0, "maxSize must be a positive integer");
         this.maxSize = maxSize;
         this.generationDuration = generationDuration;
         this.maxGenerations = Math.max(1, (int) ((double) maxTime.toMillis() / generationDuration.toMillis()));
+        this.evictionMode = Preconditions.checkNotNull(evictionMode, "evictionMode");
+        this.priorityClasses = new HashMap<>();
+        double totalMinShare = 0;
+        for (PriorityClass pc : priorityClasses) {
+            Preconditions.checkArgument(this.priorityClasses.put(pc.getName(), pc) == null, "Duplicate PriorityClass '%s'.", pc.getName());
+            totalMinShare += pc.getMinShare();
+        }
+
+        Preconditions.checkArgument(totalMinShare <= 1.0, "The minimum shares of all PriorityClasses must not exceed 1.0.");
+        this.priorityClasses.putIfAbsent(DEFAULT_PRIORITY_CLASS, new PriorityClass(DEFAULT_PRIORITY_CLASS, Integer.MIN_VALUE, 0, 1.0));
     }
 
     //endregion
@@ -72,9 +135,117 @@ public class CachePolicy {
         return this.generationDuration;
     }
 
+    /**
+     * Gets a value indicating how cache entries are chosen for eviction when the cache exceeds its maximum size.
+     *
+     * @return The value.
+     */
+    public EvictionMode getEvictionMode() {
+        return this.evictionMode;
+    }
+
+    /**
+     * Gets the PriorityClass with given name.
+     *
+     * @param name The name of the PriorityClass.
+     * @return The PriorityClass with the given name, or the {@link #DEFAULT_PRIORITY_CLASS} if no such PriorityClass
+     * is defined.
+     */
+    public PriorityClass getPriorityClass(String name) {
+        PriorityClass result = this.priorityClasses.get(name);
+        return result == null ? this.priorityClasses.get(DEFAULT_PRIORITY_CLASS) : result;
+    }
+
+    /**
+     * Gets an unmodifiable Collection of all the PriorityClasses defined in this CachePolicy (including the
+     * {@link #DEFAULT_PRIORITY_CLASS}).
+     *
+     * @return The value.
+     */
+    public Collection<PriorityClass> getPriorityClasses() {
+        return Collections.unmodifiableCollection(this.priorityClasses.values());
+    }
+
     @Override
     public String toString() {
-        return String.format("MaxSize = %d, MaxGen = %d, Generation = %s", this.maxSize, this.maxGenerations, this.generationDuration);
+        return String.format("MaxSize = %d, MaxGen = %d, Generation = %s, Eviction = %s, Classes = %s", this.maxSize, this.maxGenerations,
+                this.generationDuration, this.evictionMode, this.priorityClasses.values());
+    }
+
+    //endregion
+
+    //region PriorityClass
+
+    /**
+     * A named class of CacheManager Clients that share a portion of the cache. When the cache exceeds its maximum size,
+     * entries are evicted from the PriorityClasses with the lowest priority first, but a PriorityClass is never reduced
+     * below its minimum share because of other PriorityClasses. A PriorityClass is never allowed to exceed its maximum
+     * share, even if there is room in the cache.
+     */
+    @Getter
+    public static class PriorityClass {
+        /**
+         * The name of the PriorityClass.
+         */
+        private final String name;
+        /**
+         * The priority. PriorityClasses with lower values are evicted from first.
+         */
+        private final int priority;
+        /**
+         * The fraction (0 to 1) of the cache that is reserved for this PriorityClass.
+         */
+        private final double minShare;
+        /**
+         * The maximum fraction (0 to 1) of the cache that this PriorityClass may use.
+         */
+        private final double maxShare;
+
+        /**
+         * Creates a new instance of the PriorityClass class.
+         *
+         * @param name     The name of the PriorityClass.
+         * @param priority The priority. PriorityClasses with lower values are evicted from first.
+         * @param minShare The fraction (0 to 1) of the cache that is reserved for this PriorityClass.
+         * @param maxShare The maximum fraction (0 to 1) of the cache that this PriorityClass may use.
+         */
+        public PriorityClass(String name, int priority, double minShare, double maxShare) {
+            Preconditions.checkArgument(name != null && !name.isEmpty(), "name must be a non-empty string.");
+            Preconditions.checkArgument(minShare >= 0 && minShare <= maxShare, "minShare must be between 0 and maxShare.");
+            Preconditions.checkArgument(maxShare > 0 && maxShare <= 1.0, "maxShare must be in the interval (0, 1].");
+            this.name = name;
+            this.priority = priority;
+            this.minShare = minShare;
+            this.maxShare = maxShare;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (Priority = %d, Share = %.2f-%.2f)", this.name, this.priority, this.minShare, this.maxShare);
+        }
+    }
+
+    //endregion
+
+    //region EvictionMode
+
+    /**
+     * Defines the way cache entries are chosen for eviction when the cache exceeds its maximum size. Regardless of mode,
+     * entries that have not been used for more than the maximum number of generations are always evicted.
+     */
+    public enum EvictionMode {
+        /**
+         * Entries are evicted strictly in the order of their generation (least recently used first).
+         */
+        GENERATIONAL,
+
+        /**
+         * Segmented LRU. Entries that have not been accessed since they were added to the cache (probationary entries)
+         * are evicted before any entry that has been accessed (protected entries), as long as the protected entries do
+         * not take up most of the cache. This prevents large one-time scans (such as historical reads) from evicting
+         * data that is used repeatedly (such as data at the tail of actively read Segments).
+         */
+        SEGMENTED
     }
 
     //endregion
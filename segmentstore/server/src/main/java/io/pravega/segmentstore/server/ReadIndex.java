@@ -10,8 +10,9 @@
 package io.pravega.segmentstore.server;
 
 import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
-import java.io.InputStream;
+import io.pravega.segmentstore.storage.CacheFullException;
 import java.time.Duration;
 import java.util.Collection;
 
@@ -29,6 +30,7 @@ public interface ReadIndex extends AutoCloseable, CacheUtilizationProvider {
      * @throws StreamSegmentNotExistsException If streamSegmentId is mapped to a Segment that is marked as Deleted.
      * @throws IllegalArgumentException If the offset does not match the expected value (end of StreamSegment in ReadIndex).
      * @throws IllegalArgumentException If the offset + data.length exceeds the metadata Length of the StreamSegment.
+     * @throws CacheFullException If the Cache is full and nothing could be evicted from it to make room for the data.
      */
     void append(long streamSegmentId, long offset, byte[] data) throws StreamSegmentNotExistsException;
 
@@ -74,7 +76,7 @@ public interface ReadIndex extends AutoCloseable, CacheUtilizationProvider {
      * <ul>
      * <li> This method allows reading from partially merged transactions (on which beginMerge was called but not completeMerge).
      * This is acceptable because this method is only meant to be used by internal clients (not by an outside request)
-     * and it prebuilds the result into the returned InputStream.
+     * and it prebuilds the result into the returned ReadResultEntryContents.
      * <li> This method will not cause cache statistics to be updated. As such, Cache entry generations will not be
      * updated for those entries that are touched.
      * </ul>
@@ -82,12 +84,14 @@ public interface ReadIndex extends AutoCloseable, CacheUtilizationProvider {
      * @param streamSegmentId The Id of the StreamSegment to read from.
      * @param startOffset     The offset in the StreamSegment where to start reading.
      * @param length          The number of bytes to read.
-     * @return An InputStream containing the requested data, or null if all of the conditions of this read cannot be met.
+     * @return A ReadResultEntryContents containing the requested data, or null if all of the conditions of this read cannot
+     * be met. The returned contents are backed by Cache buffers and must be released (either by calling release() or
+     * by fully consuming or closing the InputStream returned by getData()) once no longer needed.
      * @throws StreamSegmentNotExistsException If streamSegmentId is mapped to a Segment that is marked as Deleted.
      * @throws IllegalStateException    If the read index is in recovery mode.
      * @throws IllegalArgumentException If the parameters are invalid (offset, length or offset+length are not in the Segment's range).
      */
-    InputStream readDirect(long streamSegmentId, long startOffset, int length) throws StreamSegmentNotExistsException;
+    ReadResultEntryContents readDirect(long streamSegmentId, long startOffset, int length) throws StreamSegmentNotExistsException;
 
     /**
      * Reads a number of bytes from the StreamSegment ReadIndex.
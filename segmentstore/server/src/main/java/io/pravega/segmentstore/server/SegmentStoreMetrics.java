@@ -24,6 +24,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import static io.pravega.shared.MetricsTags.cacheClassTag;
 import static io.pravega.shared.MetricsTags.containerTag;
 
 /**
@@ -47,11 +48,35 @@ public final class SegmentStoreMetrics {
     public final static class CacheManager implements AutoCloseable {
         private final OpStatsLogger generationSpread = STATS_LOGGER.createStats(MetricsNames.CACHE_GENERATION_SPREAD);
 
-        public void report(long totalBytes, int generationSpread) {
+        public void report(long totalBytes, long probationaryBytes, int generationSpread) {
             DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_TOTAL_SIZE_BYTES, totalBytes);
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_PROBATIONARY_SIZE_BYTES, probationaryBytes);
             this.generationSpread.reportSuccessValue(generationSpread);
         }
 
+        public void reportPriorityClass(String priorityClass, long totalBytes) {
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_CLASS_SIZE_BYTES, totalBytes, cacheClassTag(priorityClass));
+        }
+
+        /**
+         * Records that the given number of bytes have been served out of the cache. Together with {@link #cacheMiss},
+         * this can be used to determine the cache hit ratio.
+         *
+         * @param bytes The number of bytes.
+         */
+        public static void cacheHit(long bytes) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.CACHE_HIT_BYTES, bytes);
+        }
+
+        /**
+         * Records that the given number of bytes have been requested but were not found in the cache.
+         *
+         * @param bytes The number of bytes.
+         */
+        public static void cacheMiss(long bytes) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.CACHE_MISS_BYTES, bytes);
+        }
+
         @Override
         public void close()  {
             this.generationSpread.close();
@@ -60,6 +85,47 @@ public final class SegmentStoreMetrics {
 
     //endregion
 
+    //region ReadIndex
+
+    /**
+     * ContainerReadIndex metrics.
+     */
+    public final static class ReadIndex {
+        private final String[] containerTag;
+
+        public ReadIndex(int containerId) {
+            this.containerTag = containerTag(containerId);
+        }
+
+        public void readAhead(long bytes, long pendingBytes) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_READ_AHEAD_BYTES, bytes, this.containerTag);
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.READ_INDEX_READ_AHEAD_PENDING_BYTES, pendingBytes, this.containerTag);
+        }
+
+        public void readAheadHit(long bytes, long pendingBytes) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_READ_AHEAD_HIT_BYTES, bytes, this.containerTag);
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.READ_INDEX_READ_AHEAD_PENDING_BYTES, pendingBytes, this.containerTag);
+        }
+
+        public void readAheadWasted(long bytes, long pendingBytes) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_READ_AHEAD_WASTED_BYTES, bytes, this.containerTag);
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.READ_INDEX_READ_AHEAD_PENDING_BYTES, pendingBytes, this.containerTag);
+        }
+
+        public void compressed(long inputBytes, long outputBytes, long elapsedNanos) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_COMPRESSION_INPUT_BYTES, inputBytes, this.containerTag);
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_COMPRESSION_OUTPUT_BYTES, outputBytes, this.containerTag);
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_COMPRESSION_NANOS, elapsedNanos, this.containerTag);
+        }
+
+        public void decompressed(long bytes, long elapsedNanos) {
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_DECOMPRESSION_BYTES, bytes, this.containerTag);
+            DYNAMIC_LOGGER.incCounterValue(MetricsNames.READ_INDEX_DECOMPRESSION_NANOS, elapsedNanos, this.containerTag);
+        }
+    }
+
+    //endregion
+
     //region ThreadPool
 
     /**
@@ -117,12 +183,28 @@ public final class SegmentStoreMetrics {
          */
         private final OpStatsLogger operationQueueWaitTime;
 
+        /**
+         * Amount of time (microseconds) spent serializing an operation into the DataFrameBuilder.
+         */
+        private final OpStatsLogger operationSerializationLatency;
+
+        /**
+         * Amount of time spent writing a DataFrame to Tier1, from when it is handed off to the DurableDataLog until its
+         * acknowledgement is processed.
+         */
+        private final OpStatsLogger operationLogWriteLatency;
+
         /**
          * Amount of time the OperationProcessor delays between calls to processOperations() when there is significant
          * Tier1 backup.
          */
         private final OpStatsLogger operationProcessorDelay;
 
+        /**
+         * Batching delay (millis) chosen by the adaptive batching throttler, if enabled.
+         */
+        private final OpStatsLogger operationProcessorBatchingDelay;
+
         /**
          * Amount of time spent committing an operation after being written to Tier1 (this includes in-memory structures
          * and Cache).
@@ -157,7 +239,10 @@ public final class SegmentStoreMetrics {
             this.operationQueueSize = STATS_LOGGER.createStats(MetricsNames.OPERATION_QUEUE_SIZE, this.containerTag);
             this.operationsInFlight = STATS_LOGGER.createStats(MetricsNames.OPERATION_PROCESSOR_IN_FLIGHT, this.containerTag);
             this.operationQueueWaitTime = STATS_LOGGER.createStats(MetricsNames.OPERATION_QUEUE_WAIT_TIME, this.containerTag);
+            this.operationSerializationLatency = STATS_LOGGER.createStats(MetricsNames.OPERATION_SERIALIZATION_LATENCY, this.containerTag);
+            this.operationLogWriteLatency = STATS_LOGGER.createStats(MetricsNames.OPERATION_LOG_WRITE_LATENCY, this.containerTag);
             this.operationProcessorDelay = STATS_LOGGER.createStats(MetricsNames.OPERATION_PROCESSOR_DELAY_MILLIS, this.containerTag);
+            this.operationProcessorBatchingDelay = STATS_LOGGER.createStats(MetricsNames.OPERATION_PROCESSOR_BATCHING_DELAY_MILLIS, this.containerTag);
             this.operationCommitLatency = STATS_LOGGER.createStats(MetricsNames.OPERATION_COMMIT_LATENCY, this.containerTag);
             this.operationLatency = STATS_LOGGER.createStats(MetricsNames.OPERATION_LATENCY, this.containerTag);
             this.memoryCommitLatency = STATS_LOGGER.createStats(MetricsNames.OPERATION_COMMIT_MEMORY_LATENCY, this.containerTag);
@@ -171,7 +256,10 @@ public final class SegmentStoreMetrics {
             this.operationQueueSize.close();
             this.operationsInFlight.close();
             this.operationQueueWaitTime.close();
+            this.operationSerializationLatency.close();
+            this.operationLogWriteLatency.close();
             this.operationProcessorDelay.close();
+            this.operationProcessorBatchingDelay.close();
             this.operationCommitLatency.close();
             this.operationLatency.close();
             this.memoryCommitLatency.close();
@@ -189,10 +277,22 @@ public final class SegmentStoreMetrics {
             this.operationProcessorDelay.reportSuccessValue(millis);
         }
 
+        public void batchingDelay(int millis) {
+            this.operationProcessorBatchingDelay.reportSuccessValue(millis);
+        }
+
         public void operationQueueWaitTime(long queueWaitTimeMillis) {
             this.operationQueueWaitTime.reportSuccessValue(queueWaitTimeMillis);
         }
 
+        public void operationSerialized(long elapsedNanos) {
+            this.operationSerializationLatency.reportSuccessValue(elapsedNanos / 1000);
+        }
+
+        public void logWriteCompleted(Duration elapsed) {
+            this.operationLogWriteLatency.reportSuccessEvent(elapsed);
+        }
+
         public void memoryCommit(int commitCount, Duration elapsed) {
             this.memoryCommitCount.reportSuccessValue(commitCount);
             this.memoryCommitLatency.reportSuccessEvent(elapsed);
@@ -219,7 +319,7 @@ public final class SegmentStoreMetrics {
         public void operationsCompleted(Collection<List<CompletableOperation>> operations, Duration commitElapsed) {
             operationsCompleted(operations.size(), commitElapsed);
             operations.stream().flatMap(List::stream).forEach(o -> {
-                long millis = o.getTimer().getElapsedMillis();
+                long millis = o.getElapsedMillis();
                 this.operationLatency.reportSuccessValue(millis);
                 GLOBAL_OPERATION_LATENCY.reportSuccessValue(millis);
             });
@@ -227,7 +327,7 @@ public final class SegmentStoreMetrics {
 
         public void operationsFailed(Collection<CompletableOperation> operations) {
             operations.forEach(o -> {
-                long millis = o.getTimer().getElapsedMillis();
+                long millis = o.getElapsedMillis();
                 this.operationLatency.reportFailValue(millis);
                 GLOBAL_OPERATION_LATENCY.reportFailValue(millis);
             });
@@ -236,6 +336,42 @@ public final class SegmentStoreMetrics {
 
     //endregion
 
+    //region StorageWriter
+
+    /**
+     * StorageWriter metrics.
+     */
+    public final static class StorageWriter implements AutoCloseable {
+        /**
+         * Byte threshold in effect for a Segment after each time it is flushed.
+         */
+        private final OpStatsLogger flushThresholdBytes;
+
+        /**
+         * Time threshold in effect for a Segment after each time it is flushed.
+         */
+        private final OpStatsLogger flushThresholdMillis;
+
+        public StorageWriter(int containerId) {
+            String[] containerTag = containerTag(containerId);
+            this.flushThresholdBytes = STATS_LOGGER.createStats(MetricsNames.STORAGE_WRITER_FLUSH_THRESHOLD_BYTES, containerTag);
+            this.flushThresholdMillis = STATS_LOGGER.createStats(MetricsNames.STORAGE_WRITER_FLUSH_THRESHOLD_MILLIS, containerTag);
+        }
+
+        @Override
+        public void close() {
+            this.flushThresholdBytes.close();
+            this.flushThresholdMillis.close();
+        }
+
+        public void flushThresholds(int bytes, Duration time) {
+            this.flushThresholdBytes.reportSuccessValue(bytes);
+            this.flushThresholdMillis.reportSuccessValue(time.toMillis());
+        }
+    }
+
+    //endregion
+
     //region Metadata
 
     /**
@@ -15,6 +15,7 @@ import io.pravega.common.concurrent.Futures;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.AttributeIndex;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
 import io.pravega.segmentstore.server.ContainerMetadata;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
@@ -121,7 +122,7 @@ class ContainerAttributeIndexImpl implements ContainerAttributeIndex {
                 // If this fails, we must fail the Future that we previously registered and unregister any pointers to
                 // this index.
                 toInitialize.get().initialize(timeout)
-                            .thenRun(() -> this.cacheManager.register(toInitialize.get()))
+                            .thenRun(() -> this.cacheManager.register(toInitialize.get(), CachePolicy.ATTRIBUTE_INDEX_PRIORITY_CLASS))
                             .whenComplete((r, ex) -> {
                                 if (ex == null) {
                                     result.complete(toInitialize.get());
@@ -243,7 +243,9 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
     public CacheManager.CacheStatus getCacheStatus() {
         int minGen = 0;
         int maxGen = 0;
+        int minProbationaryGen = Integer.MAX_VALUE;
         long size = 0;
+        long probationarySize = 0;
         synchronized (this.cacheEntries) {
             for (CacheEntry e : this.cacheEntries.values()) {
                 if (e != null) {
@@ -251,15 +253,24 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
                     minGen = Math.min(minGen, g);
                     maxGen = Math.max(maxGen, g);
                     size += e.getSize();
+                    if (e.isProbationary()) {
+                        minProbationaryGen = Math.min(minProbationaryGen, g);
+                        probationarySize += e.getSize();
+                    }
                 }
             }
         }
 
-        return new CacheManager.CacheStatus(size, minGen, maxGen);
+        return new CacheManager.CacheStatus(size, minGen, maxGen, probationarySize, Math.min(minProbationaryGen, maxGen));
     }
 
     @Override
     public long updateGenerations(int currentGeneration, int oldestGeneration) {
+        return updateGenerations(currentGeneration, oldestGeneration, oldestGeneration);
+    }
+
+    @Override
+    public long updateGenerations(int currentGeneration, int oldestGeneration, int oldestProbationaryGeneration) {
         Exceptions.checkNotClosed(this.closed.get(), this);
 
         // Remove those entries that have a generation below the oldest permissible one.
@@ -268,7 +279,7 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
             this.currentCacheGeneration = currentGeneration;
             ArrayList<CacheEntry> toRemove = new ArrayList<>();
             for (val entry : this.cacheEntries.values()) {
-                if (entry.getGeneration() < oldestGeneration) {
+                if (entry.getGeneration() < (entry.isProbationary() ? oldestProbationaryGeneration : oldestGeneration)) {
                     sizeRemoved += entry.getSize();
                     toRemove.add(entry);
                 }
@@ -580,7 +591,7 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
                 if (data != null && data.length == length) {
                     // We only deem a cache entry valid if it exists and has the expected length; otherwise it's best
                     // if we treat it as a cache miss and re-read it from Storage.
-                    entry.setGeneration(this.currentCacheGeneration);
+                    entry.markAccessed(this.currentCacheGeneration);
                     return data;
                 }
             }
@@ -671,11 +682,14 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
         private final int size;
         @GuardedBy("this")
         private int generation;
+        @GuardedBy("this")
+        private boolean probationary;
 
         CacheEntry(long offset, int size, int currentGeneration) {
             this.offset = offset;
             this.size = size;
             this.generation = currentGeneration;
+            this.probationary = true;
         }
 
         /**
@@ -693,12 +707,22 @@ public class SegmentAttributeBTreeIndex implements AttributeIndex, CacheManager.
         }
 
         /**
-         * Sets the current Generation of this Cache Entry.
+         * Gets a value indicating whether this Cache Entry is probationary, i.e., it has not been accessed since it was
+         * created.
+         */
+        synchronized boolean isProbationary() {
+            return this.probationary;
+        }
+
+        /**
+         * Records that this Cache Entry has been accessed. This sets its Generation to the given one and makes it no
+         * longer probationary.
          *
-         * @param value The current Generation to set.
+         * @param currentGeneration The current Generation to set.
          */
-        synchronized void setGeneration(int value) {
-            this.generation = value;
+        synchronized void markAccessed(int currentGeneration) {
+            this.generation = currentGeneration;
+            this.probationary = false;
         }
     }
 
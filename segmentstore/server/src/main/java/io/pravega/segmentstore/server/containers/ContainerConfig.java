@@ -29,6 +29,9 @@ public class ContainerConfig {
     public static final Property<Integer> MAX_ACTIVE_SEGMENT_COUNT = Property.named("maxActiveSegmentCount", 25000);
     public static final Property<Integer> MAX_CONCURRENT_SEGMENT_EVICTION_COUNT = Property.named("maxConcurrentSegmentEvictionCount", 2500);
     public static final Property<Integer> MAX_CACHED_EXTENDED_ATTRIBUTE_COUNT = Property.named("maxCachedExtendedAttributeCount", 4096);
+    public static final Property<Integer> WARM_UP_SEGMENT_COUNT = Property.named("warmUpSegmentCount", 0);
+    public static final Property<Integer> WARM_UP_SEGMENT_TAIL_LENGTH = Property.named("warmUpSegmentTailLength", 4 * 1024 * 1024);
+    public static final Property<Integer> WARM_UP_CONCURRENCY = Property.named("warmUpConcurrency", 4);
     private static final String COMPONENT_CODE = "containers";
 
     /**
@@ -61,6 +64,25 @@ public class ContainerConfig {
     @Getter
     private final int maxCachedExtendedAttributeCount;
 
+    /**
+     * The maximum number of Segments whose tails to load into the Read Index Cache after the Container recovers. The most
+     * recently used Segments are chosen first. If 0, no warm-up will be performed.
+     */
+    @Getter
+    private final int warmUpSegmentCount;
+
+    /**
+     * The number of bytes at the end of each Segment to load into the Read Index Cache during warm-up.
+     */
+    @Getter
+    private final int warmUpSegmentTailLength;
+
+    /**
+     * The maximum number of Segments to warm up concurrently.
+     */
+    @Getter
+    private final int warmUpConcurrency;
+
     //endregion
 
     //region Constructor
@@ -99,6 +121,21 @@ public class ContainerConfig {
         if (this.maxCachedExtendedAttributeCount <= 0) {
             throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_CACHED_EXTENDED_ATTRIBUTE_COUNT));
         }
+
+        this.warmUpSegmentCount = properties.getInt(WARM_UP_SEGMENT_COUNT);
+        if (this.warmUpSegmentCount < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", WARM_UP_SEGMENT_COUNT));
+        }
+
+        this.warmUpSegmentTailLength = properties.getInt(WARM_UP_SEGMENT_TAIL_LENGTH);
+        if (this.warmUpSegmentTailLength <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", WARM_UP_SEGMENT_TAIL_LENGTH));
+        }
+
+        this.warmUpConcurrency = properties.getInt(WARM_UP_CONCURRENCY);
+        if (this.warmUpConcurrency <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", WARM_UP_CONCURRENCY));
+        }
     }
 
     /**
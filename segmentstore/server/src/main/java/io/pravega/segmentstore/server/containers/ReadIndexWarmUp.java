@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.containers;
+
+import io.pravega.common.Exceptions;
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.Timer;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.server.ContainerMetadata;
+import io.pravega.segmentstore.server.ReadIndex;
+import io.pravega.segmentstore.server.SegmentMetadata;
+import io.pravega.segmentstore.server.reading.AsyncReadResultProcessor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the tails of the most recently used Segments from Storage into the Read Index after a Container recovery, so
+ * that tail readers do not all have to wait on Storage reads when they reconnect to this Container.
+ */
+@Slf4j
+class ReadIndexWarmUp {
+    //region Members
+
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(30);
+    private final ContainerConfig config;
+    private final ContainerMetadata metadata;
+    private final ReadIndex readIndex;
+    private final ScheduledExecutorService executor;
+    private final String traceObjectId;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ReadIndexWarmUp class.
+     *
+     * @param config        Container Configuration to use.
+     * @param metadata      The (recovered) ContainerMetadata to pick Segments from.
+     * @param readIndex     The ReadIndex to load data into.
+     * @param executor      The Executor to use for async callbacks and operations.
+     * @param traceObjectId An identifier to use for logging purposes.
+     */
+    ReadIndexWarmUp(@NonNull ContainerConfig config, @NonNull ContainerMetadata metadata, @NonNull ReadIndex readIndex,
+                    @NonNull ScheduledExecutorService executor, String traceObjectId) {
+        this.config = config;
+        this.metadata = metadata;
+        this.readIndex = readIndex;
+        this.executor = executor;
+        this.traceObjectId = traceObjectId;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Loads the tails of up to {@link ContainerConfig#getWarmUpSegmentCount()} Segments into the ReadIndex, with at
+     * most {@link ContainerConfig#getWarmUpConcurrency()} Segments being read at any given time. Failure to load any
+     * particular Segment is logged and otherwise ignored.
+     *
+     * @return A CompletableFuture that will be completed when the warm-up is done. This future will not be failed.
+     */
+    CompletableFuture<Void> run() {
+        List<SegmentMetadata> candidates = getCandidates();
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.info("{}: Warming up Read Index for {} Segment(s).", this.traceObjectId, candidates.size());
+        Timer timer = new Timer();
+        AtomicInteger segmentCount = new AtomicInteger();
+        AtomicLong byteCount = new AtomicLong();
+
+        // Distribute the candidates among a fixed number of sequential loops; this bounds the number of concurrent reads.
+        int concurrency = Math.min(this.config.getWarmUpConcurrency(), candidates.size());
+        List<List<SegmentMetadata>> partitions = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            partitions.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            partitions.get(i % concurrency).add(candidates.get(i));
+        }
+
+        return Futures.allOf(partitions
+                .stream()
+                .map(partition -> Futures.loop(
+                        partition,
+                        sm -> warmUp(sm)
+                                .thenApply(length -> {
+                                    if (length > 0) {
+                                        segmentCount.incrementAndGet();
+                                        byteCount.addAndGet(length);
+                                    }
+                                    return length >= 0;
+                                }),
+                        this.executor))
+                .collect(Collectors.toList()))
+                .thenRun(() -> log.info("{}: Read Index warm-up complete. Loaded {} byte(s) for {} Segment(s) in {}ms.",
+                        this.traceObjectId, byteCount.get(), segmentCount.get(), timer.getElapsedMillis()));
+    }
+
+    /**
+     * Gets the Segments to warm up, ordered from the most recently used to the least recently used (LastUsed is not
+     * checkpointed, so ties are broken by picking the longer Segments first). Only Segments that have data in Storage
+     * which would not otherwise be in the Read Index are included.
+     */
+    private List<SegmentMetadata> getCandidates() {
+        if (this.config.getWarmUpSegmentCount() <= 0) {
+            return new ArrayList<>();
+        }
+
+        return this.metadata.getAllStreamSegmentIds()
+                .stream()
+                .map(this.metadata::getStreamSegmentMetadata)
+                .filter(Objects::nonNull)
+                .filter(sm -> !sm.isDeleted() && !sm.isMerged() && getWarmUpLength(sm) > 0)
+                .sorted(Comparator.comparingLong(SegmentMetadata::getLastUsed).thenComparingLong(SegmentMetadata::getLength).reversed())
+                .limit(this.config.getWarmUpSegmentCount())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the tail of the given Segment from Storage, which will load it into the Read Index.
+     *
+     * @return A CompletableFuture that will contain the number of bytes read, 0 if the Segment could not be read or -1
+     * if the Read Index has been closed (in which case no further Segments should be attempted).
+     */
+    private CompletableFuture<Integer> warmUp(SegmentMetadata segmentMetadata) {
+        // Data beyond the StorageLength has already been added to the Read Index by the recovery, so we only need to
+        // read the part of the tail that is exclusively in Storage.
+        int length = getWarmUpLength(segmentMetadata);
+        long offset = segmentMetadata.getStorageLength() - length;
+        return Futures
+                .exceptionallyCompose(
+                        readFully(segmentMetadata.getId(), offset, length),
+                        ex -> {
+                            if (Exceptions.unwrap(ex) instanceof ObjectClosedException) {
+                                return CompletableFuture.completedFuture(-1);
+                            }
+
+                            log.warn("{}: Unable to warm up Segment '{}'.", this.traceObjectId, segmentMetadata.getName(), ex);
+                            return CompletableFuture.completedFuture(0);
+                        });
+    }
+
+    private CompletableFuture<Integer> readFully(long segmentId, long offset, int length) {
+        ReadResult readResult;
+        try {
+            readResult = this.readIndex.read(segmentId, offset, length, READ_TIMEOUT);
+        } catch (Exception ex) {
+            return Futures.failedFuture(ex);
+        }
+
+        // We do not need the data itself; reading it from Storage is enough to have it cached in the Read Index. We must
+        // still close it to release any references it may hold.
+        return AsyncReadResultProcessor
+                .processAll(readResult, this.executor, READ_TIMEOUT)
+                .thenApply(data -> {
+                    close(data);
+                    return length;
+                });
+    }
+
+    @SneakyThrows(IOException.class)
+    private void close(InputStream data) {
+        data.close();
+    }
+
+    private int getWarmUpLength(SegmentMetadata segmentMetadata) {
+        long tailStartOffset = Math.max(segmentMetadata.getStartOffset(),
+                segmentMetadata.getLength() - this.config.getWarmUpSegmentTailLength());
+        return (int) Math.max(0, segmentMetadata.getStorageLength() - tailStartOffset);
+    }
+
+    //endregion
+}
@@ -237,6 +237,10 @@ class StreamSegmentContainer extends AbstractService implements SegmentContainer
                     if (ex == null) {
                         // Successful start.
                         log.info("{}: Started.", this.traceObjectId);
+
+                        // Now that Storage is initialized, load the tails of the recently used Segments into the Read
+                        // Index in the background, before tail readers reconnect and request them all at once.
+                        new ReadIndexWarmUp(this.config, this.metadata, this.readIndex, this.executor, this.traceObjectId).run();
                     } else if (!(Exceptions.unwrap(ex) instanceof ObjectClosedException) || !Services.isTerminating(state())) {
                         // If the delayed start fails, immediately shut down the Segment Container with the appropriate
                         // exception. We should ignore ObjectClosedExceptions or other exceptions during a shutdown phase
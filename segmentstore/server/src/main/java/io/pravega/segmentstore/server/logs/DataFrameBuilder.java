@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.logs;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.Timer;
 import io.pravega.common.util.SequencedItemList;
 import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
 import io.pravega.segmentstore.storage.DurableDataLog;
@@ -94,11 +95,15 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
     /**
      * Forces a flush of the current DataFrame. This should be invoked if there are no more items to add to the current
      * DataFrame, but it is desired to have its outstanding contents flushed to the underlying DurableDataLog.
+     *
+     * The physical buffer backing the flushed DataFrame is kept, and the next DataFrame will be carved out of its unused
+     * part. Flushes usually happen after every batch of operations, so releasing the buffer each time would allocate a
+     * new (max append length) buffer for every small DataFrame, and keep it referenced until the DurableDataLog is done
+     * with that DataFrame.
      */
     void flush() {
         Exceptions.checkNotClosed(this.closed.get(), this);
         this.outputStream.flush();
-        this.outputStream.releaseBuffer();
     }
 
     /**
@@ -183,9 +188,11 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
 
         try {
             this.args.beforeCommit.accept(commitArgs);
+            Timer writeTimer = new Timer();
             this.targetLog.append(dataFrame.getData(), this.args.writeTimeout)
                     .thenAcceptAsync(logAddress -> {
                         commitArgs.setLogAddress(logAddress);
+                        commitArgs.setLogWriteElapsed(writeTimer.getElapsed());
                         this.args.commitSuccess.accept(commitArgs);
                     }, this.args.executor)
                     .exceptionally(ex -> handleProcessingException(ex, commitArgs));
@@ -257,6 +264,12 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
         @Setter
         private List<CompletableOperation> operations;
 
+        /**
+         * The amount of time it took to write the DataFrame to the DurableDataLog (including delivering the acknowledgement).
+         */
+        @Getter
+        private volatile Duration logWriteElapsed;
+
         /**
          * Creates a new instance of the CommitArgs class.
          *
@@ -285,6 +298,10 @@ class DataFrameBuilder<T extends SequencedItemList.Element> implements AutoClose
             this.logAddress.set(address);
         }
 
+        private void setLogWriteElapsed(Duration elapsed) {
+            this.logWriteElapsed = elapsed;
+        }
+
         @Override
         public String toString() {
             return String.format("TxnId = %d, LastFullySerializedSN = %d, LastStartedSN = %d, Address = %s, Length = %d",
@@ -207,14 +207,6 @@ class DataFrameOutputStream extends OutputStream {
         this.hasDataInCurrentFrame = false;
     }
 
-    /**
-     * Releases any buffers that may be lingering around and are no longer needed.
-     */
-    void releaseBuffer() {
-        Exceptions.checkNotClosed(this.closed, this);
-        this.bufferFactory.reset();
-    }
-
     private void createNewFrame() {
         Preconditions.checkState(this.currentFrame == null || this.currentFrame.isSealed(), "Cannot create a new frame if we currently have a non-sealed frame.");
 
@@ -274,15 +266,6 @@ class DataFrameOutputStream extends OutputStream {
                 this.current = null;
             }
         }
-
-        /**
-         * Releases the current buffer (if any) and resets the stats. After this method is called, the first call to next()
-         * will allocate a new buffer.
-         */
-        void reset() {
-            this.current = null;
-            this.lastBuffers.reset();
-        }
     }
 
 
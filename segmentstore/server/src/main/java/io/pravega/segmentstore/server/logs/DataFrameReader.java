@@ -48,10 +48,22 @@ class DataFrameReader<T extends SequencedItemList.Element> implements CloseableI
      * @throws DurableDataLogException If the given log threw an exception while initializing a Reader.
      */
     DataFrameReader(DurableDataLog log, Serializer<T> serializer, int containerId) throws DurableDataLogException {
-        Preconditions.checkNotNull(log, "log");
+        this(Preconditions.checkNotNull(log, "log").getReader(), serializer, containerId);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameReader class.
+     *
+     * @param logReader   An Iterator that produces the DurableDataLog.ReadItems to interpret as DataFrames.
+     * @param serializer  A Serializer to create LogItems upon deserialization.
+     * @param containerId The Container Id for the DataFrameReader (used primarily for logging).
+     * @throws NullPointerException If any of the arguments are null.
+     */
+    DataFrameReader(CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> logReader, Serializer<T> serializer, int containerId) {
+        Preconditions.checkNotNull(logReader, "logReader");
         Preconditions.checkNotNull(serializer, "serializer");
         this.lastReadSequenceNumber = Operation.NO_SEQUENCE_NUMBER;
-        this.dataFrameInputStream = new DataFrameInputStream(log.getReader(), String.format("DataFrameReader[%d]", containerId));
+        this.dataFrameInputStream = new DataFrameInputStream(logReader, String.format("DataFrameReader[%d]", containerId));
         this.serializer = serializer;
     }
 
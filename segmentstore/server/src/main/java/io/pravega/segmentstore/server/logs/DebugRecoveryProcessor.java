@@ -54,7 +54,7 @@ public class DebugRecoveryProcessor extends RecoveryProcessor implements AutoClo
 
     private DebugRecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, ReadIndexFactory readIndexFactory,
                                    Storage storage, CacheManager cacheManager, OperationCallbacks callbacks) {
-        super(metadata, durableDataLog, new MemoryStateUpdater(new SequencedItemList<>(), readIndexFactory.createReadIndex(metadata, storage), null));
+        super(metadata, durableDataLog, new MemoryStateUpdater(new SequencedItemList<>(), readIndexFactory.createReadIndex(metadata, storage), null), 0);
         this.readIndexFactory = readIndexFactory;
         this.storage = storage;
         this.callbacks = callbacks;
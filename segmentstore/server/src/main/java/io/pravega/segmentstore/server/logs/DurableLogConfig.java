@@ -25,7 +25,10 @@ public class DurableLogConfig {
     public static final Property<Integer> CHECKPOINT_MIN_COMMIT_COUNT = Property.named("checkpointMinCommitCount", 300);
     public static final Property<Integer> CHECKPOINT_COMMIT_COUNT = Property.named("checkpointCommitCountThreshold", 300);
     public static final Property<Long> CHECKPOINT_TOTAL_COMMIT_LENGTH = Property.named("checkpointTotalCommitLengthThreshold", 256 * 1024 * 1024L);
+    public static final Property<Integer> CHECKPOINT_LENGTH_MULTIPLIER = Property.named("checkpointLengthMultiplier", 0);
     public static final Property<Integer> START_RETRY_DELAY_MILLIS = Property.named("startRetryDelayMillis", 60 * 1000);
+    public static final Property<Integer> RECOVERY_PREFETCH_COUNT = Property.named("recoveryPrefetchCount", 0);
+    public static final Property<Integer> BATCHING_TARGET_LATENCY_MILLIS = Property.named("batchingTargetLatencyMillis", 0);
     private static final String COMPONENT_CODE = "durablelog";
 
     //endregion
@@ -50,12 +53,36 @@ public class DurableLogConfig {
     @Getter
     private final long checkpointTotalCommitLengthThreshold;
 
+    /**
+     * The minimum number of bytes appended since the previous Checkpoint, expressed as a multiple of the length of that
+     * Checkpoint, before another Checkpoint may be triggered. This bounds the overhead of Checkpoints for Containers with
+     * many Segments (whose Checkpoints are large). If 0, the length of the previous Checkpoint is not considered.
+     */
+    @Getter
+    private final int checkpointLengthMultiplier;
+
     /**
      * The amount of time to wait between consecutive start attempts in case of retryable startup failure (i.e., offline).
      */
     @Getter
     private Duration startRetryDelay;
 
+    /**
+     * The number of DataFrames to read ahead from the DurableDataLog, and the number of Operations to deserialize ahead,
+     * while the recovered Operations are being applied. If 0, the recovery will read, deserialize and apply Operations
+     * on a single thread.
+     */
+    @Getter
+    private final int recoveryPrefetchCount;
+
+    /**
+     * The target latency (millis) for writing a DataFrame to the DurableDataLog, including the time spent waiting for
+     * more operations to batch into it. If positive, the batching delay is continuously adjusted based on the observed
+     * DurableDataLog write latency and queue depth so that it stays within this target. If 0, a fixed heuristic is used.
+     */
+    @Getter
+    private final int batchingTargetLatencyMillis;
+
     //endregion
 
     //region Constructor
@@ -75,11 +102,26 @@ public class DurableLogConfig {
         }
 
         this.checkpointTotalCommitLengthThreshold = properties.getLong(CHECKPOINT_TOTAL_COMMIT_LENGTH);
+        this.checkpointLengthMultiplier = properties.getInt(CHECKPOINT_LENGTH_MULTIPLIER);
+        if (this.checkpointLengthMultiplier < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", CHECKPOINT_LENGTH_MULTIPLIER));
+        }
+
         int startRetryDelayMillis = properties.getInt(START_RETRY_DELAY_MILLIS);
         if (startRetryDelayMillis <= 0) {
             throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", START_RETRY_DELAY_MILLIS));
         }
         this.startRetryDelay = Duration.ofMillis(startRetryDelayMillis);
+
+        this.recoveryPrefetchCount = properties.getInt(RECOVERY_PREFETCH_COUNT);
+        if (this.recoveryPrefetchCount < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", RECOVERY_PREFETCH_COUNT));
+        }
+
+        this.batchingTargetLatencyMillis = properties.getInt(BATCHING_TARGET_LATENCY_MILLIS);
+        if (this.batchingTargetLatencyMillis < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", BATCHING_TARGET_LATENCY_MILLIS));
+        }
     }
 
     /**
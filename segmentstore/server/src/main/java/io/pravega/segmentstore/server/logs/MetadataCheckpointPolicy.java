@@ -23,6 +23,8 @@ import javax.annotation.concurrent.ThreadSafe;
  * haven't done at least this many commits since the last checkpoint, none will be triggered.
  * <li> CheckpointCommitCountThreshold and CheckpointTotalCommitLengthThreshold: If neither of them is met (count or total
  * size), then no checkpointing is done.
+ * <li> CheckpointLengthMultiplier: if set, the total size of the commits since the last checkpoint must be at least this
+ * multiple of the length of the last checkpoint.
  * </ul>
  */
 @ThreadSafe
@@ -36,6 +38,8 @@ public class MetadataCheckpointPolicy {
     private int commitCount;
     @GuardedBy("this")
     private long accumulatedLength;
+    @GuardedBy("this")
+    private int lastCheckpointLength;
 
     //endregion
 
@@ -58,6 +62,7 @@ public class MetadataCheckpointPolicy {
         this.executor = executor;
         this.commitCount = 0;
         this.accumulatedLength = 0;
+        this.lastCheckpointLength = 0;
     }
 
     //endregion
@@ -79,7 +84,9 @@ public class MetadataCheckpointPolicy {
         int minCount = this.config.getCheckpointMinCommitCount();
         int countThreshold = this.config.getCheckpointCommitCountThreshold();
         long lengthThreshold = this.config.getCheckpointTotalCommitLengthThreshold();
-        if (this.commitCount >= minCount && (this.commitCount >= countThreshold || this.accumulatedLength >= lengthThreshold)) {
+        long minLength = (long) this.lastCheckpointLength * this.config.getCheckpointLengthMultiplier();
+        if (this.commitCount >= minCount && (this.commitCount >= countThreshold || this.accumulatedLength >= lengthThreshold)
+                && this.accumulatedLength >= minLength) {
             // Reset counters.
             this.commitCount = 0;
             this.accumulatedLength = 0;
@@ -89,10 +96,21 @@ public class MetadataCheckpointPolicy {
         }
     }
 
+    /**
+     * Records that a checkpoint with the given length has been created.
+     *
+     * @param checkpointLength The length of the serialized checkpoint.
+     */
+    public synchronized void recordCheckpoint(int checkpointLength) {
+        Preconditions.checkArgument(checkpointLength >= 0, "checkpointLength must be a non-negative number.");
+        this.lastCheckpointLength = checkpointLength;
+    }
+
     @Override
     public String toString() {
         synchronized (this) {
-            return String.format("Count = %d/%d, Length = %d/%d", this.commitCount, this.config.getCheckpointCommitCountThreshold(), this.accumulatedLength, this.config.getCheckpointTotalCommitLengthThreshold());
+            return String.format("Count = %d/%d, Length = %d/%d, LastCheckpointLength = %d", this.commitCount, this.config.getCheckpointCommitCountThreshold(),
+                    this.accumulatedLength, this.config.getCheckpointTotalCommitLengthThreshold(), this.lastCheckpointLength);
         }
     }
 
@@ -22,6 +22,7 @@ import io.pravega.segmentstore.server.IllegalContainerStateException;
 import io.pravega.segmentstore.server.SegmentStoreMetrics;
 import io.pravega.segmentstore.server.UpdateableContainerMetadata;
 import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
+import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
 import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
@@ -70,6 +71,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
     @Getter
     private final SegmentStoreMetrics.OperationProcessor metrics;
     private final ThrottlerCalculator throttlerCalculator;
+    private final MetadataCheckpointPolicy checkpointPolicy;
 
     //endregion
 
@@ -86,6 +88,24 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
      * @throws NullPointerException If any of the arguments are null.
      */
     OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog, MetadataCheckpointPolicy checkpointPolicy, ScheduledExecutorService executor) {
+        this(metadata, stateUpdater, durableDataLog, checkpointPolicy, 0, executor);
+    }
+
+    /**
+     * Creates a new instance of the OperationProcessor class.
+     *
+     * @param metadata                    The ContainerMetadata for the Container to process operations for.
+     * @param stateUpdater                A MemoryStateUpdater that is used to update in-memory structures upon successful
+     *                                    Operation committal.
+     * @param durableDataLog              The DataFrameLog to write DataFrames to.
+     * @param checkpointPolicy            The Checkpoint Policy for Metadata.
+     * @param batchingTargetLatencyMillis The target DataFrame write latency (millis) to adapt the batching delay to. If 0,
+     *                                    the batching delay will be calculated using a fixed heuristic.
+     * @param executor                    An Executor to use for async operations.
+     * @throws NullPointerException If any of the arguments are null.
+     */
+    OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog,
+                       MetadataCheckpointPolicy checkpointPolicy, int batchingTargetLatencyMillis, ScheduledExecutorService executor) {
         super(String.format("OperationProcessor[%d]", metadata.getContainerId()), executor);
         Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.metadata = metadata;
@@ -93,15 +113,21 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         this.metadataUpdater = new OperationMetadataUpdater(this.metadata);
         this.operationQueue = new BlockingDrainingQueue<>();
         this.commitQueue = new BlockingDrainingQueue<>();
-        this.state = new QueueProcessingState(checkpointPolicy);
+        this.checkpointPolicy = Preconditions.checkNotNull(checkpointPolicy, "checkpointPolicy");
+        this.state = new QueueProcessingState(this.checkpointPolicy);
         val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor);
         this.dataFrameBuilder = new DataFrameBuilder<>(durableDataLog, OperationSerializer.DEFAULT, args);
         this.metrics = new SegmentStoreMetrics.OperationProcessor(this.metadata.getContainerId());
-        this.throttlerCalculator = ThrottlerCalculator.builder()
-                                                      .cacheThrottler(stateUpdater::getCacheUtilization)
-                                                      .commitBacklogThrottler(this.commitQueue::size)
-                                                      .batchingThrottler(durableDataLog::getQueueStatistics)
-                                                      .build();
+        val throttlerBuilder = ThrottlerCalculator.builder()
+                                                  .cacheThrottler(stateUpdater::getCacheUtilization)
+                                                  .commitBacklogThrottler(this.commitQueue::size);
+        if (batchingTargetLatencyMillis > 0) {
+            throttlerBuilder.adaptiveBatchingThrottler(batchingTargetLatencyMillis, durableDataLog::getQueueStatistics, this.metrics::batchingDelay);
+        } else {
+            throttlerBuilder.batchingThrottler(durableDataLog::getQueueStatistics);
+        }
+
+        this.throttlerCalculator = throttlerBuilder.build();
     }
 
     //endregion
@@ -212,6 +238,9 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         } else {
             log.debug("{}: process {}.", this.traceObjectId, operation);
             try {
+                // Operations are serialized on a single thread (in order), but they are added concurrently from many.
+                // Do as much of the serialization work as we can on the calling thread.
+                operation.prepareSerialization();
                 this.operationQueue.add(new CompletableOperation(operation, result));
             } catch (Throwable e) {
                 if (Exceptions.mustRethrow(e)) {
@@ -277,7 +306,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
                 // Process the current set of operations.
                 while (!operations.isEmpty()) {
                     CompletableOperation o = operations.poll();
-                    this.metrics.operationQueueWaitTime(o.getTimer().getElapsedMillis());
+                    this.metrics.operationQueueWaitTime(o.getElapsedMillis());
                     try {
                         processOperation(o);
                         this.state.addPending(o);
@@ -359,7 +388,14 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
 
             // Entry is ready to be serialized; assign a sequence number.
             entry.setSequenceNumber(this.metadataUpdater.nextOperationSequenceNumber());
+            long serializationStart = System.nanoTime();
             this.dataFrameBuilder.append(entry);
+            this.metrics.operationSerialized(System.nanoTime() - serializationStart);
+            if (entry instanceof MetadataCheckpointOperation) {
+                // Record the checkpoint's length before accepting it, which will clear its contents.
+                this.checkpointPolicy.recordCheckpoint(((MetadataCheckpointOperation) entry).getContents().getLength());
+            }
+
             this.metadataUpdater.acceptOperation(entry);
         }
 
@@ -515,6 +551,9 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
             assert commitArgs.getMetadataTransactionId() >= 0 : "DataFrameBuilder.CommitArgs does not have a key set";
             log.debug("{}: CommitSuccess ({}).", traceObjectId, commitArgs);
             Timer timer = new Timer();
+            if (commitArgs.getLogWriteElapsed() != null) {
+                metrics.logWriteCompleted(commitArgs.getLogWriteElapsed());
+            }
 
             List<List<CompletableOperation>> toAck = null;
             try {
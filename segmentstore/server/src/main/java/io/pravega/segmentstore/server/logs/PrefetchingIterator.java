@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.util.CloseableIterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link CloseableIterator} that fetches items from another {@link CloseableIterator} on a dedicated thread, ahead of
+ * them being requested, and buffers up to a fixed number of them. This allows a slow producer (i.e., one that reads from
+ * a remote log or does expensive deserialization) to run concurrently with the consumer of its items.
+ *
+ * Items (and any exception thrown by the source) are returned in the same order in which the source returned them. The
+ * source is always closed by the prefetching thread, either once it reached its end (or failed) or once this iterator
+ * is closed.
+ *
+ * This class is not thread safe: {@link #getNext()} must not be invoked concurrently.
+ *
+ * @param <T>   Type of the items.
+ * @param <TEx> Type of the exception that the source can throw.
+ */
+@Slf4j
+@NotThreadSafe
+class PrefetchingIterator<T, TEx extends Exception> implements CloseableIterator<T, TEx> {
+    //region Members
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private final CloseableIterator<T, ? extends TEx> source;
+    private final BlockingQueue<Result<T>> prefetched;
+    private final AtomicBoolean closed;
+    private final String traceObjectId;
+    private boolean reachedEnd;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the PrefetchingIterator class and begins fetching items from the source.
+     *
+     * @param source        The {@link CloseableIterator} to fetch items from.
+     * @param capacity      The maximum number of items to fetch ahead of them being requested.
+     * @param threadFactory A {@link ThreadFactory} to create the prefetching thread with. A dedicated thread is used
+     *                      because the prefetching may block on the consumer, which may itself run on a shared executor.
+     * @param traceObjectId An identifier to use for logging purposes.
+     */
+    PrefetchingIterator(CloseableIterator<T, ? extends TEx> source, int capacity, ThreadFactory threadFactory, String traceObjectId) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be a positive number.");
+        this.source = Preconditions.checkNotNull(source, "source");
+        this.prefetched = new ArrayBlockingQueue<>(capacity);
+        this.closed = new AtomicBoolean();
+        this.traceObjectId = traceObjectId;
+        threadFactory.newThread(this::prefetch).start();
+    }
+
+    //endregion
+
+    //region CloseableIterator Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            // Unblock the prefetching thread, if it is waiting for room. It will close the source when it notices this.
+            this.prefetched.clear();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getNext() throws TEx {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        if (this.reachedEnd) {
+            return null;
+        }
+
+        Result<T> result = Exceptions.handleInterruptedCall(this.prefetched::take);
+        if (result.failure != null) {
+            close();
+            if (result.failure instanceof RuntimeException) {
+                throw (RuntimeException) result.failure;
+            } else if (result.failure instanceof Error) {
+                throw (Error) result.failure;
+            }
+
+            throw (TEx) result.failure;
+        } else if (result.item == null) {
+            this.reachedEnd = true;
+        }
+
+        return result.item;
+    }
+
+    //endregion
+
+    //region Prefetching
+
+    private void prefetch() {
+        Result<T> last = new Result<>(null, null);
+        try {
+            T item = this.source.getNext();
+            while (item != null && offer(new Result<>(item, null))) {
+                item = this.source.getNext();
+            }
+        } catch (Throwable ex) {
+            log.debug("{}: Prefetching failed.", this.traceObjectId, ex);
+            last = new Result<>(null, ex);
+        } finally {
+            // Close the source before signaling its end, so that it is no longer in use once the consumer is done.
+            this.source.close();
+        }
+
+        offer(last);
+    }
+
+    /**
+     * Adds the given result to the prefetch queue, waiting for room to become available if needed.
+     *
+     * @return True if the result was added, false if this iterator was closed in the meantime.
+     */
+    private boolean offer(Result<T> result) {
+        try {
+            while (!this.closed.get()) {
+                if (this.prefetched.offer(result, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    @RequiredArgsConstructor
+    private static class Result<T> {
+        private final T item;
+        private final Throwable failure;
+    }
+
+    //endregion
+}
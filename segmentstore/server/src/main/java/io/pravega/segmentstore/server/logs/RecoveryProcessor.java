@@ -12,6 +12,8 @@ package io.pravega.segmentstore.server.logs;
 import com.google.common.base.Preconditions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.contracts.ContainerException;
 import io.pravega.segmentstore.contracts.StreamSegmentException;
 import io.pravega.segmentstore.server.DataCorruptionException;
@@ -20,7 +22,9 @@ import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperatio
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
 import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.util.concurrent.ThreadFactory;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -33,6 +37,7 @@ class RecoveryProcessor {
     private final UpdateableContainerMetadata metadata;
     private final DurableDataLog durableDataLog;
     private final MemoryStateUpdater stateUpdater;
+    private final int prefetchCount;
     private final String traceObjectId;
 
     //endregion
@@ -45,11 +50,16 @@ class RecoveryProcessor {
      * @param metadata         The UpdateableContainerMetadata to use for recovery.
      * @param durableDataLog   The (uninitialized) DurableDataLog to read data from for recovery.
      * @param stateUpdater     A MemoryStateUpdater that can be used to apply the recovered operations.
+     * @param prefetchCount    The number of DataFrames to read ahead and the number of Operations to deserialize ahead
+     *                         (each on a dedicated thread) while applying the recovered operations. If 0, everything
+     *                         is done on the calling thread.
      */
-    RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater) {
+    RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater, int prefetchCount) {
+        Preconditions.checkArgument(prefetchCount >= 0, "prefetchCount must be a non-negative number.");
         this.metadata = Preconditions.checkNotNull(metadata, "metadata");
         this.durableDataLog = Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.stateUpdater = Preconditions.checkNotNull(stateUpdater, "stateUpdater");
+        this.prefetchCount = prefetchCount;
         this.traceObjectId = String.format("RecoveryProcessor[%s]", this.metadata.getContainerId());
     }
 
@@ -123,7 +133,7 @@ class RecoveryProcessor {
 
         // Read all entries from the DataFrameLog and append them to the InMemoryOperationLog.
         // Also update metadata along the way.
-        try (DataFrameReader<Operation> reader = new DataFrameReader<>(this.durableDataLog, OperationSerializer.DEFAULT, this.metadata.getContainerId())) {
+        try (CloseableIterator<DataFrameRecord<Operation>, Exception> reader = createReader()) {
             DataFrameRecord<Operation> dataFrameRecord;
 
             // We can only recover starting from a MetadataCheckpointOperation; find the first one.
@@ -167,6 +177,25 @@ class RecoveryProcessor {
         return recoveredItemCount;
     }
 
+    /**
+     * Creates an iterator that returns the DataFrameRecords from the DurableDataLog. If prefetching is enabled, this
+     * is a pipeline where reading DataFrames from the DurableDataLog and decoding Operations from them happen on their
+     * own threads, concurrently with the recovered Operations being applied. Operations are deserialized in the order
+     * in which they were written (they may span multiple DataFrames), and they are returned in this order as well.
+     */
+    private CloseableIterator<DataFrameRecord<Operation>, Exception> createReader() throws DurableDataLogException {
+        if (this.prefetchCount == 0) {
+            return new DataFrameReader<>(this.durableDataLog, OperationSerializer.DEFAULT, this.metadata.getContainerId());
+        }
+
+        ThreadFactory threadFactory = ExecutorServiceHelpers.getThreadFactory(String.format("recovery-%d", this.metadata.getContainerId()));
+        CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> logReader = new PrefetchingIterator<>(
+                this.durableDataLog.getReader(), this.prefetchCount, threadFactory, this.traceObjectId);
+        return new PrefetchingIterator<>(
+                new DataFrameReader<>(logReader, OperationSerializer.DEFAULT, this.metadata.getContainerId()),
+                this.prefetchCount, threadFactory, this.traceObjectId);
+    }
+
     protected void recoverOperation(DataFrameRecord<Operation> dataFrameRecord, OperationMetadataUpdater metadataUpdater) throws DataCorruptionException {
         // Update Metadata Sequence Number.
         Operation operation = dataFrameRecord.getItem();
@@ -14,7 +14,9 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.MathHelpers;
 import io.pravega.segmentstore.storage.QueueStats;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import javax.annotation.concurrent.GuardedBy;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -58,6 +60,25 @@ class ThrottlerCalculator {
     @VisibleForTesting
     static final int THROTTLING_MILLIS_PER_COMMIT_OVER_LIMIT = 50;
 
+    /**
+     * Amount of time (millis) by which the Adaptive Batching Throttler increases its delay when more batching is beneficial.
+     */
+    @VisibleForTesting
+    static final double ADAPTIVE_BATCHING_INCREASE_MILLIS = 1;
+
+    /**
+     * Factor by which the Adaptive Batching Throttler decreases its delay when batching is not needed or when the target
+     * latency is exceeded.
+     */
+    @VisibleForTesting
+    static final double ADAPTIVE_BATCHING_DECREASE_FACTOR = 0.5;
+
+    /**
+     * DurableDataLog write queue fill ratio above which the Adaptive Batching Throttler considers writes to be full enough.
+     */
+    @VisibleForTesting
+    static final double ADAPTIVE_BATCHING_FULL_FILL_RATIO = 0.9;
+
     @Singular
     private final List<Throttler> throttlers;
 
@@ -225,6 +246,65 @@ class ThrottlerCalculator {
         }
     }
 
+    /**
+     * Calculates the amount of time to wait before processing more operations from the queue in order to aggregate them
+     * into larger writes, by continuously adjusting it so that the DurableDataLog write latency plus this delay stays
+     * within a target latency. Uses an AIMD (additive increase, multiplicative decrease) scheme based on statistics from
+     * the DurableDataLog:
+     * - If the observed write latency plus the current delay exceeds the target, the delay is decreased multiplicatively.
+     * - If writes are queued up and they are not full, the delay is increased additively (waiting longer will not
+     * increase the latency by much, since writes have to wait in the queue anyway, but it will produce fuller writes).
+     * - Otherwise (the write queue is empty or writes are full enough), batching brings no benefit and the delay is
+     * decreased multiplicatively.
+     */
+    private static class AdaptiveBatchingThrottler extends Throttler {
+        private final int targetLatencyMillis;
+        private final Supplier<QueueStats> getQueueStats;
+        private final Consumer<Integer> reportDelay;
+        @GuardedBy("this")
+        private double delayMillis;
+
+        AdaptiveBatchingThrottler(int targetLatencyMillis, Supplier<QueueStats> getQueueStats, Consumer<Integer> reportDelay) {
+            Preconditions.checkArgument(targetLatencyMillis > 0, "targetLatencyMillis must be a positive number.");
+            this.targetLatencyMillis = targetLatencyMillis;
+            this.getQueueStats = Preconditions.checkNotNull(getQueueStats, "getQueueStats");
+            this.reportDelay = Preconditions.checkNotNull(reportDelay, "reportDelay");
+            this.delayMillis = 0;
+        }
+
+        @Override
+        boolean isThrottlingRequired() {
+            // Same as BatchingThrottler: there is never an immediate need for throttling due to this reason.
+            return false;
+        }
+
+        @Override
+        int getDelayMillis() {
+            QueueStats stats = this.getQueueStats.get();
+            int maxDelayMillis = MathHelpers.minMax(this.targetLatencyMillis - stats.getExpectedProcessingTimeMillis(), 0, MAX_BATCHING_DELAY_MILLIS);
+            int result;
+            synchronized (this) {
+                if (stats.getExpectedProcessingTimeMillis() + this.delayMillis > this.targetLatencyMillis
+                        || stats.getSize() == 0
+                        || stats.getAverageItemFillRatio() >= ADAPTIVE_BATCHING_FULL_FILL_RATIO) {
+                    this.delayMillis *= ADAPTIVE_BATCHING_DECREASE_FACTOR;
+                } else {
+                    this.delayMillis = Math.min(this.delayMillis + ADAPTIVE_BATCHING_INCREASE_MILLIS, maxDelayMillis);
+                }
+
+                result = (int) this.delayMillis;
+            }
+
+            this.reportDelay.accept(result);
+            return result;
+        }
+
+        @Override
+        String getName() {
+            return "Adaptive Batching";
+        }
+    }
+
     //endregion
 
     //region Builder
@@ -256,6 +336,19 @@ class ThrottlerCalculator {
             return throttler(new BatchingThrottler(Preconditions.checkNotNull(getQueueStats, "getQueueStats")));
         }
 
+        /**
+         * Includes an Adaptive Batching Throttler. This should not be used together with a Batching Throttler.
+         *
+         * @param targetLatencyMillis The target latency (millis) for a DurableDataLog write, including the batching delay.
+         * @param getQueueStats       A Supplier that, when invoked, returns a QueueStats object representing the most
+         *                            recent statistics about the DurableDataLog write queue.
+         * @param reportDelay         A Consumer that will be invoked with every batching delay calculated.
+         * @return This builder.
+         */
+        ThrottlerCalculatorBuilder adaptiveBatchingThrottler(int targetLatencyMillis, Supplier<QueueStats> getQueueStats, Consumer<Integer> reportDelay) {
+            return throttler(new AdaptiveBatchingThrottler(targetLatencyMillis, getQueueStats, reportDelay));
+        }
+
         /**
          * Includes a Commit Backlog Throttler.
          *
@@ -10,26 +10,27 @@
 package io.pravega.segmentstore.server.logs.operations;
 
 import com.google.common.base.Preconditions;
+import io.pravega.common.AbstractTimer;
 import io.pravega.common.Exceptions;
-import io.pravega.common.Timer;
 import io.pravega.common.function.Callbacks;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Binds a Operation with success and failure callbacks that will be invoked based on its outcome..
+ * <p>
+ * One instance of this class is created for every Operation that is processed, so it should be kept as lean as possible.
  */
 @Slf4j
 public class CompletableOperation {
     //region Members
 
     private final Operation operation;
+    private final CompletableFuture<Void> callbackFuture;
     private final Consumer<Throwable> failureHandler;
     private final Consumer<Void> successHandler;
-    @Getter
-    private final Timer timer;
+    private final long startTimeNanos;
     private boolean done;
 
     //endregion
@@ -45,8 +46,14 @@ public class CompletableOperation {
      * @throws IllegalArgumentException If the given callbackFuture is already done.
      */
     public CompletableOperation(Operation operation, CompletableFuture<Void> callbackFuture) {
-        this(operation, callbackFuture::complete, callbackFuture::completeExceptionally);
+        // Hold on to the Future directly (as opposed from wrapping its methods in callbacks) to avoid allocating two
+        // extra objects for every Operation.
         Exceptions.checkArgument(!callbackFuture.isDone(), "callbackFuture", "CallbackFuture is already done.");
+        this.operation = Preconditions.checkNotNull(operation, "operation");
+        this.callbackFuture = callbackFuture;
+        this.failureHandler = null;
+        this.successHandler = null;
+        this.startTimeNanos = System.nanoTime();
     }
 
     /**
@@ -60,9 +67,10 @@ public class CompletableOperation {
     CompletableOperation(Operation operation, Consumer<Void> successHandler, Consumer<Throwable> failureHandler) {
         Preconditions.checkNotNull(operation, "operation");
         this.operation = operation;
+        this.callbackFuture = null;
         this.failureHandler = failureHandler;
         this.successHandler = successHandler;
-        this.timer = new Timer();
+        this.startTimeNanos = System.nanoTime();
     }
 
     //endregion
@@ -77,6 +85,15 @@ public class CompletableOperation {
         return this.operation;
     }
 
+    /**
+     * Gets the number of milliseconds elapsed since this CompletableOperation was created.
+     *
+     * @return The elapsed time, in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return (System.nanoTime() - this.startTimeNanos) / AbstractTimer.NANOS_TO_MILLIS;
+    }
+
     /**
      * Completes the operation (no exception).
      */
@@ -85,7 +102,9 @@ public class CompletableOperation {
         Preconditions.checkState(seqNo >= 0, "About to complete a CompletableOperation that has no sequence number.");
 
         this.done = true;
-        if (this.successHandler != null) {
+        if (this.callbackFuture != null) {
+            this.callbackFuture.complete(null);
+        } else if (this.successHandler != null) {
             Callbacks.invokeSafely(this.successHandler, null, cex -> log.error("Success Callback invocation failure.", cex));
         }
     }
@@ -97,7 +116,9 @@ public class CompletableOperation {
      */
     public void fail(Throwable ex) {
         this.done = true;
-        if (this.failureHandler != null) {
+        if (this.callbackFuture != null) {
+            this.callbackFuture.completeExceptionally(ex);
+        } else if (this.failureHandler != null) {
             Callbacks.invokeSafely(this.failureHandler, ex, cex -> log.error("Fail Callback invocation failure.", cex));
         }
     }
@@ -84,6 +84,16 @@ public abstract class Operation implements SequencedItemList.Element {
 
     //region Serialization
 
+    /**
+     * Serializes, ahead of time, as much of this Operation as possible, using placeholders for those values that are
+     * only assigned while the Operation is being processed (such as the Sequence Number). When the Operation is eventually
+     * serialized, the placeholders are filled in and the result is copied as a whole, which reduces the amount of work
+     * done at that time. This method may be invoked concurrently for different Operations and need not be invoked at all.
+     */
+    public void prepareSerialization() {
+        // Nothing to prepare by default.
+    }
+
     /**
      * Base class for any Operation Serializer.
      * @param <T> Operation Type.
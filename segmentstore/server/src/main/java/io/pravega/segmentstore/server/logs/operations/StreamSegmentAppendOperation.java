@@ -10,12 +10,17 @@
 package io.pravega.segmentstore.server.logs.operations;
 
 import com.google.common.base.Preconditions;
+import io.pravega.common.io.EnhancedByteArrayOutputStream;
 import io.pravega.common.io.serialization.RevisionDataInput;
 import io.pravega.common.io.serialization.RevisionDataOutput;
+import io.pravega.common.io.serialization.RevisionDataOutputStream;
+import io.pravega.common.util.BitConverter;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
 import java.io.IOException;
 import java.util.Collection;
+import lombok.SneakyThrows;
 
 /**
  * Log Operation that represents a StreamSegment Append. This operation, as opposed from CachedStreamSegmentAppendOperation,
@@ -28,6 +33,7 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
     private long streamSegmentOffset;
     private byte[] data;
     private Collection<AttributeUpdate> attributeUpdates;
+    private ByteArraySegment serializedContents;
 
     //endregion
 
@@ -114,6 +120,12 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
         return this.data.length;
     }
 
+    @Override
+    @SneakyThrows(IOException.class)
+    public void prepareSerialization() {
+        this.serializedContents = Serializer.serializeContents(this);
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -152,13 +164,61 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
         }
 
         private void write00(StreamSegmentAppendOperation o, RevisionDataOutput target) throws IOException {
+            ByteArraySegment contents = o.serializedContents;
+            if (contents == null) {
+                writeContents00(o, target);
+            } else {
+                // The contents have been serialized ahead of time; we only need to fill in the values that have been
+                // assigned since then. This is a one-time use; the Operation may live on for a while after this.
+                o.serializedContents = null;
+                fillContents00(o, contents);
+                target.length(contents.getLength());
+                target.write(contents.array(), contents.arrayOffset(), contents.getLength());
+            }
+        }
+
+        private static void writeContents00(StreamSegmentAppendOperation o, RevisionDataOutput target) throws IOException {
             int attributesLength = o.attributeUpdates == null ? target.getCompactIntLength(0) : target.getCollectionLength(o.attributeUpdates.size(), ATTRIBUTE_UPDATE_LENGTH);
             target.length(STATIC_LENGTH + target.getCompactIntLength(o.data.length) + o.data.length + attributesLength);
             target.writeLong(o.getSequenceNumber());
             target.writeLong(o.getStreamSegmentId());
             target.writeLong(o.streamSegmentOffset);
             target.writeArray(o.data);
-            target.writeCollection(o.attributeUpdates, this::writeAttributeUpdate00);
+            target.writeCollection(o.attributeUpdates, Serializer::writeAttributeUpdate00);
+        }
+
+        /**
+         * Serializes the contents of the given Operation in the same format as write00() (excluding the length), using
+         * whatever values it has at this time for the Sequence Number, Offset and AttributeUpdate values.
+         */
+        private static ByteArraySegment serializeContents(StreamSegmentAppendOperation o) throws IOException {
+            int attributeCount = o.attributeUpdates == null ? 0 : o.attributeUpdates.size();
+            EnhancedByteArrayOutputStream stream = new EnhancedByteArrayOutputStream(Integer.BYTES + STATIC_LENGTH + Integer.BYTES + o.data.length
+                    + Integer.BYTES + attributeCount * ATTRIBUTE_UPDATE_LENGTH);
+            try (RevisionDataOutputStream target = RevisionDataOutputStream.wrap(stream)) {
+                writeContents00(o, target);
+            }
+
+            // The RevisionDataOutputStream prefixes the contents with their length.
+            ByteArraySegment result = stream.getData();
+            return result.subSegment(Integer.BYTES, result.getLength() - Integer.BYTES);
+        }
+
+        /**
+         * Overwrites the values that have been serialized by serializeContents() but which may have been assigned or
+         * changed since then: the Sequence Number, the Offset and the AttributeUpdate values (i.e., Accumulate).
+         */
+        private static void fillContents00(StreamSegmentAppendOperation o, ByteArraySegment contents) {
+            BitConverter.writeLong(contents, 0, o.getSequenceNumber());
+            BitConverter.writeLong(contents, 2 * Long.BYTES, o.streamSegmentOffset);
+            if (o.attributeUpdates != null) {
+                // AttributeUpdates are at the end, and each of them has a fixed length.
+                int position = contents.getLength() - o.attributeUpdates.size() * ATTRIBUTE_UPDATE_LENGTH;
+                for (AttributeUpdate au : o.attributeUpdates) {
+                    BitConverter.writeLong(contents, position + RevisionDataOutput.UUID_BYTES + Byte.BYTES, au.getValue());
+                    position += ATTRIBUTE_UPDATE_LENGTH;
+                }
+            }
         }
 
         private void read00(RevisionDataInput source, OperationBuilder<StreamSegmentAppendOperation> b) throws IOException {
@@ -169,7 +229,7 @@ public class StreamSegmentAppendOperation extends StorageOperation implements At
             b.instance.attributeUpdates = source.readCollection(this::readAttributeUpdate00);
         }
 
-        private void writeAttributeUpdate00(RevisionDataOutput target, AttributeUpdate au) throws IOException {
+        private static void writeAttributeUpdate00(RevisionDataOutput target, AttributeUpdate au) throws IOException {
             target.writeUUID(au.getAttributeId());
             target.writeByte(au.getUpdateType().getTypeId());
             target.writeLong(au.getValue());
@@ -95,7 +95,9 @@ public class AsyncReadResultProcessor implements AutoCloseable {
      * @param executor              An Executor to run asynchronous tasks on.
      * @param requestContentTimeout Timeout for each call to {@link ReadResultEntry#requestContent(Duration)}, for those
      *                              {@link ReadResultEntry} instances that are not already cached in memory.
-     * @return A CompletableFuture that, when completed, will contain an {@link InputStream} with the requested data.
+     * @return A CompletableFuture that, when completed, will contain an {@link InputStream} with the requested data. This
+     * InputStream may hold references to data in the Cache, which are only released once it is fully consumed or closed;
+     * as such, it must always be closed if not fully consumed.
      */
     public static CompletableFuture<InputStream> processAll(ReadResult readResult, Executor executor, Duration requestContentTimeout) {
         ProcessAllHandler handler = new ProcessAllHandler(requestContentTimeout);
@@ -176,7 +178,7 @@ public class AsyncReadResultProcessor implements AutoCloseable {
     private static class ProcessAllHandler implements AsyncReadResultHandler {
         @Getter
         private final Duration requestContentTimeout;
-        private final List<InputStream> parts = Collections.synchronizedList(new ArrayList<>());
+        private final List<ReadResultEntryContents> parts = Collections.synchronizedList(new ArrayList<>());
         private final CompletableFuture<InputStream> result = new CompletableFuture<>();
 
         @Override
@@ -186,18 +188,25 @@ public class AsyncReadResultProcessor implements AutoCloseable {
 
         @Override
         public boolean processEntry(ReadResultEntry entry) {
-            this.parts.add(entry.getContent().join().getData());
+            this.parts.add(entry.getContent().join());
             return true;
         }
 
         @Override
         public void processError(Throwable cause) {
+            // Nobody is going to read the parts we collected so far, so we must release them.
+            synchronized (this.parts) {
+                this.parts.forEach(ReadResultEntryContents::release);
+                this.parts.clear();
+            }
+
             this.result.completeExceptionally(cause);
         }
 
         @Override
         public void processResultComplete() {
-            this.result.complete(new SequenceInputStream(Iterators.asEnumeration(this.parts.iterator())));
+            this.result.complete(new SequenceInputStream(Iterators.asEnumeration(
+                    this.parts.stream().map(ReadResultEntryContents::getData).iterator())));
         }
     }
 }
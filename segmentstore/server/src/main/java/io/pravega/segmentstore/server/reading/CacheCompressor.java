@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses and decompresses Cache Entry contents. Uses raw Deflate at its fastest setting, which trades some of the
+ * compression ratio for speed.
+ */
+final class CacheCompressor {
+    /**
+     * Compressed data must be no larger than this fraction of the original data, otherwise compression is not worth it
+     * (as every read would have to decompress it).
+     */
+    private static final double MAX_COMPRESSION_RATIO = 0.875;
+
+    /**
+     * Deflaters and Inflaters allocate native memory (which is only freed when they are ended or finalized), so creating
+     * one for every call is expensive. Each thread reuses its own instead (they are not thread-safe), resetting it before
+     * every use.
+     */
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private CacheCompressor() {
+    }
+
+    /**
+     * Compresses the given data.
+     *
+     * @param data The data to compress.
+     * @return The compressed data, or null if the data does not compress well enough.
+     */
+    static byte[] compress(byte[] data) {
+        int maxLength = (int) (data.length * MAX_COMPRESSION_RATIO);
+        Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            // Any output that does not fit in this buffer is not worth keeping.
+            byte[] buffer = new byte[maxLength + 1];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+
+            return deflater.finished() && length <= maxLength ? Arrays.copyOf(buffer, length) : null;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    /**
+     * Decompresses the given data.
+     *
+     * @param data   The data to decompress. This must have been produced by {@link #compress}.
+     * @param length The length of the original (decompressed) data.
+     * @return The decompressed data.
+     * @throws IllegalStateException If the data could not be decompressed.
+     */
+    static byte[] decompress(byte[] data, int length) {
+        Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(data);
+            byte[] result = new byte[length];
+            int resultLength = 0;
+            while (resultLength < length && !inflater.finished()) {
+                int count = inflater.inflate(result, resultLength, length - resultLength);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+
+                resultLength += count;
+            }
+
+            if (resultLength != length) {
+                throw new IllegalStateException(String.format("Unable to decompress Cache Entry. Expected %d bytes, got %d.", length, resultLength));
+            }
+
+            return result;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Unable to decompress Cache Entry.", ex);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
@@ -10,12 +10,17 @@
 package io.pravega.segmentstore.server.reading;
 
 import com.google.common.base.Preconditions;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
  * Represents a ReadIndexEntry that points to an entry in the Cache.
  */
 public class CacheIndexEntry extends ReadIndexEntry {
     private final int length;
+    @GuardedBy("this")
+    private int compressedLength;
+    @GuardedBy("this")
+    private boolean compressionAttempted;
 
     /**
      * Creates a new instance of the ReadIndexEntry class.
@@ -36,6 +41,39 @@ public class CacheIndexEntry extends ReadIndexEntry {
         return this.length;
     }
 
+    @Override
+    synchronized long getCacheSize() {
+        return this.compressedLength > 0 ? this.compressedLength : this.length;
+    }
+
+    @Override
+    synchronized boolean isCompressed() {
+        return this.compressedLength > 0;
+    }
+
+    /**
+     * Records that this entry's data has been replaced in the Cache with a compressed version of itself.
+     *
+     * @param compressedLength The length of the compressed data.
+     */
+    synchronized void markCompressed(int compressedLength) {
+        Preconditions.checkArgument(compressedLength > 0, "compressedLength must be a positive number.");
+        this.compressedLength = compressedLength;
+        this.compressionAttempted = true;
+    }
+
+    /**
+     * Records that this entry is about to be compressed.
+     *
+     * @return True if this entry has never been considered for compression before, false otherwise. Compression should
+     * only be attempted if this returns true.
+     */
+    synchronized boolean beginCompression() {
+        boolean result = !this.compressionAttempted;
+        this.compressionAttempted = true;
+        return result;
+    }
+
     @Override
     boolean isDataEntry() {
         return true;
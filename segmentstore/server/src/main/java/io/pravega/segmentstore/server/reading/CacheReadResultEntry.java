@@ -9,17 +9,21 @@
  */
 package io.pravega.segmentstore.server.reading;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.ReadResultEntryType;
-
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Read Result Entry for data that is readily available for reading (in memory).
  */
 class CacheReadResultEntry extends ReadResultEntryBase {
+    private final AtomicReference<Supplier<ByteBuf>> pendingData = new AtomicReference<>();
+
     /**
      * Creates a new instance of the CacheReadResultEntry class.
      *
@@ -33,18 +37,72 @@ class CacheReadResultEntry extends ReadResultEntryBase {
     CacheReadResultEntry(long streamSegmentOffset, byte[] data, int dataOffset, int dataLength) {
         super(ReadResultEntryType.Cache, streamSegmentOffset + dataOffset, dataLength);
         Exceptions.checkArrayRange(dataOffset, dataLength, data.length, "dataOffset", "dataLength");
-        complete(new ReadResultEntryContents(new ByteArrayInputStream(data, dataOffset, dataLength), dataLength));
+        complete(new ReadResultEntryContents(Unpooled.wrappedBuffer(data, dataOffset, dataLength).asReadOnly()));
+    }
+
+    /**
+     * Creates a new instance of the CacheReadResultEntry class.
+     *
+     * @param streamSegmentOffset The offset within the StreamSegment where this ReadResultEntry starts at. NOTE: this is
+     *                            not where the first byte of 'data' starts, rather it's where dataOffset points to in the
+     *                            StreamSegment.
+     * @param data                A read-only view of the cached data. This ReadResultEntry takes ownership of one
+     *                            reference to it, which is released when its contents are.
+     * @param dataOffset          The offset within data where this ReadResultEntry starts at.
+     * @param dataLength          The length of the data that this ReadResultEntry has.
+     */
+    CacheReadResultEntry(long streamSegmentOffset, ByteBuf data, int dataOffset, int dataLength) {
+        super(ReadResultEntryType.Cache, streamSegmentOffset + dataOffset, dataLength);
+        Exceptions.checkArrayRange(dataOffset, dataLength, data.readableBytes(), "dataOffset", "dataLength");
+        complete(new ReadResultEntryContents(data.slice(data.readerIndex() + dataOffset, dataLength)));
     }
 
     /**
      * Creates a new instance of the CacheReadResultEntry class.
      *
      * @param streamSegmentOffset The offset within the StreamSegment where this ReadResultEntry starts at.
-     * @param data                An InputStream representing the data to be read.
-     * @param dataLength          The length of the data that this ReadResultEntry has (length of the given InputStream).
+     * @param data                A read-only view of the data to be read. This ReadResultEntry takes ownership of one
+     *                            reference to it, which is released when its contents are.
+     */
+    CacheReadResultEntry(long streamSegmentOffset, ByteBuf data) {
+        super(ReadResultEntryType.Cache, streamSegmentOffset, data.readableBytes());
+        complete(new ReadResultEntryContents(data));
+    }
+
+    /**
+     * Creates a new instance of the CacheReadResultEntry class whose data is not fetched until {@link #requestContent}
+     * is invoked. This allows expensive work (such as decompressing a Cache Entry) to be done outside of any locks held
+     * while creating this ReadResultEntry.
+     *
+     * @param streamSegmentOffset The offset within the StreamSegment where this ReadResultEntry starts at.
+     * @param length              The length of the data that this ReadResultEntry has.
+     * @param data                A Supplier that, when invoked, returns a read-only view of exactly the data to be read.
+     *                            This ReadResultEntry takes ownership of one reference to it, which is released when its
+     *                            contents are.
      */
-    CacheReadResultEntry(long streamSegmentOffset, InputStream data, int dataLength) {
-        super(ReadResultEntryType.Cache, streamSegmentOffset, dataLength);
-        complete(new ReadResultEntryContents(data, dataLength));
+    CacheReadResultEntry(long streamSegmentOffset, int length, Supplier<ByteBuf> data) {
+        super(ReadResultEntryType.Cache, streamSegmentOffset, length);
+        this.pendingData.set(data);
+    }
+
+    /**
+     * Fetches the data for this ReadResultEntry (if it has not already been fetched) and completes the Future returned
+     * by getContent() with it.
+     *
+     * @param timeout Not used; the data is fetched synchronously.
+     */
+    @Override
+    public void requestContent(Duration timeout) {
+        Supplier<ByteBuf> data = this.pendingData.getAndSet(null);
+        if (data == null) {
+            // Already fetched (or being fetched).
+            return;
+        }
+
+        try {
+            complete(new ReadResultEntryContents(data.get()));
+        } catch (Exception ex) {
+            fail(ex);
+        }
     }
 }
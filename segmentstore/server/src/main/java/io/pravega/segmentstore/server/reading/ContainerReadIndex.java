@@ -14,16 +14,18 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
 import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
 import io.pravega.segmentstore.server.ContainerMetadata;
 import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.ReadIndex;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.CacheFactory;
+import io.pravega.segmentstore.storage.CacheFullException;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
-import java.io.InputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -62,6 +64,7 @@ public class ContainerReadIndex implements ReadIndex {
     private final ScheduledExecutorService executor;
     private final ReadIndexConfig config;
     private final CacheManager cacheManager;
+    private final ReadAheadBudget readAheadBudget;
     @GuardedBy("lock")
     private ContainerMetadata metadata;
     @GuardedBy("lock")
@@ -98,6 +101,7 @@ public class ContainerReadIndex implements ReadIndex {
         this.metadata = metadata;
         this.storage = storage;
         this.cacheManager = cacheManager;
+        this.readAheadBudget = new ReadAheadBudget(config.getReadAheadMaxSize(), metadata.getContainerId());
         this.executor = executor;
         this.preRecoveryMetadata = null;
         this.closed = new AtomicBoolean();
@@ -128,7 +132,21 @@ public class ContainerReadIndex implements ReadIndex {
         // Append the data to the StreamSegment Index. It performs further validation with respect to offsets, etc.
         StreamSegmentReadIndex index = getOrCreateIndex(streamSegmentId);
         Exceptions.checkArgument(!index.isMerged(), "streamSegmentId", "StreamSegment is merged. Cannot append to it anymore.");
-        index.append(offset, data);
+        while (true) {
+            try {
+                index.append(offset, data);
+                return;
+            } catch (CacheFullException ex) {
+                // The append has already been durably written, so we cannot reject it. Free up some space and try again,
+                // as long as there is something that can be evicted (a failed append does not modify the index).
+                if (!this.cacheManager.cacheFull()) {
+                    throw ex;
+                }
+
+                log.info("{}: Retrying append after cache eviction (StreamSegmentId = {}, Offset = {}, DataLength = {}).",
+                        this.traceObjectId, streamSegmentId, offset, data.length);
+            }
+        }
     }
 
     @Override
@@ -175,7 +193,7 @@ public class ContainerReadIndex implements ReadIndex {
     }
 
     @Override
-    public InputStream readDirect(long streamSegmentId, long offset, int length) throws StreamSegmentNotExistsException {
+    public ReadResultEntryContents readDirect(long streamSegmentId, long offset, int length) throws StreamSegmentNotExistsException {
         Exceptions.checkNotClosed(this.closed.get(), this);
         log.debug("{}: readDirect (StreamSegmentId = {}, Offset = {}, Length = {}).", this.traceObjectId, streamSegmentId, offset, length);
 
@@ -379,8 +397,9 @@ public class ContainerReadIndex implements ReadIndex {
                     throw new StreamSegmentNotExistsException(segmentMetadata.getName());
                 }
 
-                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.storage, this.executor, isRecoveryMode());
-                this.cacheManager.register(index);
+                index = new StreamSegmentReadIndex(this.config, segmentMetadata, this.cache, this.storage, this.readAheadBudget,
+                        this.executor, isRecoveryMode());
+                this.cacheManager.register(index, CachePolicy.STREAM_DATA_PRIORITY_CLASS);
                 this.readIndices.put(streamSegmentId, index);
             }
         }
@@ -45,5 +45,9 @@ class MergedIndexEntry extends CacheIndexEntry {
         this.sourceSegmentId = sourceSegmentId;
         this.sourceSegmentOffset = sourceEntry.getStreamSegmentOffset();
         setGeneration(sourceEntry.getGeneration());
+        setProbationary(sourceEntry.isProbationary());
+        if (sourceEntry.isCompressed()) {
+            markCompressed((int) sourceEntry.getCacheSize());
+        }
     }
 }
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps track of the number of bytes that have been read ahead from Storage (for all the Segments in a Container) but not
+ * yet consumed by any reader, and limits it to a configured maximum.
+ *
+ * Every read-ahead byte is accounted for from the moment it is requested until one of the following happens:
+ * <ul>
+ * <li> It is read by a reader ({@link #hit}).
+ * <li> It is evicted from the Read Index without having been read ({@link #wasted}).
+ * <li> The Storage read for it failed or was cancelled ({@link #cancel}).
+ * </ul>
+ */
+@ThreadSafe
+class ReadAheadBudget {
+    //region Members
+
+    private final long maxSize;
+    private final SegmentStoreMetrics.ReadIndex metrics;
+    @GuardedBy("this")
+    private long pendingBytes;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ReadAheadBudget class.
+     *
+     * @param maxSize     The maximum number of bytes that can be read ahead and not consumed at any given time.
+     * @param containerId The Id of the Container this budget applies to (used for metrics).
+     */
+    ReadAheadBudget(long maxSize, int containerId) {
+        Preconditions.checkArgument(maxSize >= 0, "maxSize must be a non-negative number.");
+        this.maxSize = maxSize;
+        this.metrics = new SegmentStoreMetrics.ReadIndex(containerId);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Attempts to reserve the given number of bytes for a read-ahead.
+     *
+     * @param length The number of bytes to reserve.
+     * @return True if the bytes have been reserved, false if this would exceed the maximum size.
+     */
+    boolean tryReserve(int length) {
+        long pending;
+        synchronized (this) {
+            if (this.pendingBytes + length > this.maxSize) {
+                return false;
+            }
+
+            this.pendingBytes += length;
+            pending = this.pendingBytes;
+        }
+
+        this.metrics.readAhead(length, pending);
+        return true;
+    }
+
+    /**
+     * Releases the given number of bytes, which have been read ahead and have been subsequently read by a reader.
+     *
+     * @param length The number of bytes to release.
+     */
+    void hit(int length) {
+        this.metrics.readAheadHit(length, release(length));
+    }
+
+    /**
+     * Releases the given number of bytes, which have been read ahead but evicted before any reader used them.
+     *
+     * @param length The number of bytes to release.
+     */
+    void wasted(int length) {
+        this.metrics.readAheadWasted(length, release(length));
+    }
+
+    /**
+     * Releases the given number of bytes, which had been reserved but could not be read ahead.
+     *
+     * @param length The number of bytes to release.
+     */
+    void cancel(int length) {
+        release(length);
+    }
+
+    /**
+     * Gets the number of bytes that are currently reserved.
+     */
+    synchronized long getPendingBytes() {
+        return this.pendingBytes;
+    }
+
+    private synchronized long release(int length) {
+        this.pendingBytes -= length;
+        assert this.pendingBytes >= 0 : "negative pendingBytes";
+        return this.pendingBytes;
+    }
+
+    //endregion
+}
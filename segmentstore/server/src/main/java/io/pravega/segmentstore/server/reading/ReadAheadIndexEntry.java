@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.reading;
+
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Represents a CacheIndexEntry whose data has been speculatively read ahead from Storage, before any reader asked for it.
+ */
+class ReadAheadIndexEntry extends CacheIndexEntry {
+    @GuardedBy("this")
+    private boolean settled;
+
+    /**
+     * Creates a new instance of the ReadAheadIndexEntry class.
+     *
+     * @param streamSegmentOffset The StreamSegment offset for this entry.
+     * @param length              The Length of this entry.
+     */
+    ReadAheadIndexEntry(long streamSegmentOffset, int length) {
+        super(streamSegmentOffset, length);
+    }
+
+    /**
+     * Marks this entry as settled, which happens the first time it is either read or evicted. Its bytes should be
+     * released from the ReadAheadBudget only once, when this method returns true.
+     *
+     * @return True if the entry was not settled prior to this call, false otherwise.
+     */
+    synchronized boolean settle() {
+        boolean result = !this.settled;
+        this.settled = true;
+        return result;
+    }
+}
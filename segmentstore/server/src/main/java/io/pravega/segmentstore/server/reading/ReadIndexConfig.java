@@ -24,6 +24,12 @@ public class ReadIndexConfig {
     public static final Property<Integer> STORAGE_READ_ALIGNMENT = Property.named("storageReadAlignment", 1024 * 1024);
     public static final Property<Integer> MEMORY_READ_MIN_LENGTH = Property.named("memoryReadMinLength", 4 * 1024);
     public static final Property<Integer> STORAGE_READ_DEFAULT_TIMEOUT = Property.named("storageReadDefaultTimeoutMillis", 30 * 1000);
+    public static final Property<Integer> READ_AHEAD_BLOCK_COUNT = Property.named("readAheadBlockCount", 0);
+    public static final Property<Integer> READ_AHEAD_TRIGGER_COUNT = Property.named("readAheadTriggerCount", 2);
+    public static final Property<Long> READ_AHEAD_MAX_SIZE = Property.named("readAheadMaxSize", 256L * 1024 * 1024);
+    public static final Property<Integer> APPEND_COALESCE_MAX_LENGTH = Property.named("appendCoalesceMaxLength", 0);
+    public static final Property<Integer> CACHE_COMPRESSION_GENERATION_THRESHOLD = Property.named("cacheCompressionGenerationThreshold", 0);
+    public static final Property<Integer> CACHE_COMPRESSION_MIN_LENGTH = Property.named("cacheCompressionMinLength", 4 * 1024);
     private static final String COMPONENT_CODE = "readindex";
 
     //endregion
@@ -57,6 +63,54 @@ public class ReadIndexConfig {
     @Getter
     private final Duration storageReadDefaultTimeout;
 
+    /**
+     * The number of Storage Read Alignment-sized blocks to asynchronously read ahead (into the Cache) once a sequential
+     * Storage read pattern has been detected for a Segment. Setting this to 0 disables read-ahead.
+     */
+    @Getter
+    private final int readAheadBlockCount;
+
+    /**
+     * The number of consecutive, sequential Storage reads for a Segment that need to be observed before read-ahead is
+     * triggered for it.
+     */
+    @Getter
+    private final int readAheadTriggerCount;
+
+    /**
+     * The maximum number of bytes (per Segment Container) that may be read ahead and not yet consumed by any reader.
+     * Read-ahead is suspended while this limit is reached.
+     */
+    @Getter
+    private final long readAheadMaxSize;
+
+    /**
+     * The maximum length of a Read Index Entry (and its Cache Entry) that may result from coalescing consecutive appends.
+     * When a Segment receives a large number of small appends, each append is combined with the previous one (as long
+     * as the result does not exceed this value), which significantly reduces the number of entries in the Read Index
+     * and in the Cache, at the expense of copying the previously appended data.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final int appendCoalesceMaxLength;
+
+    /**
+     * The number of Cache Generations that an entry needs to go without being accessed before its data is compressed
+     * in the Cache. Only entries whose data is fully in Storage are compressed. Compressed entries take up less Cache
+     * space (so more data can be kept in memory), but need to be decompressed every time they are read.
+     * <p>
+     * Setting this to 0 will effectively disable this feature.
+     */
+    @Getter
+    private final int cacheCompressionGenerationThreshold;
+
+    /**
+     * The minimum length of an entry in order for it to be compressed in the Cache. Smaller entries do not compress well.
+     */
+    @Getter
+    private final int cacheCompressionMinLength;
+
     //endregion
 
     //region Constructor
@@ -70,6 +124,35 @@ public class ReadIndexConfig {
         this.storageReadAlignment = properties.getInt(STORAGE_READ_ALIGNMENT);
         this.memoryReadMinLength = properties.getInt(MEMORY_READ_MIN_LENGTH);
         this.storageReadDefaultTimeout = Duration.ofMillis(properties.getInt(STORAGE_READ_DEFAULT_TIMEOUT));
+        this.readAheadBlockCount = properties.getInt(READ_AHEAD_BLOCK_COUNT);
+        if (this.readAheadBlockCount < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", READ_AHEAD_BLOCK_COUNT));
+        }
+
+        this.readAheadTriggerCount = properties.getInt(READ_AHEAD_TRIGGER_COUNT);
+        if (this.readAheadTriggerCount <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", READ_AHEAD_TRIGGER_COUNT));
+        }
+
+        this.readAheadMaxSize = properties.getLong(READ_AHEAD_MAX_SIZE);
+        if (this.readAheadMaxSize < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative number.", READ_AHEAD_MAX_SIZE));
+        }
+
+        this.appendCoalesceMaxLength = properties.getInt(APPEND_COALESCE_MAX_LENGTH);
+        if (this.appendCoalesceMaxLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", APPEND_COALESCE_MAX_LENGTH));
+        }
+
+        this.cacheCompressionGenerationThreshold = properties.getInt(CACHE_COMPRESSION_GENERATION_THRESHOLD);
+        if (this.cacheCompressionGenerationThreshold < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", CACHE_COMPRESSION_GENERATION_THRESHOLD));
+        }
+
+        this.cacheCompressionMinLength = properties.getInt(CACHE_COMPRESSION_MIN_LENGTH);
+        if (this.cacheCompressionMinLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", CACHE_COMPRESSION_MIN_LENGTH));
+        }
     }
 
     /**
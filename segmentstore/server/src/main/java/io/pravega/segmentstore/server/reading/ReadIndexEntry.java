@@ -23,6 +23,8 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
     private final long streamSegmentOffset;
     @GuardedBy("this")
     private int generation;
+    @GuardedBy("this")
+    private boolean probationary;
 
     //endregion
 
@@ -39,6 +41,7 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
         Preconditions.checkArgument(streamSegmentOffset >= 0, "streamSegmentOffset must be a non-negative number.");
 
         this.streamSegmentOffset = streamSegmentOffset;
+        this.probationary = true;
     }
 
     //endregion
@@ -63,6 +66,25 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
         this.generation = generation;
     }
 
+    /**
+     * Gets a value indicating whether this ReadIndexEntry is probationary, i.e., it has not been read from since it was
+     * added to the index.
+     *
+     * @return True if probationary, false otherwise.
+     */
+    synchronized boolean isProbationary() {
+        return this.probationary;
+    }
+
+    /**
+     * Sets a value indicating whether this ReadIndexEntry is probationary.
+     *
+     * @param probationary The value to set.
+     */
+    synchronized void setProbationary(boolean probationary) {
+        this.probationary = probationary;
+    }
+
     /**
      * Gets a value indicating the StreamSegment offset for this entry.
      */
@@ -75,6 +97,21 @@ abstract class ReadIndexEntry implements SortedIndex.IndexEntry {
      */
     abstract long getLength();
 
+    /**
+     * Gets the number of bytes this entry uses in the Cache. This is the same as getLength(), unless the entry's data is
+     * stored in compressed form.
+     */
+    long getCacheSize() {
+        return getLength();
+    }
+
+    /**
+     * Gets a value indicating whether this entry's data is stored in the Cache in compressed form.
+     */
+    boolean isCompressed() {
+        return false;
+    }
+
     /**
      * Gets a value indicating the last Offset in the StreamSegment pertaining to this entry.
      */
@@ -29,6 +29,10 @@ class ReadIndexSummary {
     private long totalSize;
     @GuardedBy("this")
     private final HashMap<Integer, Integer> generations;
+    @GuardedBy("this")
+    private long probationarySize;
+    @GuardedBy("this")
+    private final HashMap<Integer, Integer> probationaryGenerations;
 
     //endregion
 
@@ -39,6 +43,8 @@ class ReadIndexSummary {
         this.currentGeneration = 0;
         this.totalSize = 0;
         this.generations = new HashMap<>();
+        this.probationarySize = 0;
+        this.probationaryGenerations = new HashMap<>();
     }
 
     //endregion
@@ -60,9 +66,25 @@ class ReadIndexSummary {
      * @return The value of the current generation.
      */
     synchronized int add(long size) {
+        return add(size, false);
+    }
+
+    /**
+     * Records the addition of an element of the given size to the current generation.
+     *
+     * @param size         The size of the element to add.
+     * @param probationary Whether the element is probationary (it has not been accessed since it was added).
+     * @return The value of the current generation.
+     */
+    synchronized int add(long size, boolean probationary) {
         Preconditions.checkArgument(size >= 0, "size must be a non-negative number");
         this.totalSize += size;
         addToCurrentGeneration();
+        if (probationary) {
+            this.probationarySize += size;
+            addToGeneration(this.probationaryGenerations, this.currentGeneration);
+        }
+
         return this.currentGeneration;
     }
 
@@ -73,11 +95,25 @@ class ReadIndexSummary {
      * @param generation The generation of the element to add.
      */
     synchronized void add(long size, int generation) {
+        add(size, generation, false);
+    }
+
+    /**
+     * Records the addition of an element of the given size to the given generation.
+     *
+     * @param size         The size of the element to add.
+     * @param generation   The generation of the element to add.
+     * @param probationary Whether the element is probationary (it has not been accessed since it was added).
+     */
+    synchronized void add(long size, int generation, boolean probationary) {
         Preconditions.checkArgument(size >= 0, "size must be a non-negative number");
         Preconditions.checkArgument(generation >= 0, "generation must be a non-negative number");
         this.totalSize += size;
-        int newCount = this.generations.getOrDefault(generation, 0) + 1;
-        this.generations.put(generation, newCount);
+        addToGeneration(this.generations, generation);
+        if (probationary) {
+            this.probationarySize += size;
+            addToGeneration(this.probationaryGenerations, generation);
+        }
     }
 
     /**
@@ -87,13 +123,27 @@ class ReadIndexSummary {
      * @param generation The generation of the element to remove.
      */
     synchronized void remove(long size, int generation) {
+        remove(size, generation, false);
+    }
+
+    /**
+     * Records the removal of an element of the given size from the given generation.
+     *
+     * @param size         The size of the element to remove.
+     * @param generation   The generation of the element to remove.
+     * @param probationary Whether the element was probationary.
+     */
+    synchronized void remove(long size, int generation, boolean probationary) {
         Preconditions.checkArgument(size >= 0, "size must be a non-negative number");
         this.totalSize -= size;
         if (this.totalSize < 0) {
             this.totalSize = 0;
         }
 
-        removeFromGeneration(generation);
+        removeFromGeneration(this.generations, generation);
+        if (probationary) {
+            removeProbationary(size, generation);
+        }
     }
 
     /**
@@ -104,11 +154,31 @@ class ReadIndexSummary {
      * @return The value of the current generation.
      */
     synchronized int touchOne(int generation) {
-        removeFromGeneration(generation);
+        removeFromGeneration(this.generations, generation);
         addToCurrentGeneration();
         return this.currentGeneration;
     }
 
+    /**
+     * Records that a probationary element pertaining to the given generation has been used. This element will be removed
+     * from its current generation and recorded in the current generation.
+     *
+     * @param generation The original generation of the element to touch.
+     * @param size       The size of the element to touch.
+     * @param promote    If true, the element will no longer be probationary after this call.
+     * @return The value of the current generation.
+     */
+    synchronized int touchProbationary(int generation, long size, boolean promote) {
+        touchOne(generation);
+        removeProbationary(size, generation);
+        if (!promote) {
+            this.probationarySize += size;
+            addToGeneration(this.probationaryGenerations, this.currentGeneration);
+        }
+
+        return this.currentGeneration;
+    }
+
     /**
      * Generates a CacheManager.CacheStatus object with the information in this ReadIndexSummary object.
      */
@@ -125,22 +195,40 @@ class ReadIndexSummary {
             }
         });
 
-        return new CacheManager.CacheStatus(this.totalSize, Math.min(newestGeneration.get(), oldestGeneration.get()), newestGeneration.get());
+        int oldest = Math.min(newestGeneration.get(), oldestGeneration.get());
+        int oldestProbationary = this.probationaryGenerations.keySet().stream().mapToInt(g -> g).min().orElse(oldest);
+        return new CacheManager.CacheStatus(this.totalSize, oldest, newestGeneration.get(),
+                Math.min(this.probationarySize, this.totalSize), oldestProbationary);
     }
 
     @GuardedBy("this")
     private void addToCurrentGeneration() {
-        int newCount = this.generations.getOrDefault(this.currentGeneration, 0) + 1;
-        this.generations.put(this.currentGeneration, newCount);
+        addToGeneration(this.generations, this.currentGeneration);
+    }
+
+    @GuardedBy("this")
+    private void removeProbationary(long size, int generation) {
+        this.probationarySize -= size;
+        if (this.probationarySize < 0) {
+            this.probationarySize = 0;
+        }
+
+        removeFromGeneration(this.probationaryGenerations, generation);
+    }
+
+    @GuardedBy("this")
+    private void addToGeneration(HashMap<Integer, Integer> generations, int generation) {
+        int newCount = generations.getOrDefault(generation, 0) + 1;
+        generations.put(generation, newCount);
     }
 
     @GuardedBy("this")
-    private void removeFromGeneration(int generation) {
-        int newCount = this.generations.getOrDefault(generation, 0) - 1;
+    private void removeFromGeneration(HashMap<Integer, Integer> generations, int generation) {
+        int newCount = generations.getOrDefault(generation, 0) - 1;
         if (newCount > 0) {
-            this.generations.put(generation, newCount);
+            generations.put(generation, newCount);
         } else {
-            this.generations.remove(generation);
+            generations.remove(generation);
         }
     }
 }
@@ -102,6 +102,12 @@ public abstract class ReadResultEntryBase implements CompletableReadResultEntry
      * @param readResultEntryContents The content to set.
      */
     protected void complete(ReadResultEntryContents readResultEntryContents) {
+        if (this.contents.isCancelled()) {
+            // Nobody is going to consume these contents, so they must be released here.
+            readResultEntryContents.release();
+            return;
+        }
+
         Preconditions.checkState(!this.contents.isDone(), "ReadResultEntry has already had its result set.");
         CompletionConsumer callback = this.completionCallback;
         if (callback != null) {
@@ -11,11 +11,13 @@ package io.pravega.segmentstore.server.reading;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.concurrent.Futures;
-import io.pravega.common.util.AvlTreeIndex;
 import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.ChunkedArrayIndex;
 import io.pravega.common.util.SortedIndex;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
@@ -24,22 +26,25 @@ import io.pravega.segmentstore.contracts.ReadResultEntryType;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.server.CacheManager;
 import io.pravega.segmentstore.server.SegmentMetadata;
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
 import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheFullException;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.io.SequenceInputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.extern.slf4j.Slf4j;
@@ -71,12 +76,21 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     private final HashMap<Long, PendingMerge> pendingMergers; //Key = Source Segment Id, Value = Pending Merge Info.
     private final StorageReadManager storageReadManager;
     private final ReadIndexSummary summary;
+    private final ReadAheadBudget readAheadBudget;
+    private final SegmentStoreMetrics.ReadIndex metrics;
     private final ScheduledExecutorService executor;
     private SegmentMetadata metadata;
     @GuardedBy("lock")
     private long lastAppendedOffset;
+    @GuardedBy("lock")
+    private long lastStorageReadEndOffset;
+    @GuardedBy("lock")
+    private int sequentialStorageReadCount;
+    @GuardedBy("lock")
+    private long readAheadEndOffset;
     private boolean recoveryMode;
     private boolean closed;
+    @GuardedBy("lock")
     private boolean merged;
     private final Object lock = new Object();
 
@@ -87,19 +101,22 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     /**
      * Creates a new instance of the StreamSegmentReadIndex class.
      *
-     * @param config       Read Index Configuration.
-     * @param metadata     The StreamSegmentMetadata to use.
-     * @param cache        The Cache to use to store, read and manage data entries.
-     * @param storage      A ReadOnlyStorage to fetch data if not in Cache.
-     * @param executor     An executor to run async operations.
-     * @param recoveryMode Whether we are in recovery mode at the time of creation (this can change later on).
+     * @param config          Read Index Configuration.
+     * @param metadata        The StreamSegmentMetadata to use.
+     * @param cache           The Cache to use to store, read and manage data entries.
+     * @param storage         A ReadOnlyStorage to fetch data if not in Cache.
+     * @param readAheadBudget The ReadAheadBudget (shared with all other Segments in this Container) to use for read-ahead.
+     * @param executor        An executor to run async operations.
+     * @param recoveryMode    Whether we are in recovery mode at the time of creation (this can change later on).
      * @throws NullPointerException If any of the arguments are null.
      */
-    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage, ScheduledExecutorService executor, boolean recoveryMode) {
+    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, Cache cache, ReadOnlyStorage storage,
+                           ReadAheadBudget readAheadBudget, ScheduledExecutorService executor, boolean recoveryMode) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(metadata, "metadata");
         Preconditions.checkNotNull(cache, "cache");
         Preconditions.checkNotNull(storage, "storage");
+        Preconditions.checkNotNull(readAheadBudget, "readAheadBudget");
         Preconditions.checkNotNull(executor, "executor");
 
         this.traceObjectId = String.format("ReadIndex[%d-%d]", metadata.getContainerId(), metadata.getId());
@@ -107,13 +124,17 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         this.metadata = metadata;
         this.cache = cache;
         this.recoveryMode = recoveryMode;
-        this.indexEntries = new AvlTreeIndex<>();
+        this.indexEntries = new ChunkedArrayIndex<>();
         this.futureReads = new FutureReadResultEntryCollection();
         this.pendingMergers = new HashMap<>();
         this.lastAppendedOffset = -1;
+        this.lastStorageReadEndOffset = -1;
+        this.readAheadEndOffset = -1;
+        this.readAheadBudget = readAheadBudget;
         this.storageReadManager = new StorageReadManager(metadata, storage, executor);
         this.executor = executor;
         this.summary = new ReadIndexSummary();
+        this.metrics = new SegmentStoreMetrics.ReadIndex(metadata.getContainerId());
     }
 
     //endregion
@@ -145,6 +166,9 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             futureReads.add(this.futureReads.close().iterator());
             synchronized (this.lock) {
                 this.pendingMergers.values().forEach(pm -> futureReads.add(pm.seal().iterator()));
+
+                // Return any unused read-ahead data to the budget; nobody is going to read it from here.
+                this.indexEntries.forEach(this::settleReadAheadEviction);
             }
             cancelFutureReads(Iterators.concat(futureReads.iterator()));
 
@@ -207,6 +231,11 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
     @Override
     public long updateGenerations(int currentGeneration, int oldestGeneration) {
+        return updateGenerations(currentGeneration, oldestGeneration, oldestGeneration);
+    }
+
+    @Override
+    public long updateGenerations(int currentGeneration, int oldestGeneration, int oldestProbationaryGeneration) {
         Exceptions.checkNotClosed(this.closed, this);
 
         // Update the current generation with the provided info.
@@ -215,6 +244,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         // Identify & collect those entries that can be removed, then remove them from the index.
         AtomicLong sizeRemoved = new AtomicLong();
         ArrayList<ReadIndexEntry> toRemove = new ArrayList<>();
+        ArrayList<CacheIndexEntry> toCompress = new ArrayList<>();
         synchronized (this.lock) {
             this.indexEntries.forEach(entry -> {
                 // We can only evict if both these conditions are met:
@@ -223,11 +253,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 // In addition, we are free to evict (regardless of Generation, but still subject to the above rules) if
                 // every single byte in the entry has been truncated out.
                 long lastOffset = entry.getLastStreamSegmentOffset();
+                int cutoffGeneration = entry.isProbationary() ? oldestProbationaryGeneration : oldestGeneration;
                 boolean canRemove = entry.isDataEntry()
                         && lastOffset < this.metadata.getStorageLength()
-                        && (entry.getGeneration() < oldestGeneration || lastOffset < this.metadata.getStartOffset());
+                        && (entry.getGeneration() < cutoffGeneration || lastOffset < this.metadata.getStartOffset());
                 if (canRemove) {
                     toRemove.add(entry);
+                } else if (shouldCompress(entry, currentGeneration)) {
+                    toCompress.add((CacheIndexEntry) entry);
                 }
             });
 
@@ -235,19 +268,89 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             toRemove.forEach(e -> {
                 this.indexEntries.remove(e.key());
                 this.cache.remove(getCacheKey(e));
+                settleReadAheadEviction(e);
             });
         }
 
         // Update the summary (no need for holding the lock here; we are not modifying the index).
         toRemove.forEach(e -> {
-            long entryLength = e.getLength();
-            this.summary.remove(entryLength, e.getGeneration());
-            sizeRemoved.addAndGet(entryLength);
+            long entrySize = e.getCacheSize();
+            this.summary.remove(entrySize, e.getGeneration(), e.isProbationary());
+            sizeRemoved.addAndGet(entrySize);
         });
 
+        if (!toCompress.isEmpty()) {
+            this.executor.execute(() -> compressEntries(toCompress));
+        }
+
         return sizeRemoved.get();
     }
 
+    /**
+     * Determines whether the given entry's data should be compressed in the Cache. Only entries that have not been accessed
+     * in a while and whose data is entirely in Storage are compressed; each entry is only considered once.
+     */
+    @GuardedBy("lock")
+    private boolean shouldCompress(ReadIndexEntry entry, int currentGeneration) {
+        int threshold = this.config.getCacheCompressionGenerationThreshold();
+        return threshold > 0
+                && !this.merged
+                && entry instanceof CacheIndexEntry
+                && entry.getLength() >= Math.max(1, this.config.getCacheCompressionMinLength())
+                && entry.getLastStreamSegmentOffset() < this.metadata.getStorageLength()
+                && entry.getGeneration() <= currentGeneration - threshold
+                && ((CacheIndexEntry) entry).beginCompression();
+    }
+
+    /**
+     * Compresses the data of the given entries in the Cache. Entries which do not compress well are left as they are.
+     *
+     * @param entries The entries to compress.
+     */
+    private void compressEntries(List<CacheIndexEntry> entries) {
+        for (CacheIndexEntry entry : entries) {
+            if (this.closed) {
+                return;
+            }
+
+            // Compress outside of the lock, as this is CPU intensive.
+            CacheKey key = getCacheKey(entry);
+            byte[] data = this.cache.get(key);
+            if (data == null || data.length != entry.getLength()) {
+                // Evicted or replaced in the meantime.
+                continue;
+            }
+
+            long startTime = System.nanoTime();
+            byte[] compressed = CacheCompressor.compress(data);
+            this.metrics.compressed(data.length, compressed == null ? data.length : compressed.length, System.nanoTime() - startTime);
+            if (compressed == null) {
+                continue;
+            }
+
+            synchronized (this.lock) {
+                // Only replace the data if the entry is still in the index. If it is not, it has either been evicted or
+                // replaced (and the Cache Entry may have new contents). If we have been merged in the meantime, the
+                // target index may have already taken over this entry as uncompressed, so we must leave it as it is.
+                if (!this.closed && !this.merged && this.indexEntries.get(entry.key()) == entry) {
+                    try {
+                        this.cache.insert(key, compressed);
+                    } catch (CacheFullException ex) {
+                        // The uncompressed data is still there; leave this (and the remaining) entries uncompressed.
+                        log.debug("{}: Unable to compress Cache Entries; cache is full.", this.traceObjectId);
+                        return;
+                    }
+
+                    this.summary.remove(entry.getCacheSize(), entry.getGeneration(), entry.isProbationary());
+                    entry.markCompressed(compressed.length);
+                    this.summary.add(entry.getCacheSize(), entry.getGeneration(), entry.isProbationary());
+                }
+            }
+        }
+
+        log.debug("{}: Compressed {} Cache Entries.", this.traceObjectId, entries.size());
+    }
+
     //endregion
 
     //region Properties
@@ -261,17 +364,23 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * Gets a value indicating whether this Read Index is merged into another one.
      */
     boolean isMerged() {
-        return this.merged;
+        synchronized (this.lock) {
+            return this.merged;
+        }
     }
 
     /**
-     * Marks this Read Index as merged into another one.
+     * Marks this Read Index as merged into another one. No more entries will be compressed after this, since the target
+     * Read Index will take over this index's entries (including whether they are compressed or not) upon completeMerge().
      */
     void markMerged() {
         Exceptions.checkNotClosed(this.closed, this);
-        Preconditions.checkState(!this.merged, "StreamSegmentReadIndex %d is already merged.", this.metadata.getId());
+        synchronized (this.lock) {
+            Preconditions.checkState(!this.merged, "StreamSegmentReadIndex %d is already merged.", this.metadata.getId());
+            this.merged = true;
+        }
+
         log.debug("{}: Merged.", this.traceObjectId);
-        this.merged = true;
     }
 
     /**
@@ -341,6 +450,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * @throws NullPointerException     If data is null.
      * @throws IllegalArgumentException If the operation would cause writing beyond the StreamSegment's Length.
      * @throws IllegalArgumentException If the offset is invalid (does not match the previous append offset).
+     * @throws CacheFullException       If the Cache is full. If this happens, the ReadIndex is not modified.
      */
     void append(long offset, byte[] data) {
         Exceptions.checkNotClosed(this.closed, this);
@@ -358,12 +468,68 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         long endOffset = offset + data.length;
         Exceptions.checkArgument(endOffset <= length, "offset", "The given range of bytes (%d-%d) is beyond the StreamSegment Length (%d).", offset, endOffset, length);
 
+        if (data.length < this.config.getAppendCoalesceMaxLength() && tryCoalesceAppend(offset, data)) {
+            // This append has been combined with the previous one.
+            return;
+        }
+
         // Then append an entry for it in the ReadIndex. It's ok to insert into the cache outside of the lock here,
         // since there is no chance of competing with another write request for the same offset at the same time.
         this.cache.insert(new CacheKey(this.metadata.getId(), offset), data);
         appendEntry(new CacheIndexEntry(offset, data.length));
     }
 
+    /**
+     * Attempts to combine the given append with the last entry in the index, if that entry was also the result of an
+     * append and the combined length does not exceed ReadIndexConfig.getAppendCoalesceMaxLength(). If successful, the
+     * given data is appended to the Cache Entry (see {@link Cache#append}) and the ReadIndexEntry is replaced with one
+     * that includes it.
+     * <p>
+     * Since the new Cache Entry has the same key and begins with the same data as the one it replaces, any reads that
+     * are based on the old ReadIndexEntry will still return the correct data.
+     *
+     * @param offset The offset within the StreamSegment to append at.
+     * @param data   The range of bytes to append.
+     * @return True if the append has been combined with the last entry, false otherwise (in which case nothing has changed).
+     */
+    private boolean tryCoalesceAppend(long offset, byte[] data) {
+        synchronized (this.lock) {
+            // Only consider entries created by append() (subclasses are either read from Storage or merged from other
+            // Segments), which are not being evicted and whose data is entirely in the Cache.
+            ReadIndexEntry lastEntry = this.indexEntries.getLast();
+            if (lastEntry == null
+                    || lastEntry.getClass() != CacheIndexEntry.class
+                    || lastEntry.isCompressed()
+                    || this.lastAppendedOffset != offset - 1
+                    || lastEntry.getLastStreamSegmentOffset() != this.lastAppendedOffset
+                    || lastEntry.getLength() + data.length > this.config.getAppendCoalesceMaxLength()) {
+                return false;
+            }
+
+            // Extend the Cache Entry in place, if the Cache supports it; only the new data needs to be copied.
+            try {
+                if (!this.cache.append(getCacheKey(lastEntry), (int) lastEntry.getLength(), new ByteArraySegment(data))) {
+                    return false;
+                }
+            } catch (CacheFullException ex) {
+                // The Cache Entry has not been modified; let the caller try to insert a new one (and deal with the
+                // consequences if that fails too).
+                return false;
+            }
+
+            // Replace the entry in the index (and its contribution to the summary).
+            CacheIndexEntry newEntry = new CacheIndexEntry(lastEntry.getStreamSegmentOffset(), (int) lastEntry.getLength() + data.length);
+            newEntry.setProbationary(lastEntry.isProbationary());
+            this.indexEntries.remove(lastEntry.key());
+            this.summary.remove(lastEntry.getCacheSize(), lastEntry.getGeneration(), lastEntry.isProbationary());
+            addToIndex(newEntry);
+            this.lastAppendedOffset = newEntry.getLastStreamSegmentOffset();
+        }
+
+        log.debug("{}: Append (Offset = {}, Length = {}, Coalesced).", this.traceObjectId, offset, data.length);
+        return true;
+    }
+
     /**
      * Executes Step 1 of the 2-Step Merge Process.
      * The StreamSegments are merged (Source->Target@Offset) in Metadata and a ReadIndex Redirection is put in place.
@@ -499,7 +665,17 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         // There is a very small chance we might be adding data twice, if we get two concurrent requests that slipped past
         // the StorageReadManager. Fixing it would be complicated, so let's see if it poses any problems.
-        CacheIndexEntry entry = new CacheIndexEntry(offset, data.getLength());
+        try {
+            insert(new CacheIndexEntry(offset, data.getLength()), data);
+        } catch (CacheFullException ex) {
+            // This data is already in Storage and it has already been handed to whoever requested it; there is no need to
+            // fail anything just because we could not cache it. The next read for it will simply go to Storage again.
+            log.warn("{}: Unable to insert Storage read data into the cache (Offset = {}, Length = {}): {}",
+                    this.traceObjectId, offset, data.getLength(), ex.getMessage());
+        }
+    }
+
+    private void insert(CacheIndexEntry entry, ByteArraySegment data) {
         long lastOffset = entry.getLastStreamSegmentOffset();
         Exceptions.checkArgument(lastOffset < this.metadata.getStorageLength(), "entry",
                 "The given range of bytes (%d-%d) does not correspond to the StreamSegment range that is in Storage (%d).",
@@ -523,17 +699,18 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         if (entry.isDataEntry()) {
             if (entry instanceof MergedIndexEntry) {
                 // This entry has already existed in the cache for a while; do not change its generation.
-                this.summary.add(entry.getLength(), entry.getGeneration());
+                this.summary.add(entry.getCacheSize(), entry.getGeneration(), entry.isProbationary());
             } else {
                 // Update the Stats with the entry's length, and set the entry's generation as well.
-                int generation = this.summary.add(entry.getLength());
+                int generation = this.summary.add(entry.getCacheSize(), entry.isProbationary());
                 entry.setGeneration(generation);
             }
         }
 
         if (oldEntry != null && oldEntry.isDataEntry()) {
             // Need to eject the old entry's data from the Cache Stats.
-            this.summary.remove(oldEntry.getLength(), oldEntry.getGeneration());
+            this.summary.remove(oldEntry.getCacheSize(), oldEntry.getGeneration(), oldEntry.isProbationary());
+            settleReadAheadEviction(oldEntry);
         }
 
         return oldEntry;
@@ -585,30 +762,86 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * @param futureReads The Future Reads to trigger.
      */
     private void triggerFutureReads(Collection<FutureReadResultEntry> futureReads) {
-        for (FutureReadResultEntry r : futureReads) {
-            ReadResultEntry entry = getSingleReadResultEntry(r.getStreamSegmentOffset(), r.getRequestedReadLength());
-            assert entry != null : "Serving a StorageReadResultEntry with a null result";
-            assert !(entry instanceof FutureReadResultEntry) : "Serving a FutureReadResultEntry with another FutureReadResultEntry.";
-
-            log.trace("{}: triggerFutureReads (Offset = {}, Type = {}).", this.traceObjectId, r.getStreamSegmentOffset(), entry.getType());
-            if (entry.getType() == ReadResultEntryType.EndOfStreamSegment) {
-                // We have attempted to read beyond the end of the stream. Fail the read request with the appropriate message.
-                r.fail(new StreamSegmentSealedException(String.format("StreamSegment has been sealed at offset %d. There can be no more reads beyond this offset.", this.metadata.getLength())));
+        // Many readers may be waiting at the same offset (i.e., tail readers of the same Segment). Group them together
+        // so that we only need to look up their data once.
+        Map<Long, List<FutureReadResultEntry>> readsByOffset = futureReads
+                .stream()
+                .collect(Collectors.groupingBy(FutureReadResultEntry::getStreamSegmentOffset, LinkedHashMap::new, Collectors.toList()));
+        for (List<FutureReadResultEntry> reads : readsByOffset.values()) {
+            if (reads.size() == 1) {
+                triggerFutureRead(reads.get(0));
             } else {
-                if (!entry.getContent().isDone()) {
-                    // Normally, all Future Reads are served from Cache, since they reflect data that has just been appended.
-                    // However, it's possible that after recovery, we get a read for some data that we do not have in the
-                    // cache (but it's not a tail read) - this data exists in Storage but our StorageLength has not yet been
-                    // updated. As such, the only solution we have is to return a FutureRead which will be satisfied when
-                    // the Writer updates the StorageLength (and trigger future reads). In that scenario, entry we get
-                    // will likely not be auto-fetched, so we need to request the content.
-                    entry.requestContent(this.config.getStorageReadDefaultTimeout());
-                }
+                triggerSharedFutureReads(reads);
+            }
+        }
+    }
+
+    /**
+     * Triggers the given Future Read.
+     *
+     * @param r The Future Read to trigger.
+     */
+    private void triggerFutureRead(FutureReadResultEntry r) {
+        ReadResultEntry entry = getSingleReadResultEntry(r.getStreamSegmentOffset(), r.getRequestedReadLength());
+        assert entry != null : "Serving a StorageReadResultEntry with a null result";
+        assert !(entry instanceof FutureReadResultEntry) : "Serving a FutureReadResultEntry with another FutureReadResultEntry.";
+
+        log.trace("{}: triggerFutureReads (Offset = {}, Type = {}).", this.traceObjectId, r.getStreamSegmentOffset(), entry.getType());
+        if (entry.getType() == ReadResultEntryType.EndOfStreamSegment) {
+            // We have attempted to read beyond the end of the stream. Fail the read request with the appropriate message.
+            r.fail(new StreamSegmentSealedException(String.format("StreamSegment has been sealed at offset %d. There can be no more reads beyond this offset.", this.metadata.getLength())));
+        } else {
+            if (!entry.getContent().isDone()) {
+                // Normally, all Future Reads are served from Cache, since they reflect data that has just been appended.
+                // However, it's possible that after recovery, we get a read for some data that we do not have in the
+                // cache (but it's not a tail read) - this data exists in Storage but our StorageLength has not yet been
+                // updated. As such, the only solution we have is to return a FutureRead which will be satisfied when
+                // the Writer updates the StorageLength (and trigger future reads). In that scenario, entry we get
+                // will likely not be auto-fetched, so we need to request the content.
+                entry.requestContent(this.config.getStorageReadDefaultTimeout());
+            }
+
+            CompletableFuture<ReadResultEntryContents> entryContent = entry.getContent();
+            entryContent.thenAccept(r::complete);
+            Futures.exceptionListener(entryContent, r::fail);
+        }
+    }
 
-                CompletableFuture<ReadResultEntryContents> entryContent = entry.getContent();
-                entryContent.thenAccept(r::complete);
-                Futures.exceptionListener(entryContent, r::fail);
+    /**
+     * Triggers multiple Future Reads that begin at the same offset. If their data is in the Cache, it is fetched only
+     * once (for the longest of the requested lengths), and every Future Read is completed with its own reference to
+     * (a slice of) the same read-only buffer. Otherwise, the Future Reads are triggered individually.
+     *
+     * @param reads The Future Reads to trigger. All of them must begin at the same offset.
+     */
+    private void triggerSharedFutureReads(List<FutureReadResultEntry> reads) {
+        long offset = reads.get(0).getStreamSegmentOffset();
+        int maxLength = reads.stream().mapToInt(FutureReadResultEntry::getRequestedReadLength).max().getAsInt();
+        ReadResultEntry entry = getSingleReadResultEntry(offset, maxLength);
+        assert entry != null : "Serving a StorageReadResultEntry with a null result";
+        ReadResultEntryContents contents = entry.getType() == ReadResultEntryType.Cache && Futures.isSuccessful(entry.getContent())
+                ? entry.getContent().join()
+                : null;
+        if (contents == null || contents.getBuffer() == null) {
+            // Not from the Cache (or not backed by a buffer); nothing to share.
+            if (contents != null) {
+                contents.release();
             }
+
+            reads.forEach(this::triggerFutureRead);
+            return;
+        }
+
+        log.trace("{}: triggerFutureReads (Offset = {}, Type = {}, Count = {}).", this.traceObjectId, offset, entry.getType(), reads.size());
+        ByteBuf data = contents.getBuffer();
+        try {
+            for (FutureReadResultEntry r : reads) {
+                int length = Math.min(r.getRequestedReadLength(), data.readableBytes());
+                r.complete(new ReadResultEntryContents(data.retainedSlice(data.readerIndex(), length)));
+            }
+        } finally {
+            // Each Future Read holds its own reference to the data; release the one we got from the Cache.
+            contents.release();
         }
     }
 
@@ -624,11 +857,12 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      *
      * @param startOffset The offset in the StreamSegment where to start reading.
      * @param length      The number of bytes to read.
-     * @return An InputStream containing the requested data, or null if all of the conditions of this read cannot be met.
+     * @return A ReadResultEntryContents containing the requested data, or null if all of the conditions of this read cannot
+     * be met. The caller is responsible for releasing it.
      * @throws IllegalStateException    If the read index is in recovery mode.
      * @throws IllegalArgumentException If the parameters are invalid (offset, length or offset+length are not in the Segment's range).
      */
-    InputStream readDirect(long startOffset, int length) {
+    ReadResultEntryContents readDirect(long startOffset, int length) {
         Exceptions.checkNotClosed(this.closed, this);
         Preconditions.checkState(!this.recoveryMode, "StreamSegmentReadIndex is in Recovery Mode.");
         Preconditions.checkArgument(length >= 0, "length must be a non-negative number");
@@ -650,32 +884,45 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             }
         }
 
+        completeMemoryRead(nextEntry);
+
         // Collect the contents of congruent Index Entries into a list, as long as we still encounter data in the cache.
         // Since we know all entries should be in the cache and are contiguous, there is no need
         assert Futures.isSuccessful(nextEntry.getContent()) : "Found CacheReadResultEntry that is not completed yet: " + nextEntry;
         val entryContents = nextEntry.getContent().join();
 
-        ArrayList<InputStream> contents = new ArrayList<>();
-        contents.add(entryContents.getData());
+        ArrayList<ByteBuf> contents = new ArrayList<>();
+        contents.add(entryContents.getBuffer());
         int readLength = entryContents.getLength();
         while (readLength < length) {
-            // No need to search the index; from now on, we know each offset we are looking for is at the beginning of a cache entry.
-            // Also, no need to acquire the lock there. The cache itself is thread safe, and if the entry we are about to fetch
-            // has just been evicted, we'll just get null back and stop reading (which is acceptable).
-            byte[] entryData = this.cache.get(new CacheKey(this.metadata.getId(), startOffset + readLength));
-            if (entryData == null) {
+            // From now on, we know each offset we are looking for is at the beginning of an index entry. We still need to
+            // look it up, since its data may have been compressed in the meantime. If the entry we are about to fetch has
+            // just been evicted, we'll just get null back and stop reading (which is acceptable).
+            long entryOffset = startOffset + readLength;
+            Supplier<ByteBuf> entryDataSupplier = null;
+            synchronized (this.lock) {
+                ReadIndexEntry indexEntry = this.indexEntries.getFloor(entryOffset);
+                if (indexEntry != null && indexEntry.isDataEntry() && indexEntry.getStreamSegmentOffset() == entryOffset) {
+                    entryDataSupplier = getEntryData(indexEntry);
+                }
+            }
+
+            if (entryDataSupplier == null) {
                 // Could not find the 'next' cache entry: this means the requested range is not fully cached.
+                contents.forEach(ByteBuf::release);
                 return null;
             }
 
-            int entryReadLength = Math.min(entryData.length, length - readLength);
+            ByteBuf entryData = entryDataSupplier.get();
+
+            int entryReadLength = Math.min(entryData.readableBytes(), length - readLength);
             assert entryReadLength > 0 : "about to have fetched zero bytes from a cache entry";
-            contents.add(new ByteArrayInputStream(entryData, 0, entryReadLength));
+            contents.add(entryData.slice(entryData.readerIndex(), entryReadLength));
             readLength += entryReadLength;
         }
 
-        // Coalesce the results into a single InputStream and return the result.
-        return new SequenceInputStream(Iterators.asEnumeration(contents.iterator()));
+        // Coalesce the results into a single view. The cache views are released when the returned contents are released.
+        return new ReadResultEntryContents(Unpooled.wrappedBuffer(contents.size(), contents.toArray(new ByteBuf[0])));
     }
 
     /**
@@ -753,6 +1000,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
 
         CompletableReadResultEntry result = null;
+        RedirectIndexEntry redirect = null;
         // Check to see if we are trying to read beyond the last offset of a sealed StreamSegment.
         ReadAvailability ra = checkReadAvailability(resultStartOffset, false);
         if (ra == ReadAvailability.BeyondLastOffset) {
@@ -779,13 +1027,19 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                         result = createMemoryRead(indexEntry, resultStartOffset, maxLength, true);
                     } else if (indexEntry instanceof RedirectIndexEntry) {
                         // ResultStartOffset is after the StartOffset and before the End Offset of this entry, but this
-                        // is a Redirect; reissue the request to the appropriate index.
-                        result = createRedirectedRead(resultStartOffset, maxLength, (RedirectIndexEntry) indexEntry);
+                        // is a Redirect; reissue the request to the appropriate index (outside of our lock).
+                        redirect = (RedirectIndexEntry) indexEntry;
                     }
                 }
             }
         }
 
+        if (redirect != null) {
+            result = createRedirectedRead(resultStartOffset, maxLength, redirect);
+        } else {
+            completeMemoryRead(result);
+        }
+
         // Just before exiting, check we are returning something. We should always return something if we coded this correctly.
         assert result != null : String.format("Reached the end of getSingleReadResultEntry(id=%d, offset=%d, length=%d) "
                 + "with no plausible result in sight. This means we missed a case.", this.metadata.getId(), resultStartOffset, maxLength);
@@ -815,11 +1069,12 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         }
 
         // Collect the contents of congruent Index Entries into a list, as long as we still encounter data in the cache.
-        ArrayList<InputStream> contents = new ArrayList<>();
+        // Each of these entries is backed by a view into the cache; we transfer ownership of them to the composite result.
+        ArrayList<ByteBuf> contents = new ArrayList<>();
         do {
             assert Futures.isSuccessful(nextEntry.getContent()) : "Found CacheReadResultEntry that is not completed yet: " + nextEntry;
             val entryContents = nextEntry.getContent().join();
-            contents.add(entryContents.getData());
+            contents.add(entryContents.getBuffer());
             readLength += entryContents.getLength();
             if (readLength >= this.config.getMemoryReadMinLength() || readLength >= maxLength) {
                 break;
@@ -828,8 +1083,13 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             nextEntry = getSingleMemoryReadResultEntry(resultStartOffset + readLength, maxLength - readLength);
         } while (nextEntry != null);
 
-        // Coalesce the results into a single InputStream and return the result.
-        return new CacheReadResultEntry(resultStartOffset, new SequenceInputStream(Iterators.asEnumeration(contents.iterator())), readLength);
+        if (contents.size() == 1) {
+            // Nothing to coalesce.
+            return new CacheReadResultEntry(resultStartOffset, contents.get(0));
+        }
+
+        // Coalesce the results into a single (composite) view and return the result. No data is copied.
+        return new CacheReadResultEntry(resultStartOffset, Unpooled.wrappedBuffer(contents.size(), contents.toArray(new ByteBuf[0])));
     }
 
     /**
@@ -846,13 +1106,18 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         if (maxLength > 0 && checkReadAvailability(resultStartOffset, false) == ReadAvailability.Available) {
             // Look up an entry in the index that contains our requested start offset.
+            CacheReadResultEntry result = null;
             synchronized (this.lock) {
                 ReadIndexEntry indexEntry = this.indexEntries.get(resultStartOffset);
                 if (indexEntry != null && indexEntry.isDataEntry()) {
                     // We found an entry; return a result for it.
-                    return createMemoryRead(indexEntry, resultStartOffset, maxLength, true);
+                    result = createMemoryRead(indexEntry, resultStartOffset, maxLength, true);
                 }
             }
+
+            if (result != null) {
+                return completeMemoryRead(result);
+            }
         }
 
         // Nothing could be found in the cache at the given offset.
@@ -966,16 +1231,92 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         int length = (int) Math.min(maxLength, entry.getLength() - entryOffset);
         assert length > 0 : String.format("length{%d} <= 0. streamSegmentOffset = %d, maxLength = %d, entry.offset = %d, entry.length = %d", length, streamSegmentOffset, maxLength, entry.getStreamSegmentOffset(), entry.getLength());
-        byte[] data = this.cache.get(getCacheKey(entry));
+        Supplier<ByteBuf> data = getEntryData(entry);
         assert data != null : String.format("No Cache Entry could be retrieved for entry %s", entry);
 
         if (updateStats) {
-            // Update its generation before returning it.
-            int generation = this.summary.touchOne(entry.getGeneration());
+            // Update its generation before returning it. The first read of read-ahead data is the one it was read ahead
+            // for, so it does not count as a repeated access (and the entry remains probationary).
+            boolean readAheadHit = entry instanceof ReadAheadIndexEntry && ((ReadAheadIndexEntry) entry).settle();
+            int generation;
+            if (entry.isProbationary()) {
+                generation = this.summary.touchProbationary(entry.getGeneration(), entry.getCacheSize(), !readAheadHit);
+                entry.setProbationary(readAheadHit);
+            } else {
+                generation = this.summary.touchOne(entry.getGeneration());
+            }
+
             entry.setGeneration(generation);
+            SegmentStoreMetrics.CacheManager.cacheHit(length);
+            if (readAheadHit) {
+                // A reader caught up with data we read ahead. Keep the read-ahead window moving in front of it.
+                this.readAheadBudget.hit((int) entry.getLength());
+                long nextOffset = entry.getLastStreamSegmentOffset() + 1;
+                this.executor.execute(() -> readAhead(nextOffset));
+            }
+        }
+
+        if (entry.isCompressed()) {
+            // Decompressing is expensive, so it is deferred until the content is requested, which we only do after
+            // releasing the lock (see completeMemoryRead()).
+            return new CacheReadResultEntry(streamSegmentOffset, length, () -> {
+                ByteBuf entryData = data.get();
+                return entryData.slice(entryData.readerIndex() + entryOffset, length);
+            });
+        }
+
+        return new CacheReadResultEntry(entry.getStreamSegmentOffset(), data.get(), entryOffset, length);
+    }
+
+    /**
+     * Fetches the data for the given CacheReadResultEntry, if it has not already been fetched. This must not be invoked
+     * while holding the lock, since it may need to decompress the data.
+     *
+     * @param entry The entry to complete. If not a CacheReadResultEntry, nothing happens.
+     * @return The given entry.
+     */
+    private <T extends CompletableReadResultEntry> T completeMemoryRead(T entry) {
+        if (entry instanceof CacheReadResultEntry) {
+            entry.requestContent(this.config.getStorageReadDefaultTimeout());
         }
 
-        return new CacheReadResultEntry(entry.getStreamSegmentOffset(), data, entryOffset, length);
+        return entry;
+    }
+
+    /**
+     * Fetches the data for the given entry from the Cache. If the entry is compressed, only its compressed data is fetched
+     * here; it is decompressed when the returned Supplier is invoked, which need not (and should not) happen while
+     * holding the lock.
+     *
+     * @param entry The entry to fetch data for.
+     * @return A Supplier that returns a read-only ByteBuf containing the (decompressed) data when invoked, or null if
+     * there is no data in the Cache for this entry. If not null, this Supplier must be invoked exactly once (otherwise
+     * the reference obtained from the Cache is leaked).
+     */
+    @GuardedBy("lock")
+    private Supplier<ByteBuf> getEntryData(ReadIndexEntry entry) {
+        if (entry.isCompressed()) {
+            byte[] compressed = this.cache.get(getCacheKey(entry));
+            int length = (int) entry.getLength();
+            return compressed == null ? null : () -> decompress(compressed, length);
+        } else {
+            ByteBuf data = this.cache.getView(getCacheKey(entry));
+            return data == null ? null : () -> data;
+        }
+    }
+
+    /**
+     * Decompresses the given data from a compressed Cache Entry.
+     *
+     * @param compressed The compressed data.
+     * @param length     The length of the decompressed data.
+     * @return A read-only ByteBuf containing the decompressed data.
+     */
+    private ByteBuf decompress(byte[] compressed, int length) {
+        long startTime = System.nanoTime();
+        byte[] data = CacheCompressor.decompress(compressed, length);
+        this.metrics.decompressed(data.length, System.nanoTime() - startTime);
+        return Unpooled.wrappedBuffer(data).asReadOnly();
     }
 
     /**
@@ -994,7 +1335,8 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             ByteArraySegment data = result.getData();
 
             // Make sure we invoke our callback first, before any chance of exceptions from insert() may block it.
-            successCallback.accept(new ReadResultEntryContents(data.getReader(), data.getLength()));
+            successCallback.accept(new ReadResultEntryContents(
+                    Unpooled.wrappedBuffer(data.array(), data.arrayOffset(), data.getLength()).asReadOnly()));
             if (!result.isDerived()) {
                 // Only insert primary results into the cache. Derived results are always sub-portions of primaries
                 // and there is no need to insert them too, as they are already contained within.
@@ -1003,8 +1345,10 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         };
 
         // Queue the request for async processing.
+        SegmentStoreMetrics.CacheManager.cacheMiss(length);
         length = getReadAlignedLength(offset, length);
         this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback, timeout));
+        recordStorageRead(offset, length);
     }
 
     /**
@@ -1078,6 +1422,153 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
     //endregion
 
+    //region Read-Ahead
+
+    /**
+     * Records that a Storage Read has been issued for the given range. If this read continues a sequential pattern of
+     * Storage Reads (i.e., a catch-up reader), read-ahead is triggered beyond it.
+     *
+     * @param offset The offset of the Storage Read.
+     * @param length The length of the Storage Read.
+     */
+    private void recordStorageRead(long offset, int length) {
+        if (this.config.getReadAheadBlockCount() == 0) {
+            // Read-ahead is disabled.
+            return;
+        }
+
+        boolean trigger;
+        synchronized (this.lock) {
+            // A read is sequential if it begins where the previous one ended, or if it falls within the range we have
+            // already read ahead (which means some of that data was evicted before the reader got to it).
+            boolean sequential = offset == this.lastStorageReadEndOffset
+                    || (offset > this.lastStorageReadEndOffset && offset < this.readAheadEndOffset);
+            if (sequential) {
+                this.sequentialStorageReadCount++;
+            } else {
+                this.sequentialStorageReadCount = 1;
+                this.readAheadEndOffset = -1;
+            }
+
+            this.lastStorageReadEndOffset = offset + length;
+            trigger = this.sequentialStorageReadCount >= this.config.getReadAheadTriggerCount();
+        }
+
+        if (trigger) {
+            readAhead(offset + length);
+        }
+    }
+
+    /**
+     * Issues asynchronous Storage Reads for the configured number of read-ahead blocks beginning at the given offset,
+     * excluding any ranges that are already in the index or have already been read ahead, and subject to the
+     * ReadAheadBudget. The results are inserted into the index as ReadAheadIndexEntries.
+     *
+     * @param fromOffset The offset to begin reading ahead at.
+     */
+    private void readAhead(long fromOffset) {
+        ArrayList<StorageReadManager.Request> requests = new ArrayList<>();
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+
+            long alignment = this.config.getStorageReadAlignment();
+            long endOffset = Math.min(fromOffset + this.config.getReadAheadBlockCount() * alignment, this.metadata.getStorageLength());
+            long offset = Math.max(fromOffset, this.readAheadEndOffset);
+            while (offset < endOffset) {
+                ReadIndexEntry existing = this.indexEntries.getFloor(offset);
+                if (existing != null && existing.getLastStreamSegmentOffset() >= offset) {
+                    // Already in the index (or pointing to another Segment's index); skip over it.
+                    offset = existing.getLastStreamSegmentOffset() + 1;
+                    continue;
+                }
+
+                // Read up to the next alignment boundary, but do not overlap with the next entry in the index.
+                long blockEndOffset = Math.min(endOffset, (offset / alignment + 1) * alignment);
+                ReadIndexEntry next = this.indexEntries.getCeiling(offset);
+                if (next != null) {
+                    blockEndOffset = Math.min(blockEndOffset, next.getStreamSegmentOffset());
+                }
+
+                int length = (int) (blockEndOffset - offset);
+                if (!this.readAheadBudget.tryReserve(length)) {
+                    log.debug("{}: Read-ahead budget exhausted (Offset = {}, Pending = {}).",
+                            this.traceObjectId, offset, this.readAheadBudget.getPendingBytes());
+                    break;
+                }
+
+                final long requestOffset = offset;
+                requests.add(new StorageReadManager.Request(requestOffset, length,
+                        result -> completeReadAhead(requestOffset, length, result),
+                        ex -> failReadAhead(requestOffset, length, ex),
+                        this.config.getStorageReadDefaultTimeout()));
+                offset = blockEndOffset;
+            }
+
+            this.readAheadEndOffset = Math.max(this.readAheadEndOffset, offset);
+        }
+
+        if (!requests.isEmpty()) {
+            log.debug("{}: ReadAhead (Offset = {}, Count = {}).", this.traceObjectId, requests.get(0).getOffset(), requests.size());
+        }
+
+        for (StorageReadManager.Request request : requests) {
+            try {
+                this.storageReadManager.execute(request);
+            } catch (Exception ex) {
+                // The StorageReadManager may have been closed concurrently.
+                failReadAhead(request.getOffset(), request.getLength(), ex);
+            }
+        }
+    }
+
+    private void completeReadAhead(long offset, int reservedLength, StorageReadManager.Result result) {
+        ByteArraySegment data = result.getData();
+        if (result.isDerived() || data.getLength() == 0 || this.closed) {
+            // Derived results are sub-portions of other requests, which have already been (or will be) inserted.
+            this.readAheadBudget.cancel(reservedLength);
+            return;
+        }
+
+        // The StorageReadManager may have trimmed the request (or Storage returned fewer bytes than we asked for).
+        this.readAheadBudget.cancel(reservedLength - data.getLength());
+        ReadAheadIndexEntry entry = new ReadAheadIndexEntry(offset, data.getLength());
+        try {
+            synchronized (this.lock) {
+                if (this.indexEntries.get(offset) != null) {
+                    // Someone else has inserted this data in the meantime.
+                    this.readAheadBudget.cancel(data.getLength());
+                    return;
+                }
+
+                insert(entry, data);
+            }
+        } catch (Exception ex) {
+            log.warn("{}: Unable to insert read-ahead data (Offset = {}, Length = {}).", this.traceObjectId, offset, data.getLength(), ex);
+            if (entry.settle()) {
+                this.readAheadBudget.cancel(data.getLength());
+            }
+        }
+    }
+
+    private void failReadAhead(long offset, int reservedLength, Throwable ex) {
+        log.debug("{}: ReadAhead failed (Offset = {}, Length = {}): {}.", this.traceObjectId, offset, reservedLength, ex.toString());
+        this.readAheadBudget.cancel(reservedLength);
+    }
+
+    /**
+     * Releases the given entry's bytes from the ReadAheadBudget, if it is a ReadAheadIndexEntry that has not been read.
+     * This must be invoked whenever a ReadIndexEntry is evicted from the index.
+     */
+    private void settleReadAheadEviction(ReadIndexEntry entry) {
+        if (entry instanceof ReadAheadIndexEntry && ((ReadAheadIndexEntry) entry).settle()) {
+            this.readAheadBudget.wasted((int) entry.getLength());
+        }
+    }
+
+    //endregion
+
     //region ReadAvailability
 
     private enum ReadAvailability {
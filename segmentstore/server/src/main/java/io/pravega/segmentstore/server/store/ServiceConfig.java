@@ -18,6 +18,8 @@ import io.pravega.segmentstore.server.CachePolicy;
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.SneakyThrows;
 
@@ -48,9 +50,12 @@ public class ServiceConfig {
     public static final Property<Boolean> ENABLE_TLS = Property.named("enableTls", false);
     public static final Property<String> CERT_FILE = Property.named("certFile", "");
     public static final Property<String> KEY_FILE = Property.named("keyFile", "");
+    public static final Property<CacheType> CACHE_IMPLEMENTATION = Property.named("cacheImplementation", CacheType.ROCKSDB);
     public static final Property<Long> CACHE_POLICY_MAX_SIZE = Property.named("cacheMaxSize", 16L * 1024 * 1024 * 1024);
     public static final Property<Integer> CACHE_POLICY_MAX_TIME = Property.named("cacheMaxTimeSeconds", 30 * 60);
     public static final Property<Integer> CACHE_POLICY_GENERATION_TIME = Property.named("cacheGenerationTimeSeconds", 5);
+    public static final Property<String> CACHE_POLICY_PRIORITY_CLASSES = Property.named("cachePriorityClasses", "");
+    public static final Property<CachePolicy.EvictionMode> CACHE_POLICY_EVICTION_MODE = Property.named("cacheEvictionMode", CachePolicy.EvictionMode.GENERATIONAL);
     public static final Property<Boolean> REPLY_WITH_STACK_TRACE_ON_ERROR = Property.named("replyWithStackTraceOnError", false);
     public static final Property<String> INSTANCE_ID = Property.named("instanceId", "");
 
@@ -66,6 +71,11 @@ public class ServiceConfig {
          */
         BOOKKEEPER,
 
+        /**
+         * DataLog is implemented by memory-mapped files on the local file system. Contents are not replicated.
+         */
+        FILESYSTEM,
+
         /**
          * InMemory DataLog. Contents will be lost when the process exits.
          */
@@ -94,6 +104,18 @@ public class ServiceConfig {
         INMEMORY
     }
 
+    public enum CacheType {
+        /**
+         * Cache is implemented by a local RocksDB database, which may spill over to disk.
+         */
+        ROCKSDB,
+
+        /**
+         * Cache is implemented by slabs of direct (off-heap) memory, bounded by the maximum cache size.
+         */
+        DIRECTMEMORY
+    }
+
     //endregion
 
     //region Members
@@ -233,6 +255,12 @@ public class ServiceConfig {
     @Getter
     private final String keyFile;
 
+    /**
+     * The Type of Cache Implementation to use.
+     */
+    @Getter
+    private final CacheType cacheImplementation;
+
     /**
      * The CachePolicy, as defined in this configuration.
      */
@@ -304,14 +332,50 @@ public class ServiceConfig {
         this.enableTls = properties.getBoolean(ENABLE_TLS);
         this.keyFile = properties.get(KEY_FILE);
         this.certFile = properties.get(CERT_FILE);
+        this.cacheImplementation = properties.getEnum(CACHE_IMPLEMENTATION, CacheType.class);
         long cachePolicyMaxSize = properties.getLong(CACHE_POLICY_MAX_SIZE);
         int cachePolicyMaxTime = properties.getInt(CACHE_POLICY_MAX_TIME);
         int cachePolicyGenerationTime = properties.getInt(CACHE_POLICY_GENERATION_TIME);
-        this.cachePolicy = new CachePolicy(cachePolicyMaxSize, Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime));
+        CachePolicy.EvictionMode cachePolicyEvictionMode = properties.getEnum(CACHE_POLICY_EVICTION_MODE, CachePolicy.EvictionMode.class);
+        List<CachePolicy.PriorityClass> cachePolicyPriorityClasses = parsePriorityClasses(properties.get(CACHE_POLICY_PRIORITY_CLASSES));
+        try {
+            this.cachePolicy = new CachePolicy(cachePolicyMaxSize, Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime),
+                    cachePolicyEvictionMode, cachePolicyPriorityClasses);
+        } catch (IllegalArgumentException ex) {
+            throw new ConfigurationException(String.format("Invalid cache policy: %s", ex.getMessage()), ex);
+        }
         this.replyWithStackTraceOnError = properties.getBoolean(REPLY_WITH_STACK_TRACE_ON_ERROR);
         this.instanceId = properties.get(INSTANCE_ID);
     }
 
+    /**
+     * Parses a list of Cache Priority Classes, in the format "name:priority:minShare:maxShare,...".
+     */
+    private static List<CachePolicy.PriorityClass> parsePriorityClasses(String value) throws ConfigurationException {
+        ArrayList<CachePolicy.PriorityClass> result = new ArrayList<>();
+        if (Strings.isNullOrEmpty(value)) {
+            return result;
+        }
+
+        for (String item : value.split(",")) {
+            String[] parts = item.trim().split(":");
+            if (parts.length != 4) {
+                throw new ConfigurationException(String.format("Property '%s' has invalid element '%s'; expected 'name:priority:minShare:maxShare'.",
+                        CACHE_POLICY_PRIORITY_CLASSES.getName(), item));
+            }
+
+            try {
+                result.add(new CachePolicy.PriorityClass(parts[0].trim(), Integer.parseInt(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim())));
+            } catch (IllegalArgumentException ex) {
+                throw new ConfigurationException(String.format("Property '%s' has invalid element '%s': %s.",
+                        CACHE_POLICY_PRIORITY_CLASSES.getName(), item, ex.getMessage()));
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Creates a new ConfigBuilder that can be used to create instances of this class.
      *
@@ -354,6 +418,7 @@ public class ServiceConfig {
                         Strings.isNullOrEmpty(certFile) ? "unspecified" : "specified"))
                 .append(String.format("keyFile is %s, ",
                         Strings.isNullOrEmpty(keyFile) ? "unspecified" : "specified"))
+                .append(String.format("cacheImplementation: %s, ", cacheImplementation.name()))
                 .append(String.format("cachePolicy is %s, ", (cachePolicy != null) ? cachePolicy.toString() : "null"))
                 .append(String.format("replyWithStackTraceOnError: %b, ", replyWithStackTraceOnError))
                 .append(String.format("instanceId: %s", instanceId))
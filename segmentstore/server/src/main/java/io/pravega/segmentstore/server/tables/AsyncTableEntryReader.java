@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.tables;
 
 import com.google.common.base.Preconditions;
 import io.pravega.common.TimeoutTimer;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.EnhancedByteArrayOutputStream;
 import io.pravega.common.io.SerializationException;
 import io.pravega.common.io.StreamHelpers;
@@ -153,6 +154,12 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
         return getKeyVersion(this.header, this.keyVersion);
     }
 
+    private static void releaseContents(ReadResultEntry entry) {
+        if (Futures.isSuccessful(entry.getContent())) {
+            entry.getContent().join().release();
+        }
+    }
+
     //endregion
 
     //region AsyncReadResultHandler implementation
@@ -169,6 +176,7 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
     public boolean processEntry(ReadResultEntry entry) {
         if (this.result.isDone()) {
             // We are done. Nothing else to do.
+            releaseContents(entry);
             return false;
         }
 
@@ -178,7 +186,12 @@ abstract class AsyncTableEntryReader<ResultT> implements AsyncReadResultHandler
 
             // TODO: most of these transfers are from memory to memory. It's a pity that we need an extra buffer to do the copy.
             // TODO: https://github.com/pravega/pravega/issues/2924
-            this.readData.write(StreamHelpers.readAll(contents.getData(), contents.getLength()));
+            try {
+                this.readData.write(StreamHelpers.readAll(contents.getData(), contents.getLength()));
+            } finally {
+                contents.release();
+            }
+
             if (this.header == null && this.readData.size() >= EntrySerializer.HEADER_LENGTH) {
                 // We now have enough to read the header.
                 this.header = this.serializer.readHeader(this.readData.getData());
@@ -77,7 +77,9 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
     public CacheManager.CacheStatus getCacheStatus() {
         int minGen = 0;
         int maxGen = 0;
+        int minProbationaryGen = Integer.MAX_VALUE;
         long size = 0;
+        long probationarySize = 0;
         synchronized (this.segmentCaches) {
             for (SegmentKeyCache e : this.segmentCaches.values()) {
                 if (e != null) {
@@ -85,15 +87,24 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
                     minGen = Math.min(minGen, cs.getOldestGeneration());
                     maxGen = Math.max(maxGen, cs.getNewestGeneration());
                     size += cs.getSize();
+                    if (cs.getProbationarySize() > 0) {
+                        minProbationaryGen = Math.min(minProbationaryGen, cs.getOldestProbationaryGeneration());
+                        probationarySize += cs.getProbationarySize();
+                    }
                 }
             }
         }
 
-        return new CacheManager.CacheStatus(size, minGen, maxGen);
+        return new CacheManager.CacheStatus(size, minGen, maxGen, probationarySize, Math.min(minProbationaryGen, maxGen));
     }
 
     @Override
     public long updateGenerations(int currentGeneration, int oldestGeneration) {
+        return updateGenerations(currentGeneration, oldestGeneration, oldestGeneration);
+    }
+
+    @Override
+    public long updateGenerations(int currentGeneration, int oldestGeneration, int oldestProbationaryGeneration) {
         Exceptions.checkNotClosed(this.closed.get(), this);
 
         // Instruct each Segment Cache to perform its own cache management, collect eviction candidates, and remove them
@@ -102,7 +113,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         synchronized (this.segmentCaches) {
             this.currentCacheGeneration = currentGeneration;
             for (SegmentKeyCache segmentCache : this.segmentCaches.values()) {
-                evictions.add(segmentCache.evictBefore(oldestGeneration));
+                evictions.add(segmentCache.evictBefore(oldestGeneration, oldestProbationaryGeneration));
             }
         }
 
@@ -25,6 +25,7 @@ import io.pravega.segmentstore.contracts.tables.TableAttributes;
 import io.pravega.segmentstore.contracts.tables.TableKey;
 import io.pravega.segmentstore.contracts.tables.TableSegmentNotEmptyException;
 import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
 import io.pravega.segmentstore.server.DirectSegmentAccess;
 import io.pravega.segmentstore.server.reading.AsyncReadResultProcessor;
 import io.pravega.segmentstore.storage.CacheFactory;
@@ -106,7 +107,7 @@ class ContainerKeyIndex implements AutoCloseable {
                       @NonNull KeyHasher keyHasher, @NonNull ScheduledExecutorService executor) {
         this.cache = new ContainerKeyCache(containerId, cacheFactory);
         this.cacheManager = cacheManager;
-        this.cacheManager.register(this.cache);
+        this.cacheManager.register(this.cache, CachePolicy.TABLE_INDEX_PRIORITY_CLASS);
         this.executor = executor;
         this.indexReader = new IndexReader(executor);
         this.conditionalUpdateProcessor = new MultiKeySequentialProcessor<>(this.executor);
@@ -598,11 +599,15 @@ class ContainerKeyIndex implements AutoCloseable {
         val entries = new HashMap<UUID, CacheBucketOffset>();
         long nextOffset = startOffset;
         final long maxOffset = startOffset + maxLength;
-        while (nextOffset < maxOffset) {
-            val e = AsyncTableEntryReader.readEntryComponents(input, nextOffset, serializer);
-            val hash = this.keyHasher.hash(e.getKey());
-            entries.put(hash, new CacheBucketOffset(nextOffset, e.getHeader().isDeletion()));
-            nextOffset += e.getHeader().getTotalLength();
+        try {
+            while (nextOffset < maxOffset) {
+                val e = AsyncTableEntryReader.readEntryComponents(input, nextOffset, serializer);
+                val hash = this.keyHasher.hash(e.getKey());
+                entries.put(hash, new CacheBucketOffset(nextOffset, e.getHeader().isDeletion()));
+                nextOffset += e.getHeader().getTotalLength();
+            }
+        } finally {
+            input.close();
         }
 
         return entries;
@@ -77,17 +77,23 @@ class SegmentKeyCache {
     synchronized CacheManager.CacheStatus getCacheStatus() {
         int minGen = 0;
         int maxGen = 0;
+        int minProbationaryGen = Integer.MAX_VALUE;
         long size = 0;
+        long probationarySize = 0;
         for (CacheEntry e : this.cacheEntries.values()) {
             if (e != null) {
                 int g = e.getGeneration();
                 minGen = Math.min(minGen, g);
                 maxGen = Math.max(maxGen, g);
                 size += e.getSize();
+                if (e.isProbationary()) {
+                    minProbationaryGen = Math.min(minProbationaryGen, g);
+                    probationarySize += e.getSize();
+                }
             }
         }
 
-        return new CacheManager.CacheStatus(size, minGen, maxGen);
+        return new CacheManager.CacheStatus(size, minGen, maxGen, probationarySize, Math.min(minProbationaryGen, maxGen));
     }
 
     /**
@@ -95,17 +101,19 @@ class SegmentKeyCache {
      * actually execute the eviction since it is invoked while a lock is held in {@link ContainerKeyCache}. The caller
      * ({@link ContainerKeyCache}) needs to execute the actual cache eviction.
      *
-     * @param oldestGeneration The oldest permissible generation.
+     * @param oldestGeneration             The oldest permissible generation.
+     * @param oldestProbationaryGeneration The oldest permissible generation for Cache Entries that have not been accessed
+     *                                     since they were added.
      * @return An {@link EvictionResult} instance containing the number of bytes evicted and the {@link Cache.Key} for
      * each Cache Entry that needs eviction.
      */
-    synchronized EvictionResult evictBefore(int oldestGeneration) {
+    synchronized EvictionResult evictBefore(int oldestGeneration, int oldestProbationaryGeneration) {
         // Remove those entries that have a generation below the oldest permissible one.
         long sizeRemoved = 0;
         ArrayList<Short> removedGroups = new ArrayList<>();
         for (val e : this.cacheEntries.entrySet()) {
             CacheEntry entry = e.getValue();
-            if (entry.getGeneration() < oldestGeneration
+            if (entry.getGeneration() < (entry.isProbationary() ? oldestProbationaryGeneration : oldestGeneration)
                     && entry.getHighestOffset() < this.lastIndexedOffset) {
                 removedGroups.add(e.getKey());
                 sizeRemoved += entry.getSize();
@@ -125,7 +133,7 @@ class SegmentKeyCache {
      * @return See {@link #evictBefore}
      */
     EvictionResult evictAll() {
-        return evictBefore(Integer.MAX_VALUE);
+        return evictBefore(Integer.MAX_VALUE, Integer.MAX_VALUE);
     }
 
     //endregion
@@ -410,6 +418,8 @@ class SegmentKeyCache {
         @GuardedBy("this")
         private int generation;
         @GuardedBy("this")
+        private boolean probationary;
+        @GuardedBy("this")
         private int size;
         @GuardedBy("this")
         private long highestOffset;
@@ -417,6 +427,7 @@ class SegmentKeyCache {
         CacheEntry(short hashGroup, int currentGeneration) {
             this.hashGroup = hashGroup;
             this.generation = currentGeneration;
+            this.probationary = true;
             this.size = 0;
             this.highestOffset = 0;
         }
@@ -429,6 +440,14 @@ class SegmentKeyCache {
             return this.generation;
         }
 
+        /**
+         * Gets a value indicating whether this Cache Entry is probationary, i.e., no value has been looked up in it since
+         * it was created.
+         */
+        synchronized boolean isProbationary() {
+            return this.probationary;
+        }
+
         /**
          * Gets a value representing the size, in bytes, of the data behind this Cache Entry.
          */
@@ -457,8 +476,9 @@ class SegmentKeyCache {
             if (offset >= 0) {
                 // Found it.
                 synchronized (this) {
-                    // Update Entry's generation.
+                    // Update Entry's generation. Since this is a cache hit, the Entry is no longer probationary.
                     this.generation = currentGeneration;
+                    this.probationary = false;
                 }
 
                 return deserializeCacheValue(data, offset);
@@ -237,6 +237,8 @@ class TableCompactor {
             // We chose an arbitrary compact length, so it is quite possible we stopped reading in the middle of an entry.
             // As such, EOFException is the only way to know when to stop. When this happens, we will have collected the
             // total compact length in segmentOffset.
+        } finally {
+            // This also releases any data we did not get to read.
             input.close();
         }
 
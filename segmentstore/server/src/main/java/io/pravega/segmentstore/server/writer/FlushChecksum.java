@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.writer;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import io.pravega.common.io.StreamHelpers;
+import io.pravega.segmentstore.contracts.Attributes;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Data;
+import lombok.Getter;
+
+/**
+ * Maintains a CRC32 checksum over a contiguous range of a Segment's data.
+ * <p>
+ * The SegmentAggregator uses this to keep a rolling checksum of the data it most recently wrote to Storage, which it then
+ * persists (as a {@link Snapshot}) in the Segment's Attribute Index. Upon reconciliation, the same range is checksummed
+ * again using the data from the DurableLog and compared against the persisted {@link Snapshot}, which means that range
+ * need not be read back from Storage.
+ */
+@NotThreadSafe
+class FlushChecksum {
+    //region Members
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private final long maxRangeLength;
+    private final CRC32 crc;
+    @Getter
+    private long startOffset;
+    @Getter
+    private long endOffset;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FlushChecksum class, covering an empty range.
+     *
+     * @param startOffset    The offset where the range begins.
+     * @param maxRangeLength The maximum length of the range. Once this is reached, a new range will begin with the next
+     *                       call to include().
+     */
+    FlushChecksum(long startOffset, long maxRangeLength) {
+        Preconditions.checkArgument(startOffset >= 0, "startOffset must be a non-negative number.");
+        Preconditions.checkArgument(maxRangeLength > 0, "maxRangeLength must be a positive number.");
+        this.maxRangeLength = maxRangeLength;
+        this.crc = new CRC32();
+        reset(startOffset);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Includes the given data in the checksum. If the data does not begin where the current range ends, or if including
+     * it would cause the range to exceed the maximum length, a new range is begun at the given offset.
+     *
+     * @param offset The Segment offset where the data begins.
+     * @param data   The data. These ByteBuffers will not be modified.
+     */
+    void include(long offset, ByteBuffer[] data) {
+        int length = Arrays.stream(data).mapToInt(ByteBuffer::remaining).sum();
+        prepareInclude(offset, length);
+        for (ByteBuffer b : data) {
+            this.crc.update(b.duplicate());
+        }
+
+        this.endOffset += length;
+    }
+
+    /**
+     * Includes the given data in the checksum. If the data does not begin where the current range ends, or if including
+     * it would cause the range to exceed the maximum length, a new range is begun at the given offset.
+     *
+     * @param offset The Segment offset where the data begins.
+     * @param data   An InputStream to read the data from. Exactly length bytes will be read from it.
+     * @param length The number of bytes to include.
+     * @throws IOException If unable to read from the InputStream or if it has fewer than length bytes.
+     */
+    void include(long offset, InputStream data, int length) throws IOException {
+        prepareInclude(offset, length);
+        byte[] buffer = new byte[Math.min(length, READ_BUFFER_SIZE)];
+        int remaining = length;
+        while (remaining > 0) {
+            int count = StreamHelpers.readAll(data, buffer, 0, Math.min(remaining, buffer.length));
+            if (count <= 0) {
+                throw new EOFException(String.format("Expected %d more bytes.", remaining));
+            }
+
+            this.crc.update(buffer, 0, count);
+            remaining -= count;
+        }
+
+        this.endOffset += length;
+    }
+
+    /**
+     * Gets a {@link Snapshot} of the current range and its checksum.
+     *
+     * @return The Snapshot.
+     */
+    Snapshot getSnapshot() {
+        return new Snapshot(this.startOffset, this.endOffset, this.crc.getValue());
+    }
+
+    /**
+     * Begins a new (empty) range at the given offset.
+     *
+     * @param offset The Segment offset where the new range begins.
+     */
+    void reset(long offset) {
+        Preconditions.checkArgument(offset >= 0, "offset must be a non-negative number.");
+        this.crc.reset();
+        this.startOffset = offset;
+        this.endOffset = offset;
+    }
+
+    private void prepareInclude(long offset, int length) {
+        Preconditions.checkArgument(offset >= 0, "offset must be a non-negative number.");
+        if (offset != this.endOffset || this.endOffset - this.startOffset + length > this.maxRangeLength) {
+            reset(offset);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getSnapshot().toString();
+    }
+
+    //endregion
+
+    //region Snapshot
+
+    /**
+     * An immutable copy of a FlushChecksum's state, which can be persisted as Segment Attributes.
+     */
+    @Data
+    static class Snapshot {
+        /**
+         * The Attribute Ids that a Snapshot is stored as.
+         */
+        static final Collection<UUID> ATTRIBUTE_IDS = Collections.unmodifiableList(Arrays.asList(
+                Attributes.FLUSH_CHECKSUM_START_OFFSET, Attributes.FLUSH_CHECKSUM_END_OFFSET, Attributes.FLUSH_CHECKSUM));
+
+        private final long startOffset;
+        private final long endOffset;
+        private final long value;
+
+        /**
+         * Gets the length of the range covered by this Snapshot.
+         *
+         * @return The length.
+         */
+        long getLength() {
+            return this.endOffset - this.startOffset;
+        }
+
+        /**
+         * Gets a Map of Attribute Ids to Values that represents this Snapshot.
+         *
+         * @return The Map.
+         */
+        Map<UUID, Long> toAttributes() {
+            return ImmutableMap.of(
+                    Attributes.FLUSH_CHECKSUM_START_OFFSET, this.startOffset,
+                    Attributes.FLUSH_CHECKSUM_END_OFFSET, this.endOffset,
+                    Attributes.FLUSH_CHECKSUM, this.value);
+        }
+
+        /**
+         * Creates a new Snapshot from the given Attributes.
+         *
+         * @param attributes A Map of Attribute Ids to Values.
+         * @return A new Snapshot, or null if the Map does not contain a valid one.
+         */
+        static Snapshot fromAttributes(Map<UUID, Long> attributes) {
+            Long startOffset = attributes.get(Attributes.FLUSH_CHECKSUM_START_OFFSET);
+            Long endOffset = attributes.get(Attributes.FLUSH_CHECKSUM_END_OFFSET);
+            Long value = attributes.get(Attributes.FLUSH_CHECKSUM);
+            if (startOffset == null || endOffset == null || value == null || startOffset < 0 || endOffset < startOffset) {
+                return null;
+            }
+
+            return new Snapshot(startOffset, endOffset, value);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.writer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.MathHelpers;
+import java.time.Duration;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Calculates the flush thresholds for a single Segment, based on its observed ingestion rate and Storage write latency.
+ * <p>
+ * Both the ingestion rate and the write latency are tracked as exponentially weighted moving averages, which are sampled
+ * every time appended data is written to Storage. From these:
+ * <ul>
+ * <li> The byte threshold is the amount of data the Segment ingests during LATENCY_MULTIPLE Storage writes, bounded by
+ * [FlushThresholdBytes, MaxFlushSizeBytes]. Hot Segments (or a slow Storage) result in fewer, larger writes.
+ * <li> The time threshold grows with the square root of how much of the byte threshold the Segment would fill within
+ * FlushThresholdTime, bounded by [MinFlushThresholdTime, FlushThresholdTime]. Cold Segments will not fill a write anyway,
+ * so they are flushed sooner in order not to hold up DurableLog truncation and Cache space for longer than needed. The
+ * square root keeps the time threshold close to FlushThresholdTime unless the Segment is very cold, which bounds the
+ * number of additional (small) Storage writes that this causes.
+ * </ul>
+ * The static thresholds from the WriterConfig are used if adaptive thresholds are disabled or until the first sample is
+ * available.
+ */
+@ThreadSafe
+class FlushThresholdCalculator {
+    //region Members
+
+    /**
+     * The weight of the most recent sample in the moving averages.
+     */
+    @VisibleForTesting
+    static final double SAMPLE_WEIGHT = 0.25;
+
+    /**
+     * A flush should accumulate data for at least this many times as long as it takes to write it to Storage.
+     */
+    @VisibleForTesting
+    static final int LATENCY_MULTIPLE = 10;
+    private final WriterConfig config;
+    @GuardedBy("this")
+    private long ingestedBytes;
+    @GuardedBy("this")
+    private Duration lastSampleTime;
+    @GuardedBy("this")
+    private double ingestionRate;
+    @GuardedBy("this")
+    private double writeLatencyMillis;
+    @GuardedBy("this")
+    private int flushThresholdBytes;
+    @GuardedBy("this")
+    private Duration flushThresholdTime;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FlushThresholdCalculator class.
+     *
+     * @param config      The WriterConfig to use.
+     * @param currentTime The current time, as measured by the owning SegmentAggregator's timer.
+     */
+    FlushThresholdCalculator(WriterConfig config, Duration currentTime) {
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.lastSampleTime = Preconditions.checkNotNull(currentTime, "currentTime");
+        this.ingestionRate = -1; // Not known yet.
+        this.writeLatencyMillis = -1; // Not known yet.
+        this.flushThresholdBytes = config.getFlushThresholdBytes();
+        this.flushThresholdTime = config.getFlushThresholdTime();
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Gets the number of bytes that need to be accumulated before the Segment must be flushed.
+     *
+     * @return The byte threshold.
+     */
+    synchronized int getFlushThresholdBytes() {
+        return this.flushThresholdBytes;
+    }
+
+    /**
+     * Gets the maximum amount of time that may elapse between two consecutive flushes of the Segment.
+     *
+     * @return The time threshold.
+     */
+    synchronized Duration getFlushThresholdTime() {
+        return this.flushThresholdTime;
+    }
+
+    /**
+     * Records that the given number of bytes have been appended to the Segment.
+     *
+     * @param length The number of bytes.
+     */
+    synchronized void recordIngestion(long length) {
+        this.ingestedBytes += length;
+    }
+
+    /**
+     * Records that appended data has been successfully written to Storage and recalculates the thresholds.
+     *
+     * @param writeLatency The amount of time it took to write the data to Storage.
+     * @param currentTime  The current time, as measured by the owning SegmentAggregator's timer.
+     */
+    synchronized void recordWrite(Duration writeLatency, Duration currentTime) {
+        this.writeLatencyMillis = average(this.writeLatencyMillis, writeLatency.toMillis());
+        long elapsedMillis = currentTime.minus(this.lastSampleTime).toMillis();
+        if (elapsedMillis > 0) {
+            this.ingestionRate = average(this.ingestionRate, (double) this.ingestedBytes / elapsedMillis);
+            this.ingestedBytes = 0;
+            this.lastSampleTime = currentTime;
+        }
+
+        if (this.config.isAdaptiveFlushThresholds() && this.ingestionRate >= 0) {
+            recalculate();
+        }
+    }
+
+    @GuardedBy("this")
+    private void recalculate() {
+        int minBytes = this.config.getFlushThresholdBytes();
+        int maxBytes = Math.max(minBytes, this.config.getMaxFlushSizeBytes());
+        this.flushThresholdBytes = (int) MathHelpers.minMax(LATENCY_MULTIPLE * this.ingestionRate * this.writeLatencyMillis, minBytes, maxBytes);
+
+        long minMillis = this.config.getMinFlushThresholdTime().toMillis();
+        long maxMillis = this.config.getFlushThresholdTime().toMillis();
+        double fillRatio = this.flushThresholdBytes == 0 ? 1 : Math.min(1, this.ingestionRate * maxMillis / this.flushThresholdBytes);
+        this.flushThresholdTime = Duration.ofMillis(minMillis + (long) ((maxMillis - minMillis) * Math.sqrt(fillRatio)));
+    }
+
+    private double average(double currentValue, double sample) {
+        return currentValue < 0 ? sample : currentValue + SAMPLE_WEIGHT * (sample - currentValue);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("FlushThresholdBytes = %d, FlushThresholdTime = %dms, IngestionRate = %.1fB/ms, WriteLatency = %.1fms",
+                this.flushThresholdBytes, this.flushThresholdTime.toMillis(), this.ingestionRate, this.writeLatencyMillis);
+    }
+
+    //endregion
+}
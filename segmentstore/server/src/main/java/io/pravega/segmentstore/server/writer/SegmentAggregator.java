@@ -10,14 +10,18 @@
 package io.pravega.segmentstore.server.writer;
 
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
 import io.pravega.common.AbstractTimer;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
+import io.pravega.common.MathHelpers;
 import io.pravega.common.TimeoutTimer;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.io.StreamHelpers;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.Attributes;
 import io.pravega.segmentstore.contracts.BadOffsetException;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import io.pravega.segmentstore.contracts.StreamSegmentExistsException;
 import io.pravega.segmentstore.contracts.StreamSegmentInformation;
@@ -44,12 +48,15 @@ import io.pravega.segmentstore.storage.SegmentHandle;
 import io.pravega.segmentstore.storage.SegmentRollingPolicy;
 import io.pravega.segmentstore.storage.Storage;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -92,6 +99,11 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
     private final AtomicReference<Duration> lastFlush;
     private final AtomicReference<AggregatorState> state;
     private final AtomicReference<ReconciliationState> reconciliationState;
+    private final FlushThresholdCalculator flushThresholds;
+    private final FlushChecksum flushChecksum;
+    private final AtomicLong flushChecksumRestartCount;
+    private final AtomicLong appliedFlushChecksumRestartCount;
+    private final AtomicLong unpersistedFlushChecksumBytes;
 
     //endregion
 
@@ -126,6 +138,11 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
         this.state = new AtomicReference<>(AggregatorState.NotInitialized);
         this.reconciliationState = new AtomicReference<>();
         this.handle = new AtomicReference<>();
+        this.flushThresholds = new FlushThresholdCalculator(config, timer.getElapsed());
+        this.flushChecksum = config.isFlushChecksums() ? new FlushChecksum(0, config.getMaxFlushChecksumRangeBytes()) : null;
+        this.flushChecksumRestartCount = new AtomicLong();
+        this.appliedFlushChecksumRestartCount = new AtomicLong();
+        this.unpersistedFlushChecksumBytes = new AtomicLong();
     }
 
     //endregion
@@ -175,13 +192,29 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
         return this.timer.getElapsed().minus(this.lastFlush.get());
     }
 
+    /**
+     * Gets the number of bytes that need to be accumulated in this SegmentAggregator before a flush is required. This is
+     * WriterConfig.getFlushThresholdBytes(), unless adaptive flush thresholds are enabled.
+     */
+    int getFlushThresholdBytes() {
+        return this.flushThresholds.getFlushThresholdBytes();
+    }
+
+    /**
+     * Gets the maximum amount of time that may elapse between two consecutive flushes of this SegmentAggregator, if it
+     * has data to flush. This is WriterConfig.getFlushThresholdTime(), unless adaptive flush thresholds are enabled.
+     */
+    Duration getFlushThresholdTime() {
+        return this.flushThresholds.getFlushThresholdTime();
+    }
+
     /**
      * Gets a value indicating whether a call to flush() is required given the current state of this SegmentAggregator.
      * <p>
      * Any of the following conditions can trigger a flush:
      * <ul>
-     * <li> There is more data in the SegmentAggregator than the configuration allows (getOutstandingLength >= FlushThresholdBytes)
-     * <li> Too much time has passed since the last call to flush() (getElapsedSinceLastFlush >= FlushThresholdTime)
+     * <li> There is more data in the SegmentAggregator than the flush threshold (getOutstandingLength >= getFlushThresholdBytes)
+     * <li> Too much time has passed since the last call to flush() (getElapsedSinceLastFlush >= getFlushThresholdTime)
      * <li> The SegmentAggregator contains a StreamSegmentSealOperation or MergeSegmentOperation (hasSealPending == true)
      * <li> The SegmentAggregator is currently in a Reconciliation State (recovering from an inconsistency in Storage).
      * </ul>
@@ -212,8 +245,8 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
             length = 1;
         }
 
-        return length >= this.config.getFlushThresholdBytes()
-                || (length > 0 && getElapsedSinceLastFlush().compareTo(this.config.getFlushThresholdTime()) >= 0);
+        return length >= getFlushThresholdBytes()
+                || (length > 0 && getElapsedSinceLastFlush().compareTo(getFlushThresholdTime()) >= 0);
     }
 
     /**
@@ -424,6 +457,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
             AggregatedAppendOperation aggregatedAppend = getOrCreateAggregatedAppend(
                     operation.getStreamSegmentOffset(), operation.getSequenceNumber());
             aggregateAppendOperation((CachedStreamSegmentAppendOperation) operation, aggregatedAppend);
+            this.flushThresholds.recordIngestion(operation.getLength());
         }
     }
 
@@ -524,6 +558,16 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
         return aggregatedAppend;
     }
 
+    /**
+     * Notifies this SegmentAggregator that the DataSource has been truncated. If flush checksums are enabled, the next
+     * flush will begin a new checksum range. This keeps the range from spanning much more than what has not yet been
+     * acknowledged, which is the part that may need reconciling; anything before that needs to be read back from Storage
+     * in order to use the checksum.
+     */
+    void restartFlushChecksum() {
+        this.flushChecksumRestartCount.incrementAndGet();
+    }
+
     //endregion
 
     //region Flushing and Merging
@@ -748,7 +792,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
      * @return A CompletableFuture that, when completed, will contain the result from the flush operation.
      */
     private CompletableFuture<WriterFlushResult> flushPendingAppends(Duration timeout) {
-        // Gather an InputStream made up of all the operations we can flush.
+        // Gather the data (as Cache views) and attributes from all the operations we can flush.
         FlushArgs flushArgs;
         try {
             flushArgs = getFlushArgs();
@@ -771,14 +815,22 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
         if (flushArgs.getLength() == 0) {
             flush = CompletableFuture.completedFuture(null);
         } else {
-            flush = createSegmentIfNecessary(
-                    () -> this.storage.write(this.handle.get(), this.metadata.getStorageLength(), flushArgs.getStream(), flushArgs.getLength(), timer.getRemaining()),
-                    timer.getRemaining());
+            Duration writeStartTime = this.timer.getElapsed();
+            long checksumRestartCount = this.flushChecksumRestartCount.get();
+            long writeOffset = this.metadata.getStorageLength();
+            flush = createSegmentIfNecessary(() -> writeData(flushArgs.getData(), timer.getRemaining()), timer.getRemaining())
+                    .whenComplete((r, ex) -> {
+                        if (ex == null) {
+                            Duration currentTime = this.timer.getElapsed();
+                            this.flushThresholds.recordWrite(currentTime.minus(writeStartTime), currentTime);
+                            updateFlushChecksum(writeOffset, flushArgs.getData(), checksumRestartCount);
+                        }
+                        flushArgs.getData().release();
+                    });
         }
 
-        if (!flushArgs.getAttributes().isEmpty()) {
-            flush = flush.thenComposeAsync(v -> handleAttributeException(
-                    this.dataSource.persistAttributes(this.metadata.getId(), flushArgs.attributes, timer.getRemaining())));
+        if (!flushArgs.getAttributes().isEmpty() || (flushArgs.getLength() > 0 && this.flushChecksum != null)) {
+            flush = flush.thenComposeAsync(v -> persistAttributes(flushArgs, timer.getRemaining()));
         }
 
         return flush
@@ -800,6 +852,101 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
                 });
     }
 
+    /**
+     * Writes the given data at the end of the Segment in Storage. If the data is backed by a buffer (i.e., views of the
+     * Cache entries that make up the data), these are handed to Storage as-is, which avoids copying them into an
+     * intermediate InputStream.
+     *
+     * @param data    The data to write.
+     * @param timeout Timeout for the operation.
+     * @return A CompletableFuture that will be completed when the write is done.
+     */
+    private CompletableFuture<Void> writeData(ReadResultEntryContents data, Duration timeout) {
+        ByteBuf buffer = data.getBuffer();
+        if (buffer == null) {
+            return this.storage.write(this.handle.get(), this.metadata.getStorageLength(), data.getData(), data.getLength(), timeout);
+        } else {
+            return this.storage.write(this.handle.get(), this.metadata.getStorageLength(), Arrays.asList(buffer.nioBuffers()), timeout);
+        }
+    }
+
+    /**
+     * Includes the given data, which has just been written to Storage, in the Segment's flush checksum (if enabled).
+     *
+     * @param offset       The offset where the data was written at.
+     * @param data         The data that was written.
+     * @param restartCount The number of times a restart was requested (via restartFlushChecksum()) before the data was
+     *                     written. If there are any requests that have not yet been applied, the flush checksum will begin
+     *                     a new range with this data.
+     */
+    private void updateFlushChecksum(long offset, ReadResultEntryContents data, long restartCount) {
+        if (this.flushChecksum == null) {
+            return;
+        }
+
+        if (this.appliedFlushChecksumRestartCount.getAndSet(restartCount) != restartCount) {
+            this.flushChecksum.reset(offset);
+        }
+
+        ByteBuf buffer = data.getBuffer();
+        if (buffer == null) {
+            // The data has already been consumed by the write, so it cannot be included in the checksum. Begin a new (empty)
+            // range after it instead.
+            this.flushChecksum.include(offset + data.getLength(), new ByteBuffer[0]);
+        } else {
+            this.flushChecksum.include(offset, buffer.nioBuffers());
+        }
+    }
+
+    /**
+     * Persists the Attributes collected for the flushed appends, along with the Segment's flush checksum (if enabled).
+     * <p>
+     * Since persisting the flush checksum is an extra Attribute Index update, it is only done once at least
+     * WriterConfig.FlushChecksumPersistIntervalBytes have been flushed since the last time, or if there are other Attributes
+     * to persist anyway. A stale flush checksum is still valid: it describes a range that is entirely in Storage, and
+     * reconciliation will read back whatever data follows it.
+     *
+     * @param flushArgs The arguments used for flushing.
+     * @param timeout   Timeout for the operation.
+     * @return A CompletableFuture that will be completed when the operation is done.
+     */
+    private CompletableFuture<Void> persistAttributes(FlushArgs flushArgs, Duration timeout) {
+        Map<UUID, Long> attributes = flushArgs.getAttributes();
+        FlushChecksum.Snapshot checksum = getFlushChecksumToPersist(flushArgs);
+        if (checksum == null || checksum.getLength() == 0) {
+            return attributes.isEmpty()
+                    ? CompletableFuture.completedFuture(null)
+                    : handleAttributeException(this.dataSource.persistAttributes(this.metadata.getId(), attributes, timeout));
+        } else if (attributes.isEmpty()) {
+            // The checksum is only used to speed up reconciliation, so failing to record it must not fail the flush. Whatever
+            // checksum was persisted before still correctly describes the data in Storage.
+            return this.dataSource
+                    .persistAttributes(this.metadata.getId(), checksum.toAttributes(), timeout)
+                    .exceptionally(ex -> {
+                        log.warn("{}: Unable to persist flush checksum {}.", this.traceObjectId, checksum, Exceptions.unwrap(ex));
+                        return null;
+                    });
+        } else {
+            attributes = new HashMap<>(attributes);
+            attributes.putAll(checksum.toAttributes());
+            return handleAttributeException(this.dataSource.persistAttributes(this.metadata.getId(), attributes, timeout));
+        }
+    }
+
+    private FlushChecksum.Snapshot getFlushChecksumToPersist(FlushArgs flushArgs) {
+        if (this.flushChecksum == null || flushArgs.getLength() == 0) {
+            return null;
+        }
+
+        long unpersistedBytes = this.unpersistedFlushChecksumBytes.addAndGet(flushArgs.getLength());
+        if (flushArgs.getAttributes().isEmpty() && unpersistedBytes < this.config.getFlushChecksumPersistIntervalBytes()) {
+            return null;
+        }
+
+        this.unpersistedFlushChecksumBytes.set(0);
+        return this.flushChecksum.getSnapshot();
+    }
+
     /**
      * Returns a FlushArgs which contains the data needing to be flushed to Storage.
      *
@@ -815,7 +962,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
 
         AggregatedAppendOperation appendOp = (AggregatedAppendOperation) first;
         int length = (int) appendOp.getLength();
-        InputStream data;
+        ReadResultEntryContents data;
         if (length > 0) {
             data = this.dataSource.getAppendData(appendOp.getStreamSegmentId(), appendOp.getStreamSegmentOffset(), length);
             if (data == null) {
@@ -1211,7 +1358,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
         assert this.state.get() == AggregatorState.ReconciliationNeeded : "beginReconciliation cannot be called if state == " + this.state;
         return this.storage
                 .getStreamSegmentInfo(this.metadata.getName(), timer.getRemaining())
-                .thenAcceptAsync(sp -> {
+                .thenComposeAsync(sp -> {
                     if (sp.getLength() > this.metadata.getLength()) {
                         // The length of the Segment in Storage is beyond what we have in our DurableLog. This is not
                         // possible in a correct scenario and is usually indicative of an internal bug or some other external
@@ -1227,12 +1374,15 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
                     } else if (sp.getLength() == this.metadata.getStorageLength() && sp.isSealed() == this.metadata.isSealedInStorage()) {
                         // Nothing to do. Exit reconciliation and re-enter normal writing mode.
                         setState(AggregatorState.Writing);
-                        return;
+                        return CompletableFuture.completedFuture(null);
                     }
 
                     // If we get here, it means we have work to do. Set the state accordingly and move on.
-                    this.reconciliationState.set(new ReconciliationState(this.metadata, sp));
-                    setState(AggregatorState.Reconciling);
+                    return createReconciliationState(sp, timer)
+                            .thenAccept(rc -> {
+                                this.reconciliationState.set(rc);
+                                setState(AggregatorState.Reconciling);
+                            });
                 }, this.executor)
                 .exceptionally(ex -> {
                     ex = Exceptions.unwrap(ex);
@@ -1257,7 +1407,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
                             // Segment does not exist in Storage, but the Metadata indicates it should be empty. This is
                             // a valid situation since we may not have had a chance to create it yet.
                             this.reconciliationState.set(new ReconciliationState(this.metadata,
-                                    StreamSegmentInformation.builder().name(this.metadata.getName()).build()));
+                                    StreamSegmentInformation.builder().name(this.metadata.getName()).build(), null, null));
                             setState(AggregatorState.Reconciling);
                         }
                     } else {
@@ -1269,6 +1419,95 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
                 });
     }
 
+    /**
+     * Creates a new ReconciliationState for this Segment. If enabled, this fetches the most recently persisted flush checksum
+     * and determines whether it can be used for reconciliation. That is only possible if the range it covers is entirely
+     * in Storage and the part of it beyond our StorageLength is made up exclusively of Append Operations that are still
+     * in our queue; otherwise we would have nothing to compare it against. Any part of the range that precedes our
+     * StorageLength is read back from Storage and checksummed right away (we have no Operations for it).
+     *
+     * @param storageInfo The current state of the Segment in Storage.
+     * @param timer       Timer for the operation.
+     * @return A CompletableFuture that, when completed, will contain the ReconciliationState. This Future will not fail if
+     * the flush checksum cannot be used; in that case reconciliation will be done without it.
+     */
+    private CompletableFuture<ReconciliationState> createReconciliationState(SegmentProperties storageInfo, TimeoutTimer timer) {
+        if (this.flushChecksum == null) {
+            return CompletableFuture.completedFuture(new ReconciliationState(this.metadata, storageInfo, null, null));
+        }
+
+        return this.dataSource
+                .getAttributes(this.metadata.getId(), FlushChecksum.Snapshot.ATTRIBUTE_IDS, timer.getRemaining())
+                .thenCompose(attributes -> {
+                    FlushChecksum.Snapshot checksum = FlushChecksum.Snapshot.fromAttributes(attributes);
+                    if (checksum == null || !canReconcileWith(checksum, storageInfo)) {
+                        return CompletableFuture.completedFuture(new ReconciliationState(this.metadata, storageInfo, null, null));
+                    }
+
+                    log.info("{}: Using flush checksum {} for reconciliation.", this.traceObjectId, checksum);
+                    return checksumPrefix(checksum, timer)
+                            .thenApply(actualChecksum -> new ReconciliationState(this.metadata, storageInfo, checksum, actualChecksum));
+                })
+                .exceptionally(ex -> {
+                    log.warn("{}: Unable to use flush checksum; reconciling without it.", this.traceObjectId, Exceptions.unwrap(ex));
+                    return new ReconciliationState(this.metadata, storageInfo, null, null);
+                });
+    }
+
+    private boolean canReconcileWith(FlushChecksum.Snapshot checksum, SegmentProperties storageInfo) {
+        long storageLength = this.metadata.getStorageLength();
+        if (checksum.getLength() == 0 || checksum.getEndOffset() > storageInfo.getLength() || checksum.getEndOffset() <= storageLength) {
+            return false;
+        }
+
+        // The part of the range before our StorageLength needs to be read back from Storage. This is only worth doing if
+        // it is less than what the checksum spares us from reading.
+        long coveredOffset = Math.max(checksum.getStartOffset(), storageLength);
+        if (coveredOffset - checksum.getStartOffset() >= checksum.getEndOffset() - coveredOffset) {
+            return false;
+        }
+
+        // Walk the queue and verify that the rest of the range is contiguously covered by Append Operations.
+        for (StorageOperation op : this.operations.getAll()) {
+            if (op.getLastStreamSegmentOffset() <= coveredOffset || (op.getLength() == 0 && !isAppendOperation(op))) {
+                // Either before the range, or an operation that has no data (i.e., Truncate).
+                continue;
+            } else if (op.getStreamSegmentOffset() > coveredOffset || !isAppendOperation(op)) {
+                break;
+            }
+
+            coveredOffset = op.getLastStreamSegmentOffset();
+            if (coveredOffset >= checksum.getEndOffset()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Begins calculating the checksum for the given flush checksum's range by including the data between its start offset
+     * and our StorageLength (if any), which is read from Storage.
+     *
+     * @param checksum The flush checksum to begin calculating.
+     * @param timer    Timer for the operation.
+     * @return A CompletableFuture that, when completed, will contain a FlushChecksum which begins where the given one does
+     * and ends at our StorageLength (or at the given one's start offset, if greater).
+     */
+    private CompletableFuture<FlushChecksum> checksumPrefix(FlushChecksum.Snapshot checksum, TimeoutTimer timer) {
+        FlushChecksum result = new FlushChecksum(checksum.getStartOffset(), Long.MAX_VALUE);
+        long prefixLength = this.metadata.getStorageLength() - checksum.getStartOffset();
+        if (prefixLength <= 0) {
+            return CompletableFuture.completedFuture(result);
+        }
+
+        return readFromStorage(checksum.getStartOffset(), (int) prefixLength, timer)
+                .thenApply(data -> {
+                    result.include(checksum.getStartOffset(), new ByteBuffer[]{ByteBuffer.wrap(data)});
+                    return result;
+                });
+    }
+
     private CompletableFuture<WriterFlushResult> reconcile(TimeoutTimer timer) {
         ReconciliationState rc = this.reconciliationState.get();
         WriterFlushResult result = new WriterFlushResult();
@@ -1404,8 +1643,8 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
      * if the operation cannot be reconciled, based on the in-memory metadata or the current state of the Segment in Storage.
      */
     private CompletableFuture<Integer> reconcileData(AggregatedAppendOperation op, SegmentProperties storageInfo, TimeoutTimer timer) {
-        InputStream appendStream = this.dataSource.getAppendData(op.getStreamSegmentId(), op.getStreamSegmentOffset(), (int) op.getLength());
-        if (appendStream == null) {
+        ReadResultEntryContents appendData = this.dataSource.getAppendData(op.getStreamSegmentId(), op.getStreamSegmentOffset(), (int) op.getLength());
+        if (appendData == null) {
             return Futures.failedFuture(new ReconciliationFailureException(
                     String.format("Unable to reconcile operation '%s' because no append data is associated with it.", op), this.metadata, storageInfo));
         }
@@ -1414,35 +1653,81 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
         long readLength = Math.min(op.getLastStreamSegmentOffset(), storageInfo.getLength()) - op.getStreamSegmentOffset();
         assert readLength > 0 : "Append Operation to be reconciled is beyond the Segment's StorageLength (" + storageInfo.getLength() + "): " + op;
 
-        // Read all data from storage.
-        byte[] storageData = new byte[(int) readLength];
-        AtomicInteger reconciledBytes = new AtomicInteger();
+        // The part of the operation that is covered by the flush checksum (if any) need not be read from Storage; only
+        // what is before and after it is.
+        long startOffset = op.getStreamSegmentOffset();
+        long endOffset = startOffset + readLength;
+        FlushChecksum.Snapshot checksum = this.reconciliationState.get().getExpectedChecksum();
+        long checksumStart = checksum == null ? endOffset : MathHelpers.minMax(checksum.getStartOffset(), startOffset, endOffset);
+        long checksumEnd = checksum == null ? endOffset : MathHelpers.minMax(checksum.getEndOffset(), checksumStart, endOffset);
+        return readFromStorage(startOffset, (int) (checksumStart - startOffset), timer)
+                .thenCompose(before -> readFromStorage(checksumEnd, (int) (endOffset - checksumEnd), timer)
+                        .thenApplyAsync(after -> {
+                            // Compare, byte-by-byte, the contents of the append with what we read from Storage, and use the
+                            // checksum for the rest.
+                            InputStream appendStream = appendData.getData();
+                            verifySame(appendStream, before, startOffset, op, storageInfo);
+                            verifyChecksum(appendStream, checksumStart, (int) (checksumEnd - checksumStart), op, storageInfo);
+                            verifySame(appendStream, after, checksumEnd, op, storageInfo);
+                            return (int) readLength;
+                        }, this.executor))
+                .whenComplete((r, ex) -> appendData.release());
+    }
+
+    private CompletableFuture<byte[]> readFromStorage(long offset, int length, TimeoutTimer timer) {
+        byte[] storageData = new byte[length];
+        AtomicInteger readBytes = new AtomicInteger();
         return Futures
                 .loop(
-                        () -> reconciledBytes.get() < readLength,
-                        () -> this.storage.read(this.handle.get(), op.getStreamSegmentOffset() + reconciledBytes.get(), storageData, reconciledBytes.get(), (int) readLength - reconciledBytes.get(), timer.getRemaining()),
+                        () -> readBytes.get() < length,
+                        () -> this.storage.read(this.handle.get(), offset + readBytes.get(), storageData, readBytes.get(), length - readBytes.get(), timer.getRemaining()),
                         bytesRead -> {
-                            assert bytesRead > 0 : String.format("Unable to make any read progress when reconciling operation '%s' after reading %s bytes.", op, reconciledBytes);
-                            reconciledBytes.addAndGet(bytesRead);
+                            assert bytesRead > 0 : String.format("Unable to make any read progress when reading SegmentOffsets [%d, %d) after reading %s bytes.",
+                                    offset, offset + length, readBytes);
+                            readBytes.addAndGet(bytesRead);
                         },
                         this.executor)
-                .thenApplyAsync(v -> {
-                    // Compare, byte-by-byte, the contents of the append.
-                    verifySame(appendStream, storageData, op, storageInfo);
-                    return reconciledBytes.get();
-                }, this.executor);
+                .thenApply(v -> storageData);
     }
 
     @SneakyThrows
-    private void verifySame(InputStream appendStream, byte[] storageData, StorageOperation op, SegmentProperties storageInfo) {
+    private void verifySame(InputStream appendStream, byte[] storageData, long storageOffset, StorageOperation op, SegmentProperties storageInfo) {
         for (int i = 0; i < storageData.length; i++) {
             if ((byte) appendStream.read() != storageData[i]) {
                 throw new ReconciliationFailureException(
-                        String.format("Unable to reconcile operation '%s' because of data differences at SegmentOffset %d.", op, op.getStreamSegmentOffset() + i), this.metadata, storageInfo);
+                        String.format("Unable to reconcile operation '%s' because of data differences at SegmentOffset %d.", op, storageOffset + i), this.metadata, storageInfo);
             }
         }
     }
 
+    @SneakyThrows
+    private void verifyChecksum(InputStream appendStream, long offset, int length, StorageOperation op, SegmentProperties storageInfo) {
+        if (length == 0) {
+            return;
+        }
+
+        ReconciliationState rc = this.reconciliationState.get();
+        FlushChecksum actualChecksum = rc.getActualChecksum();
+        if (offset < actualChecksum.getEndOffset()) {
+            // We have already included this range (this operation is being reconciled again).
+            StreamHelpers.readAll(appendStream, length);
+            return;
+        }
+
+        actualChecksum.include(offset, appendStream, length);
+        FlushChecksum.Snapshot expectedChecksum = rc.getExpectedChecksum();
+        if (actualChecksum.getEndOffset() == expectedChecksum.getEndOffset()) {
+            FlushChecksum.Snapshot result = actualChecksum.getSnapshot();
+            if (!result.equals(expectedChecksum)) {
+                throw new ReconciliationFailureException(
+                        String.format("Unable to reconcile operation '%s' because of checksum differences for SegmentOffsets [%d, %d). Expected %s, actual %s.",
+                                op, expectedChecksum.getStartOffset(), expectedChecksum.getEndOffset(), expectedChecksum, result), this.metadata, storageInfo);
+            }
+
+            log.info("{}: Reconciled SegmentOffsets [{}, {}) using flush checksum.", this.traceObjectId, expectedChecksum.getStartOffset(), expectedChecksum.getEndOffset());
+        }
+    }
+
     /**
      * Attempts to reconcile the given MergeSegmentOperation.
      *
@@ -1803,16 +2088,30 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
     private static class ReconciliationState {
         private final SegmentProperties storageInfo;
         private final long initialStorageLength;
-
-        ReconciliationState(SegmentMetadata segmentMetadata, SegmentProperties storageInfo) {
+        /**
+         * The flush checksum that was persisted for the Segment, or null if it cannot be used.
+         */
+        private final FlushChecksum.Snapshot expectedChecksum;
+        /**
+         * The checksum calculated for the same range, as the Append Operations within it are reconciled.
+         */
+        private final FlushChecksum actualChecksum;
+
+        ReconciliationState(SegmentMetadata segmentMetadata, SegmentProperties storageInfo, FlushChecksum.Snapshot expectedChecksum,
+                            FlushChecksum actualChecksum) {
             Preconditions.checkNotNull(storageInfo, "storageInfo");
+            Preconditions.checkArgument((expectedChecksum == null) == (actualChecksum == null),
+                    "expectedChecksum and actualChecksum must either both be null or both be non-null.");
             this.storageInfo = storageInfo;
             this.initialStorageLength = segmentMetadata.getStorageLength();
+            this.expectedChecksum = expectedChecksum;
+            this.actualChecksum = actualChecksum;
         }
 
         @Override
         public String toString() {
-            return String.format("Metadata.StorageLength = %d, Storage.Length = %d", this.initialStorageLength, this.storageInfo.getLength());
+            return String.format("Metadata.StorageLength = %d, Storage.Length = %d, FlushChecksum = %s",
+                    this.initialStorageLength, this.storageInfo.getLength(), this.expectedChecksum);
         }
     }
 
@@ -1822,7 +2121,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
     @Getter
     @RequiredArgsConstructor
     private static class FlushArgs {
-        private final InputStream stream;
+        private final ReadResultEntryContents data;
         private final int length;
         private final Map<UUID, Long> attributes;
 
@@ -1916,6 +2215,10 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
             return this.queue.size();
         }
 
+        synchronized List<StorageOperation> getAll() {
+            return new ArrayList<>(this.queue);
+        }
+
         synchronized void clear() {
             this.queue.clear();
         }
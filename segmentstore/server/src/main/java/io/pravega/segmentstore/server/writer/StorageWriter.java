@@ -20,6 +20,7 @@ import io.pravega.common.concurrent.AbstractThreadPoolService;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.SegmentOperation;
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
 import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.Writer;
 import io.pravega.segmentstore.server.WriterFactory;
@@ -32,7 +33,9 @@ import io.pravega.segmentstore.server.logs.operations.StorageOperation;
 import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.StorageNotPrimaryException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -41,6 +44,10 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -52,6 +59,15 @@ import lombok.val;
 class StorageWriter extends AbstractThreadPoolService implements Writer {
     //region Members
 
+    /**
+     * Orders ProcessorCollections by how urgently they need to be flushed. The ones with the lowest uncommitted Sequence
+     * Number go first: they hold the oldest un-flushed data and, until they are flushed, the DurableLog cannot be truncated
+     * beyond that point. Ties (which only happen for ProcessorCollections with no uncommitted operations) are broken by
+     * the amount of time since their last flush.
+     */
+    private static final Comparator<ProcessorCollection> FLUSH_PRIORITY = Comparator
+            .comparingLong(StorageWriter::getFlushPrioritySequenceNumber)
+            .thenComparing(ProcessorCollection::getElapsedSinceLastFlush, Comparator.reverseOrder());
     private final WriterConfig config;
     private final WriterDataSource dataSource;
     private final Storage storage;
@@ -60,6 +76,8 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
     private final Timer timer;
     private final AckCalculator ackCalculator;
     private final WriterFactory.CreateProcessors createProcessors;
+    private final SegmentStoreMetrics.StorageWriter metrics;
+    private final AtomicReference<CompletableFuture<Void>> pendingAcknowledgement;
 
     //endregion
 
@@ -88,6 +106,18 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
         this.state = new WriterState();
         this.timer = new Timer();
         this.ackCalculator = new AckCalculator(this.state);
+        this.metrics = new SegmentStoreMetrics.StorageWriter(dataSource.getId());
+        this.pendingAcknowledgement = new AtomicReference<>(CompletableFuture.completedFuture(null));
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        super.close();
+        this.metrics.close();
     }
 
     //endregion
@@ -295,17 +325,28 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
         checkRunning();
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "flush");
 
-        // Flush everything we can flush.
-        val flushFutures = this.processors.values().stream()
-                                          .filter(ProcessorCollection::mustFlush)
-                                          .map(a -> a.flush(this.config.getFlushTimeout()))
-                                          .collect(Collectors.toList());
+        // Flush everything we can flush, most urgent first.
+        val byMustFlush = this.processors.values().stream().collect(Collectors.partitioningBy(ProcessorCollection::mustFlush));
+        val toFlush = new ArrayList<ProcessorCollection>(byMustFlush.get(true));
+        toFlush.sort(FLUSH_PRIORITY);
 
-        return Futures
-                .allOfWithResults(flushFutures)
+        // Processors that are not being flushed will not change their state during this stage, so we can take them into
+        // account right now when figuring out how far we can truncate while the flushes are in progress.
+        val flushProgress = new FlushProgress(toFlush, byMustFlush.get(false));
+        return flushInOrder(toFlush, flushProgress)
                 .thenAcceptAsync(flushResults -> {
                     FlushStageResult result = new FlushStageResult();
-                    flushResults.forEach(result::withFlushResult);
+                    for (int i = 0; i < flushResults.size(); i++) {
+                        WriterFlushResult flushResult = flushResults.get(i);
+                        result.withFlushResult(flushResult);
+                        if (flushResult.getFlushedBytes() > 0 && this.config.isAdaptiveFlushThresholds()) {
+                            // Report the thresholds this Segment will be using until its next flush. These are the static
+                            // ones from the config if adaptive thresholds are disabled, so there is no point in reporting them.
+                            ProcessorCollection processor = toFlush.get(i);
+                            this.metrics.flushThresholds(processor.getFlushThresholdBytes(), processor.getFlushThresholdTime());
+                        }
+                    }
+
                     if (result.getFlushedBytes() + result.getMergedBytes() + result.count > 0) {
                         logStageEvent("Flush", result);
                     }
@@ -314,6 +355,89 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
                 }, this.executor);
     }
 
+    /**
+     * Flushes the given ProcessorCollections, with at most WriterConfig.getMaxConcurrentFlushes() flushes executing at
+     * any given time. Flushes are initiated in the order in which the ProcessorCollections are given; as soon as one
+     * completes, the next one in line is initiated. A failed flush does not prevent the remaining ones from executing,
+     * however the returned future will be failed with the first such failure once all flushes are done.
+     *
+     * Since this must wait for all flushes to complete (a SegmentAggregator may not accept new operations while flushing),
+     * a slow flush would otherwise hold back the truncation of the DurableLog for all the others. To prevent that, every
+     * successful flush that allows the DurableLog to be truncated further triggers an acknowledgement right away.
+     *
+     * @param toFlush       An ordered List of ProcessorCollections to flush.
+     * @param flushProgress A FlushProgress tracking the given ProcessorCollections.
+     * @return A CompletableFuture that, when completed, will contain the WriterFlushResults, in the same order as toFlush.
+     */
+    private CompletableFuture<List<WriterFlushResult>> flushInOrder(List<ProcessorCollection> toFlush, FlushProgress flushProgress) {
+        val results = new AtomicReferenceArray<WriterFlushResult>(toFlush.size());
+        val failure = new AtomicReference<Throwable>();
+        val nextIndex = new AtomicInteger();
+        int maxConcurrentFlushes = this.config.getMaxConcurrentFlushes();
+        int concurrency = maxConcurrentFlushes > 0 ? Math.min(toFlush.size(), maxConcurrentFlushes) : toFlush.size();
+        val lanes = new ArrayList<CompletableFuture<Void>>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            // Each lane picks up the next ProcessorCollection in line once it's done with its current one.
+            lanes.add(Futures.loop(
+                    () -> nextIndex.get() < toFlush.size(),
+                    () -> {
+                        int index = nextIndex.getAndIncrement();
+                        if (index >= toFlush.size()) {
+                            // Another lane got to the last one first.
+                            return CompletableFuture.completedFuture(null);
+                        }
+
+                        return flushProcessor(toFlush.get(index))
+                                .handle((r, ex) -> {
+                                    if (ex == null) {
+                                        results.set(index, r);
+                                        flushProgress.flushComplete(index);
+                                        acknowledgeEarly(flushProgress.getHighestCommittedSequenceNumber());
+                                    } else {
+                                        failure.compareAndSet(null, Exceptions.unwrap(ex));
+                                    }
+                                    return null;
+                                });
+                    },
+                    this.executor));
+        }
+
+        return Futures.allOf(lanes)
+                      .thenApply(v -> {
+                          Throwable ex = failure.get();
+                          if (ex != null) {
+                              throw new CompletionException(ex);
+                          }
+
+                          val resultList = new ArrayList<WriterFlushResult>(results.length());
+                          for (int i = 0; i < results.length(); i++) {
+                              resultList.add(results.get(i));
+                          }
+
+                          return resultList;
+                      });
+    }
+
+    /**
+     * Initiates a flush on the given ProcessorCollection, converting any synchronous exception into a failed future.
+     */
+    private CompletableFuture<WriterFlushResult> flushProcessor(ProcessorCollection processor) {
+        try {
+            return processor.flush(this.config.getFlushTimeout());
+        } catch (Throwable ex) {
+            if (Exceptions.mustRethrow(ex)) {
+                throw ex;
+            }
+
+            return Futures.failedFuture(ex);
+        }
+    }
+
+    private static long getFlushPrioritySequenceNumber(ProcessorCollection processor) {
+        long seqNo = processor.getLowestUncommittedSequenceNumber();
+        return seqNo == Operation.NO_SEQUENCE_NUMBER ? Long.MAX_VALUE : seqNo;
+    }
+
     /**
      * Cleans up all SegmentAggregators that are currently closed.
      */
@@ -347,23 +471,79 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
      */
     private CompletableFuture<Void> acknowledge(Void ignored) {
         checkRunning();
-        long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "acknowledge");
 
-        long highestCommittedSeqNo = this.ackCalculator.getHighestCommittedSequenceNumber(this.processors.values());
+        // Wait for any acknowledgement issued during the Flush Stage to complete first; acknowledgements must be serialized.
+        return this.pendingAcknowledgement.get().thenComposeAsync(v -> {
+            long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "acknowledge");
+            long highestCommittedSeqNo = this.ackCalculator.getHighestCommittedSequenceNumber(this.processors.values());
+            CompletableFuture<Long> result = acknowledge(highestCommittedSeqNo);
+            return result.thenAccept(ackSequenceNumber ->
+                    LoggerHelpers.traceLeave(log, this.traceObjectId, "acknowledge", traceId, ackSequenceNumber));
+        }, this.executor);
+    }
+
+    /**
+     * Truncates the DataSource up to the closest valid Truncation Point at or before the given Sequence Number, if such
+     * a Truncation Point exists and has not already been truncated. Upon success, all SegmentAggregators are notified so
+     * that they can restart their flush checksums.
+     *
+     * @param highestCommittedSeqNo The highest Sequence Number that has been committed to Storage.
+     * @return A CompletableFuture that, when completed, will contain the Sequence Number that was acknowledged, or
+     * {@link Operation#NO_SEQUENCE_NUMBER} if nothing was acknowledged.
+     */
+    private CompletableFuture<Long> acknowledge(long highestCommittedSeqNo) {
         long ackSequenceNumber = this.dataSource.getClosestValidTruncationPoint(highestCommittedSeqNo);
         if (ackSequenceNumber > this.state.getLastTruncatedSequenceNumber()) {
-            // Issue the truncation and update the state (when done).
+            // Issue the truncation and update the state (when done). Any processor created in the meantime will begin its
+            // flush checksum after the truncation anyway, so we only need to notify the ones that exist now.
+            val toNotify = new ArrayList<ProcessorCollection>(this.processors.values());
             return this.dataSource
                     .acknowledge(ackSequenceNumber, this.config.getAckTimeout())
-                    .thenRun(() -> {
+                    .thenApply(v -> {
                         this.state.setLastTruncatedSequenceNumber(ackSequenceNumber);
+                        toNotify.forEach(ProcessorCollection::restartFlushChecksum);
                         logStageEvent("Acknowledged", "SeqNo=" + ackSequenceNumber);
-                        LoggerHelpers.traceLeave(log, this.traceObjectId, "acknowledge", traceId, ackSequenceNumber);
+                        return ackSequenceNumber;
                     });
         } else {
             // Nothing to do.
-            LoggerHelpers.traceLeave(log, this.traceObjectId, "acknowledge", traceId, Operation.NO_SEQUENCE_NUMBER);
-            return CompletableFuture.completedFuture(null);
+            return CompletableFuture.completedFuture(Operation.NO_SEQUENCE_NUMBER);
+        }
+    }
+
+    /**
+     * Acknowledges operations that were flushed to storage while the Flush Stage is still in progress. This is a no-op
+     * if there is already such an acknowledgement in progress (the Acknowledge Stage will pick up where it left off).
+     * Any failures are logged and otherwise ignored, as the Acknowledge Stage will retry (and report) them.
+     *
+     * @param highestCommittedSeqNo The highest Sequence Number that has been committed to Storage.
+     */
+    private void acknowledgeEarly(long highestCommittedSeqNo) {
+        CompletableFuture<Void> pending = this.pendingAcknowledgement.get();
+        if (!pending.isDone() || highestCommittedSeqNo <= this.state.getLastTruncatedSequenceNumber()) {
+            return;
+        }
+
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        if (this.pendingAcknowledgement.compareAndSet(pending, ack)) {
+            CompletableFuture<Long> result;
+            try {
+                result = acknowledge(highestCommittedSeqNo);
+            } catch (Throwable ex) {
+                if (Exceptions.mustRethrow(ex)) {
+                    throw ex;
+                }
+
+                result = Futures.failedFuture(ex);
+            }
+
+            result.whenComplete((ackSequenceNumber, ex) -> {
+                if (ex != null) {
+                    log.warn("{}: Unable to acknowledge during Flush Stage; will retry in Acknowledge Stage.", this.traceObjectId, Exceptions.unwrap(ex));
+                }
+
+                ack.complete(null);
+            });
         }
     }
 
@@ -443,7 +623,7 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
                 break;
             }
 
-            timeMillis = MathHelpers.minMax(this.config.getFlushThresholdTime().minus(a.getElapsedSinceLastFlush()).toMillis(), minTimeMillis, timeMillis);
+            timeMillis = MathHelpers.minMax(a.getFlushThresholdTime().minus(a.getElapsedSinceLastFlush()).toMillis(), minTimeMillis, timeMillis);
         }
 
         return Duration.ofMillis(timeMillis);
@@ -541,6 +721,59 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
 
     //endregion
 
+    //region FlushProgress
+
+    /**
+     * Keeps track of the Lowest Uncommitted Sequence Numbers of the ProcessorCollections in a Flush Stage, which allows
+     * determining how far the DataSource can be truncated before all flushes have completed. Until a ProcessorCollection's
+     * flush completes, its Lowest Uncommitted Sequence Number is assumed to be the one it had when the stage began (a flush
+     * can only increase it).
+     */
+    private class FlushProgress {
+        private final List<ProcessorCollection> toFlush;
+        private final AtomicLongArray lowestUncommittedSeqNos;
+        private final long othersHighestCommittedSeqNo;
+
+        FlushProgress(List<ProcessorCollection> toFlush, Collection<ProcessorCollection> others) {
+            this.toFlush = toFlush;
+            this.lowestUncommittedSeqNos = new AtomicLongArray(toFlush.size());
+            for (int i = 0; i < toFlush.size(); i++) {
+                this.lowestUncommittedSeqNos.set(i, getLowestUncommittedSequenceNumber(toFlush.get(i)));
+            }
+
+            this.othersHighestCommittedSeqNo = StorageWriter.this.ackCalculator.getHighestCommittedSequenceNumber(others);
+        }
+
+        /**
+         * Records the fact that the ProcessorCollection at the given index has been flushed successfully.
+         */
+        void flushComplete(int index) {
+            this.lowestUncommittedSeqNos.set(index, getLowestUncommittedSequenceNumber(this.toFlush.get(index)));
+        }
+
+        private long getLowestUncommittedSequenceNumber(ProcessorCollection processor) {
+            // Same as in AckCalculator, closed processors and those with no uncommitted data do not hold anything back.
+            return processor.isClosed() ? Long.MAX_VALUE : getFlushPrioritySequenceNumber(processor);
+        }
+
+        /**
+         * Gets the highest Sequence Number that is known to have been committed to Storage.
+         */
+        long getHighestCommittedSequenceNumber() {
+            long result = this.othersHighestCommittedSeqNo;
+            for (int i = 0; i < this.lowestUncommittedSeqNos.length(); i++) {
+                long seqNo = this.lowestUncommittedSeqNos.get(i);
+                if (seqNo != Long.MAX_VALUE) {
+                    result = Math.min(result, seqNo - 1);
+                }
+            }
+
+            return result;
+        }
+    }
+
+    //endregion
+
     //region ProcessorCollection
 
     /**
@@ -567,6 +800,27 @@ class StorageWriter extends AbstractThreadPoolService implements Writer {
             return this.aggregator.getElapsedSinceLastFlush();
         }
 
+        /**
+         * Gets a value indicating the byte threshold in effect for the main Segment Aggregator.
+         */
+        int getFlushThresholdBytes() {
+            return this.aggregator.getFlushThresholdBytes();
+        }
+
+        /**
+         * Gets a value indicating the time threshold in effect for the main Segment Aggregator.
+         */
+        Duration getFlushThresholdTime() {
+            return this.aggregator.getFlushThresholdTime();
+        }
+
+        /**
+         * Notifies the main Segment Aggregator that the DataSource has been truncated.
+         */
+        void restartFlushChecksum() {
+            this.aggregator.restartFlushChecksum();
+        }
+
         /**
          * Gets a value indicating the Segment Id for all processors in this collection.
          */
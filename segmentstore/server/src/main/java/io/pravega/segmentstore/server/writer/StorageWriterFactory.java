@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.writer;
 
 import com.google.common.base.Preconditions;
 import io.pravega.common.TimeoutTimer;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.OperationLog;
 import io.pravega.segmentstore.server.ReadIndex;
@@ -22,8 +23,8 @@ import io.pravega.segmentstore.server.WriterFactory;
 import io.pravega.segmentstore.server.attributes.ContainerAttributeIndex;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.storage.Storage;
-import java.io.InputStream;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
@@ -100,6 +101,14 @@ public class StorageWriterFactory implements WriterFactory {
                     .thenCompose(ai -> ai.update(attributes, timer.getRemaining()));
         }
 
+        @Override
+        public CompletableFuture<Map<UUID, Long>> getAttributes(long streamSegmentId, Collection<UUID> attributeIds, Duration timeout) {
+            TimeoutTimer timer = new TimeoutTimer(timeout);
+            return this.attributeIndex
+                    .forSegment(streamSegmentId, timer.getRemaining())
+                    .thenCompose(ai -> ai.get(attributeIds, timer.getRemaining()));
+        }
+
         @Override
         public CompletableFuture<Void> sealAttributes(long streamSegmentId, Duration timeout) {
             TimeoutTimer timer = new TimeoutTimer(timeout);
@@ -141,7 +150,7 @@ public class StorageWriterFactory implements WriterFactory {
         }
 
         @Override
-        public InputStream getAppendData(long streamSegmentId, long startOffset, int length) {
+        public ReadResultEntryContents getAppendData(long streamSegmentId, long startOffset, int length) {
             try {
                 return this.readIndex.readDirect(streamSegmentId, startOffset, length);
             } catch (StreamSegmentNotExistsException ex) {
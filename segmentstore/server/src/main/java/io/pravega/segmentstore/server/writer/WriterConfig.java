@@ -33,6 +33,12 @@ public class WriterConfig {
     public static final Property<Long> FLUSH_TIMEOUT_MILLIS = Property.named("flushTimeoutMillis", 60 * 1000L);
     public static final Property<Long> ACK_TIMEOUT_MILLIS = Property.named("ackTimeoutMillis", 15 * 1000L);
     public static final Property<Long> SHUTDOWN_TIMEOUT_MILLIS = Property.named("shutdownTimeoutMillis", 10 * 1000L);
+    public static final Property<Integer> MAX_CONCURRENT_FLUSHES = Property.named("maxConcurrentFlushes", 0);
+    public static final Property<Boolean> ENABLE_ADAPTIVE_FLUSH_THRESHOLDS = Property.named("enableAdaptiveFlushThresholds", false);
+    public static final Property<Long> MIN_FLUSH_THRESHOLD_MILLIS = Property.named("minFlushThresholdMillis", 10 * 1000L);
+    public static final Property<Boolean> ENABLE_FLUSH_CHECKSUMS = Property.named("enableFlushChecksums", false);
+    public static final Property<Long> MAX_FLUSH_CHECKSUM_RANGE_BYTES = Property.named("maxFlushChecksumRangeBytes", 64 * 1024 * 1024L);
+    public static final Property<Long> FLUSH_CHECKSUM_PERSIST_INTERVAL_BYTES = Property.named("flushChecksumPersistIntervalBytes", 16 * 1024 * 1024L);
     private static final String COMPONENT_CODE = "writer";
 
     //endregion
@@ -99,6 +105,49 @@ public class WriterConfig {
     @Getter
     private final Duration shutdownTimeout;
 
+    /**
+     * The maximum number of Segments that can be flushed to Storage concurrently during a single Flush Stage. If 0, there
+     * is no limit.
+     */
+    @Getter
+    private final int maxConcurrentFlushes;
+
+    /**
+     * Whether each Segment should calculate its own flush thresholds based on its ingestion rate and Storage write latency.
+     * If enabled, the byte threshold may grow from FlushThresholdBytes up to MaxFlushSizeBytes and the time threshold may
+     * shrink from FlushThresholdTime down to MinFlushThresholdTime.
+     */
+    @Getter
+    private final boolean adaptiveFlushThresholds;
+
+    /**
+     * The lower bound for the per-Segment time threshold, when adaptive flush thresholds are enabled. This is never
+     * larger than FlushThresholdTime.
+     */
+    @Getter
+    private final Duration minFlushThresholdTime;
+
+    /**
+     * Whether each Segment should record (in its Attribute Index) a checksum of the most recent range of data that was
+     * written to Storage, which can then be used during reconciliation instead of reading that data back from Storage.
+     */
+    @Getter
+    private final boolean flushChecksums;
+
+    /**
+     * The maximum length of a Segment range covered by a single flush checksum. Once a range reaches this length, a new
+     * one is started with the next flush.
+     */
+    @Getter
+    private final long maxFlushChecksumRangeBytes;
+
+    /**
+     * The minimum number of bytes that need to be flushed between two consecutive updates of a Segment's persisted flush
+     * checksum. If 0, the flush checksum is persisted with every flush.
+     */
+    @Getter
+    private final long flushChecksumPersistIntervalBytes;
+
     //endregion
 
     //region Constructor
@@ -137,6 +186,28 @@ public class WriterConfig {
         this.flushTimeout = Duration.ofMillis(properties.getLong(FLUSH_TIMEOUT_MILLIS));
         this.ackTimeout = Duration.ofMillis(properties.getLong(ACK_TIMEOUT_MILLIS));
         this.shutdownTimeout = Duration.ofMillis(properties.getLong(SHUTDOWN_TIMEOUT_MILLIS));
+        this.maxConcurrentFlushes = properties.getInt(MAX_CONCURRENT_FLUSHES);
+        if (this.maxConcurrentFlushes < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", MAX_CONCURRENT_FLUSHES));
+        }
+
+        this.adaptiveFlushThresholds = properties.getBoolean(ENABLE_ADAPTIVE_FLUSH_THRESHOLDS);
+        long minFlushThresholdMillis = properties.getLong(MIN_FLUSH_THRESHOLD_MILLIS);
+        if (minFlushThresholdMillis < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", MIN_FLUSH_THRESHOLD_MILLIS));
+        }
+
+        this.minFlushThresholdTime = Duration.ofMillis(Math.min(minFlushThresholdMillis, this.flushThresholdTime.toMillis()));
+        this.flushChecksums = properties.getBoolean(ENABLE_FLUSH_CHECKSUMS);
+        this.maxFlushChecksumRangeBytes = properties.getLong(MAX_FLUSH_CHECKSUM_RANGE_BYTES);
+        if (this.maxFlushChecksumRangeBytes <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_FLUSH_CHECKSUM_RANGE_BYTES));
+        }
+
+        this.flushChecksumPersistIntervalBytes = properties.getLong(FLUSH_CHECKSUM_PERSIST_INTERVAL_BYTES);
+        if (this.flushChecksumPersistIntervalBytes < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", FLUSH_CHECKSUM_PERSIST_INTERVAL_BYTES));
+        }
     }
 
     /**
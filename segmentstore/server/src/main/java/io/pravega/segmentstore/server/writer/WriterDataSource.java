@@ -9,12 +9,13 @@
  */
 package io.pravega.segmentstore.server.writer;
 
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.logs.operations.Operation;
-import java.io.InputStream;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
@@ -51,6 +52,17 @@ interface WriterDataSource {
      */
     CompletableFuture<Void> persistAttributes(long streamSegmentId, Map<UUID, Long> attributes, Duration timeout);
 
+    /**
+     * Fetches the values of the given Attributes, as they were persisted in the Attribute Index of the given Segment.
+     *
+     * @param streamSegmentId The Id of the StreamSegment to fetch for.
+     * @param attributeIds    The Ids of the Attributes to fetch.
+     * @param timeout         Timeout for the operation.
+     * @return A CompletableFuture that, when completed, will contain a Map of Attribute Ids to Values, but only for those
+     * Attributes that have a value. If the operation failed, this Future will complete with the appropriate exception.
+     */
+    CompletableFuture<Map<UUID, Long>> getAttributes(long streamSegmentId, Collection<UUID> attributeIds, Duration timeout);
+
     /**
      * Instructs the DataSource to seal and compact the Attribute Index for the given Segment.
      *
@@ -92,14 +104,15 @@ interface WriterDataSource {
     void completeMerge(long targetStreamSegmentId, long sourceStreamSegmentId) throws StreamSegmentNotExistsException;
 
     /**
-     * Gets an InputStream representing uncommitted data in a Segment.
+     * Gets a ReadResultEntryContents representing uncommitted data in a Segment.
      *
      * @param streamSegmentId The Id of the StreamSegment to fetch data for.
      * @param startOffset     The offset where to begin fetching data from.
      * @param length          The number of bytes to fetch.
-     * @return An InputStream with the requested data, of the requested length, or null if not available.
+     * @return A ReadResultEntryContents with the requested data, of the requested length, or null if not available. The
+     * caller is responsible for releasing it.
      */
-    InputStream getAppendData(long streamSegmentId, long startOffset, int length);
+    ReadResultEntryContents getAppendData(long streamSegmentId, long startOffset, int length);
 
     /**
      * Gets a value indicating whether the given Operation Sequence Number is a valid Truncation Point, as set by
@@ -15,6 +15,8 @@ import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -229,6 +231,280 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
         cm.applyCachePolicy();
     }
 
+    /**
+     * Tests {@link CachePolicy.EvictionMode#SEGMENTED} with a workload mixing tail reads (data that is added and then read
+     * by multiple readers over a few generations) and a large historical scan (data that is added and read only once).
+     * Verifies that, unlike {@link CachePolicy.EvictionMode#GENERATIONAL}, the scan does not evict the tail data.
+     */
+    @Test
+    public void testSegmentedEviction() {
+        double generationalHitRatio = simulateTailAndScan(CachePolicy.EvictionMode.GENERATIONAL);
+        double segmentedHitRatio = simulateTailAndScan(CachePolicy.EvictionMode.SEGMENTED);
+        Assert.assertTrue("Expected SEGMENTED eviction to have a better hit ratio. Generational = " + generationalHitRatio
+                + ", Segmented = " + segmentedHitRatio, segmentedHitRatio > generationalHitRatio);
+        Assert.assertEquals("Expected all tail reads to be served from the cache with SEGMENTED eviction.", 1.0, segmentedHitRatio, 0.01);
+    }
+
+    /**
+     * Tests that {@link CachePolicy.EvictionMode#SEGMENTED} evicts probationary entries before older protected ones, but
+     * that it still evicts protected entries if they take up most of the cache.
+     */
+    @Test
+    public void testSegmentedEvictionProtectedEntries() {
+        final int maxSize = 100;
+        final int protectedCount = 70;
+        final int probationaryCount = 40;
+        final CachePolicy policy = new CachePolicy(maxSize, Duration.ofHours(10000), Duration.ofHours(1), CachePolicy.EvictionMode.SEGMENTED);
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        SimulatedClient client = new SimulatedClient();
+        cm.register(client);
+
+        // Generation 0: add and access (protect) a number of entries.
+        for (int i = 0; i < protectedCount; i++) {
+            client.add(i);
+            client.access(i);
+        }
+
+        cm.applyCachePolicy();
+        Assert.assertEquals("Not expecting any evictions.", protectedCount, client.getSize());
+
+        // Generation 1: add newer probationary entries, which should be evicted before the older protected ones.
+        for (int i = 0; i < probationaryCount; i++) {
+            client.add(protectedCount + i);
+        }
+
+        cm.applyCachePolicy();
+        Assert.assertEquals("Expected only probationary entries to be evicted.", protectedCount, client.getSize());
+        for (int i = 0; i < protectedCount; i++) {
+            Assert.assertTrue("Expected protected entry to be retained.", client.contains(i));
+        }
+
+        // Generation 2: add and access more entries. Protected entries now exceed the cache, so they must be evicted.
+        for (int i = 0; i < probationaryCount; i++) {
+            client.add(protectedCount + i);
+            client.access(protectedCount + i);
+        }
+
+        cm.applyCachePolicy();
+        Assert.assertTrue("Expected protected entries to be evicted.", client.getSize() <= maxSize);
+        for (int i = 0; i < probationaryCount; i++) {
+            Assert.assertTrue("Expected the most recently used entries to be retained.", client.contains(protectedCount + i));
+        }
+    }
+
+    /**
+     * Tests that no Priority Class may exceed its maximum share of the cache, even if the cache itself is not full.
+     */
+    @Test
+    public void testPriorityClassMaxShare() {
+        final int maxSize = 100;
+        final int entriesPerCycle = 10;
+        final int cycleCount = 20;
+        final CachePolicy policy = new CachePolicy(maxSize, Duration.ofHours(10000), Duration.ofHours(1), CachePolicy.EvictionMode.GENERATIONAL,
+                Arrays.asList(new CachePolicy.PriorityClass("capped", 0, 0, 0.5)));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        SimulatedClient capped = new SimulatedClient();
+        SimulatedClient other = new SimulatedClient();
+        cm.register(capped, "capped");
+        cm.register(other);
+        int key = 0;
+        for (int cycleId = 0; cycleId < cycleCount; cycleId++) {
+            for (int i = 0; i < entriesPerCycle; i++) {
+                capped.add(key++);
+            }
+
+            cm.applyCachePolicy();
+            Assert.assertTrue("Priority Class exceeded its maximum share.", capped.getSize() <= maxSize / 2);
+        }
+
+        Assert.assertEquals("Expected the Priority Class to make full use of its maximum share.", maxSize / 2, capped.getSize());
+
+        // The other (default) class should still be able to use the rest of the cache.
+        for (int i = 0; i < maxSize / 2; i++) {
+            other.add(key++);
+        }
+
+        cm.applyCachePolicy();
+        Assert.assertEquals("Not expecting any evictions from the default class.", maxSize / 2, other.getSize());
+        Assert.assertEquals("Not expecting any evictions from the capped class.", maxSize / 2, capped.getSize());
+    }
+
+    /**
+     * Tests that, when the cache is full, entries are evicted from the Priority Classes with the lowest priority first,
+     * but never so that a Priority Class would use less than its minimum share.
+     */
+    @Test
+    public void testPriorityClassEvictionOrder() {
+        final int maxSize = 100;
+        final int entriesPerCycle = 10;
+        final int cycleCount = 20;
+        final CachePolicy policy = new CachePolicy(maxSize, Duration.ofHours(10000), Duration.ofHours(1), CachePolicy.EvictionMode.GENERATIONAL,
+                Arrays.asList(new CachePolicy.PriorityClass("high", 1, 0, 1.0), new CachePolicy.PriorityClass("low", 0, 0.2, 1.0)));
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        SimulatedClient high = new SimulatedClient();
+        SimulatedClient low = new SimulatedClient();
+        cm.register(high, "high");
+        cm.register(low, "low");
+
+        // Fill up half of the cache with high-priority data.
+        int key = 0;
+        for (int i = 0; i < maxSize / 2; i++) {
+            high.add(key++);
+        }
+
+        cm.applyCachePolicy();
+
+        // A burst of low-priority data should not evict any of the high-priority data.
+        for (int cycleId = 0; cycleId < cycleCount; cycleId++) {
+            for (int i = 0; i < entriesPerCycle; i++) {
+                low.add(key++);
+            }
+
+            cm.applyCachePolicy();
+            Assert.assertEquals("Not expecting high-priority entries to be evicted.", maxSize / 2, high.getSize());
+            Assert.assertTrue("Cache exceeded its maximum size.", high.getSize() + low.getSize() <= maxSize);
+        }
+
+        Assert.assertEquals("Expected the low-priority class to use the remainder of the cache.", maxSize / 2, low.getSize());
+
+        // A burst of high-priority data may evict low-priority data, but only up to the low-priority class' minimum share.
+        for (int cycleId = 0; cycleId < cycleCount; cycleId++) {
+            for (int i = 0; i < entriesPerCycle; i++) {
+                high.add(key++);
+            }
+
+            cm.applyCachePolicy();
+            Assert.assertTrue("Low-priority class was reduced below its minimum share.", low.getSize() >= maxSize / 5);
+            Assert.assertTrue("Cache exceeded its maximum size.", high.getSize() + low.getSize() <= maxSize);
+        }
+
+        Assert.assertEquals("Expected the low-priority class to be reduced to its minimum share.", maxSize / 5, low.getSize());
+    }
+
+    /**
+     * Simulates a workload where a number of tail readers keep reading the last few generations' worth of appended data,
+     * while a historical reader scans through a large amount of data that it reads only once.
+     *
+     * @return The ratio of tail reads that were served from the cache.
+     */
+    private double simulateTailAndScan(CachePolicy.EvictionMode evictionMode) {
+        final int cycleCount = 100;
+        final int warmupCycles = 10;
+        final int tailEntriesPerCycle = 10;
+        final int tailReadCycles = 3;
+        final int scanEntriesPerCycle = 50;
+        final int maxSize = 2 * tailEntriesPerCycle * tailReadCycles;
+        final CachePolicy policy = new CachePolicy(maxSize, Duration.ofHours(10000), Duration.ofHours(1), evictionMode);
+
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, executorService());
+        SimulatedClient client = new SimulatedClient();
+        cm.register(client);
+        int tailHits = 0;
+        int tailReads = 0;
+        int nextScanKey = Integer.MAX_VALUE / 2;
+        for (int cycleId = 0; cycleId < cycleCount; cycleId++) {
+            // Append new data at the tail.
+            for (int i = 0; i < tailEntriesPerCycle; i++) {
+                client.add(cycleId * tailEntriesPerCycle + i);
+            }
+
+            // Tail readers read everything that was appended during the last few cycles.
+            int firstTailKey = Math.max(0, cycleId - tailReadCycles + 1) * tailEntriesPerCycle;
+            for (int key = firstTailKey; key < (cycleId + 1) * tailEntriesPerCycle; key++) {
+                boolean hit = client.access(key);
+                if (cycleId >= warmupCycles) {
+                    tailReads++;
+                    tailHits += hit ? 1 : 0;
+                }
+            }
+
+            // The historical reader scans through data that nobody else reads.
+            for (int i = 0; i < scanEntriesPerCycle; i++) {
+                client.access(nextScanKey++);
+            }
+
+            cm.applyCachePolicy();
+            Assert.assertTrue("Cache exceeded its maximum size.", client.getSize() <= maxSize);
+        }
+
+        return (double) tailHits / tailReads;
+    }
+
+    /**
+     * CacheManager Client that simulates a cache with unit-sized entries, each of which is probationary until accessed.
+     */
+    private static class SimulatedClient implements CacheManager.Client {
+        private final HashMap<Integer, SimulatedEntry> entries = new HashMap<>();
+        private int currentGeneration;
+
+        /**
+         * Adds a new entry, without accessing it.
+         */
+        void add(int key) {
+            this.entries.put(key, new SimulatedEntry(this.currentGeneration));
+        }
+
+        /**
+         * Accesses an entry. If it does not exist, it is added (as it would be after fetching it from Storage).
+         *
+         * @return True if the entry existed (cache hit), false otherwise.
+         */
+        boolean access(int key) {
+            SimulatedEntry e = this.entries.get(key);
+            if (e == null) {
+                add(key);
+                return false;
+            }
+
+            e.generation = this.currentGeneration;
+            e.probationary = false;
+            return true;
+        }
+
+        boolean contains(int key) {
+            return this.entries.containsKey(key);
+        }
+
+        int getSize() {
+            return this.entries.size();
+        }
+
+        @Override
+        public CacheManager.CacheStatus getCacheStatus() {
+            int oldest = this.entries.values().stream().mapToInt(e -> e.generation).min().orElse(0);
+            int newest = this.entries.values().stream().mapToInt(e -> e.generation).max().orElse(0);
+            int oldestProbationary = this.entries.values().stream().filter(e -> e.probationary).mapToInt(e -> e.generation).min().orElse(newest);
+            long probationarySize = this.entries.values().stream().filter(e -> e.probationary).count();
+            return new CacheManager.CacheStatus(this.entries.size(), oldest, newest, probationarySize, oldestProbationary);
+        }
+
+        @Override
+        public long updateGenerations(int currentGeneration, int oldestGeneration) {
+            return updateGenerations(currentGeneration, oldestGeneration, oldestGeneration);
+        }
+
+        @Override
+        public long updateGenerations(int currentGeneration, int oldestGeneration, int oldestProbationaryGeneration) {
+            this.currentGeneration = currentGeneration;
+            int sizeBefore = this.entries.size();
+            this.entries.values().removeIf(e -> e.generation < (e.probationary ? oldestProbationaryGeneration : oldestGeneration));
+            return sizeBefore - this.entries.size();
+        }
+
+        private static class SimulatedEntry {
+            int generation;
+            boolean probationary = true;
+
+            SimulatedEntry(int generation) {
+                this.generation = generation;
+            }
+        }
+    }
+
     private static class TestClient implements CacheManager.Client {
         private CacheManager.CacheStatus currentStatus;
         private BiFunction<Integer, Integer, Long> updateGenerationsImpl = (current, oldest) -> -1L;
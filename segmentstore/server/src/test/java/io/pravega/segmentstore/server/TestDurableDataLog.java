@@ -40,6 +40,7 @@ public class TestDurableDataLog implements DurableDataLog {
     private ErrorInjector<Exception> getReaderInitialErrorInjector;
     private ErrorInjector<Exception> readSyncErrorInjector;
     private Function<ReadItem, ReadItem> readInterceptor;
+    private Consumer<ArrayView> appendInterceptor;
     private Consumer<LogAddress> truncateCallback;
 
     //endregion
@@ -82,6 +83,11 @@ public class TestDurableDataLog implements DurableDataLog {
     @Override
     public CompletableFuture<LogAddress> append(ArrayView data, Duration timeout) {
         ErrorInjector.throwSyncExceptionIfNeeded(this.appendSyncErrorInjector);
+        Consumer<ArrayView> appendInterceptor = this.appendInterceptor;
+        if (appendInterceptor != null) {
+            appendInterceptor.accept(data);
+        }
+
         return ErrorInjector.throwAsyncExceptionIfNeeded(this.appendAsyncErrorInjector,
                 () -> this.wrappedLog.append(data, timeout));
     }
@@ -144,6 +150,15 @@ public class TestDurableDataLog implements DurableDataLog {
         this.appendAsyncErrorInjector = asyncInjector;
     }
 
+    /**
+     * Sets the Append Interceptor that will be called with the data of every append() invocation.
+     *
+     * @param interceptor The append interceptor to set.
+     */
+    public void setAppendInterceptor(Consumer<ArrayView> interceptor) {
+        this.appendInterceptor = interceptor;
+    }
+
     /**
      * Sets the ErrorInjectors for the read operation.
      *
@@ -9,6 +9,7 @@
  */
 package io.pravega.segmentstore.server.containers;
 
+import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.AbstractService;
 import com.google.common.util.concurrent.Runnables;
 import com.google.common.util.concurrent.Service;
@@ -89,6 +90,7 @@ import io.pravega.segmentstore.storage.rolling.RollingStorage;
 import io.pravega.shared.segment.StreamSegmentNameUtils;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.IntentionalException;
+import io.pravega.test.common.TestUtils;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.ByteArrayOutputStream;
 import java.time.Duration;
@@ -1296,6 +1298,78 @@ public class StreamSegmentContainerTests extends ThreadPooledTestSuite {
         container2.stopAsync().awaitTerminated();
     }
 
+    /**
+     * Tests the ability of the StreamSegmentContainer to load the tails of its Segments into the Read Index after recovery.
+     */
+    @Test
+    public void testReadIndexWarmUp() throws Exception {
+        final int segmentCount = 3;
+        final int segmentLength = 4 * 1024;
+        final int tailLength = 1024;
+        final String fillerSegmentName = "filler";
+        final ContainerConfig containerConfig = ContainerConfig
+                .builder()
+                .with(ContainerConfig.SEGMENT_METADATA_EXPIRATION_SECONDS, 10 * 60)
+                .with(ContainerConfig.WARM_UP_SEGMENT_COUNT, segmentCount * 2)
+                .with(ContainerConfig.WARM_UP_SEGMENT_TAIL_LENGTH, tailLength)
+                .with(ContainerConfig.WARM_UP_CONCURRENCY, 2)
+                .build();
+
+        @Cleanup
+        TestContext context = createContext();
+        AtomicReference<OperationLog> durableLog = new AtomicReference<>();
+        val localDurableLogFactory = new WatchableOperationLogFactory(
+                new DurableLogFactory(FREQUENT_TRUNCATIONS_DURABLE_LOG_CONFIG, context.dataLogFactory, executorService()), durableLog::set);
+        val containerFactory = new StreamSegmentContainerFactory(containerConfig, localDurableLogFactory,
+                context.readIndexFactory, context.attributeIndexFactory, context.writerFactory, context.storageFactory,
+                context.getDefaultExtensions(), executorService());
+
+        // Create the segments, fill them up and wait for the data to make it to Storage.
+        ArrayList<String> segmentNames = new ArrayList<>();
+        try (val container1 = containerFactory.createStreamSegmentContainer(CONTAINER_ID)) {
+            container1.startAsync().awaitRunning();
+            for (int i = 0; i < segmentCount; i++) {
+                String segmentName = getSegmentName(i);
+                segmentNames.add(segmentName);
+                container1.createStreamSegment(segmentName, null, TIMEOUT).join();
+                container1.append(segmentName, new byte[segmentLength], null, TIMEOUT).join();
+            }
+
+            container1.createStreamSegment(fillerSegmentName, null, TIMEOUT).join();
+            for (String segmentName : segmentNames) {
+                SegmentProperties sp = container1.getStreamSegmentInfo(segmentName, TIMEOUT).join();
+                waitForSegmentInStorage(sp, context).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+
+            // Keep appending to another segment until the DurableLog is truncated past our appends. This ensures that
+            // the recovery will not add them back to the Read Index.
+            long lastAppendSeqNo = Iterators.getLast(durableLog.get().read(-1, Integer.MAX_VALUE, TIMEOUT).join()).getSequenceNumber();
+            TestUtils.await(
+                    () -> {
+                        container1.append(fillerSegmentName, new byte[1], null, TIMEOUT).join();
+                        return durableLog.get().read(-1, 1, TIMEOUT).join().next().getSequenceNumber() > lastAppendSeqNo;
+                    },
+                    10,
+                    TIMEOUT.toMillis());
+            container1.stopAsync().awaitTerminated();
+        }
+
+        // Restart the container and verify that only the tails of our segments have been read.
+        context.storageFactory.readOffsets.clear();
+        @Cleanup
+        val container2 = containerFactory.createStreamSegmentContainer(CONTAINER_ID);
+        container2.startAsync().awaitRunning();
+        TestUtils.await(() -> context.storageFactory.readOffsets.keySet().containsAll(segmentNames), 10, TIMEOUT.toMillis());
+        for (String segmentName : segmentNames) {
+            Assert.assertEquals("Unexpected warm-up read offset for " + segmentName,
+                    segmentLength - tailLength, (long) context.storageFactory.readOffsets.get(segmentName));
+            ReadResultEntry tailEntry = container2.read(segmentName, segmentLength - tailLength, tailLength, TIMEOUT).join().next();
+            Assert.assertEquals("Tail was not loaded in the Read Index for " + segmentName, ReadResultEntryType.Cache, tailEntry.getType());
+        }
+
+        container2.stopAsync().awaitTerminated();
+    }
+
     /**
      * Tests the case when the ContainerMetadata has filled up to capacity (with segments and we cannot map anymore segments).
      */
@@ -2316,6 +2390,7 @@ public class StreamSegmentContainerTests extends ThreadPooledTestSuite {
 
     private static class WatchableInMemoryStorageFactory extends InMemoryStorageFactory {
         private final ConcurrentHashMap<String, Long> truncationOffsets = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Long> readOffsets = new ConcurrentHashMap<>();
 
         public WatchableInMemoryStorageFactory(ScheduledExecutorService executor) {
             super(executor);
@@ -2336,6 +2411,12 @@ public class StreamSegmentContainerTests extends ThreadPooledTestSuite {
                 return super.truncate(handle, offset, timeout)
                             .thenRun(() -> truncationOffsets.put(handle.getSegmentName(), offset));
             }
+
+            @Override
+            public CompletableFuture<Integer> read(SegmentHandle handle, long offset, byte[] buffer, int bufferOffset, int length, Duration timeout) {
+                readOffsets.merge(handle.getSegmentName(), offset, Math::min);
+                return super.read(handle, offset, buffer, bufferOffset, length, timeout);
+            }
         }
     }
 
@@ -12,6 +12,7 @@ package io.pravega.segmentstore.server.logs;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
 import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ArrayView;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.server.TestDurableDataLog;
 import io.pravega.test.common.AssertExtensions;
@@ -126,6 +127,8 @@ public class DataFrameBuilderTests extends ThreadPooledTestSuite {
             // Check the correctness of the commit callback.
             AssertExtensions.assertGreaterThan("Not enough Data Frames were generated.", 1, commitFrames.size());
             AssertExtensions.assertGreaterThan("Not enough LogItems were failed.", records.size() / failEvery, failedIndices.size());
+            Assert.assertTrue("Log write latency not recorded for committed Data Frames.",
+                    commitFrames.stream().allMatch(ca -> ca.getLogWriteElapsed() != null));
 
             DataFrameTestHelpers.checkReadRecords(frames, records, failedIndices, r -> new ByteArraySegment(r.getFullSerialization()));
         }
@@ -263,6 +266,50 @@ public class DataFrameBuilderTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests that consecutive flush() invocations with small DataFrames reuse the same physical buffer instead of
+     * allocating a new one for each DataFrame.
+     */
+    @Test
+    public void testFlushBufferReuse() throws Exception {
+        final int frameSize = 64 * 1024;
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, frameSize, executorService())) {
+            dataLog.initialize(TIMEOUT);
+            List<ArrayView> appendedData = Collections.synchronizedList(new ArrayList<>());
+            dataLog.setAppendInterceptor(appendedData::add);
+
+            ArrayList<TestLogItem> records = DataFrameTestHelpers.generateLogItems(RECORD_COUNT, SMALL_RECORD_MIN_SIZE, SMALL_RECORD_MAX_SIZE, 0);
+            List<DataFrameBuilder.CommitArgs> commitFrames = Collections.synchronizedList(new ArrayList<>());
+            BiConsumer<Throwable, DataFrameBuilder.CommitArgs> errorCallback = (ex, a) ->
+                    Assert.fail(String.format("Unexpected error occurred upon commit. %s", ex));
+            val args = new DataFrameBuilder.Args(Callbacks::doNothing, commitFrames::add, errorCallback, executorService());
+
+            @Cleanup
+            DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, args);
+            for (TestLogItem item : records) {
+                // Flush after every record, just like the OperationProcessor would do when processing one operation at a time.
+                b.append(item);
+                b.flush();
+            }
+
+            TestUtils.await(() -> commitFrames.size() >= records.size(), 20, TIMEOUT.toMillis());
+            Assert.assertEquals("Expected one Data Frame per flush.", records.size(), appendedData.size());
+
+            // Each DataFrame must begin where the previous one ended, in the same physical buffer.
+            for (int i = 1; i < appendedData.size(); i++) {
+                ArrayView previous = appendedData.get(i - 1);
+                ArrayView current = appendedData.get(i);
+                Assert.assertSame("Physical buffer not reused for Data Frame " + i, previous.array(), current.array());
+                Assert.assertEquals("Unexpected buffer offset for Data Frame " + i,
+                        previous.arrayOffset() + previous.getLength(), current.arrayOffset());
+            }
+
+            // Verify the records can still be reconstructed.
+            val frames = dataLog.getAllEntries(readItem -> DataFrame.read(readItem.getPayload(), readItem.getLength(), readItem.getAddress()));
+            DataFrameTestHelpers.checkReadRecords(frames, records, r -> new ByteArraySegment(r.getFullSerialization()));
+        }
+    }
+
     private void testAppendNoFailure(int delayMillis) throws Exception {
         // Happy case: append a bunch of data, and make sure the frames that get output contain it.
         ArrayList<TestLogItem> records = DataFrameTestHelpers.generateLogItems(RECORD_COUNT / 2, SMALL_RECORD_MIN_SIZE, SMALL_RECORD_MAX_SIZE, 0);
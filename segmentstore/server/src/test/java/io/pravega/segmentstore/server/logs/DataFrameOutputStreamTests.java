@@ -93,7 +93,6 @@ public class DataFrameOutputStreamTests {
     @Test
     public void testBufferReuse() throws Exception {
         final int count = 500;
-        final int resetEvery = 50;
         final byte[] writeData = new byte[1000];
         final int maxFrameSize = 10 * 1024;
 
@@ -104,11 +103,6 @@ public class DataFrameOutputStreamTests {
         @Cleanup
         DataFrameOutputStream s = new DataFrameOutputStream(maxFrameSize, writtenFrame::set);
         for (int i = 0; i < count; i++) {
-            if (i % resetEvery == 0) {
-                s.releaseBuffer();
-                expectedStartIndex = 0;
-            }
-
             // We generate some frame of fixed size.
             s.startNewRecord();
             s.write(writeData);
@@ -103,6 +103,7 @@ public class DurableLogTests extends OperationLogTestBase {
     private static final int MAX_DATA_LOG_APPEND_SIZE = 8 * 1024;
     private static final int METADATA_CHECKPOINT_EVERY = 100;
     private static final int NO_METADATA_CHECKPOINT = 0;
+    private static final int RECOVERY_PREFETCH_COUNT = 4;
     private static final ReadIndexConfig DEFAULT_READ_INDEX_CONFIG = ReadIndexConfig.builder().with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, 1024).build();
 
     @Rule
@@ -644,11 +645,24 @@ public class DurableLogTests extends OperationLogTestBase {
 
     //region Recovery
 
+    /**
+     * Tests the DurableLog recovery process in a scenario when there are no failures during the process, with reading,
+     * deserialization and application of recovered operations pipelined on different threads.
+     */
+    @Test
+    public void testRecoveryWithNoFailuresPrefetching() throws Exception {
+        testRecoveryWithNoFailures(ContainerSetup.createDurableLogConfig(null, null, RECOVERY_PREFETCH_COUNT));
+    }
+
     /**
      * Tests the DurableLog recovery process in a scenario when there are no failures during the process.
      */
     @Test
     public void testRecoveryWithNoFailures() throws Exception {
+        testRecoveryWithNoFailures(ContainerSetup.defaultDurableLogConfig());
+    }
+
+    private void testRecoveryWithNoFailures(DurableLogConfig durableLogConfig) throws Exception {
         int streamSegmentCount = 50;
         int transactionsPerStreamSegment = 2;
         int appendsPerStreamSegment = 20;
@@ -675,7 +689,7 @@ public class DurableLogTests extends OperationLogTestBase {
         CacheManager cacheManager = new CacheManager(CachePolicy.INFINITE, executorService());
         try (
                 ReadIndex readIndex = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata, cacheFactory, storage, cacheManager, executorService());
-                DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata, dataLogFactory, readIndex, executorService())) {
+                DurableLog durableLog = new DurableLog(durableLogConfig, metadata, dataLogFactory, readIndex, executorService())) {
             durableLog.startAsync().awaitRunning();
 
             // Generate some test data (we need to do this after we started the DurableLog because in the process of
@@ -699,7 +713,7 @@ public class DurableLogTests extends OperationLogTestBase {
         metadata = new MetadataBuilder(CONTAINER_ID).build();
         try (
                 ReadIndex readIndex = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata, cacheFactory, storage, cacheManager, executorService());
-                DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata, dataLogFactory, readIndex, executorService())) {
+                DurableLog durableLog = new DurableLog(durableLogConfig, metadata, dataLogFactory, readIndex, executorService())) {
             durableLog.startAsync().awaitRunning();
 
             List<Operation> recoveredOperations = readUpToSequenceNumber(durableLog, metadata.getOperationSequenceNumber());
@@ -712,12 +726,25 @@ public class DurableLogTests extends OperationLogTestBase {
         }
     }
 
+    /**
+     * Tests the DurableLog recovery process in a scenario when there are failures during the process, with reading,
+     * deserialization and application of recovered operations pipelined on different threads.
+     */
+    @Test
+    public void testRecoveryFailuresPrefetching() throws Exception {
+        testRecoveryFailures(ContainerSetup.createDurableLogConfig(null, null, RECOVERY_PREFETCH_COUNT));
+    }
+
     /**
      * Tests the DurableLog recovery process in a scenario when there are failures during the process
      * (these may or may not be DataCorruptionExceptions).
      */
     @Test
     public void testRecoveryFailures() throws Exception {
+        testRecoveryFailures(ContainerSetup.defaultDurableLogConfig());
+    }
+
+    private void testRecoveryFailures(DurableLogConfig durableLogConfig) throws Exception {
         int streamSegmentCount = 50;
         int appendsPerStreamSegment = 20;
         int failReadAfter = 2; // Fail DataLog reads after X reads.
@@ -740,7 +767,7 @@ public class DurableLogTests extends OperationLogTestBase {
         @Cleanup
         CacheManager cacheManager = new CacheManager(CachePolicy.INFINITE, executorService());
         try (ReadIndex readIndex = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata, cacheFactory, storage, cacheManager, executorService());
-             DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata, dataLogFactory, readIndex, executorService())) {
+             DurableLog durableLog = new DurableLog(durableLogConfig, metadata, dataLogFactory, readIndex, executorService())) {
             durableLog.startAsync().awaitRunning();
 
             // Generate some test data (we need to do this after we started the DurableLog because in the process of
@@ -760,7 +787,7 @@ public class DurableLogTests extends OperationLogTestBase {
         metadata = new MetadataBuilder(CONTAINER_ID).build();
         dataLog.set(null);
         try (ReadIndex readIndex = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata, cacheFactory, storage, cacheManager, executorService());
-             DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata, dataLogFactory, readIndex, executorService())) {
+             DurableLog durableLog = new DurableLog(durableLogConfig, metadata, dataLogFactory, readIndex, executorService())) {
 
             // Inject some artificial error into the DataLogRead after a few reads.
             ErrorInjector<Exception> readNextInjector = new ErrorInjector<>(
@@ -795,7 +822,7 @@ public class DurableLogTests extends OperationLogTestBase {
         metadata = new MetadataBuilder(CONTAINER_ID).build();
         dataLog.set(null);
         try (ReadIndex readIndex = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata, cacheFactory, storage, cacheManager, executorService());
-             DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata, dataLogFactory, readIndex, executorService())) {
+             DurableLog durableLog = new DurableLog(durableLogConfig, metadata, dataLogFactory, readIndex, executorService())) {
 
             // Reset error injectors to nothing.
             dataLog.get().setReadErrorInjectors(null, null);
@@ -1579,6 +1606,11 @@ public class DurableLogTests extends OperationLogTestBase {
         }
 
         static DurableLogConfig createDurableLogConfig(Integer checkpointMinCommitCount, Long checkpointMinTotalCommitLength) {
+            return createDurableLogConfig(checkpointMinCommitCount, checkpointMinTotalCommitLength, 0);
+        }
+
+        static DurableLogConfig createDurableLogConfig(Integer checkpointMinCommitCount, Long checkpointMinTotalCommitLength,
+                                                       int recoveryPrefetchCount) {
             if (checkpointMinCommitCount == null) {
                 checkpointMinCommitCount = Integer.MAX_VALUE;
             }
@@ -1593,6 +1625,7 @@ public class DurableLogTests extends OperationLogTestBase {
                     .with(DurableLogConfig.CHECKPOINT_COMMIT_COUNT, checkpointMinCommitCount)
                     .with(DurableLogConfig.CHECKPOINT_TOTAL_COMMIT_LENGTH, checkpointMinTotalCommitLength)
                     .with(DurableLogConfig.START_RETRY_DELAY_MILLIS, START_RETRY_DELAY_MILLIS)
+                    .with(DurableLogConfig.RECOVERY_PREFETCH_COUNT, recoveryPrefetchCount)
                     .build();
         }
     }
@@ -78,4 +78,41 @@ public class MetadataCheckpointPolicyTests extends ThreadPooledTestSuite {
         expectedCallCount = (int) (recordCount * recordLength / config.getCheckpointTotalCommitLengthThreshold());
         Assert.assertEquals("Unexpected number of calls when MinCount > CommitCount.", expectedCallCount, callbackCount.get());
     }
+
+    /**
+     * Tests that checkpoints are delayed until enough data has been written relative to the length of the last checkpoint.
+     */
+    @Test
+    public void testCheckpointLengthMultiplier() {
+        final int recordCount = 10000;
+        final int recordLength = 100;
+        final int multiplier = 10;
+        final int checkpointLength = recordLength * 50;
+        DurableLogConfig config = DurableLogConfig.builder()
+                                                  .with(DurableLogConfig.CHECKPOINT_MIN_COMMIT_COUNT, 1)
+                                                  .with(DurableLogConfig.CHECKPOINT_COMMIT_COUNT, 10)
+                                                  .with(DurableLogConfig.CHECKPOINT_TOTAL_COMMIT_LENGTH, (long) Integer.MAX_VALUE)
+                                                  .with(DurableLogConfig.CHECKPOINT_LENGTH_MULTIPLIER, multiplier)
+                                                  .build();
+        AtomicInteger callbackCount = new AtomicInteger();
+        MetadataCheckpointPolicy p = new MetadataCheckpointPolicy(config, callbackCount::incrementAndGet, executorService());
+
+        // No checkpoint recorded yet: only the count threshold applies.
+        for (int i = 0; i < recordCount; i++) {
+            p.recordCommit(recordLength);
+        }
+
+        int expectedCallCount = recordCount / config.getCheckpointCommitCountThreshold();
+        Assert.assertEquals("Unexpected number of calls when no checkpoint was recorded.", expectedCallCount, callbackCount.get());
+
+        // After a checkpoint is recorded, we need to accumulate at least multiplier * checkpointLength bytes.
+        callbackCount.set(0);
+        p.recordCheckpoint(checkpointLength);
+        for (int i = 0; i < recordCount; i++) {
+            p.recordCommit(recordLength);
+        }
+
+        expectedCallCount = recordCount * recordLength / (multiplier * checkpointLength);
+        Assert.assertEquals("Unexpected number of calls when a checkpoint was recorded.", expectedCallCount, callbackCount.get());
+    }
 }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.test.common.AssertExtensions;
+import io.pravega.test.common.TestUtils;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the PrefetchingIterator class.
+ */
+public class PrefetchingIteratorTests {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int ITEM_COUNT = 100;
+    private static final int CAPACITY = 4;
+    private static final ThreadFactory THREAD_FACTORY = ExecutorServiceHelpers.getThreadFactory("prefetch-test");
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+
+    /**
+     * Tests the ability to return all the items from the source, in order.
+     */
+    @Test
+    public void testGetNext() throws Exception {
+        TestSource source = new TestSource(ITEM_COUNT, -1);
+        try (PrefetchingIterator<Integer, IOException> iterator = new PrefetchingIterator<>(source, CAPACITY, THREAD_FACTORY, "test")) {
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                Assert.assertEquals("Unexpected item.", i, (int) iterator.getNext());
+            }
+
+            Assert.assertNull("Expected end of iterator.", iterator.getNext());
+            Assert.assertNull("Expected end of iterator to be sticky.", iterator.getNext());
+            Assert.assertTrue("Source was not closed when reaching its end.", source.closed.get());
+        }
+    }
+
+    /**
+     * Tests that no more than the given number of items are fetched ahead of them being requested.
+     */
+    @Test
+    public void testCapacity() throws Exception {
+        TestSource source = new TestSource(ITEM_COUNT, -1);
+        try (PrefetchingIterator<Integer, IOException> iterator = new PrefetchingIterator<>(source, CAPACITY, THREAD_FACTORY, "test")) {
+            // The prefetching thread fills up the buffer, then fetches one more item and waits for room to add it.
+            TestUtils.await(() -> source.fetchedCount.get() == CAPACITY + 1, 5, TIMEOUT.toMillis());
+            Assert.assertEquals("Unexpected item.", 0, (int) iterator.getNext());
+            TestUtils.await(() -> source.fetchedCount.get() == CAPACITY + 2, 5, TIMEOUT.toMillis());
+            Assert.assertEquals("Fetched more items than allowed.", CAPACITY + 2, source.fetchedCount.get());
+        }
+    }
+
+    /**
+     * Tests the case when the source fails. The failure must be returned after all the items prior to it.
+     */
+    @Test
+    public void testSourceFailure() throws Exception {
+        int failAt = ITEM_COUNT / 2;
+        TestSource source = new TestSource(ITEM_COUNT, failAt);
+        @SuppressWarnings("resource")
+        PrefetchingIterator<Integer, IOException> iterator = new PrefetchingIterator<>(source, CAPACITY, THREAD_FACTORY, "test");
+        for (int i = 0; i < failAt; i++) {
+            Assert.assertEquals("Unexpected item.", i, (int) iterator.getNext());
+        }
+
+        AssertExtensions.assertThrows(
+                "Source failure was not propagated.",
+                iterator::getNext,
+                ex -> ex instanceof IOException && ex.getMessage().equals("intentional"));
+        AssertExtensions.assertThrows(
+                "Iterator was not closed after a failure.",
+                iterator::getNext,
+                ex -> ex instanceof ObjectClosedException);
+        Assert.assertTrue("Source was not closed after a failure.", source.closed.get());
+    }
+
+    /**
+     * Tests the ability to close the iterator before reaching the end of the source.
+     */
+    @Test
+    public void testClose() throws Exception {
+        TestSource source = new TestSource(ITEM_COUNT, -1);
+        PrefetchingIterator<Integer, IOException> iterator = new PrefetchingIterator<>(source, CAPACITY, THREAD_FACTORY, "test");
+        Assert.assertEquals("Unexpected item.", 0, (int) iterator.getNext());
+        iterator.close();
+        TestUtils.await(source.closed::get, 5, TIMEOUT.toMillis());
+        Assert.assertTrue("Source was read to the end after closing.", source.fetchedCount.get() < ITEM_COUNT);
+        AssertExtensions.assertThrows(
+                "getNext() worked after close().",
+                iterator::getNext,
+                ex -> ex instanceof ObjectClosedException);
+    }
+
+    @RequiredArgsConstructor
+    private static class TestSource implements CloseableIterator<Integer, IOException> {
+        private final int count;
+        private final int failAt;
+        private final AtomicInteger fetchedCount = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public Integer getNext() throws IOException {
+            Assert.assertFalse("getNext() invoked on closed source.", this.closed.get());
+            int next = this.fetchedCount.getAndIncrement();
+            if (next == this.failAt) {
+                throw new IOException("intentional");
+            }
+
+            return next < this.count ? next : null;
+        }
+
+        @Override
+        public void close() {
+            this.closed.set(true);
+        }
+    }
+}
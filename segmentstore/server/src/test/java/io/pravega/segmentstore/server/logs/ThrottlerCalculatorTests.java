@@ -95,6 +95,63 @@ public class ThrottlerCalculatorTests {
     }
 
 
+    /**
+     * Tests the ability to adapt the batching delay to a target latency.
+     */
+    @Test
+    public void testAdaptiveBatching() {
+        final int targetLatency = 20;
+        final int writeLatency = 5;
+        final int maxDelay = targetLatency - writeLatency;
+        val queueStats = new AtomicReference<QueueStats>(null);
+        val reportedDelay = new AtomicInteger(-1);
+        val tc = ThrottlerCalculator.builder().adaptiveBatchingThrottler(targetLatency, queueStats::get, reportedDelay::set).build();
+
+        // Writes are queued up and not full: the delay should increase gradually, until the target latency is reached.
+        queueStats.set(new QueueStats(10, 0.1, writeLatency));
+        int lastValue = 0;
+        for (int i = 0; i < maxDelay; i++) {
+            val value = tc.getThrottlingDelay().getDurationMillis();
+            Assert.assertFalse("Not expecting isThrottlingRequired() to be true.", tc.isThrottlingRequired());
+            Assert.assertEquals("Expected the delay to increase additively.", lastValue + (int) ThrottlerCalculator.ADAPTIVE_BATCHING_INCREASE_MILLIS, value);
+            Assert.assertEquals("Unexpected reported delay.", value, reportedDelay.get());
+            lastValue = value;
+        }
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("Expected the delay to be capped by the target latency.", maxDelay, tc.getThrottlingDelay().getDurationMillis());
+        }
+
+        // The write latency increases beyond the target: the delay should decrease multiplicatively.
+        queueStats.set(new QueueStats(10, 0.1, targetLatency));
+        val decreasedValue = tc.getThrottlingDelay().getDurationMillis();
+        Assert.assertEquals("Expected the delay to decrease multiplicatively.",
+                (int) (maxDelay * ThrottlerCalculator.ADAPTIVE_BATCHING_DECREASE_FACTOR), decreasedValue);
+        val result = tc.getThrottlingDelay();
+        AssertExtensions.assertLessThan("Expected the delay to keep decreasing.", decreasedValue, result.getDurationMillis());
+
+        // Writes are full: the delay should decrease (to 0) even if there is room within the target latency.
+        queueStats.set(new QueueStats(10, ThrottlerCalculator.ADAPTIVE_BATCHING_FULL_FILL_RATIO, writeLatency));
+        assertDecreasesToZero(tc);
+
+        // No writes are queued up (i.e., the log is idle): the delay should decrease (to 0).
+        queueStats.set(new QueueStats(10, 0.1, writeLatency));
+        AssertExtensions.assertGreaterThan("Expected the delay to increase again.", 0, tc.getThrottlingDelay().getDurationMillis());
+        queueStats.set(new QueueStats(0, 0.0, writeLatency));
+        assertDecreasesToZero(tc);
+    }
+
+    private void assertDecreasesToZero(ThrottlerCalculator tc) {
+        int lastValue = Integer.MAX_VALUE;
+        int value;
+        do {
+            value = tc.getThrottlingDelay().getDurationMillis();
+            AssertExtensions.assertLessThan("Expected the delay to decrease.", lastValue, value);
+            lastValue = value;
+        } while (value > 0);
+    }
+
+
     private <T extends Comparable<T>> void testThrottling(ThrottlerCalculator tc, AtomicReference<T> inputValue, T[] noThrottleValues, T[] gradualThrottleValues, T[] maxThrottleValues) {
         // Test for values where we don't expect throttling.
         Arrays.stream(noThrottleValues)
@@ -11,6 +11,7 @@ package io.pravega.segmentstore.server.logs.operations;
 
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.IntentionalException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Assert;
 import org.junit.Test;
@@ -60,4 +61,34 @@ public class CompletableOperationTests {
         Assert.assertTrue("Failure callback was not invoked for valid fail() call.", failureCallbackCalled.get());
         Assert.assertFalse("Success callback invoked for valid fail() call.", successCallbackCalled.get());
     }
+
+    /**
+     * Tests the complete() and fail() methods when the CompletableOperation is bound to a CompletableFuture.
+     */
+    @Test
+    public void testCallbackFuture() {
+        MetadataCheckpointOperation op = new MetadataCheckpointOperation();
+        CompletableFuture<Void> successFuture = new CompletableFuture<>();
+        CompletableOperation co = new CompletableOperation(op, successFuture);
+        AssertExtensions.assertThrows("complete() succeeded even if Operation had no Sequence Number.",
+                co::complete,
+                ex -> ex instanceof IllegalStateException);
+        Assert.assertFalse("Future was completed for illegal complete() call.", successFuture.isDone());
+
+        op.setSequenceNumber(VALID_SEQ_NO);
+        co.complete();
+        Assert.assertTrue("Future not completed after valid complete() call.", successFuture.isDone() && !successFuture.isCompletedExceptionally());
+        Assert.assertTrue("Unexpected value from isDone().", co.isDone());
+
+        CompletableFuture<Void> failureFuture = new CompletableFuture<>();
+        co = new CompletableOperation(op, failureFuture);
+        co.fail(new IntentionalException());
+        AssertExtensions.assertSuppliedFutureThrows("Future not failed after valid fail() call.",
+                () -> failureFuture,
+                ex -> ex instanceof IntentionalException);
+
+        AssertExtensions.assertThrows("Constructor accepted a completed Future.",
+                () -> new CompletableOperation(op, successFuture),
+                ex -> ex instanceof IllegalArgumentException);
+    }
 }
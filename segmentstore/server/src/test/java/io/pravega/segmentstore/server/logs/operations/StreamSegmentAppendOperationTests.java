@@ -10,8 +10,11 @@
 package io.pravega.segmentstore.server.logs.operations;
 
 import io.pravega.common.MathHelpers;
+import io.pravega.common.hash.RandomFactory;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Random;
@@ -19,6 +22,7 @@ import java.util.UUID;
 
 import lombok.val;
 import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Unit tests for StreamSegmentAppendOperation class.
@@ -27,6 +31,38 @@ public class StreamSegmentAppendOperationTests extends OperationTestsBase<Stream
     private static final int MIN_LENGTH = 1;
     private static final int MAX_LENGTH = 1024 * 1024;
 
+    /**
+     * Tests the ability to serialize an Operation ahead of time, before its Sequence Number, Offset and Attribute Values
+     * are (re)assigned.
+     */
+    @Test
+    public void testPrepareSerialization() throws Exception {
+        val serializer = new OperationSerializer();
+        Random random = RandomFactory.create();
+        val op = createOperation(random);
+        op.prepareSerialization();
+
+        // Assign everything that would normally be assigned or changed after that.
+        op.setSequenceNumber(MathHelpers.abs(random.nextLong()));
+        op.setStreamSegmentOffset(MathHelpers.abs(random.nextLong()));
+        for (AttributeUpdate au : op.getAttributeUpdates()) {
+            if (au.getUpdateType() == AttributeUpdateType.Accumulate) {
+                au.setValue(au.getValue() + MathHelpers.abs(random.nextLong() / 2));
+            }
+        }
+
+        // Serialize using the prepared contents, then again without (preparation is single-use), and compare the results.
+        val preparedStream = new ByteArrayOutputStream();
+        serializer.serialize(preparedStream, op);
+        val regularStream = new ByteArrayOutputStream();
+        serializer.serialize(regularStream, op);
+        Assert.assertArrayEquals("Unexpected serialization when using prepared contents.",
+                regularStream.toByteArray(), preparedStream.toByteArray());
+
+        val newOp = serializer.deserialize(new ByteArrayInputStream(preparedStream.toByteArray()));
+        OperationComparer.DEFAULT.assertEquals(op, newOp);
+    }
+
     @Override
     protected StreamSegmentAppendOperation createOperation(Random random) {
         byte[] data = new byte[random.nextInt(MAX_LENGTH - MIN_LENGTH) + MIN_LENGTH];
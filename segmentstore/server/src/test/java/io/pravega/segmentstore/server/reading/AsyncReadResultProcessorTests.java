@@ -10,6 +10,8 @@
 package io.pravega.segmentstore.server.reading;
 
 import com.google.common.collect.Iterators;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.StreamHelpers;
@@ -204,6 +206,50 @@ public class AsyncReadResultProcessorTests extends ThreadPooledTestSuite {
         AssertExtensions.assertStreamEquals("Unexpected data read back.", expectedData, actualData, totalLength);
     }
 
+    /**
+     * Tests that the data collected by {@link AsyncReadResultProcessor#processAll} is released if the resulting InputStream
+     * is closed after having read only part of it (including part of an entry), or if the processing fails.
+     */
+    @Test
+    public void testProcessAllRelease() throws Exception {
+        final int entryCount = 10;
+        final int entryLength = 100;
+
+        // Partial read, followed by close().
+        ArrayList<ByteBuf> buffers = new ArrayList<>();
+        @Cleanup
+        StreamSegmentReadResult rr1 = new StreamSegmentReadResult(0, entryCount * entryLength,
+                (offset, length) -> offset >= entryCount * entryLength ? null : newCacheEntry(offset, entryLength, buffers), "");
+        val data = AsyncReadResultProcessor.processAll(rr1, executorService(), TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Unexpected number of bytes read.", entryLength / 2, StreamHelpers.readAll(data, new byte[entryLength / 2], 0, entryLength / 2));
+        AssertExtensions.assertGreaterThan("Expected at least one unreleased buffer before close().", 0,
+                buffers.stream().filter(b -> b.refCnt() > 0).count());
+        data.close();
+        buffers.forEach(b -> Assert.assertEquals("Buffer not released after close().", 0, b.refCnt()));
+
+        // Failed read, after having collected some data.
+        buffers.clear();
+        @Cleanup
+        StreamSegmentReadResult rr2 = new StreamSegmentReadResult(0, entryCount * entryLength, (offset, length) ->
+                offset < (entryCount - 1) * entryLength
+                        ? newCacheEntry(offset, entryLength, buffers)
+                        : new TestFutureReadResultEntry(offset, length, () -> {
+                    throw new IntentionalException();
+                }, executorService()), "");
+        AssertExtensions.assertThrows(
+                "processAll() did not fail with the expected exception.",
+                () -> AsyncReadResultProcessor.processAll(rr2, executorService(), TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS),
+                ex -> Exceptions.unwrap(ex) instanceof IntentionalException);
+        Assert.assertEquals("Unexpected number of entries collected.", entryCount - 1, buffers.size());
+        buffers.forEach(b -> Assert.assertEquals("Buffer not released after failure.", 0, b.refCnt()));
+    }
+
+    private CacheReadResultEntry newCacheEntry(long offset, int length, List<ByteBuf> buffers) {
+        ByteBuf buffer = Unpooled.wrappedBuffer(new byte[length]);
+        buffers.add(buffer);
+        return new CacheReadResultEntry(offset, buffer);
+    }
+
     private int generateEntries(ArrayList<byte[]> entries) {
         int totalLength = 0;
         for (int i = 0; i < ENTRY_COUNT; i++) {
@@ -9,6 +9,7 @@
  */
 package io.pravega.segmentstore.server.reading;
 
+import io.netty.buffer.ByteBuf;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.StreamHelpers;
 import io.pravega.segmentstore.contracts.ReadResult;
@@ -28,6 +29,7 @@ import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
 import io.pravega.segmentstore.server.containers.StreamSegmentMetadata;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.CacheFactory;
+import io.pravega.segmentstore.storage.CacheFullException;
 import io.pravega.segmentstore.storage.Storage;
 import io.pravega.segmentstore.storage.mocks.InMemoryCache;
 import io.pravega.segmentstore.storage.mocks.InMemoryStorageFactory;
@@ -38,7 +40,6 @@ import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -50,6 +51,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -195,6 +197,101 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         Assert.assertEquals("Not encountered any storage reads, even though one was forced.", lastCacheOffset > 0, encounteredStorageRead);
     }
 
+    /**
+     * Tests the ability of the ReadIndex to combine consecutive small appends into larger entries (up to a maximum length).
+     */
+    @Test
+    public void testAppendCoalescing() throws Exception {
+        final int totalAppendLength = 100 * 1000;
+        final int maxAppendLength = 100;
+        final int coalesceMaxLength = 1000;
+        final Random rnd = new Random(0);
+        final ReadIndexConfig config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.APPEND_COALESCE_MAX_LENGTH, coalesceMaxLength)
+                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+        final long segmentId = createSegment(0, context);
+        val insertedKeys = Collections.synchronizedSet(new HashSet<CacheKey>());
+        context.cacheFactory.cache.insertCallback = insertedKeys::add;
+
+        // Make a lot of small appends.
+        ByteArrayOutputStream segmentContents = new ByteArrayOutputStream();
+        int appendCount = 0;
+        while (segmentContents.size() < totalAppendLength) {
+            byte[] appendData = new byte[rnd.nextInt(maxAppendLength) + 1];
+            rnd.nextBytes(appendData);
+            appendSingleWrite(segmentId, appendData, context);
+            segmentContents.write(appendData);
+            appendCount++;
+        }
+
+        // Verify the appends have been combined into as few Cache Entries as possible.
+        AssertExtensions.assertLessThan("Expected appends to be coalesced into fewer Cache Entries.",
+                appendCount / 5, insertedKeys.size());
+
+        // Each ReadResultEntry corresponds to exactly one ReadIndexEntry. Verify their data and lengths.
+        byte[] expectedData = segmentContents.toByteArray();
+        @Cleanup
+        ReadResult readResult = context.readIndex.read(segmentId, 0, expectedData.length, TIMEOUT);
+        int expectedOffset = 0;
+        int entryCount = 0;
+        while (readResult.hasNext()) {
+            ReadResultEntry entry = readResult.next();
+            Assert.assertEquals("Expected a Cache entry.", ReadResultEntryType.Cache, entry.getType());
+            byte[] entryData = new byte[entry.getContent().join().getLength()];
+            StreamHelpers.readAll(entry.getContent().join().getData(), entryData, 0, entryData.length);
+            AssertExtensions.assertArrayEquals("Unexpected data read at offset " + expectedOffset, expectedData, expectedOffset, entryData, 0, entryData.length);
+            AssertExtensions.assertLessThanOrEqual("Coalesced entry exceeds the maximum length.", coalesceMaxLength, entryData.length);
+            expectedOffset += entryData.length;
+            if (expectedOffset < expectedData.length) {
+                AssertExtensions.assertGreaterThan("Expected entry to have been coalesced with the next append.",
+                        coalesceMaxLength - maxAppendLength, entryData.length);
+            }
+
+            entryCount++;
+        }
+
+        Assert.assertEquals("Unexpected number of bytes read.", expectedData.length, expectedOffset);
+        Assert.assertEquals("Unexpected number of ReadIndex entries.", insertedKeys.size(), entryCount);
+    }
+
+    /**
+     * Tests that coalesced appends are handled correctly by Transaction mergers.
+     */
+    @Test
+    public void testAppendCoalescingMerge() throws Exception {
+        final ReadIndexConfig config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.APPEND_COALESCE_MAX_LENGTH, 1024)
+                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+        ArrayList<Long> segmentIds = createSegments(context);
+        HashMap<Long, ArrayList<Long>> transactionsBySegment = createTransactions(segmentIds, context);
+        HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
+        ArrayList<Long> allSegmentIds = new ArrayList<>(segmentIds);
+        transactionsBySegment.values().forEach(allSegmentIds::addAll);
+
+        appendData(allSegmentIds, segmentContents, context);
+        checkReadIndex("PostAppend", segmentContents, context);
+
+        beginMergeTransactions(transactionsBySegment, segmentContents, context);
+        checkReadIndex("BeginMerge", segmentContents, context);
+
+        completeMergeTransactions(transactionsBySegment, context);
+        checkReadIndex("CompleteMerge", segmentContents, context);
+
+        // Appends made after the merger must not be coalesced with the merged entries.
+        appendData(segmentIds, segmentContents, context);
+        checkReadIndex("PostMergeAppend", segmentContents, context);
+    }
+
     /**
      * Tests the readDirect() method on the ReadIndex.
      */
@@ -245,8 +342,8 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
 
         // Verify that any reads overlapping a merged transaction return null (that is, we cannot retrieve the requested data).
         for (long offset = mergedTxOffset - 1; offset < endOfMergedDataOffset; offset++) {
-            InputStream resultStream = context.readIndex.readDirect(segmentId, offset, 2);
-            Assert.assertNull("readDirect() returned data overlapping a partially merged transaction", resultStream);
+            ReadResultEntryContents result = context.readIndex.readDirect(segmentId, offset, 2);
+            Assert.assertNull("readDirect() returned data overlapping a partially merged transaction", result);
         }
 
         // Verify that we can read from any other offset.
@@ -254,19 +351,19 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         BiConsumer<Long, Long> verifyReadResult = (startOffset, endOffset) -> {
             int readLength = (int) (endOffset - startOffset);
             while (readLength > 0) {
-                InputStream actualDataStream;
+                ReadResultEntryContents actualDataContents;
                 try {
-                    actualDataStream = context.readIndex.readDirect(segmentId, startOffset, readLength);
+                    actualDataContents = context.readIndex.readDirect(segmentId, startOffset, readLength);
                 } catch (StreamSegmentNotExistsException ex) {
                     throw new CompletionException(ex);
                 }
                 Assert.assertNotNull(
                         String.format("Unexpected result when data is readily available for Offset = %s, Length = %s.", startOffset, readLength),
-                        actualDataStream);
+                        actualDataContents);
 
                 byte[] actualData = new byte[readLength];
                 try {
-                    int bytesCopied = StreamHelpers.readAll(actualDataStream, actualData, 0, readLength);
+                    int bytesCopied = StreamHelpers.readAll(actualDataContents.getData(), actualData, 0, readLength);
                     Assert.assertEquals(
                             String.format("Unexpected number of bytes read for Offset = %s, Length = %s (pre-partial-merge).", startOffset, readLength),
                             readLength, bytesCopied);
@@ -542,6 +639,51 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         Assert.assertTrue("Expected the Future Read to have been cancelled when the ReadIndex was closed.", fe.getContent().isCancelled());
     }
 
+    /**
+     * Tests that multiple Future Reads waiting at the same offset are served from a single Cache lookup, and that each
+     * of them gets the correct data (subject to its own requested length).
+     */
+    @Test
+    public void testSharedFutureReads() throws Exception {
+        final int readerCount = 50;
+        final int appendLength = 100;
+        @Cleanup
+        TestContext context = new TestContext();
+        long segmentId = createSegment(0, context);
+        byte[] appendData = new byte[appendLength];
+        new Random(0).nextBytes(appendData);
+
+        // Register a number of tail readers, each with a different requested length.
+        ArrayList<ReadResult> readResults = new ArrayList<>();
+        ArrayList<ReadResultEntry> futureEntries = new ArrayList<>();
+        for (int i = 0; i < readerCount; i++) {
+            ReadResult rr = context.readIndex.read(segmentId, 0, (i + 1) * appendLength / readerCount * 2, TIMEOUT);
+            readResults.add(rr);
+            ReadResultEntry entry = rr.next();
+            Assert.assertEquals("Expected a Future Read.", ReadResultEntryType.Future, entry.getType());
+            futureEntries.add(entry);
+        }
+
+        // Append some data and trigger the Future Reads. Count how many times the Cache is accessed while doing so.
+        appendSingleWrite(segmentId, appendData, context);
+        AtomicInteger cacheGetCount = new AtomicInteger();
+        context.cacheFactory.cache.getCallback = key -> cacheGetCount.incrementAndGet();
+        context.readIndex.triggerFutureReads(Collections.singleton(segmentId));
+        Assert.assertEquals("Expected a single Cache lookup for all Future Reads.", 1, cacheGetCount.get());
+
+        for (int i = 0; i < readerCount; i++) {
+            ReadResultEntry entry = futureEntries.get(i);
+            ReadResultEntryContents contents = entry.getContent().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            int expectedLength = Math.min(entry.getRequestedReadLength(), appendLength);
+            Assert.assertEquals("Unexpected length for Future Read " + i, expectedLength, contents.getLength());
+            byte[] actualData = new byte[contents.getLength()];
+            StreamHelpers.readAll(contents.getData(), actualData, 0, actualData.length);
+            AssertExtensions.assertArrayEquals("Unexpected data for Future Read " + i, appendData, 0, actualData, 0, actualData.length);
+        }
+
+        readResults.forEach(ReadResult::close);
+    }
+
     /**
      * Tests the behavior of Future Reads on an empty index that is sealed.
      */
@@ -697,6 +839,78 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         checkReadIndex("CacheReads", segmentContents, context);
     }
 
+    /**
+     * Tests the ability to detect sequential Storage reads and read ahead beyond them, subject to the read-ahead budget.
+     */
+    @Test
+    public void testStorageReadAhead() throws Exception {
+        final int alignment = 1024;
+        final int blockCount = 4;
+        final int budgetBlocks = 3;
+        final int segmentLength = 20 * alignment;
+        ReadIndexConfig config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, alignment)
+                .with(ReadIndexConfig.READ_AHEAD_BLOCK_COUNT, blockCount)
+                .with(ReadIndexConfig.READ_AHEAD_TRIGGER_COUNT, 2)
+                .with(ReadIndexConfig.READ_AHEAD_MAX_SIZE, (long) budgetBlocks * alignment)
+                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+        long segmentId = createSegment(0, context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+        createSegmentsInStorage(context);
+        byte[] segmentData = new byte[segmentLength];
+        new Random(0).nextBytes(segmentData);
+        val handle = context.storage.openWrite(sm.getName()).join();
+        context.storage.write(handle, 0, new ByteArrayInputStream(segmentData), segmentData.length, TIMEOUT).join();
+        sm.setStorageLength(segmentData.length);
+        sm.setLength(segmentData.length);
+
+        Set<Long> insertedOffsets = Collections.synchronizedSet(new HashSet<>());
+        context.cacheFactory.cache.insertCallback = key -> insertedOffsets.add(key.getOffset());
+
+        // A random (non-sequential) read should not trigger any read-ahead.
+        checkStorageRead(segmentId, 10 * alignment, alignment, segmentData, context);
+        TestUtils.await(() -> !insertedOffsets.isEmpty(), 10, TIMEOUT.toMillis()); // Cache insertion follows the read callback.
+        Assert.assertEquals("Not expecting read-ahead for a single read.", Collections.singleton((long) 10 * alignment), insertedOffsets);
+
+        // The second sequential read should trigger a read-ahead beyond it, but only as much as the budget allows.
+        checkStorageRead(segmentId, 0, alignment, segmentData, context);
+        checkStorageRead(segmentId, alignment, alignment, segmentData, context);
+        TestUtils.await(() -> insertedOffsets.size() == 3 + budgetBlocks, 10, TIMEOUT.toMillis());
+        for (int i = 0; i < budgetBlocks; i++) {
+            Assert.assertTrue("Expected block to have been read ahead: " + i, insertedOffsets.contains((long) (i + 2) * alignment));
+        }
+
+        // Consuming the read-ahead data should release the budget and cause more data to be read ahead.
+        for (int i = 0; i < budgetBlocks; i++) {
+            checkStorageRead(segmentId, (i + 2) * alignment, alignment, segmentData, context);
+        }
+
+        TestUtils.await(() -> insertedOffsets.size() == 3 + 2 * budgetBlocks, 10, TIMEOUT.toMillis());
+        for (int i = budgetBlocks + 2; i < 2 * budgetBlocks + 2; i++) {
+            Assert.assertTrue("Expected block to have been read ahead after a hit: " + i, insertedOffsets.contains((long) i * alignment));
+        }
+
+        // Verify the read-ahead data is served from the cache: remove the segment from Storage and read it.
+        context.storage.delete(handle, TIMEOUT).join();
+        for (int i = budgetBlocks + 2; i < 2 * budgetBlocks + 2; i++) {
+            checkStorageRead(segmentId, i * alignment, alignment, segmentData, context);
+        }
+    }
+
+    private void checkStorageRead(long segmentId, int offset, int length, byte[] segmentData, TestContext context) throws Exception {
+        byte[] readData = new byte[length];
+        @Cleanup
+        ReadResult readResult = context.readIndex.read(segmentId, offset, length, TIMEOUT);
+        int bytesRead = readResult.readRemaining(readData, TIMEOUT);
+        Assert.assertEquals("Unexpected number of bytes read at offset " + offset, length, bytesRead);
+        AssertExtensions.assertArrayEquals("Unexpected data read at offset " + offset, segmentData, offset, readData, 0, length);
+    }
+
     /**
      * Tests the ability to handle Storage read failures.
      */
@@ -772,6 +986,249 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         checkReadIndex("PostAppend", segmentContents, context);
     }
 
+    /**
+     * Tests the ability to compress the data of Cache Entries that have not been accessed in a while, and to transparently
+     * decompress it when read.
+     */
+    @Test
+    public void testCacheCompression() throws Exception {
+        final int appendLength = 10 * 1024;
+        final int appendCount = 10;
+        final int generationThreshold = 5;
+        final ReadIndexConfig config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.CACHE_COMPRESSION_GENERATION_THRESHOLD, generationThreshold)
+                .with(ReadIndexConfig.CACHE_COMPRESSION_MIN_LENGTH, appendLength)
+                .build();
+        final CachePolicy cachePolicy = new CachePolicy(Long.MAX_VALUE, Duration.ofHours(10000), Duration.ofHours(1));
+
+        @Cleanup
+        TestContext context = new TestContext(config, cachePolicy);
+        long segmentId = createSegment(0, context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+
+        // Make appends with compressible data (plus one incompressible one), one per generation.
+        ByteArrayOutputStream segmentContents = new ByteArrayOutputStream();
+        Random rnd = new Random(0);
+        for (int i = 0; i < appendCount; i++) {
+            byte[] data = new byte[appendLength];
+            if (i == 1) {
+                rnd.nextBytes(data);
+            } else {
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = (byte) ('a' + rnd.nextInt(4));
+                }
+            }
+
+            appendSingleWrite(segmentId, data, context);
+            segmentContents.write(data);
+            context.cacheManager.applyCachePolicy();
+        }
+
+        // Nothing is compressed until the data is in Storage. Entries are only compressed when the Cache Manager advances
+        // the generation, which requires some activity (the small appends below are also too small to be compressed).
+        val compressedKeys = Collections.synchronizedSet(new HashSet<CacheKey>());
+        appendSingleWrite(segmentId, new byte[1], context);
+        segmentContents.write(0);
+        context.cacheFactory.cache.insertCallback = compressedKeys::add;
+        context.cacheManager.applyCachePolicy();
+        Assert.assertTrue("Not expecting any compression for data that is not in Storage.", compressedKeys.isEmpty());
+
+        // Mark the data as written to Storage. Every compressible entry that is old enough should now be compressed.
+        sm.setStorageLength(sm.getLength());
+        context.cacheFactory.cache.insertCallback = null;
+        appendSingleWrite(segmentId, new byte[1], context);
+        segmentContents.write(0);
+        context.cacheFactory.cache.insertCallback = compressedKeys::add;
+        context.cacheManager.applyCachePolicy();
+        // Each append above was made in its own generation, and the Cache Manager is now at generation appendCount + 2.
+        val expectedKeys = new HashSet<CacheKey>();
+        for (int i = 0; i <= appendCount + 2 - generationThreshold; i++) {
+            if (i != 1) {
+                expectedKeys.add(new CacheKey(segmentId, (long) i * appendLength));
+            }
+        }
+
+        TestUtils.await(() -> compressedKeys.size() >= expectedKeys.size(), 10, TIMEOUT.toMillis());
+        Assert.assertEquals("Unexpected Cache Entries compressed.", expectedKeys, new HashSet<>(compressedKeys));
+        for (CacheKey key : expectedKeys) {
+            AssertExtensions.assertLessThan("Expected Cache Entry to have been compressed.", appendLength / 2,
+                    context.cacheFactory.cache.get(key).length);
+        }
+
+        // Verify all the data can be read back (without any Storage reads, since the Segment does not exist there).
+        byte[] expectedData = segmentContents.toByteArray();
+        checkCacheRead(segmentId, expectedData, context);
+
+        // Do the same from multiple threads at once; each of them decompresses the data using its own Inflater.
+        val concurrentReads = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < getThreadPoolSize(); i++) {
+            concurrentReads.add(CompletableFuture.runAsync(() -> {
+                try {
+                    checkCacheRead(segmentId, expectedData, context);
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                }
+            }, executorService()));
+        }
+
+        Futures.allOf(concurrentReads).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tests the behavior of the ReadIndex when the Cache is full, even though the CacheManager does not think so (i.e.,
+     * the Cache uses more memory than the length of the data in it): appends should force an eviction and retry, and
+     * only fail if there is nothing that can be evicted.
+     */
+    @Test
+    public void testCacheFull() throws Exception {
+        final int appendLength = 1000;
+        final int appendCount = 10;
+        final CachePolicy cachePolicy = new CachePolicy(Long.MAX_VALUE, Duration.ofHours(10000), Duration.ofHours(1));
+
+        @Cleanup
+        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        context.cacheFactory.cache.maxSize = appendCount * appendLength;
+        long segmentId = createSegment(0, context);
+        UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(segmentId);
+
+        // Fill up the Cache through the ReadIndex, one append per generation.
+        ByteArrayOutputStream segmentContents = new ByteArrayOutputStream();
+        Random rnd = new Random(0);
+        for (int i = 0; i < appendCount; i++) {
+            byte[] data = new byte[appendLength];
+            rnd.nextBytes(data);
+            appendSingleWrite(segmentId, data, context);
+            segmentContents.write(data);
+            context.cacheManager.applyCachePolicy();
+        }
+
+        Assert.assertEquals("Not expecting the CacheManager to consider the cache full.", 0.0, context.readIndex.getCacheUtilization(), 0.001);
+
+        // Nothing is in Storage, so nothing can be evicted to make room for more data.
+        byte[] extraData = new byte[appendLength];
+        rnd.nextBytes(extraData);
+        long extraOffset = sm.getLength();
+        sm.setLength(extraOffset + extraData.length);
+        AssertExtensions.assertThrows(
+                "append() succeeded even though nothing could be evicted.",
+                () -> context.readIndex.append(segmentId, extraOffset, extraData),
+                ex -> ex instanceof CacheFullException);
+        checkCacheRead(segmentId, segmentContents.toByteArray(), context);
+
+        // Mark half of the data as written to Storage; the oldest of it should be evicted to make room for the append.
+        val removedKeys = Collections.synchronizedSet(new HashSet<CacheKey>());
+        context.cacheFactory.cache.removeCallback = removedKeys::add;
+        sm.setStorageLength(appendCount / 2 * appendLength);
+        context.readIndex.append(segmentId, extraOffset, extraData);
+        segmentContents.write(extraData);
+        Assert.assertFalse("Expected at least one Cache Entry to have been evicted.", removedKeys.isEmpty());
+        for (CacheKey key : removedKeys) {
+            AssertExtensions.assertLessThan("Evicted a Cache Entry that was not in Storage.", sm.getStorageLength(), key.getOffset());
+        }
+
+        // Verify the appended data (which is not in Storage) can still be read back.
+        byte[] expectedData = segmentContents.toByteArray();
+        for (long offset = sm.getStorageLength(); offset < expectedData.length; offset += appendLength) {
+            ReadResultEntryContents contents = context.readIndex.readDirect(segmentId, offset, appendLength);
+            Assert.assertNotNull("Unable to read appended data at offset " + offset, contents);
+            byte[] actualData = StreamHelpers.readAll(contents.getData(), appendLength);
+            AssertExtensions.assertArrayEquals("Unexpected data read at offset " + offset, expectedData, (int) offset,
+                    actualData, 0, appendLength);
+        }
+    }
+
+    private void checkCacheRead(long segmentId, byte[] expectedData, TestContext context) throws Exception {
+        @Cleanup
+        ReadResult readResult = context.readIndex.read(segmentId, 0, expectedData.length, TIMEOUT);
+        int expectedOffset = 0;
+        while (readResult.hasNext()) {
+            ReadResultEntry entry = readResult.next();
+            Assert.assertEquals("Expected a Cache entry.", ReadResultEntryType.Cache, entry.getType());
+            Assert.assertTrue("Expected a Cache entry to be completed.", entry.getContent().isDone());
+            byte[] entryData = new byte[entry.getContent().join().getLength()];
+            StreamHelpers.readAll(entry.getContent().join().getData(), entryData, 0, entryData.length);
+            AssertExtensions.assertArrayEquals("Unexpected data read at offset " + expectedOffset, expectedData, expectedOffset, entryData, 0, entryData.length);
+            expectedOffset += entryData.length;
+        }
+
+        Assert.assertEquals("Unexpected number of bytes read.", expectedData.length, expectedOffset);
+    }
+
+    /**
+     * Verifies that the entries of a Transaction that has begun merging are no longer compressed (since the target
+     * ReadIndex takes them over as they were when the merge began), and that the merged data can be read back correctly.
+     */
+    @Test
+    public void testCacheCompressionMerge() throws Exception {
+        final int appendLength = 10 * 1024;
+        final int appendCount = 5;
+        final int generationThreshold = 2;
+        final ReadIndexConfig config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, 0)
+                .with(ReadIndexConfig.CACHE_COMPRESSION_GENERATION_THRESHOLD, generationThreshold)
+                .with(ReadIndexConfig.CACHE_COMPRESSION_MIN_LENGTH, appendLength)
+                .build();
+        final CachePolicy cachePolicy = new CachePolicy(Long.MAX_VALUE, Duration.ofHours(10000), Duration.ofHours(1));
+
+        @Cleanup
+        TestContext context = new TestContext(config, cachePolicy);
+        long parentId = createSegment(0, context);
+        long mergedId = createTransaction(1, context);
+        long unmergedId = createTransaction(2, context);
+        UpdateableSegmentMetadata parentMetadata = context.metadata.getStreamSegmentMetadata(parentId);
+
+        // Fill up both Transactions with compressible data and mark it as written to Storage.
+        HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
+        segmentContents.put(parentId, new ByteArrayOutputStream());
+        Random rnd = new Random(0);
+        for (long transactionId : Arrays.asList(mergedId, unmergedId)) {
+            segmentContents.put(transactionId, new ByteArrayOutputStream());
+            for (int i = 0; i < appendCount; i++) {
+                byte[] data = new byte[appendLength];
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = (byte) ('a' + rnd.nextInt(4));
+                }
+
+                appendSingleWrite(transactionId, data, context);
+                segmentContents.get(transactionId).write(data);
+            }
+
+            UpdateableSegmentMetadata sm = context.metadata.getStreamSegmentMetadata(transactionId);
+            sm.setStorageLength(sm.getLength());
+        }
+
+        // Begin merging one of the Transactions, then advance the generations enough so that all entries are old enough
+        // to be compressed (generations only advance if there is some activity, hence the small appends to the parent).
+        // Only the Transaction that is not being merged should have its entries compressed.
+        beginMergeTransaction(mergedId, parentMetadata, segmentContents, context);
+        val compressedKeys = Collections.synchronizedSet(new HashSet<CacheKey>());
+        for (int i = 0; i <= generationThreshold; i++) {
+            context.cacheFactory.cache.insertCallback = null;
+            appendSingleWrite(parentId, new byte[1], context);
+            segmentContents.get(parentId).write(0);
+            context.cacheFactory.cache.insertCallback = compressedKeys::add;
+            context.cacheManager.applyCachePolicy();
+        }
+
+        val expectedKeys = new HashSet<CacheKey>();
+        for (int i = 0; i < appendCount; i++) {
+            expectedKeys.add(new CacheKey(unmergedId, (long) i * appendLength));
+        }
+
+        TestUtils.await(() -> compressedKeys.size() >= expectedKeys.size(), 10, TIMEOUT.toMillis());
+        Assert.assertEquals("Unexpected Cache Entries compressed.", expectedKeys, new HashSet<>(compressedKeys));
+        context.cacheFactory.cache.insertCallback = null;
+
+        // Complete the merge and verify the data can be read from the parent.
+        context.metadata.getStreamSegmentMetadata(mergedId).markDeleted();
+        context.readIndex.completeMerge(parentId, mergedId);
+        segmentContents.remove(unmergedId);
+        checkReadIndex("PostMerge", segmentContents, context);
+    }
+
     /**
      * Tests the ability to evict entries from the ReadIndex under various conditions:
      * * If an entry is aged out
@@ -1400,8 +1857,8 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
             }
 
             int readLength = (int) (segmentLength - startOffset);
-            InputStream readData = context.readIndex.readDirect(segmentId, startOffset, readLength);
-            byte[] actualData = StreamHelpers.readAll(readData, readLength);
+            ReadResultEntryContents readData = context.readIndex.readDirect(segmentId, startOffset, readLength);
+            byte[] actualData = StreamHelpers.readAll(readData.getData(), readLength);
             AssertExtensions.assertArrayEquals("Unexpected data read.", expectedData, (int) startOffset, actualData, 0, actualData.length);
         }
     }
@@ -1521,6 +1978,10 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
     private static class TestCache extends InMemoryCache {
         Consumer<CacheKey> insertCallback;
         Consumer<CacheKey> removeCallback;
+        Consumer<CacheKey> getCallback;
+        volatile long maxSize = Long.MAX_VALUE;
+        private final HashMap<Cache.Key, Integer> entryLengths = new HashMap<>();
+        private long size;
 
         TestCache(String id) {
             super(id);
@@ -1528,21 +1989,65 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
 
         @Override
         public void insert(Cache.Key key, byte[] payload) {
-            super.insert(key, payload);
+            synchronized (this.entryLengths) {
+                long newSize = this.size - this.entryLengths.getOrDefault(key, 0) + payload.length;
+                if (newSize > this.maxSize) {
+                    throw new CacheFullException(String.format("Cache full. Size = %d, MaxSize = %d.", this.size, this.maxSize));
+                }
+
+                super.insert(key, payload);
+                this.entryLengths.put(key, payload.length);
+                this.size = newSize;
+            }
+
             Consumer<CacheKey> callback = this.insertCallback;
             if (callback != null) {
                 callback.accept((CacheKey) key);
             }
         }
 
+        @Override
+        public byte[] get(Cache.Key key) {
+            Consumer<CacheKey> callback = this.getCallback;
+            if (callback != null) {
+                callback.accept((CacheKey) key);
+            }
+
+            return super.get(key);
+        }
+
+        @Override
+        public ByteBuf getView(Cache.Key key) {
+            Consumer<CacheKey> callback = this.getCallback;
+            if (callback != null) {
+                callback.accept((CacheKey) key);
+            }
+
+            return super.getView(key);
+        }
+
         @Override
         public void remove(Cache.Key key) {
-            super.remove(key);
+            synchronized (this.entryLengths) {
+                super.remove(key);
+                Integer length = this.entryLengths.remove(key);
+                this.size -= length == null ? 0 : length;
+            }
+
             Consumer<CacheKey> callback = this.removeCallback;
             if (callback != null) {
                 callback.accept((CacheKey) key);
             }
         }
+
+        @Override
+        public void clear() {
+            synchronized (this.entryLengths) {
+                super.clear();
+                this.entryLengths.clear();
+                this.size = 0;
+            }
+        }
     }
 
     private static class TestCacheFactory implements CacheFactory {
@@ -94,6 +94,46 @@ public class ReadIndexSummaryTests {
         testRemove(addedSizes, totalSize, GENERATION_COUNT - 1, s);
     }
 
+    /**
+     * Tests the tracking of probationary elements (add, touchProbationary and remove).
+     */
+    @Test
+    public void testProbationary() {
+        ReadIndexSummary s = new ReadIndexSummary();
+        final int size = 10;
+
+        // Generation 0: one protected and two probationary elements.
+        s.add(size, false);
+        s.add(size, true);
+        s.add(size, true);
+        CacheManager.CacheStatus status = s.toCacheStatus();
+        Assert.assertEquals("Unexpected total size.", 3 * size, status.getSize());
+        Assert.assertEquals("Unexpected probationary size.", 2 * size, status.getProbationarySize());
+        Assert.assertEquals("Unexpected oldest probationary generation.", 0, status.getOldestProbationaryGeneration());
+
+        // Generation 1: touch one probationary element without promoting it; it should move to the new generation.
+        s.setCurrentGeneration(1);
+        Assert.assertEquals("Unexpected generation from touchProbationary.", 1, s.touchProbationary(0, size, false));
+        status = s.toCacheStatus();
+        Assert.assertEquals("Unexpected probationary size after touch.", 2 * size, status.getProbationarySize());
+        Assert.assertEquals("Unexpected oldest probationary generation after touch.", 0, status.getOldestProbationaryGeneration());
+
+        // Generation 2: promote the element still in generation 0.
+        s.setCurrentGeneration(2);
+        s.touchProbationary(0, size, true);
+        status = s.toCacheStatus();
+        Assert.assertEquals("Unexpected total size after promotion.", 3 * size, status.getSize());
+        Assert.assertEquals("Unexpected probationary size after promotion.", size, status.getProbationarySize());
+        Assert.assertEquals("Unexpected oldest probationary generation after promotion.", 1, status.getOldestProbationaryGeneration());
+        Assert.assertEquals("Unexpected oldest generation after promotion.", 0, status.getOldestGeneration());
+
+        // Remove the remaining probationary element.
+        s.remove(size, 1, true);
+        status = s.toCacheStatus();
+        Assert.assertEquals("Unexpected total size after removal.", 2 * size, status.getSize());
+        Assert.assertEquals("Unexpected probationary size after removal.", 0, status.getProbationarySize());
+    }
+
     private void testRemove(Queue<Integer> addedSizes, long totalSize, int maxGeneration, ReadIndexSummary s) {
         for (int generation = 0; generation < GENERATION_COUNT; generation++) {
             for (int i = 0; i < ITEMS_PER_GENERATION; i++) {
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.writer;
+
+import io.pravega.segmentstore.contracts.Attributes;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.zip.CRC32;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FlushChecksum class.
+ */
+public class FlushChecksumTests {
+    private static final int DATA_LENGTH = 1000;
+    private static final int MAX_RANGE_LENGTH = 2 * DATA_LENGTH;
+
+    /**
+     * Tests that contiguous data is included in the same range, regardless of how it is provided.
+     */
+    @Test
+    public void testInclude() throws Exception {
+        byte[] data = generateData();
+        val c = new FlushChecksum(0, MAX_RANGE_LENGTH);
+        checkSnapshot(0, 0, new byte[0], c);
+
+        // Multiple ByteBuffers.
+        c.include(10, new ByteBuffer[]{ByteBuffer.wrap(data, 0, 100), ByteBuffer.wrap(data, 100, 200)});
+        checkSnapshot(10, 310, Arrays.copyOfRange(data, 0, 300), c);
+
+        // InputStream, continuing where the previous range left off.
+        c.include(310, new ByteArrayInputStream(data, 300, DATA_LENGTH - 300), DATA_LENGTH - 300);
+        checkSnapshot(10, 10 + DATA_LENGTH, data, c);
+    }
+
+    /**
+     * Tests that a new range is begun if the data is not contiguous or if the range would become too long.
+     */
+    @Test
+    public void testNewRange() throws Exception {
+        byte[] data = generateData();
+        val c = new FlushChecksum(0, MAX_RANGE_LENGTH);
+        c.include(0, new ByteBuffer[]{ByteBuffer.wrap(data)});
+
+        // Gap between ranges.
+        c.include(DATA_LENGTH + 1, new ByteBuffer[]{ByteBuffer.wrap(data)});
+        checkSnapshot(DATA_LENGTH + 1, 2 * DATA_LENGTH + 1, data, c);
+
+        // Maximum length exceeded.
+        c.include(2 * DATA_LENGTH + 1, new ByteArrayInputStream(data), DATA_LENGTH);
+        checkSnapshot(DATA_LENGTH + 1, 3 * DATA_LENGTH + 1, concat(data, data), c);
+        c.include(3 * DATA_LENGTH + 1, new ByteBuffer[]{ByteBuffer.wrap(data, 0, 1)});
+        checkSnapshot(3 * DATA_LENGTH + 1, 3 * DATA_LENGTH + 2, new byte[]{data[0]}, c);
+    }
+
+    /**
+     * Tests the conversion of Snapshots to and from Attributes.
+     */
+    @Test
+    public void testSnapshotAttributes() {
+        val c = new FlushChecksum(0, MAX_RANGE_LENGTH);
+        c.include(123, new ByteBuffer[]{ByteBuffer.wrap(generateData())});
+        val s = c.getSnapshot();
+        val attributes = s.toAttributes();
+        Assert.assertEquals("Unexpected Attribute Ids.", FlushChecksum.Snapshot.ATTRIBUTE_IDS.size(), attributes.size());
+        Assert.assertTrue("Unexpected Attribute Ids.", attributes.keySet().containsAll(FlushChecksum.Snapshot.ATTRIBUTE_IDS));
+        Assert.assertEquals("Unexpected deserialized Snapshot.", s, FlushChecksum.Snapshot.fromAttributes(attributes));
+
+        // Incomplete or invalid Attributes.
+        Assert.assertNull("Not expecting a Snapshot from no Attributes.", FlushChecksum.Snapshot.fromAttributes(Collections.emptyMap()));
+        val invalid = new HashMap<>(attributes);
+        invalid.put(Attributes.FLUSH_CHECKSUM_END_OFFSET, s.getStartOffset() - 1);
+        Assert.assertNull("Not expecting a Snapshot from invalid Attributes.", FlushChecksum.Snapshot.fromAttributes(invalid));
+    }
+
+    private void checkSnapshot(long expectedStartOffset, long expectedEndOffset, byte[] expectedData, FlushChecksum c) {
+        CRC32 expected = new CRC32();
+        expected.update(expectedData);
+        val s = c.getSnapshot();
+        Assert.assertEquals("Unexpected start offset.", expectedStartOffset, s.getStartOffset());
+        Assert.assertEquals("Unexpected end offset.", expectedEndOffset, s.getEndOffset());
+        Assert.assertEquals("Unexpected checksum.", expected.getValue(), s.getValue());
+    }
+
+    private byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private byte[] generateData() {
+        byte[] data = new byte[DATA_LENGTH];
+        new Random(0).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.server.writer;
+
+import java.time.Duration;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FlushThresholdCalculator class.
+ */
+public class FlushThresholdCalculatorTests {
+    private static final int FLUSH_THRESHOLD_BYTES = 1024 * 1024;
+    private static final int MAX_FLUSH_SIZE_BYTES = 8 * FLUSH_THRESHOLD_BYTES;
+    private static final long FLUSH_THRESHOLD_MILLIS = 30000;
+    private static final long MIN_FLUSH_THRESHOLD_MILLIS = 10000;
+    private static final Duration WRITE_LATENCY = Duration.ofMillis(50);
+
+    /**
+     * Tests that the static thresholds are used when adaptive thresholds are disabled.
+     */
+    @Test
+    public void testDisabled() {
+        val config = createConfig(false);
+        val c = new FlushThresholdCalculator(config, Duration.ZERO);
+        checkThresholds(FLUSH_THRESHOLD_BYTES, FLUSH_THRESHOLD_MILLIS, c);
+
+        // Neither a hot nor a cold Segment should change anything.
+        c.recordIngestion(100 * FLUSH_THRESHOLD_BYTES);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(1000));
+        checkThresholds(FLUSH_THRESHOLD_BYTES, FLUSH_THRESHOLD_MILLIS, c);
+        c.recordIngestion(1);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(100000));
+        checkThresholds(FLUSH_THRESHOLD_BYTES, FLUSH_THRESHOLD_MILLIS, c);
+    }
+
+    /**
+     * Tests that Segments with a high ingestion rate get a larger byte threshold, bounded by MaxFlushSizeBytes.
+     */
+    @Test
+    public void testHotSegment() {
+        val c = new FlushThresholdCalculator(createConfig(true), Duration.ZERO);
+
+        // No samples yet: use the static thresholds.
+        checkThresholds(FLUSH_THRESHOLD_BYTES, FLUSH_THRESHOLD_MILLIS, c);
+
+        // 5MB/s with a 50ms write latency: 10 writes' worth of data is 2.5MB.
+        c.recordIngestion(5 * FLUSH_THRESHOLD_BYTES);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(1000));
+        checkThresholds(FLUSH_THRESHOLD_BYTES * 5 / 2, FLUSH_THRESHOLD_MILLIS, c);
+
+        // Way above what we can aggregate in a single write.
+        c.recordIngestion(1000L * FLUSH_THRESHOLD_BYTES);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(2000));
+        checkThresholds(MAX_FLUSH_SIZE_BYTES, FLUSH_THRESHOLD_MILLIS, c);
+    }
+
+    /**
+     * Tests that Segments with a low ingestion rate get a smaller time threshold, bounded by MinFlushThresholdTime.
+     */
+    @Test
+    public void testColdSegment() {
+        val c = new FlushThresholdCalculator(createConfig(true), Duration.ZERO);
+
+        // 0.1 bytes/ms; this would only fill a tiny fraction of the byte threshold within FlushThresholdTime.
+        c.recordIngestion(1000);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(10000));
+        double fillRatio = 0.1 * FLUSH_THRESHOLD_MILLIS / FLUSH_THRESHOLD_BYTES;
+        long expectedMillis = MIN_FLUSH_THRESHOLD_MILLIS + (long) ((FLUSH_THRESHOLD_MILLIS - MIN_FLUSH_THRESHOLD_MILLIS) * Math.sqrt(fillRatio));
+        checkThresholds(FLUSH_THRESHOLD_BYTES, expectedMillis, c);
+
+        // Nothing was ingested since the last write.
+        long previousMillis = c.getFlushThresholdTime().toMillis();
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(20000));
+        Assert.assertTrue("Expected time threshold to decrease.", c.getFlushThresholdTime().toMillis() < previousMillis);
+        Assert.assertTrue("Time threshold below lower bound.", c.getFlushThresholdTime().toMillis() >= MIN_FLUSH_THRESHOLD_MILLIS);
+    }
+
+    /**
+     * Tests that the time threshold decreases sublinearly with the ingestion rate, so that moderately cold Segments are
+     * not flushed much more often than with the static thresholds.
+     */
+    @Test
+    public void testTimeThresholdScaling() {
+        val c = new FlushThresholdCalculator(createConfig(true), Duration.ZERO);
+
+        // This Segment would fill a quarter of the byte threshold within FlushThresholdTime.
+        c.recordIngestion(FLUSH_THRESHOLD_BYTES / 4);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(FLUSH_THRESHOLD_MILLIS));
+        long expectedMillis = MIN_FLUSH_THRESHOLD_MILLIS + (FLUSH_THRESHOLD_MILLIS - MIN_FLUSH_THRESHOLD_MILLIS) / 2;
+        Assert.assertEquals("Unexpected byte threshold.", FLUSH_THRESHOLD_BYTES, c.getFlushThresholdBytes());
+        Assert.assertEquals("Unexpected time threshold.", expectedMillis, c.getFlushThresholdTime().toMillis(), 1);
+    }
+
+    /**
+     * Tests that samples are combined as moving averages.
+     */
+    @Test
+    public void testMovingAverage() {
+        val c = new FlushThresholdCalculator(createConfig(true), Duration.ZERO);
+
+        // Same ingestion rate (1MB/s), but the write latency goes from 50ms to 250ms.
+        c.recordIngestion(FLUSH_THRESHOLD_BYTES);
+        c.recordWrite(WRITE_LATENCY, Duration.ofMillis(1000));
+        c.recordIngestion(FLUSH_THRESHOLD_BYTES);
+        c.recordWrite(WRITE_LATENCY.multipliedBy(5), Duration.ofMillis(2000));
+        double expectedLatency = WRITE_LATENCY.toMillis() * (1 + FlushThresholdCalculator.SAMPLE_WEIGHT * 4);
+        double rate = (double) FLUSH_THRESHOLD_BYTES / 1000;
+        int expectedBytes = (int) (FlushThresholdCalculator.LATENCY_MULTIPLE * rate * expectedLatency);
+        checkThresholds(expectedBytes, FLUSH_THRESHOLD_MILLIS, c);
+    }
+
+    private void checkThresholds(int expectedBytes, long expectedMillis, FlushThresholdCalculator c) {
+        Assert.assertEquals("Unexpected byte threshold.", expectedBytes, c.getFlushThresholdBytes());
+        Assert.assertEquals("Unexpected time threshold.", expectedMillis, c.getFlushThresholdTime().toMillis());
+    }
+
+    private WriterConfig createConfig(boolean adaptive) {
+        return WriterConfig
+                .builder()
+                .with(WriterConfig.FLUSH_THRESHOLD_BYTES, FLUSH_THRESHOLD_BYTES)
+                .with(WriterConfig.MAX_FLUSH_SIZE_BYTES, MAX_FLUSH_SIZE_BYTES)
+                .with(WriterConfig.FLUSH_THRESHOLD_MILLIS, FLUSH_THRESHOLD_MILLIS)
+                .with(WriterConfig.MIN_FLUSH_THRESHOLD_MILLIS, MIN_FLUSH_THRESHOLD_MILLIS)
+                .with(WriterConfig.ENABLE_ADAPTIVE_FLUSH_THRESHOLDS, adaptive)
+                .build();
+    }
+}
@@ -1756,6 +1756,209 @@ public class SegmentAggregatorTests extends ThreadPooledTestSuite {
         Assert.assertArrayEquals("Unexpected data written to storage.", expectedData, actualData);
     }
 
+    /**
+     * Tests the ability of the SegmentAggregator to reconcile AppendOperations using the flush checksum that was persisted
+     * by another SegmentAggregator which had already written the same data to Storage.
+     */
+    @Test
+    public void testReconcileAppendsWithChecksum() throws Exception {
+        // The flush checksum covers all the data, so nothing should need to be read back from Storage.
+        testReconcileAppendsWithChecksum(WriterConfig.MAX_FLUSH_CHECKSUM_RANGE_BYTES.getDefaultValue(), false);
+
+        // The flush checksum only covers the tail of the data, so everything before it must be read back from Storage.
+        testReconcileAppendsWithChecksum(500, true);
+    }
+
+    private void testReconcileAppendsWithChecksum(long maxChecksumRangeBytes, boolean expectStorageReads) throws Exception {
+        final WriterConfig config = createChecksumConfig(maxChecksumRangeBytes);
+
+        @Cleanup
+        TestContext context = new TestContext(config);
+        byte[] writtenData = writeWithConcurrentAggregator(config, context);
+        AtomicInteger readCount = new AtomicInteger();
+        context.storage.setReadInterceptor((segmentName, storage) -> readCount.incrementAndGet());
+
+        // The first flush will discover that the data is already in Storage. The second one will reconcile it.
+        context.increaseTime(config.getFlushThresholdTime().toMillis() + 1);
+        AssertExtensions.assertFutureThrows(
+                "Expected the first flush to fail.",
+                context.segmentAggregator.flush(TIMEOUT),
+                ex -> ex instanceof BadOffsetException);
+        WriterFlushResult flushResult = context.segmentAggregator.flush(TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Unexpected number of bytes reconciled.", writtenData.length, flushResult.getFlushedBytes());
+        Assert.assertEquals("Unexpected StorageLength after reconciliation.", writtenData.length, context.segmentAggregator.getMetadata().getStorageLength());
+        Assert.assertEquals("Unexpected Storage reads during reconciliation.", expectStorageReads, readCount.get() > 0);
+        Assert.assertFalse("Not expecting anything else to flush.", context.segmentAggregator.mustFlush());
+        verifySegmentData(writtenData, context);
+    }
+
+    /**
+     * Tests that the SegmentAggregator fails reconciliation if the persisted flush checksum does not match the data.
+     */
+    @Test
+    public void testReconcileAppendsWithChecksumMismatch() throws Exception {
+        final WriterConfig config = createChecksumConfig(WriterConfig.MAX_FLUSH_CHECKSUM_RANGE_BYTES.getDefaultValue());
+
+        @Cleanup
+        TestContext context = new TestContext(config);
+        writeWithConcurrentAggregator(config, context);
+        long checksum = context.dataSource.getPersistedAttributes(SEGMENT_ID).get(Attributes.FLUSH_CHECKSUM);
+        context.dataSource.persistAttributes(SEGMENT_ID, Collections.singletonMap(Attributes.FLUSH_CHECKSUM, checksum + 1), TIMEOUT).join();
+
+        context.increaseTime(config.getFlushThresholdTime().toMillis() + 1);
+        AssertExtensions.assertFutureThrows(
+                "Expected the first flush to fail.",
+                context.segmentAggregator.flush(TIMEOUT),
+                ex -> ex instanceof BadOffsetException);
+        AssertExtensions.assertFutureThrows(
+                "Expected reconciliation to fail.",
+                context.segmentAggregator.flush(TIMEOUT),
+                ex -> ex instanceof ReconciliationFailureException);
+    }
+
+    /**
+     * Tests the ability of the SegmentAggregator to reconcile AppendOperations using a flush checksum whose range begins
+     * before the StorageLength it was initialized with (i.e., part of that range had already been written to Storage).
+     */
+    @Test
+    public void testReconcileAppendsWithChecksumBeforeStorageLength() throws Exception {
+        // The part of the range before the StorageLength is read back from Storage and the checksum is used for the rest.
+        testReconcileAppendsWithChecksumBeforeStorageLength(25, true);
+
+        // Most of the range is before the StorageLength; it is cheaper to read back the data that needs reconciling instead.
+        testReconcileAppendsWithChecksumBeforeStorageLength(75, false);
+    }
+
+    private void testReconcileAppendsWithChecksumBeforeStorageLength(int precedingAppendCount, boolean expectChecksumUsed) throws Exception {
+        final WriterConfig config = createChecksumConfig(WriterConfig.MAX_FLUSH_CHECKSUM_RANGE_BYTES.getDefaultValue());
+
+        // Valid checksum: reconciliation must succeed.
+        @Cleanup
+        TestContext context = new TestContext(config);
+        byte[] writtenData = writeWithConcurrentAggregator(config, context, precedingAppendCount);
+        long initialStorageLength = context.segmentAggregator.getMetadata().getStorageLength();
+        long checksumStartOffset = context.dataSource.getPersistedAttributes(SEGMENT_ID).get(Attributes.FLUSH_CHECKSUM_START_OFFSET);
+        AssertExtensions.assertGreaterThan("Expected the flush checksum to begin before the StorageLength.", checksumStartOffset, initialStorageLength);
+
+        context.increaseTime(config.getFlushThresholdTime().toMillis() + 1);
+        AssertExtensions.assertFutureThrows(
+                "Expected the first flush to fail.",
+                context.segmentAggregator.flush(TIMEOUT),
+                ex -> ex instanceof BadOffsetException);
+        WriterFlushResult flushResult = context.segmentAggregator.flush(TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        Assert.assertEquals("Unexpected number of bytes reconciled.", writtenData.length - initialStorageLength, flushResult.getFlushedBytes());
+        Assert.assertEquals("Unexpected StorageLength after reconciliation.", writtenData.length, context.segmentAggregator.getMetadata().getStorageLength());
+        Assert.assertFalse("Not expecting anything else to flush.", context.segmentAggregator.mustFlush());
+        verifySegmentData(writtenData, context);
+
+        // Invalid checksum: reconciliation must fail, but only if the checksum is used.
+        @Cleanup
+        TestContext badContext = new TestContext(config);
+        writeWithConcurrentAggregator(config, badContext, precedingAppendCount);
+        long checksum = badContext.dataSource.getPersistedAttributes(SEGMENT_ID).get(Attributes.FLUSH_CHECKSUM);
+        badContext.dataSource.persistAttributes(SEGMENT_ID, Collections.singletonMap(Attributes.FLUSH_CHECKSUM, checksum + 1), TIMEOUT).join();
+        badContext.increaseTime(config.getFlushThresholdTime().toMillis() + 1);
+        AssertExtensions.assertFutureThrows(
+                "Expected the first flush to fail.",
+                badContext.segmentAggregator.flush(TIMEOUT),
+                ex -> ex instanceof BadOffsetException);
+        if (expectChecksumUsed) {
+            AssertExtensions.assertFutureThrows(
+                    "Expected reconciliation to fail.",
+                    badContext.segmentAggregator.flush(TIMEOUT),
+                    ex -> ex instanceof ReconciliationFailureException);
+        } else {
+            badContext.segmentAggregator.flush(TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            verifySegmentData(writtenData, badContext);
+        }
+    }
+
+    /**
+     * Tests that the flush checksum begins a new range with the first flush after the SegmentAggregator has been notified
+     * of a DataSource truncation.
+     */
+    @Test
+    public void testRestartFlushChecksum() throws Exception {
+        final WriterConfig config = createChecksumConfig(WriterConfig.MAX_FLUSH_CHECKSUM_RANGE_BYTES.getDefaultValue());
+        final int appendCount = 20;
+
+        @Cleanup
+        TestContext context = new TestContext(config);
+        context.storage.create(SEGMENT_NAME, TIMEOUT).join();
+        context.segmentAggregator.initialize(TIMEOUT).join();
+        for (int i = 0; i < appendCount; i++) {
+            context.segmentAggregator.add(generateAppendAndUpdateMetadata(i, SEGMENT_ID, context));
+        }
+
+        flushFully(context.segmentAggregator, context.segmentAggregator.getMetadata().getLength(), config, context);
+        checkFlushChecksumRange(0, context);
+
+        // Notify the SegmentAggregator, but fail the next flush. The new range must begin with the next successful one.
+        context.segmentAggregator.restartFlushChecksum();
+        for (int i = 0; i < appendCount; i++) {
+            context.segmentAggregator.add(generateAppendAndUpdateMetadata(i, SEGMENT_ID, context));
+        }
+
+        long restartOffset = context.segmentAggregator.getMetadata().getStorageLength();
+        context.storage.setWriteSyncErrorInjector(new ErrorInjector<>(count -> count == 0, IntentionalException::new));
+        context.increaseTime(config.getFlushThresholdTime().toMillis() + 1);
+        AssertExtensions.assertFutureThrows(
+                "Expected the flush to fail.",
+                context.segmentAggregator.flush(TIMEOUT),
+                ex -> ex instanceof IntentionalException);
+        flushFully(context.segmentAggregator, context.segmentAggregator.getMetadata().getLength(), config, context);
+        checkFlushChecksumRange(restartOffset, context);
+    }
+
+    /**
+     * Tests that the flush checksum is only persisted once enough data has been flushed since the last time, unless there
+     * are other Attributes to persist with the flush.
+     */
+    @Test
+    public void testFlushChecksumPersistInterval() throws Exception {
+        final int appendLength = 100;
+        final int appendsPerInterval = 3;
+        final WriterConfig config = createChecksumConfig(WriterConfig.MAX_FLUSH_CHECKSUM_RANGE_BYTES.getDefaultValue(),
+                appendsPerInterval * appendLength);
+
+        @Cleanup
+        TestContext context = new TestContext(config);
+        context.storage.create(SEGMENT_NAME, TIMEOUT).join();
+        context.segmentAggregator.initialize(TIMEOUT).join();
+        long persistedEndOffset = 0;
+        for (int i = 1; i <= 2 * appendsPerInterval; i++) {
+            // Appends without any Attributes; each of them is flushed on its own.
+            UpdateableSegmentMetadata segmentMetadata = context.containerMetadata.getStreamSegmentMetadata(SEGMENT_ID);
+            StreamSegmentAppendOperation op = new StreamSegmentAppendOperation(SEGMENT_ID, new byte[appendLength], null);
+            op.setStreamSegmentOffset(segmentMetadata.getLength());
+            op.setSequenceNumber(context.containerMetadata.nextOperationSequenceNumber());
+            segmentMetadata.setLength(segmentMetadata.getLength() + appendLength);
+            context.dataSource.recordAppend(op);
+            context.segmentAggregator.add(new CachedStreamSegmentAppendOperation(op));
+            flushFully(context.segmentAggregator, segmentMetadata.getLength(), config, context);
+
+            if (i % appendsPerInterval == 0) {
+                persistedEndOffset = segmentMetadata.getStorageLength();
+            }
+
+            Long endOffset = context.dataSource.getPersistedAttributes(SEGMENT_ID).get(Attributes.FLUSH_CHECKSUM_END_OFFSET);
+            Assert.assertEquals("Unexpected persisted flush checksum end offset after append " + i,
+                    persistedEndOffset, endOffset == null ? 0 : (long) endOffset);
+        }
+
+        // A flush with Attributes always persists the checksum along with them.
+        context.segmentAggregator.add(generateAppendAndUpdateMetadata(0, SEGMENT_ID, context));
+        flushFully(context.segmentAggregator, context.segmentAggregator.getMetadata().getLength(), config, context);
+        checkFlushChecksumRange(0, context);
+    }
+
+    private void checkFlushChecksumRange(long expectedStartOffset, TestContext context) {
+        val attributes = context.dataSource.getPersistedAttributes(SEGMENT_ID);
+        Assert.assertEquals("Unexpected flush checksum start offset.", expectedStartOffset, (long) attributes.get(Attributes.FLUSH_CHECKSUM_START_OFFSET));
+        Assert.assertEquals("Unexpected flush checksum end offset.", context.segmentAggregator.getMetadata().getStorageLength(),
+                (long) attributes.get(Attributes.FLUSH_CHECKSUM_END_OFFSET));
+    }
+
     /**
      * Tests the ability of the SegmentAggregator to reconcile StreamSegmentSealOperations.
      */
@@ -2314,7 +2517,7 @@ public class SegmentAggregatorTests extends ThreadPooledTestSuite {
 
     private void getAppendData(StorageOperation operation, OutputStream stream, TestContext context) {
         Assert.assertTrue("Not an append operation: " + operation, operation instanceof CachedStreamSegmentAppendOperation);
-        InputStream result = context.dataSource.getAppendData(operation.getStreamSegmentId(), operation.getStreamSegmentOffset(), (int) operation.getLength());
+        InputStream result = context.dataSource.getAppendData(operation.getStreamSegmentId(), operation.getStreamSegmentOffset(), (int) operation.getLength()).getData();
         try {
             IOUtils.copy(result, stream);
         } catch (IOException ex) {
@@ -2426,6 +2629,84 @@ public class SegmentAggregatorTests extends ThreadPooledTestSuite {
         return op;
     }
 
+    /**
+     * Adds a number of appends to the TestContext's SegmentAggregator, as well as to another SegmentAggregator for the same
+     * Segment (as if it belonged to a concurrent instance of the same Container), and then has the latter flush them all
+     * to Storage.
+     */
+    private byte[] writeWithConcurrentAggregator(WriterConfig config, TestContext context) throws Exception {
+        return writeWithConcurrentAggregator(config, context, 0);
+    }
+
+    /**
+     * Writes data to the Segment using a different SegmentAggregator than the one in the given TestContext, while also
+     * adding the same operations to the latter (which is initialized after the first precedingAppendCount appends have
+     * been written to Storage).
+     */
+    private byte[] writeWithConcurrentAggregator(WriterConfig config, TestContext context, int precedingAppendCount) throws Exception {
+        final int appendCount = 100;
+        context.storage.create(SEGMENT_NAME, TIMEOUT).join();
+
+        UpdateableSegmentMetadata otherMetadata = new MetadataBuilder(CONTAINER_ID).build().mapStreamSegmentId(SEGMENT_NAME, SEGMENT_ID);
+        otherMetadata.setStorageLength(0);
+        @Cleanup
+        SegmentAggregator otherAggregator = new SegmentAggregator(otherMetadata, context.dataSource, context.storage, config, context.timer, executorService());
+        otherAggregator.initialize(TIMEOUT).join();
+
+        @Cleanup
+        ByteArrayOutputStream writtenData = new ByteArrayOutputStream();
+        ArrayList<StorageOperation> operations = new ArrayList<>();
+        for (int i = 0; i < appendCount; i++) {
+            StorageOperation appendOp = generateAppendAndUpdateMetadata(i, SEGMENT_ID, context);
+            operations.add(appendOp);
+            getAppendData(appendOp, writtenData, context);
+        }
+
+        otherMetadata.setLength(context.segmentAggregator.getMetadata().getLength());
+        for (int i = 0; i < precedingAppendCount; i++) {
+            otherAggregator.add(operations.get(i));
+        }
+
+        if (precedingAppendCount > 0) {
+            flushFully(otherAggregator, operations.get(precedingAppendCount - 1).getLastStreamSegmentOffset(), config, context);
+        }
+
+        context.segmentAggregator.initialize(TIMEOUT).join();
+        for (int i = 0; i < operations.size(); i++) {
+            context.segmentAggregator.add(operations.get(i));
+            if (i >= precedingAppendCount) {
+                otherAggregator.add(operations.get(i));
+            }
+        }
+
+        flushFully(otherAggregator, otherMetadata.getLength(), config, context);
+        return writtenData.toByteArray();
+    }
+
+    private void flushFully(SegmentAggregator aggregator, long length, WriterConfig config, TestContext context) throws Exception {
+        while (aggregator.getMetadata().getStorageLength() < length) {
+            context.increaseTime(config.getFlushThresholdTime().toMillis() + 1);
+            aggregator.flush(TIMEOUT).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private WriterConfig createChecksumConfig(long maxChecksumRangeBytes) {
+        return createChecksumConfig(maxChecksumRangeBytes, 0);
+    }
+
+    private WriterConfig createChecksumConfig(long maxChecksumRangeBytes, long persistIntervalBytes) {
+        return WriterConfig
+                .builder()
+                .with(WriterConfig.FLUSH_THRESHOLD_BYTES, 100)
+                .with(WriterConfig.FLUSH_THRESHOLD_MILLIS, 1000L)
+                .with(WriterConfig.MAX_FLUSH_SIZE_BYTES, 150)
+                .with(WriterConfig.MIN_READ_TIMEOUT_MILLIS, 10L)
+                .with(WriterConfig.ENABLE_FLUSH_CHECKSUMS, true)
+                .with(WriterConfig.MAX_FLUSH_CHECKSUM_RANGE_BYTES, maxChecksumRangeBytes)
+                .with(WriterConfig.FLUSH_CHECKSUM_PERSIST_INTERVAL_BYTES, persistIntervalBytes)
+                .build();
+    }
+
     private void flushAllSegments(TestContext context) throws Exception {
         // Flush all segments in the TestContext, as long as any of them still has something to flush and is able
         // to flush anything.
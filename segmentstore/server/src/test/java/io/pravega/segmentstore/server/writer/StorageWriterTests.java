@@ -10,6 +10,7 @@
 package io.pravega.segmentstore.server.writer;
 
 import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.segmentstore.contracts.AttributeUpdate;
 import io.pravega.segmentstore.contracts.AttributeUpdateType;
 import io.pravega.segmentstore.contracts.Attributes;
@@ -44,6 +45,7 @@ import io.pravega.shared.segment.StreamSegmentNameUtils;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.ErrorInjector;
 import io.pravega.test.common.IntentionalException;
+import io.pravega.test.common.TestUtils;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -612,6 +614,127 @@ public class StorageWriterTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests that the StorageWriter does not exceed the configured number of concurrent flushes.
+     */
+    @Test
+    public void testMaxConcurrentFlushes() throws Exception {
+        final int maxConcurrentFlushes = 2;
+        final WriterConfig config = WriterConfig.builder()
+                                                .with(WriterConfig.FLUSH_THRESHOLD_BYTES, 1000)
+                                                .with(WriterConfig.FLUSH_THRESHOLD_MILLIS, 1000L)
+                                                .with(WriterConfig.MIN_READ_TIMEOUT_MILLIS, 10L)
+                                                .with(WriterConfig.MAX_READ_TIMEOUT_MILLIS, 250L)
+                                                .with(WriterConfig.MAX_ITEMS_TO_READ_AT_ONCE, 100)
+                                                .with(WriterConfig.ERROR_SLEEP_MILLIS, 0L)
+                                                .with(WriterConfig.MAX_CONCURRENT_FLUSHES, maxConcurrentFlushes) // This differs from DEFAULT_CONFIG.
+                                                .build();
+        @Cleanup
+        TestContext context = new TestContext(config);
+
+        // Slow down every write so that concurrent flushes have a chance to overlap.
+        val inFlightWrites = new AtomicInteger();
+        val maxInFlightWrites = new AtomicInteger();
+        context.storage.setWriteInterceptor((segmentName, offset, data, length, wrappedStorage) -> {
+            maxInFlightWrites.accumulateAndGet(inFlightWrites.incrementAndGet(), Math::max);
+            return Futures.delayedFuture(Duration.ofMillis(1), executorService())
+                          .thenRun(inFlightWrites::decrementAndGet);
+        });
+
+        testWriter(context);
+        AssertExtensions.assertGreaterThan("Expected at least one write.", 0, maxInFlightWrites.get());
+        AssertExtensions.assertLessThanOrEqual("Too many concurrent flushes.", maxConcurrentFlushes, maxInFlightWrites.get());
+    }
+
+    /**
+     * Tests that the StorageWriter acknowledges operations as soon as the flushes holding back the truncation complete,
+     * without waiting for the other (slower) flushes in the same iteration.
+     */
+    @Test
+    public void testAcknowledgeBeforeSlowFlush() throws Exception {
+        final int appendsPerSegment = 30;
+        @Cleanup
+        TestContext context = new TestContext(DEFAULT_CONFIG);
+        ArrayList<Long> segmentIds = createSegments(context);
+        UpdateableSegmentMetadata fastSegment = context.metadata.getStreamSegmentMetadata(segmentIds.get(0));
+        UpdateableSegmentMetadata slowSegment = context.metadata.getStreamSegmentMetadata(segmentIds.get(1));
+
+        // Block all writes to the slow Segment until we say so.
+        val slowWriteStarted = new CompletableFuture<Void>();
+        val slowWriteReleased = new CompletableFuture<Void>();
+        context.storage.setWriteInterceptor((segmentName, offset, data, length, wrappedStorage) -> {
+            if (segmentName.equals(slowSegment.getName())) {
+                slowWriteStarted.complete(null);
+                return slowWriteReleased;
+            }
+
+            return null;
+        });
+
+        // Fill up the fast Segment, then add a Truncation Point, then fill up the slow Segment. Only the fast Segment's
+        // flush stands between the Writer and this Truncation Point.
+        HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
+        for (int i = 0; i < appendsPerSegment; i++) {
+            appendData(fastSegment, i, i, segmentContents, context);
+        }
+
+        long truncationPoint = context.dataSource.add(new MetadataCheckpointOperation());
+        for (int i = 0; i < appendsPerSegment; i++) {
+            appendData(slowSegment, i, i, segmentContents, context);
+        }
+
+        context.writer.startAsync();
+        slowWriteStarted.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        TestUtils.await(() -> !context.metadata.isValidTruncationPoint(truncationPoint), 10, TIMEOUT.toMillis());
+        Assert.assertFalse("Not expecting the slow Segment to have been flushed yet.", slowWriteReleased.isDone());
+
+        // Unblock the slow Segment and wait for everything to be acknowledged.
+        slowWriteReleased.complete(null);
+        metadataCheckpoint(context);
+        context.dataSource.waitFullyAcked().get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        for (val e : segmentContents.entrySet()) {
+            SegmentMetadata sm = context.metadata.getStreamSegmentMetadata(e.getKey());
+            Assert.assertEquals("Unexpected StorageLength for " + sm.getName(), e.getValue().size(), sm.getStorageLength());
+        }
+    }
+
+    /**
+     * Tests that, with adaptive flush thresholds enabled, the StorageWriter wakes up and flushes a cold Segment based on
+     * that Segment's own (lower) time threshold instead of the static one from the config.
+     */
+    @Test
+    public void testAdaptiveFlushThresholds() throws Exception {
+        final long flushThresholdMillis = 2000;
+        final WriterConfig config = WriterConfig.builder()
+                                                .with(WriterConfig.FLUSH_THRESHOLD_BYTES, 100000)
+                                                .with(WriterConfig.FLUSH_THRESHOLD_MILLIS, flushThresholdMillis)
+                                                .with(WriterConfig.MIN_READ_TIMEOUT_MILLIS, 10L)
+                                                .with(WriterConfig.MAX_READ_TIMEOUT_MILLIS, flushThresholdMillis)
+                                                .with(WriterConfig.MAX_ITEMS_TO_READ_AT_ONCE, 100)
+                                                .with(WriterConfig.ERROR_SLEEP_MILLIS, 0L)
+                                                .with(WriterConfig.ENABLE_ADAPTIVE_FLUSH_THRESHOLDS, true)
+                                                .with(WriterConfig.MIN_FLUSH_THRESHOLD_MILLIS, 10L)
+                                                .build();
+        @Cleanup
+        TestContext context = new TestContext(config);
+        context.writer.startAsync();
+        ArrayList<Long> segmentIds = createSegments(context);
+        UpdateableSegmentMetadata segmentMetadata = context.metadata.getStreamSegmentMetadata(segmentIds.get(0));
+        HashMap<Long, ByteArrayOutputStream> segmentContents = new HashMap<>();
+
+        // The first flush can only be triggered by the static time threshold, since nothing is known about the Segment yet.
+        appendData(segmentMetadata, 0, 0, segmentContents, context);
+        TestUtils.await(() -> segmentMetadata.getStorageLength() == segmentMetadata.getLength(), 10, TIMEOUT.toMillis());
+
+        // The Segment is now known to be cold, so its time threshold should be much lower. The read timeout is bounded
+        // by the static threshold, so if the Writer did not use the Segment's own threshold, this would take much longer.
+        appendData(segmentMetadata, 1, 1, segmentContents, context);
+        long startTime = System.nanoTime();
+        TestUtils.await(() -> segmentMetadata.getStorageLength() == segmentMetadata.getLength(), 10, TIMEOUT.toMillis());
+        long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+        AssertExtensions.assertLessThan("Cold Segment not flushed using its own time threshold.", flushThresholdMillis / 2, elapsedMillis);
+    }
+
     /**
      * Tests the writer as it is setup in the given context.
      * General test flow:
@@ -10,12 +10,14 @@
 package io.pravega.segmentstore.server.writer;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Iterators;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.function.Callbacks;
 import io.pravega.common.util.SequencedItemList;
 import io.pravega.segmentstore.contracts.Attributes;
+import io.pravega.segmentstore.contracts.ReadResultEntryContents;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.server.SegmentMetadata;
@@ -26,11 +28,9 @@ import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
 import io.pravega.segmentstore.storage.LogAddress;
 import io.pravega.test.common.ErrorInjector;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.io.SequenceInputStream;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -279,6 +279,23 @@ class TestWriterDataSource implements WriterDataSource, AutoCloseable {
                 }, this.executor));
     }
 
+    @Override
+    public CompletableFuture<Map<UUID, Long>> getAttributes(long streamSegmentId, Collection<UUID> attributeIds, Duration timeout) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        return CompletableFuture.supplyAsync(() -> {
+            synchronized (this.lock) {
+                Map<UUID, Long> segmentAttributes = this.attributeData.getOrDefault(streamSegmentId, Collections.emptyMap());
+                if (segmentAttributes == null) {
+                    throw new CompletionException(new StreamSegmentNotExistsException(Long.toString(streamSegmentId)));
+                }
+
+                Map<UUID, Long> result = new HashMap<>();
+                attributeIds.stream().filter(segmentAttributes::containsKey).forEach(id -> result.put(id, segmentAttributes.get(id)));
+                return result;
+            }
+        }, this.executor);
+    }
+
     @Override
     public CompletableFuture<Void> sealAttributes(long streamSegmentId, Duration timeout) {
         return CompletableFuture.runAsync(() -> {
@@ -330,7 +347,7 @@ class TestWriterDataSource implements WriterDataSource, AutoCloseable {
     }
 
     @Override
-    public InputStream getAppendData(long streamSegmentId, long startOffset, int length) {
+    public ReadResultEntryContents getAppendData(long streamSegmentId, long startOffset, int length) {
         Runnable callback;
         AppendData ad;
         synchronized (this.lock) {
@@ -553,8 +570,8 @@ class TestWriterDataSource implements WriterDataSource, AutoCloseable {
             this.data.put(segmentOffset, data);
         }
 
-        synchronized InputStream read(final long segmentOffset, final int length) {
-            ArrayList<InputStream> result = new ArrayList<>();
+        synchronized ReadResultEntryContents read(final long segmentOffset, final int length) {
+            ArrayList<ByteBuf> result = new ArrayList<>();
 
             // Locate first entry.
             long currentOffset = segmentOffset;
@@ -569,7 +586,7 @@ class TestWriterDataSource implements WriterDataSource, AutoCloseable {
             int remainingLength = length;
             while (entryData != null && remainingLength > 0) {
                 int entryLength = Math.min(remainingLength, entryData.length - entryOffset);
-                result.add(new ByteArrayInputStream(entryData, entryOffset, entryLength));
+                result.add(Unpooled.wrappedBuffer(entryData, entryOffset, entryLength));
                 currentOffset += entryLength;
                 remainingLength -= entryLength;
                 entryOffset = 0;
@@ -580,7 +597,7 @@ class TestWriterDataSource implements WriterDataSource, AutoCloseable {
                 return null;
             }
 
-            return new SequenceInputStream(Iterators.asEnumeration(result.iterator()));
+            return new ReadResultEntryContents(Unpooled.wrappedBuffer(result.size(), result.toArray(new ByteBuf[0])));
         }
     }
 }
@@ -37,6 +37,9 @@ public class BookKeeperConfig {
     public static final Property<Integer> BK_WRITE_TIMEOUT = Property.named("bkWriteTimeoutMillis", 5000);
     public static final Property<Integer> BK_READ_TIMEOUT = Property.named("readTimeoutMillis", 5000);
     public static final Property<Integer> BK_LEDGER_MAX_SIZE = Property.named("bkLedgerMaxSize", 1024 * 1024 * 1024);
+    public static final Property<Integer> BK_STRIPE_COUNT = Property.named("bkStripeCount", 1);
+    public static final Property<Integer> BK_READ_BATCH_SIZE = Property.named("bkReadBatchSize", 16);
+    public static final Property<Integer> BK_READ_AHEAD_COUNT = Property.named("bkReadAheadCount", 4);
     public static final Property<String> BK_PASSWORD = Property.named("bkPass", "");
     public static final Property<String> BK_LEDGER_PATH = Property.named("bkLedgerPath", "");
     public static final Property<Boolean> BK_TLS_ENABLED = Property.named("tlsEnabled", false);
@@ -133,6 +136,26 @@ public class BookKeeperConfig {
      */
     @Getter
     private final int bkLedgerMaxSize;
+
+    /**
+     * The number of Ledgers to write to concurrently (in round-robin fashion). If 1, each log writes to a single Ledger
+     * at any given time. The maximum Ledger size applies to all these Ledgers combined.
+     */
+    @Getter
+    private final int bkStripeCount;
+
+    /**
+     * The number of entries to request from BookKeeper in a single read call (while reading the log).
+     */
+    @Getter
+    private final int bkReadBatchSize;
+
+    /**
+     * The maximum number of read calls (batches) that can be outstanding or buffered for a Ledger at any given time while
+     * reading the log. Together with bkReadBatchSize, this bounds the number of entries held in memory for each Ledger.
+     */
+    @Getter
+    private final int bkReadAheadCount;
     private final byte[] bkPassword;
 
     @Getter
@@ -177,6 +200,24 @@ public class BookKeeperConfig {
         this.bkWriteTimeoutMillis = properties.getInt(BK_WRITE_TIMEOUT);
         this.bkReadTimeoutMillis = properties.getInt(BK_READ_TIMEOUT);
         this.bkLedgerMaxSize = properties.getInt(BK_LEDGER_MAX_SIZE);
+        this.bkStripeCount = properties.getInt(BK_STRIPE_COUNT);
+        if (this.bkStripeCount <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BK_STRIPE_COUNT, this.bkStripeCount));
+        }
+
+        this.bkReadBatchSize = properties.getInt(BK_READ_BATCH_SIZE);
+        if (this.bkReadBatchSize <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BK_READ_BATCH_SIZE, this.bkReadBatchSize));
+        }
+
+        this.bkReadAheadCount = properties.getInt(BK_READ_AHEAD_COUNT);
+        if (this.bkReadAheadCount <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    BK_READ_AHEAD_COUNT, this.bkReadAheadCount));
+        }
+
         this.bkPassword = properties.get(BK_PASSWORD).getBytes(Charset.forName("UTF-8"));
         this.isTLSEnabled = properties.getBoolean(BK_TLS_ENABLED);
         this.tlsTrustStore = properties.get(TLS_TRUST_STORE_PATH);
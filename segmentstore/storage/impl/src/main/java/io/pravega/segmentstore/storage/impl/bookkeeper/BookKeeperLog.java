@@ -11,6 +11,8 @@ package io.pravega.segmentstore.storage.impl.bookkeeper;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.ObjectClosedException;
@@ -31,7 +33,9 @@ import io.pravega.segmentstore.storage.QueueStats;
 import io.pravega.segmentstore.storage.WriteFailureException;
 import io.pravega.segmentstore.storage.WriteTooLongException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +73,15 @@ import org.apache.zookeeper.data.Stat;
  * * This is done according to the protocol described here: https://bookkeeper.apache.org/docs/r4.4.0/bookkeeperLedgers2Logs.html
  * * See JavaDocs for the initialize() method (Open-Fence) and the rollover() method (for Rollovers) for details.
  * <p>
+ * Striping:
+ * * If configured with a stripe count greater than 1, the log writes to multiple Ledgers (a stripe set) at once, in
+ * round-robin fashion. The Ledgers in a stripe set share the same sequence in the Log Metadata and are created, rolled
+ * over, fenced and deleted together. Each entry is prefixed by its sequence within the stripe set.
+ * * Writes may be acknowledged out of order by the Ledgers in a stripe set, but they are only completed in order. If any
+ * write to a stripe set fails, the whole stripe set is rolled over and all writes that are not part of the contiguous
+ * prefix persisted in it are retried in the next one.
+ * * See the WriteLedger class for more details.
+ * <p>
  * Reading the log
  * * Reading the log can only be done from the beginning. There is no random-access available.
  * * The Log Reader is designed to work well immediately after recovery. Due to BookKeeper behavior, reading while writing
@@ -170,10 +183,12 @@ class BookKeeperLog implements DurableDataLog {
             this.writes.close().forEach(w -> w.fail(new CancellationException("BookKeeperLog has been closed."), true));
 
             if (writeLedger != null) {
-                try {
-                    Ledgers.close(writeLedger.ledger);
-                } catch (DurableDataLogException bkEx) {
-                    log.error("{}: Unable to close LedgerHandle for Ledger {}.", this.traceObjectId, writeLedger.ledger.getId(), bkEx);
+                for (LedgerHandle ledger : writeLedger.getStripes()) {
+                    try {
+                        Ledgers.close(ledger);
+                    } catch (DurableDataLogException bkEx) {
+                        log.error("{}: Unable to close LedgerHandle for Ledger {}.", this.traceObjectId, ledger.getId(), bkEx);
+                    }
                 }
             }
 
@@ -225,15 +240,15 @@ class BookKeeperLog implements DurableDataLog {
                 oldMetadata = oldMetadata.updateLedgerStatus(emptyLedgerIds);
             }
 
-            // Create new ledger.
-            LedgerHandle newLedger = Ledgers.create(this.bookKeeper, this.config);
-            log.info("{}: Created Ledger {}.", this.traceObjectId, newLedger.getId());
+            // Create new ledger (or stripe set).
+            List<LedgerHandle> newLedgers = createLedgers();
+            log.info("{}: Created Ledger(s) {}.", this.traceObjectId, getLedgerIds(newLedgers));
 
             // Update Metadata with new Ledger and persist to ZooKeeper.
-            newMetadata = updateMetadata(oldMetadata, newLedger, true);
-            LedgerMetadata ledgerMetadata = newMetadata.getLedger(newLedger.getId());
+            newMetadata = updateMetadata(oldMetadata, newLedgers, true);
+            LedgerMetadata ledgerMetadata = newMetadata.getLedger(newLedgers.get(0).getId());
             assert ledgerMetadata != null : "cannot find newly added ledger metadata";
-            this.writeLedger = new WriteLedger(newLedger, ledgerMetadata);
+            this.writeLedger = WriteLedger.forStripeSet(newLedgers, ledgerMetadata);
             this.logMetadata = newMetadata;
             ledgersToDelete = getLedgerIdsToDelete(oldMetadata, newMetadata);
         }
@@ -331,7 +346,9 @@ class BookKeeperLog implements DurableDataLog {
 
     @Override
     public int getMaxAppendLength() {
-        return BookKeeperConfig.MAX_APPEND_LENGTH;
+        return this.config.getBkStripeCount() > 1
+                ? BookKeeperConfig.MAX_APPEND_LENGTH - Ledgers.STRIPED_ENTRY_HEADER_LENGTH
+                : BookKeeperConfig.MAX_APPEND_LENGTH;
     }
 
     @Override
@@ -358,7 +375,7 @@ class BookKeeperLog implements DurableDataLog {
             return;
         }
 
-        if (getWriteLedger().ledger.isClosed()) {
+        if (getWriteLedger().isClosed()) {
             // Current ledger is closed. Execute the rollover processor to safely create a new ledger. This will reinvoke
             // the write processor upon finish, so the writes can be reattempted.
             this.rolloverProcessor.runAsync();
@@ -415,7 +432,7 @@ class BookKeeperLog implements DurableDataLog {
      */
     private List<Write> getWritesToExecute() {
         // Calculate how much estimated space there is in the current ledger.
-        final long maxTotalSize = this.config.getBkLedgerMaxSize() - getWriteLedger().ledger.getLength();
+        final long maxTotalSize = this.config.getBkLedgerMaxSize() - getWriteLedger().getLength();
 
         // Get the writes to execute from the queue.
         List<Write> toExecute = this.writes.getWritesToExecute(maxTotalSize);
@@ -448,14 +465,23 @@ class BookKeeperLog implements DurableDataLog {
                 if (attemptCount > this.config.getMaxWriteAttempts()) {
                     // Retried too many times.
                     throw new RetriesExhaustedException(w.getFailureCause());
+                } else if (attemptCount == 1) {
+                    // First attempt: record how long this write has been waiting in the queue.
+                    this.metrics.writeQueueWaitTime(this.writes.getElapsedNanos(w));
                 }
 
                 // Invoke the BookKeeper write.
-                w.getWriteLedger().ledger.asyncAddEntry(w.data.array(), w.data.arrayOffset(), w.data.getLength(), this::addCallback, w);
+                WriteLedger writeLedger = w.getWriteLedger();
+                if (writeLedger.isStriped()) {
+                    addStripedEntry(w, writeLedger);
+                } else {
+                    writeLedger.ledger.asyncAddEntry(w.data.array(), w.data.arrayOffset(), w.data.getLength(), this::addCallback, w);
+                }
             } catch (Throwable ex) {
                 // Synchronous failure (or RetriesExhausted). Fail current write.
                 boolean isFinal = !isRetryable(ex);
                 w.fail(ex, isFinal);
+                failStripeSet(w.getWriteLedger());
 
                 // And fail all remaining writes as well.
                 for (int j = i + 1; j < toExecute.size(); j++) {
@@ -470,6 +496,27 @@ class BookKeeperLog implements DurableDataLog {
         return true;
     }
 
+    /**
+     * Assigns the given Write the next sequence in the given stripe set and writes it (prefixed by that sequence) to the
+     * appropriate Ledger in the stripe set.
+     *
+     * @param w           The Write to execute.
+     * @param writeLedger The stripe set to write to.
+     */
+    private void addStripedEntry(Write w, WriteLedger writeLedger) {
+        long sequence = writeLedger.assignSequence();
+        w.setEntryId(sequence);
+        ByteBuf entry = Unpooled.wrappedBuffer(
+                Unpooled.copyLong(sequence),
+                Unpooled.wrappedBuffer(w.data.array(), w.data.arrayOffset(), w.data.getLength()));
+        try {
+            writeLedger.getStripe(sequence).asyncAddEntry(entry, this::addCallback, w);
+        } finally {
+            // BookKeeper retains its own reference to the entry for as long as it needs it.
+            entry.release();
+        }
+    }
+
     /**
      * Checks each Write in the given list if it is pointing to a closed WriteLedger. If so, it verifies if the write has
      * actually been committed (in case we hadn't been able to determine its outcome) and updates the Ledger, if needed.
@@ -479,7 +526,7 @@ class BookKeeperLog implements DurableDataLog {
      * changed).
      */
     private boolean handleClosedLedgers(List<Write> writes) {
-        if (writes.size() == 0 || !writes.get(0).getWriteLedger().ledger.isClosed()) {
+        if (writes.size() == 0 || !writes.get(0).getWriteLedger().isClosed()) {
             // Nothing to do. We only need to check the first write since, if a Write failed with LedgerClosed, then the
             // first write must have failed for that reason (a Ledger is closed implies all ledgers before it are closed too).
             return false;
@@ -490,18 +537,17 @@ class BookKeeperLog implements DurableDataLog {
         Map<Long, Long> lastAddsConfirmed = new HashMap<>();
         boolean anythingChanged = false;
         for (Write w : writes) {
-            if (w.isDone() || !w.getWriteLedger().ledger.isClosed()) {
+            if (w.isDone() || !w.getWriteLedger().isClosed()) {
                 continue;
             }
 
             // Write likely failed because of LedgerClosedException. Need to check the LastAddConfirmed for each
             // involved Ledger and see if the write actually made it through or not.
-            long lac = fetchLastAddConfirmed(w.getWriteLedger(), lastAddsConfirmed);
-            if (w.getEntryId() >= 0 && w.getEntryId() <= lac) {
+            if (isPersisted(w, lastAddsConfirmed)) {
                 // Write was actually successful. Complete it and move on.
                 completeWrite(w);
                 anythingChanged = true;
-            } else if (currentLedger.ledger.getId() != w.getWriteLedger().ledger.getId()) {
+            } else if (currentLedger.metadata.getLedgerId() != w.getWriteLedger().metadata.getLedgerId()) {
                 // Current ledger has changed; attempt to write to the new one.
                 w.setWriteLedger(currentLedger);
                 anythingChanged = true;
@@ -513,22 +559,44 @@ class BookKeeperLog implements DurableDataLog {
     }
 
     /**
-     * Reliably gets the LastAddConfirmed for the WriteLedger
+     * Determines whether the given Write (which points to a closed WriteLedger) has been persisted. For striped Ledgers,
+     * a Write is only considered persisted if all the Writes before it in the same stripe set have been persisted too.
+     *
+     * @param w                 The Write to check.
+     * @param lastAddsConfirmed A Map of LedgerIds to LastAddConfirmed for each known ledger id. This is used as a cache
+     *                          and will be updated if necessary.
+     * @return True if the Write has been persisted, false otherwise.
+     */
+    private boolean isPersisted(Write w, Map<Long, Long> lastAddsConfirmed) {
+        WriteLedger writeLedger = w.getWriteLedger();
+        if (w.getEntryId() < 0) {
+            // Never made it to BookKeeper.
+            return false;
+        } else if (writeLedger.isStriped()) {
+            return w.getEntryId() < writeLedger.getPersistedSequence(l -> fetchLastAddConfirmed(l, writeLedger.isRolledOver(), lastAddsConfirmed));
+        } else {
+            return w.getEntryId() <= fetchLastAddConfirmed(writeLedger.ledger, writeLedger.isRolledOver(), lastAddsConfirmed);
+        }
+    }
+
+    /**
+     * Reliably gets the LastAddConfirmed for a Ledger.
      *
-     * @param writeLedger       The WriteLedger to query.
+     * @param ledger            The Ledger to query.
+     * @param rolledOver        Whether the Ledger has been closed as part of a rollover.
      * @param lastAddsConfirmed A Map of LedgerIds to LastAddConfirmed for each known ledger id. This is used as a cache
      *                          and will be updated if necessary.
-     * @return The LastAddConfirmed for the WriteLedger.
+     * @return The LastAddConfirmed for the Ledger.
      */
     @SneakyThrows(DurableDataLogException.class)
-    private long fetchLastAddConfirmed(WriteLedger writeLedger, Map<Long, Long> lastAddsConfirmed) {
-        long ledgerId = writeLedger.ledger.getId();
+    private long fetchLastAddConfirmed(LedgerHandle ledger, boolean rolledOver, Map<Long, Long> lastAddsConfirmed) {
+        long ledgerId = ledger.getId();
         long lac = lastAddsConfirmed.getOrDefault(ledgerId, -1L);
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "fetchLastAddConfirmed", ledgerId, lac);
         if (lac < 0) {
-            if (writeLedger.isRolledOver()) {
+            if (rolledOver) {
                 // This close was not due to failure, rather a rollover - hence lastAddConfirmed can be relied upon.
-                lac = writeLedger.ledger.getLastAddConfirmed();
+                lac = ledger.getLastAddConfirmed();
             } else {
                 // Ledger got closed. This could be due to some external factor, and lastAddConfirmed can't be relied upon.
                 // We need to re-open the ledger to get fresh data.
@@ -553,24 +621,40 @@ class BookKeeperLog implements DurableDataLog {
      */
     private void addCallback(int rc, LedgerHandle handle, long entryId, Object ctx) {
         Write write = (Write) ctx;
+        WriteLedger writeLedger = write.getWriteLedger();
         try {
-            assert handle.getId() == write.getWriteLedger().ledger.getId()
-                    : "Handle.Id mismatch: " + write.getWriteLedger().ledger.getId() + " vs " + handle.getId();
-            write.setEntryId(entryId);
+            if (writeLedger.isStriped()) {
+                // The Entry Id has already been set to the sequence of this write within the stripe set.
+                assert handle.getId() == writeLedger.getStripe(write.getEntryId()).getId()
+                        : "Handle.Id mismatch: " + writeLedger.getStripe(write.getEntryId()).getId() + " vs " + handle.getId();
+            } else {
+                assert handle.getId() == writeLedger.ledger.getId()
+                        : "Handle.Id mismatch: " + writeLedger.ledger.getId() + " vs " + handle.getId();
+                write.setEntryId(entryId);
+            }
+
             if (rc == 0) {
                 // Successful write. If we get this, then by virtue of how the Writes are executed (always wait for writes
                 // in previous ledgers to complete before initiating, and BookKeeper guaranteeing that all writes in this
-                // ledger prior to this writes are done), it is safe to complete the callback future now.
-                completeWrite(write);
+                // ledger prior to this writes are done), it is safe to complete the callback future now. For striped
+                // Ledgers, we also need to wait for all prior writes in the other Ledgers in the stripe set.
+                if (writeLedger.isStriped()) {
+                    acknowledgeStripedWrite(write);
+                } else {
+                    completeWrite(write);
+                }
+
                 return;
             }
 
             // Convert the response code into an Exception. Eventually this will be picked up by the WriteProcessor which
             // will retry it or fail it permanently (this includes exceptions from rollovers).
             handleWriteException(rc, write);
+            failStripeSet(writeLedger);
         } catch (Throwable ex) {
             // Most likely a bug in our code. We still need to fail the write so we don't leave it hanging.
             write.fail(ex, !isRetryable(ex));
+            failStripeSet(writeLedger);
         } finally {
             // Process all the appends in the queue after any change. This finalizes the completion, does retries (if needed)
             // and triggers more appends.
@@ -584,6 +668,36 @@ class BookKeeperLog implements DurableDataLog {
         }
     }
 
+    /**
+     * Records the fact that the given Write has been acknowledged by its Ledger in a stripe set and completes all Writes
+     * in the stripe set that have been acknowledged without any gaps.
+     *
+     * @param write The Write that was acknowledged.
+     */
+    private void acknowledgeStripedWrite(Write write) {
+        List<Write> toComplete = write.getWriteLedger().acknowledge(write);
+        if (toComplete == null) {
+            // The stripe set failed in the meantime. The outcome of this write will be determined when reconciling the
+            // writes to that stripe set (see handleClosedLedgers).
+            write.fail(new WriteFailureException("A previous write to the same stripe set failed."), false);
+        } else {
+            toComplete.forEach(this::completeWrite);
+        }
+    }
+
+    /**
+     * If the given WriteLedger is a stripe set, marks it as failed (which will cause it to be rolled over) and releases
+     * all the Writes that have been acknowledged by it but which could not be completed yet. The outcome of these Writes
+     * will be determined when reconciling the writes to that stripe set (see handleClosedLedgers).
+     *
+     * @param writeLedger The WriteLedger to fail.
+     */
+    private void failStripeSet(WriteLedger writeLedger) {
+        if (writeLedger.isStriped()) {
+            writeLedger.fail().forEach(w -> w.fail(new WriteFailureException("A previous write to the same stripe set failed."), false));
+        }
+    }
+
     /**
      * Completes the given Write and makes any necessary internal updates.
      *
@@ -730,7 +844,7 @@ class BookKeeperLog implements DurableDataLog {
      * Updates the metadata and persists it as a result of adding a new Ledger.
      *
      * @param currentMetadata   The current metadata.
-     * @param newLedger         The newly added Ledger.
+     * @param newLedgers        The newly added Ledger (or stripe set).
      * @param clearEmptyLedgers If true, the new metadata will not not contain any pointers to empty Ledgers. Setting this
      *                          to true will not remove a pointer to the last few ledgers in the Log (controlled by
      *                          Ledgers.MIN_FENCE_LEDGER_COUNT), even if they are indeed empty (this is so we don't interfere
@@ -739,13 +853,14 @@ class BookKeeperLog implements DurableDataLog {
      * @return A new instance of the LogMetadata, which includes the new ledger.
      * @throws DurableDataLogException If an Exception occurred.
      */
-    private LogMetadata updateMetadata(LogMetadata currentMetadata, LedgerHandle newLedger, boolean clearEmptyLedgers) throws DurableDataLogException {
+    private LogMetadata updateMetadata(LogMetadata currentMetadata, List<LedgerHandle> newLedgers, boolean clearEmptyLedgers) throws DurableDataLogException {
         boolean create = currentMetadata == null;
+        List<Long> newLedgerIds = getLedgerIds(newLedgers);
         if (create) {
             // This is the first ledger ever in the metadata.
-            currentMetadata = new LogMetadata(newLedger.getId());
+            currentMetadata = new LogMetadata(newLedgerIds);
         } else {
-            currentMetadata = currentMetadata.addLedger(newLedger.getId());
+            currentMetadata = currentMetadata.addLedgers(newLedgerIds);
             if (clearEmptyLedgers) {
                 // Remove those ledgers from the metadata that are empty.
                 currentMetadata = currentMetadata.removeEmptyLedgers(Ledgers.MIN_FENCE_LEDGER_COUNT);
@@ -755,13 +870,7 @@ class BookKeeperLog implements DurableDataLog {
         try {
             persistMetadata(currentMetadata, create);
         } catch (DurableDataLogException ex) {
-            try {
-                Ledgers.delete(newLedger.getId(), this.bookKeeper);
-            } catch (Exception deleteEx) {
-                log.warn("{}: Unable to delete newly created ledger {}.", this.traceObjectId, newLedger.getId(), deleteEx);
-                ex.addSuppressed(deleteEx);
-            }
-
+            deleteLedgers(newLedgers, ex);
             throw ex;
         }
 
@@ -838,7 +947,7 @@ class BookKeeperLog implements DurableDataLog {
         }
 
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "rollover");
-        val l = getWriteLedger().ledger;
+        val l = getWriteLedger();
         if (!l.isClosed() && l.getLength() < this.config.getBkLedgerMaxSize()) {
             // Nothing to do. Trigger the write processor just in case this rollover was invoked because the write
             // processor got a pointer to a LedgerHandle that was just closed by a previous run of the rollover processor.
@@ -848,36 +957,39 @@ class BookKeeperLog implements DurableDataLog {
         }
 
         try {
-            // Create new ledger.
-            LedgerHandle newLedger = Ledgers.create(this.bookKeeper, this.config);
-            log.debug("{}: Rollover: created new ledger {}.", this.traceObjectId, newLedger.getId());
+            // Create new ledger (or stripe set).
+            List<LedgerHandle> newLedgers = createLedgers();
+            log.debug("{}: Rollover: created new ledger(s) {}.", this.traceObjectId, getLedgerIds(newLedgers));
 
             // Update the metadata.
             LogMetadata metadata = getLogMetadata();
-            metadata = updateMetadata(metadata, newLedger, false);
-            LedgerMetadata ledgerMetadata = metadata.getLedger(newLedger.getId());
+            metadata = updateMetadata(metadata, newLedgers, false);
+            LedgerMetadata ledgerMetadata = metadata.getLedger(newLedgers.get(0).getId());
             assert ledgerMetadata != null : "cannot find newly added ledger metadata";
             log.debug("{}: Rollover: updated metadata '{}.", this.traceObjectId, metadata);
 
             // Update pointers to the new ledger and metadata.
-            LedgerHandle oldLedger;
+            WriteLedger oldLedger;
             synchronized (this.lock) {
-                oldLedger = this.writeLedger.ledger;
+                oldLedger = this.writeLedger;
                 if (!oldLedger.isClosed()) {
                     // Only mark the old ledger as Rolled Over if it is still open. Otherwise it means it was closed
                     // because of some failure and should not be marked as such.
-                    this.writeLedger.setRolledOver(true);
+                    oldLedger.setRolledOver(true);
                 }
 
-                this.writeLedger = new WriteLedger(newLedger, ledgerMetadata);
+                this.writeLedger = WriteLedger.forStripeSet(newLedgers, ledgerMetadata);
                 this.logMetadata = metadata;
             }
 
-            // Close the old ledger. This must be done outside of the lock, otherwise the pending writes (and their callbacks)
-            // will be invoked within the lock, thus likely candidates for deadlocks.
-            Ledgers.close(oldLedger);
+            // Close the old ledger(s). This must be done outside of the lock, otherwise the pending writes (and their
+            // callbacks) will be invoked within the lock, thus likely candidates for deadlocks.
+            for (LedgerHandle ledger : oldLedger.getStripes()) {
+                Ledgers.close(ledger);
+            }
+
             log.info("{}: Rollover: swapped ledger and metadata pointers (Old = {}, New = {}) and closed old ledger.",
-                    this.traceObjectId, oldLedger.getId(), newLedger.getId());
+                    this.traceObjectId, getLedgerIds(oldLedger.getStripes()), getLedgerIds(newLedgers));
         } finally {
             // It's possible that we have writes in the queue that didn't get picked up because they exceeded the predicted
             // ledger length. Invoke the Write Processor to execute them.
@@ -886,6 +998,49 @@ class BookKeeperLog implements DurableDataLog {
         }
     }
 
+    /**
+     * Creates a new Ledger, or, if the log is striped, a new stripe set.
+     *
+     * @return A List of LedgerHandles for the new Ledgers, ordered by their Ledger Ids.
+     * @throws DurableDataLogException If an Exception occurred. In this case, any Ledgers that were created will be deleted.
+     */
+    private List<LedgerHandle> createLedgers() throws DurableDataLogException {
+        List<LedgerHandle> result = new ArrayList<>(this.config.getBkStripeCount());
+        try {
+            for (int i = 0; i < this.config.getBkStripeCount(); i++) {
+                result.add(Ledgers.create(this.bookKeeper, this.config));
+            }
+        } catch (DurableDataLogException ex) {
+            deleteLedgers(result, ex);
+            throw ex;
+        }
+
+        // LogMetadata requires its Ledgers to be sorted by their Ids.
+        result.sort(Comparator.comparingLong(LedgerHandle::getId));
+        return result;
+    }
+
+    /**
+     * Deletes the given newly created Ledgers after a failure.
+     *
+     * @param ledgers The Ledgers to delete.
+     * @param cause   The failure cause. Any exceptions encountered while deleting the Ledgers will be suppressed into it.
+     */
+    private void deleteLedgers(List<LedgerHandle> ledgers, Exception cause) {
+        for (LedgerHandle ledger : ledgers) {
+            try {
+                Ledgers.delete(ledger.getId(), this.bookKeeper);
+            } catch (Exception deleteEx) {
+                log.warn("{}: Unable to delete newly created ledger {}.", this.traceObjectId, ledger.getId(), deleteEx);
+                cause.addSuppressed(deleteEx);
+            }
+        }
+    }
+
+    private static List<Long> getLedgerIds(List<LedgerHandle> ledgers) {
+        return ledgers.stream().map(LedgerHandle::getId).collect(Collectors.toList());
+    }
+
     /**
      * Determines which Ledger Ids are safe to delete from BookKeeper.
      *
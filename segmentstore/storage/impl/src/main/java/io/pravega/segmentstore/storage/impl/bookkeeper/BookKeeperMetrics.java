@@ -9,6 +9,7 @@
  */
 package io.pravega.segmentstore.storage.impl.bookkeeper;
 
+import io.pravega.common.AbstractTimer;
 import io.pravega.segmentstore.storage.QueueStats;
 import io.pravega.shared.MetricsNames;
 import io.pravega.shared.metrics.DynamicLogger;
@@ -32,6 +33,7 @@ final class BookKeeperMetrics {
     final static class BookKeeperLog implements AutoCloseable {
         private final OpStatsLogger writeQueueSize;
         private final OpStatsLogger writeQueueFillRate;
+        private final OpStatsLogger writeQueueWaitTime;
         private final OpStatsLogger writeLatency;
         private final OpStatsLogger totalWriteLatency;
         private final String[] containerTag;
@@ -40,6 +42,7 @@ final class BookKeeperMetrics {
             this.containerTag = containerTag(containerId);
             this.writeQueueSize = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_SIZE, this.containerTag);
             this.writeQueueFillRate = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_FILL_RATE, this.containerTag);
+            this.writeQueueWaitTime = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_QUEUE_WAIT_TIME, this.containerTag);
             this.writeLatency = STATS_LOGGER.createStats(MetricsNames.BK_WRITE_LATENCY, this.containerTag);
             this.totalWriteLatency = STATS_LOGGER.createStats(MetricsNames.BK_TOTAL_WRITE_LATENCY, this.containerTag);
         }
@@ -48,6 +51,7 @@ final class BookKeeperMetrics {
         public void close() {
             this.writeQueueSize.close();
             this.writeQueueFillRate.close();
+            this.writeQueueWaitTime.close();
             this.writeLatency.close();
             this.totalWriteLatency.close();
         }
@@ -61,6 +65,10 @@ final class BookKeeperMetrics {
             this.writeQueueFillRate.reportSuccessValue((int) (qs.getAverageItemFillRatio() * 100));
         }
 
+        void writeQueueWaitTime(long elapsedNanos) {
+            this.writeQueueWaitTime.reportSuccessValue(elapsedNanos / AbstractTimer.NANOS_TO_MILLIS);
+        }
+
         void writeCompleted(Duration elapsed) {
             this.totalWriteLatency.reportSuccessEvent(elapsed);
         }
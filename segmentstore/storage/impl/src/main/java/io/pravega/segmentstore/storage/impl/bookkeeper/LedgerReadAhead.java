@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.bookkeeper;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.bookkeeper.client.BKException;
+import org.apache.bookkeeper.client.LedgerEntry;
+import org.apache.bookkeeper.client.LedgerHandle;
+
+/**
+ * Reads a range of entries from a Ledger by issuing multiple concurrent read calls (batches) ahead of the consumer and
+ * returns the entries in order.
+ * <p>
+ * At most BookKeeperConfig.getBkReadAheadCount() batches (each with at most BookKeeperConfig.getBkReadBatchSize() entries)
+ * are outstanding or buffered at any given time, in addition to the batch that is currently being consumed. A new batch
+ * is requested every time the consumer moves on to the next one.
+ * <p>
+ * Read failures are surfaced via nextElement(), which will throw a CompletionException wrapping the causing exception.
+ */
+@NotThreadSafe
+class LedgerReadAhead implements Enumeration<LedgerEntry> {
+    //region Members
+
+    private final LedgerHandle ledger;
+    private final long lastEntryId;
+    private final int batchSize;
+    private final int readAheadCount;
+    private final ArrayDeque<CompletableFuture<Enumeration<LedgerEntry>>> batches;
+    private Enumeration<LedgerEntry> currentBatch;
+    private long nextEntryId;
+    private long nextBatchEntryId;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LedgerReadAhead class and issues the first batches of reads.
+     *
+     * @param ledger       The Ledger to read from.
+     * @param firstEntryId The Id of the first entry to read.
+     * @param lastEntryId  The Id of the last entry to read (inclusive). This must not exceed the Ledger's LastAddConfirmed.
+     * @param config       Configuration to use.
+     */
+    LedgerReadAhead(LedgerHandle ledger, long firstEntryId, long lastEntryId, BookKeeperConfig config) {
+        Preconditions.checkArgument(firstEntryId >= 0, "firstEntryId must be a non-negative number.");
+        this.ledger = Preconditions.checkNotNull(ledger, "ledger");
+        this.lastEntryId = lastEntryId;
+        this.batchSize = config.getBkReadBatchSize();
+        this.readAheadCount = config.getBkReadAheadCount();
+        this.batches = new ArrayDeque<>(this.readAheadCount);
+        this.nextEntryId = firstEntryId;
+        this.nextBatchEntryId = firstEntryId;
+        fillReadAhead();
+    }
+
+    //endregion
+
+    //region Enumeration Implementation
+
+    @Override
+    public boolean hasMoreElements() {
+        return this.nextEntryId <= this.lastEntryId;
+    }
+
+    @Override
+    public LedgerEntry nextElement() {
+        if (!hasMoreElements()) {
+            throw new NoSuchElementException();
+        }
+
+        while (this.currentBatch == null || !this.currentBatch.hasMoreElements()) {
+            CompletableFuture<Enumeration<LedgerEntry>> nextBatch = this.batches.removeFirst();
+
+            // Replace the batch we just took out before waiting on it, so that we always have the same number of
+            // reads outstanding.
+            fillReadAhead();
+            this.currentBatch = nextBatch.join();
+        }
+
+        this.nextEntryId++;
+        return this.currentBatch.nextElement();
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private void fillReadAhead() {
+        while (this.batches.size() < this.readAheadCount && this.nextBatchEntryId <= this.lastEntryId) {
+            long firstEntryId = this.nextBatchEntryId;
+            long lastEntryId = Math.min(this.lastEntryId, firstEntryId + this.batchSize - 1);
+            this.batches.addLast(readBatch(firstEntryId, lastEntryId));
+            this.nextBatchEntryId = lastEntryId + 1;
+        }
+    }
+
+    private CompletableFuture<Enumeration<LedgerEntry>> readBatch(long firstEntryId, long lastEntryId) {
+        CompletableFuture<Enumeration<LedgerEntry>> result = new CompletableFuture<>();
+        this.ledger.asyncReadEntries(firstEntryId, lastEntryId, (rc, handle, entries, ctx) -> {
+            if (rc == BKException.Code.OK) {
+                result.complete(entries);
+            } else {
+                result.completeExceptionally(BKException.create(rc));
+            }
+        }, null);
+        return result;
+    }
+
+    //endregion
+}
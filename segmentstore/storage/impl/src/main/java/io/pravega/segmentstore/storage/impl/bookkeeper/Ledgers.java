@@ -15,8 +15,10 @@ import io.pravega.segmentstore.storage.DurableDataLogException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.bookkeeper.client.AsyncCallback;
 import org.apache.bookkeeper.client.BKException;
 import org.apache.bookkeeper.client.BookKeeper;
 import org.apache.bookkeeper.client.LedgerHandle;
@@ -31,6 +33,11 @@ final class Ledgers {
      * How many ledgers to fence out (from the end of the list) when acquiring lock.
      */
     static final int MIN_FENCE_LEDGER_COUNT = 2;
+    /**
+     * The length of the header that precedes each entry in a striped Ledger. This header contains the sequence of the
+     * entry within its stripe set.
+     */
+    static final int STRIPED_ENTRY_HEADER_LENGTH = Long.BYTES;
     private static final BookKeeper.DigestType LEDGER_DIGEST_TYPE = BookKeeper.DigestType.MAC;
 
     /**
@@ -94,6 +101,37 @@ final class Ledgers {
         }
     }
 
+    /**
+     * Asynchronously opens a ledger, either fencing it out (see openFence()) or without recovery (see openRead()).
+     *
+     * @param ledgerId   The Id of the Ledger to open.
+     * @param fence      If true, the ledger will be opened with recovery and fenced out; otherwise it will be opened
+     *                   without recovery.
+     * @param bookKeeper A references to the BookKeeper client to use.
+     * @param config     Configuration to use.
+     * @return A CompletableFuture that will be completed with a LedgerHandle for the newly opened ledger. If the operation
+     * failed, the Future will be failed with a DurableDataLogException wrapping the causing exception.
+     */
+    static CompletableFuture<LedgerHandle> openAsync(long ledgerId, boolean fence, BookKeeper bookKeeper, BookKeeperConfig config) {
+        CompletableFuture<LedgerHandle> result = new CompletableFuture<>();
+        AsyncCallback.OpenCallback callback = (rc, handle, ctx) -> {
+            if (rc == BKException.Code.OK) {
+                result.complete(handle);
+            } else {
+                result.completeExceptionally(new DurableDataLogException(
+                        String.format("Unable to %s ledger %d.", fence ? "open-fence" : "open-read", ledgerId), BKException.create(rc)));
+            }
+        };
+
+        if (fence) {
+            bookKeeper.asyncOpenLedger(ledgerId, LEDGER_DIGEST_TYPE, config.getBKPassword(), callback, null);
+        } else {
+            bookKeeper.asyncOpenLedgerNoRecovery(ledgerId, LEDGER_DIGEST_TYPE, config.getBKPassword(), callback, null);
+        }
+
+        return result;
+    }
+
     /**
      * Reliably retrieves the LastAddConfirmed for the Ledger with given LedgerId, by opening the Ledger in fencing mode
      * and getting the value. NOTE: this open-fences the Ledger which will effectively stop any writing action on it.
@@ -165,15 +203,30 @@ final class Ledgers {
         // We need to fence out at least MIN_FENCE_LEDGER_COUNT ledgers that are not empty to properly ensure we fenced
         // the log correctly and identify any empty ledgers (Since this algorithm is executed upon every recovery, any
         // empty ledgers should be towards the end of the Log).
+        // Striped Ledgers are written to concurrently, so we always fence out entire stripe sets (all Ledgers sharing the
+        // same sequence); a stripe set is non-empty if any of its Ledgers is non-empty.
         int nonEmptyCount = 0;
+        int currentSequence = Integer.MIN_VALUE;
+        boolean currentNonEmpty = false;
         val result = new HashMap<Long, Long>();
         val iterator = ledgers.listIterator(ledgers.size());
-        while (iterator.hasPrevious() && (nonEmptyCount < MIN_FENCE_LEDGER_COUNT)) {
+        while (iterator.hasPrevious()) {
             LedgerMetadata ledgerMetadata = iterator.previous();
+            if (ledgerMetadata.getSequence() != currentSequence) {
+                // Beginning of a new stripe set. Account for the previous one.
+                nonEmptyCount += currentNonEmpty ? 1 : 0;
+                if (nonEmptyCount >= MIN_FENCE_LEDGER_COUNT) {
+                    break;
+                }
+
+                currentSequence = ledgerMetadata.getSequence();
+                currentNonEmpty = false;
+            }
+
             LedgerHandle handle = openFence(ledgerMetadata.getLedgerId(), bookKeeper, config);
             if (handle.getLastAddConfirmed() != NO_ENTRY_ID) {
                 // Non-empty.
-                nonEmptyCount++;
+                currentNonEmpty = true;
             }
 
             if (ledgerMetadata.getStatus() == LedgerMetadata.Status.Unknown) {
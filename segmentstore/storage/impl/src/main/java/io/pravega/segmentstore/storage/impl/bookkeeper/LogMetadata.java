@@ -29,6 +29,10 @@ import lombok.val;
 
 /**
  * Metadata for a Ledger-based log.
+ * <p>
+ * If the log is striped, each Ledger in the log is in fact a stripe set: a group of Ledgers that have been written to
+ * concurrently (in round-robin fashion) and which share the same Ledger Sequence. Stripe sets are always added and removed
+ * as a whole, and a stripe set made up of a single Ledger is a regular (non-striped) Ledger.
  */
 @NotThreadSafe
 class LogMetadata implements ReadOnlyLogMetadata {
@@ -93,8 +97,16 @@ class LogMetadata implements ReadOnlyLogMetadata {
      * @param initialLedgerId The Id of the Ledger to start the log with.
      */
     LogMetadata(long initialLedgerId) {
-        this(INITIAL_EPOCH, true, Collections.singletonList(new LedgerMetadata(initialLedgerId, INITIAL_LEDGER_SEQUENCE)),
-                INITIAL_TRUNCATION_ADDRESS, INITIAL_VERSION);
+        this(Collections.singletonList(initialLedgerId));
+    }
+
+    /**
+     * Creates a new instance of the LogMetadata class with one stripe set and epoch set to the default value.
+     *
+     * @param initialLedgerIds The Ids of the Ledgers making up the stripe set to start the log with.
+     */
+    LogMetadata(List<Long> initialLedgerIds) {
+        this(INITIAL_EPOCH, true, toStripeSet(initialLedgerIds, INITIAL_LEDGER_SEQUENCE), INITIAL_TRUNCATION_ADDRESS, INITIAL_VERSION);
     }
 
     /**
@@ -128,15 +140,26 @@ class LogMetadata implements ReadOnlyLogMetadata {
      * @return A new instance of the LogMetadata class.
      */
     LogMetadata addLedger(long ledgerId) {
+        return addLedgers(Collections.singletonList(ledgerId));
+    }
+
+    /**
+     * Creates a new instance of the LogMetadata class which contains an additional stripe set. All the Ledgers in the
+     * stripe set will share the same Ledger Sequence.
+     *
+     * @param ledgerIds The Ids of the Ledgers to add, sorted in ascending order.
+     * @return A new instance of the LogMetadata class.
+     */
+    LogMetadata addLedgers(List<Long> ledgerIds) {
         Preconditions.checkState(this.enabled, "Log is not enabled. Cannot perform any modifications on it.");
 
         // Copy existing ledgers.
-        List<LedgerMetadata> newLedgers = new ArrayList<>(this.ledgers.size() + 1);
+        List<LedgerMetadata> newLedgers = new ArrayList<>(this.ledgers.size() + ledgerIds.size());
         newLedgers.addAll(this.ledgers);
 
-        // Create and add metadata for the new ledger.
+        // Create and add metadata for the new ledgers.
         int sequence = this.ledgers.size() == 0 ? INITIAL_LEDGER_SEQUENCE : this.ledgers.get(this.ledgers.size() - 1).getSequence() + 1;
-        newLedgers.add(new LedgerMetadata(ledgerId, sequence));
+        newLedgers.addAll(toStripeSet(ledgerIds, sequence));
         return new LogMetadata(this.epoch + 1, this.enabled, Collections.unmodifiableList(newLedgers), this.truncationAddress, this.updateVersion.get());
     }
 
@@ -157,20 +180,24 @@ class LogMetadata implements ReadOnlyLogMetadata {
     }
 
     /**
-     * Removes LedgerMetadata instances for those Ledgers that are known to be empty.
+     * Removes LedgerMetadata instances for those Ledgers that are known to be empty. A stripe set is only removed if all
+     * of its Ledgers are known to be empty.
      *
-     * @param skipCountFromEnd The number of Ledgers to spare, counting from the end of the LedgerMetadata list.
+     * @param skipCountFromEnd The number of Ledgers (stripe sets) to spare, counting from the end of the LedgerMetadata list.
      * @return A new instance of LogMetadata with the updated ledger list.
      */
     LogMetadata removeEmptyLedgers(int skipCountFromEnd) {
         val newLedgers = new ArrayList<LedgerMetadata>();
-        int cutoffIndex = this.ledgers.size() - skipCountFromEnd;
-        for (int i = 0; i < cutoffIndex; i++) {
-            LedgerMetadata lm = this.ledgers.get(i);
-            if (lm.getStatus() != LedgerMetadata.Status.Empty) {
+        int cutoffIndex = getStripeSetStartIndex(skipCountFromEnd);
+        int index = 0;
+        while (index < cutoffIndex) {
+            List<LedgerMetadata> stripeSet = getStripeSetAt(index);
+            if (stripeSet.stream().anyMatch(lm -> lm.getStatus() != LedgerMetadata.Status.Empty)) {
                 // Not Empty or Unknown: keep it!
-                newLedgers.add(lm);
+                newLedgers.addAll(stripeSet);
             }
+
+            index += stripeSet.size();
         }
 
         // Add the ones from the end, as instructed.
@@ -270,6 +297,23 @@ class LogMetadata implements ReadOnlyLogMetadata {
         return null;
     }
 
+    /**
+     * Gets the stripe set that the given Ledger belongs to.
+     *
+     * @param ledgerMetadata The LedgerMetadata of any Ledger in this log.
+     * @return An ordered List of the LedgerMetadata instances in the stripe set. For non-striped Ledgers, this is a List
+     * with a single element (the given one).
+     */
+    List<LedgerMetadata> getStripeSet(LedgerMetadata ledgerMetadata) {
+        int index = getLedgerMetadataIndex(ledgerMetadata.getLedgerId());
+        Preconditions.checkArgument(index >= 0, "Ledger %s is not part of this log.", ledgerMetadata.getLedgerId());
+        while (index > 0 && this.ledgers.get(index - 1).getSequence() == ledgerMetadata.getSequence()) {
+            index--;
+        }
+
+        return getStripeSetAt(index);
+    }
+
     /**
      * Gets the Ledger Address immediately following the given address.
      *
@@ -298,14 +342,21 @@ class LogMetadata implements ReadOnlyLogMetadata {
             LedgerMetadata ledgerMetadata = null;
             int index = getLedgerMetadataIndex(address.getLedgerId()) + 1;
             if (index > 0) {
-                // Ledger is in the list. Make sure it's not the last one.
+                // Ledger is in the list. Skip over the other Ledgers in its stripe set and make sure it's not the last one.
+                int sequence = this.ledgers.get(index - 1).getSequence();
+                while (index < this.ledgers.size() && this.ledgers.get(index).getSequence() == sequence) {
+                    index++;
+                }
+
                 if (index < this.ledgers.size()) {
                     ledgerMetadata = this.ledgers.get(index);
                 }
             } else {
-                // Ledger was not in the list. We need to find the first ledger with an id larger than the one we have.
-                for (LedgerMetadata lm : this.ledgers) {
-                    if (lm.getLedgerId() > address.getLedgerId()) {
+                // Ledger was not in the list. We need to find the first ledger (or stripe set) with an id larger than
+                // the one we have.
+                for (int i = 0; i < this.ledgers.size(); i++) {
+                    LedgerMetadata lm = this.ledgers.get(i);
+                    if (lm.getLedgerId() > address.getLedgerId() && (i == 0 || this.ledgers.get(i - 1).getSequence() != lm.getSequence())) {
                         ledgerMetadata = lm;
                         break;
                     }
@@ -328,6 +379,41 @@ class LogMetadata implements ReadOnlyLogMetadata {
         return CollectionHelpers.binarySearch(this.ledgers, lm -> Long.compare(ledgerId, lm.getLedgerId()));
     }
 
+    /**
+     * Gets the stripe set beginning at the given index in the Ledger list.
+     */
+    private List<LedgerMetadata> getStripeSetAt(int startIndex) {
+        int sequence = this.ledgers.get(startIndex).getSequence();
+        int endIndex = startIndex + 1;
+        while (endIndex < this.ledgers.size() && this.ledgers.get(endIndex).getSequence() == sequence) {
+            endIndex++;
+        }
+
+        return this.ledgers.subList(startIndex, endIndex);
+    }
+
+    /**
+     * Gets the index in the Ledger list where the given number of stripe sets (counting from the end) begins.
+     */
+    private int getStripeSetStartIndex(int countFromEnd) {
+        int index = this.ledgers.size();
+        while (countFromEnd > 0 && index > 0) {
+            int sequence = this.ledgers.get(index - 1).getSequence();
+            while (index > 0 && this.ledgers.get(index - 1).getSequence() == sequence) {
+                index--;
+            }
+
+            countFromEnd--;
+        }
+
+        return index;
+    }
+
+    private static List<LedgerMetadata> toStripeSet(List<Long> ledgerIds, int sequence) {
+        Preconditions.checkArgument(!ledgerIds.isEmpty(), "ledgerIds must not be empty.");
+        return Collections.unmodifiableList(ledgerIds.stream().map(id -> new LedgerMetadata(id, sequence)).collect(Collectors.toList()));
+    }
+
     //endregion
 
     @Override
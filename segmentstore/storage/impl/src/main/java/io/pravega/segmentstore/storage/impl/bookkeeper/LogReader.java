@@ -14,9 +14,20 @@ import io.pravega.common.Exceptions;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.DurableDataLog;
 import io.pravega.segmentstore.storage.DurableDataLogException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
@@ -24,12 +35,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.bookkeeper.client.BKException;
 import org.apache.bookkeeper.client.BookKeeper;
 import org.apache.bookkeeper.client.LedgerEntry;
 import org.apache.bookkeeper.client.LedgerHandle;
 
 /**
- * Performs read from BookKeeper Logs.
+ * Performs read from BookKeeper Logs. Entries in striped Ledgers (see WriteLedger) are merged back in the order in which
+ * they were written, based on the sequence number in each entry.
+ * <p>
+ * Entries are read ahead of the consumer using multiple concurrent read calls per Ledger (see LedgerReadAhead), and the
+ * next Ledger (or stripe set) is opened in the background while the current one is being read.
  */
 @Slf4j
 @NotThreadSafe
@@ -41,6 +57,7 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     private final AtomicBoolean closed;
     private final BookKeeperConfig config;
     private ReadLedger currentLedger;
+    private final Map<Long, CompletableFuture<LedgerHandle>> prefetchedLedgers;
 
     //endregion
 
@@ -58,6 +75,7 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
         this.bookKeeper = Preconditions.checkNotNull(bookKeeper, "bookKeeper");
         this.config = Preconditions.checkNotNull(config, "config");
         this.closed = new AtomicBoolean();
+        this.prefetchedLedgers = new HashMap<>();
     }
 
     //endregion
@@ -68,14 +86,24 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     public void close() {
         if (!this.closed.getAndSet(true)) {
             if (this.currentLedger != null) {
-                try {
-                    Ledgers.close(this.currentLedger.handle);
-                } catch (DurableDataLogException bkEx) {
-                    log.error("Unable to close LedgerHandle for Ledger {}.", this.currentLedger.handle.getId(), bkEx);
+                for (LedgerHandle handle : this.currentLedger.handles) {
+                    try {
+                        Ledgers.close(handle);
+                    } catch (DurableDataLogException bkEx) {
+                        log.error("Unable to close LedgerHandle for Ledger {}.", handle.getId(), bkEx);
+                    }
                 }
 
                 this.currentLedger = null;
             }
+
+            // Close any Ledgers that we opened ahead of time but never got to read from.
+            this.prefetchedLedgers.values().forEach(f -> f.thenAccept(handle -> handle.asyncClose((rc, h, ctx) -> {
+                if (rc != BKException.Code.OK) {
+                    log.warn("Unable to close LedgerHandle for Ledger {}.", h.getId(), BKException.create(rc));
+                }
+            }, null)));
+            this.prefetchedLedgers.clear();
         }
     }
 
@@ -86,7 +114,16 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     @Override
     public DurableDataLog.ReadItem getNext() throws DurableDataLogException {
         Exceptions.checkNotClosed(this.closed.get(), this);
+        try {
+            return getNextInternal();
+        } catch (CompletionException ex) {
+            // A background read failed.
+            close();
+            throw new DurableDataLogException("Error while reading from BookKeeper.", Exceptions.unwrap(ex));
+        }
+    }
 
+    private DurableDataLog.ReadItem getNextInternal() throws DurableDataLogException {
         if (this.currentLedger == null) {
             // First time we call this. Locate the first ledger based on the metadata truncation address. We don't know
             // how many entries are in that first ledger, so open it anyway so we can figure out.
@@ -95,9 +132,9 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
 
         while (this.currentLedger != null && (!this.currentLedger.canRead())) {
             // We have reached the end of the current ledger. Find next one, and skip over empty ledgers).
-            val lastAddress = new LedgerAddress(this.currentLedger.metadata, this.currentLedger.handle.getLastAddConfirmed());
-            Ledgers.close(this.currentLedger.handle);
-            openNextLedger(this.metadata.getNextAddress(lastAddress, this.currentLedger.handle.getLastAddConfirmed()));
+            val lastAddress = new LedgerAddress(this.currentLedger.metadata, this.currentLedger.lastEntryId);
+            closeHandles(this.currentLedger);
+            openNextLedger(this.metadata.getNextAddress(lastAddress, this.currentLedger.lastEntryId));
         }
 
         // Try to read from the current reader.
@@ -105,7 +142,7 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
             return null;
         }
 
-        return new LogReader.ReadItem(this.currentLedger.reader.nextElement(), this.currentLedger.metadata);
+        return this.currentLedger.reader.next();
     }
 
     private void openNextLedger(LedgerAddress address) throws DurableDataLogException {
@@ -117,49 +154,140 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
 
         LedgerMetadata metadata = this.metadata.getLedger(address.getLedgerId());
         assert metadata != null : "no LedgerMetadata could be found with valid LedgerAddress " + address;
-        val allMetadatas = this.metadata.getLedgers();
-
-        // Open the ledger.
-        LedgerHandle ledger;
-        if (allMetadatas.size() == 0 || metadata == allMetadatas.get(allMetadatas.size() - 1)) {
-            // This is our last ledger (the active one); we need to make sure open it without recovery since otherwise we
-            // we would fence ourselves out.
-            ledger = Ledgers.openRead(metadata.getLedgerId(), this.bookKeeper, this.config);
-        } else {
-            // Older ledger. Open with recovery to make sure any uncommitted fragments will be recovered. Since we do our
-            // Log fencing based on the last Ledger, open-fencing this Ledger will not have any adverse effects.
-            ledger = Ledgers.openFence(metadata.getLedgerId(), this.bookKeeper, this.config);
+        val stripeSet = this.metadata.getStripeSet(metadata);
+        if (stripeSet.size() > 1) {
+            openNextStripeSet(stripeSet, address);
+            return;
         }
 
+        // Open the ledger.
+        LedgerHandle ledger = openLedger(metadata);
         long lastEntryId = ledger.getLastAddConfirmed();
         if (lastEntryId < address.getEntryId()) {
             // This ledger is empty.
             Ledgers.close(ledger);
-            this.currentLedger = new ReadLedger(metadata, ledger, null);
+            this.currentLedger = new ReadLedger(metadata, Collections.singletonList(ledger), null, lastEntryId);
+            prefetchNextLedgers(metadata);
             return;
         }
 
         ReadLedger previousLedger;
         try {
-            val reader = Exceptions.handleInterruptedCall(
-                    () -> ledger.readEntries(address.getEntryId(), lastEntryId));
+            val reader = new LedgerReadAhead(ledger, address.getEntryId(), lastEntryId, this.config);
             previousLedger = this.currentLedger;
-            this.currentLedger = new ReadLedger(metadata, ledger, reader);
+            this.currentLedger = new ReadLedger(metadata, Collections.singletonList(ledger), new EntryIterator(reader, metadata), lastEntryId);
             if (previousLedger != null) {
                 // Close previous ledger handle.
-                Ledgers.close(previousLedger.handle);
+                closeHandles(previousLedger);
             }
         } catch (Exception ex) {
             Ledgers.close(ledger);
             close();
             throw new DurableDataLogException("Error while reading from BookKeeper.", ex);
         }
+
+        prefetchNextLedgers(metadata);
+    }
+
+    private void openNextStripeSet(List<LedgerMetadata> stripeSet, LedgerAddress address) throws DurableDataLogException {
+        // Entries with sequence S are stored at Entry Id S / StripeCount in stripe S % StripeCount, so starting each stripe
+        // at the same Entry Id will include all sequences at or after the one we are looking for (plus a few before it).
+        int stripeCount = stripeSet.size();
+        long startEntryId = address.getEntryId() / stripeCount;
+        val handles = new ArrayList<LedgerHandle>(stripeCount);
+        val readers = new ArrayList<Enumeration<LedgerEntry>>(stripeCount);
+        try {
+            for (LedgerMetadata stripe : stripeSet) {
+                LedgerHandle ledger = openLedger(stripe);
+                handles.add(ledger);
+                long lastEntryId = ledger.getLastAddConfirmed();
+                if (lastEntryId < startEntryId) {
+                    // Nothing to read from this ledger.
+                    readers.add(Collections.emptyEnumeration());
+                } else {
+                    readers.add(new LedgerReadAhead(ledger, startEntryId, lastEntryId, this.config));
+                }
+            }
+        } catch (Exception ex) {
+            for (LedgerHandle ledger : handles) {
+                Ledgers.close(ledger);
+            }
+
+            close();
+            throw new DurableDataLogException("Error while reading from BookKeeper.", ex);
+        }
+
+        ReadLedger previousLedger = this.currentLedger;
+        val reader = new StripedEntryIterator(readers, stripeSet.get(0), address.getEntryId());
+        this.currentLedger = new ReadLedger(stripeSet.get(0), handles, reader, Ledgers.NO_ENTRY_ID);
+        if (previousLedger != null) {
+            // Close previous ledger handles.
+            closeHandles(previousLedger);
+        }
+
+        prefetchNextLedgers(stripeSet.get(0));
+    }
+
+    /**
+     * Begins opening the Ledgers in the Ledger (or stripe set) following the given one, so that they are ready by the
+     * time we are done reading the current one. Opening an older Ledger involves recovering it, which may take a while.
+     */
+    private void prefetchNextLedgers(LedgerMetadata current) {
+        LedgerAddress nextAddress = this.metadata.getNextAddress(new LedgerAddress(current, Ledgers.NO_ENTRY_ID), Ledgers.NO_ENTRY_ID);
+        if (nextAddress == null) {
+            return;
+        }
+
+        LedgerMetadata next = this.metadata.getLedger(nextAddress.getLedgerId());
+        if (next != null && next.getSequence() > current.getSequence()) {
+            for (LedgerMetadata lm : this.metadata.getStripeSet(next)) {
+                this.prefetchedLedgers.computeIfAbsent(lm.getLedgerId(), id -> openLedgerAsync(lm));
+            }
+        }
+    }
+
+    private LedgerHandle openLedger(LedgerMetadata metadata) throws DurableDataLogException {
+        CompletableFuture<LedgerHandle> open = this.prefetchedLedgers.remove(metadata.getLedgerId());
+        if (open == null) {
+            open = openLedgerAsync(metadata);
+        }
+
+        try {
+            return open.join();
+        } catch (CompletionException ex) {
+            Throwable cause = Exceptions.unwrap(ex);
+            if (cause instanceof DurableDataLogException) {
+                throw (DurableDataLogException) cause;
+            }
+
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<LedgerHandle> openLedgerAsync(LedgerMetadata metadata) {
+        val allMetadatas = this.metadata.getLedgers();
+        if (allMetadatas.size() == 0 || allMetadatas.get(allMetadatas.size() - 1).getSequence() == metadata.getSequence()) {
+            // This is our last ledger (or stripe set; the active one); we need to make sure open it without recovery
+            // since otherwise we we would fence ourselves out.
+            return Ledgers.openAsync(metadata.getLedgerId(), false, this.bookKeeper, this.config);
+        } else {
+            // Older ledger. Open with recovery to make sure any uncommitted fragments will be recovered. Since we do our
+            // Log fencing based on the last Ledger, open-fencing this Ledger will not have any adverse effects.
+            return Ledgers.openAsync(metadata.getLedgerId(), true, this.bookKeeper, this.config);
+        }
+    }
+
+    private void closeHandles(ReadLedger ledger) throws DurableDataLogException {
+        for (LedgerHandle handle : ledger.handles) {
+            Ledgers.close(handle);
+        }
     }
 
     //endregion
 
     //region ReadItem
 
+    @RequiredArgsConstructor
     private static class ReadItem implements DurableDataLog.ReadItem {
         @Getter
         private final InputStream payload;
@@ -188,11 +316,95 @@ class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDat
     @RequiredArgsConstructor
     private static class ReadLedger {
         final LedgerMetadata metadata;
-        final LedgerHandle handle;
-        final Enumeration<LedgerEntry> reader;
+        final List<LedgerHandle> handles;
+        final Iterator<ReadItem> reader;
+        final long lastEntryId;
 
         boolean canRead() {
-            return this.reader != null && this.reader.hasMoreElements();
+            return this.reader != null && this.reader.hasNext();
+        }
+    }
+
+    //endregion
+
+    //region EntryIterator
+
+    /**
+     * Iterates through the entries of a single (non-striped) Ledger.
+     */
+    @RequiredArgsConstructor
+    private static class EntryIterator implements Iterator<ReadItem> {
+        private final Enumeration<LedgerEntry> entries;
+        private final LedgerMetadata metadata;
+
+        @Override
+        public boolean hasNext() {
+            return this.entries.hasMoreElements();
+        }
+
+        @Override
+        public ReadItem next() {
+            return new ReadItem(this.entries.nextElement(), this.metadata);
+        }
+    }
+
+    //endregion
+
+    //region StripedEntryIterator
+
+    /**
+     * Merges the entries of the Ledgers in a stripe set in the order of their sequence. Since a stripe set may only
+     * contain a contiguous prefix of sequences (a write may have been persisted in one stripe but not in a previous one
+     * if the stripe set failed), iteration stops at the first missing sequence; any entries beyond it have never been
+     * acknowledged and will have been rewritten to the next stripe set.
+     */
+    private static class StripedEntryIterator implements Iterator<ReadItem> {
+        private final List<Enumeration<LedgerEntry>> stripes;
+        private final LedgerMetadata metadata;
+        private long nextSequence;
+        private ReadItem next;
+
+        StripedEntryIterator(List<Enumeration<LedgerEntry>> stripes, LedgerMetadata metadata, long firstSequence) {
+            this.stripes = stripes;
+            this.metadata = metadata;
+            this.nextSequence = firstSequence;
+            this.next = fetchNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public ReadItem next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+
+            ReadItem result = this.next;
+            this.next = fetchNext();
+            return result;
+        }
+
+        private ReadItem fetchNext() {
+            Enumeration<LedgerEntry> stripe = this.stripes.get((int) (this.nextSequence % this.stripes.size()));
+            while (stripe.hasMoreElements()) {
+                ByteBuffer entry = ByteBuffer.wrap(stripe.nextElement().getEntry());
+                long sequence = entry.getLong();
+                if (sequence == this.nextSequence) {
+                    this.nextSequence++;
+                    return new ReadItem(new ByteArrayInputStream(entry.array(), entry.position(), entry.remaining()),
+                            entry.remaining(), new LedgerAddress(this.metadata, sequence));
+                } else if (sequence > this.nextSequence) {
+                    // Gap in the sequence.
+                    break;
+                }
+
+                // Entry before the one we are looking for. Skip over it.
+            }
+
+            return null;
         }
     }
 
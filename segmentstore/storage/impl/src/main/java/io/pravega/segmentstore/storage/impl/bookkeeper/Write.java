@@ -84,7 +84,7 @@ class Write {
 
     /**
      * Sets the assigned Ledger Entry Id. This should be set any time such information is available (regardless of whether
-     * the Write failed or succeeded).
+     * the Write failed or succeeded). For striped Ledgers, this is the sequence of the Write within its stripe set.
      *
      * @param value The value to assign.
      */
@@ -9,19 +9,37 @@
  */
 package io.pravega.segmentstore.storage.impl.bookkeeper;
 
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+import javax.annotation.concurrent.GuardedBy;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.bookkeeper.client.LedgerHandle;
 
 /**
  * LedgerHandle-LedgerMetadata pair.
+ * <p>
+ * If the log is striped, this represents a stripe set: a group of Ledgers that are written to concurrently, in round-robin
+ * fashion. Each Write is assigned a sequence within the stripe set (which is also written as a header in the entry) and
+ * the Write with sequence S is written to stripe S % StripeCount. As such, the Write with sequence S will always have
+ * Entry Id S / StripeCount in its Ledger, and a stripe set must not be written to anymore once any Write to it failed.
  */
-@RequiredArgsConstructor
 class WriteLedger {
+    //region Members
+
     final LedgerHandle ledger;
     final LedgerMetadata metadata;
 
+    /**
+     * The Ledgers in the stripe set (ordered by stripe index). For non-striped Ledgers, this only contains the Ledger.
+     */
+    @Getter
+    private final List<LedgerHandle> stripes;
+
     /**
      * Whether this Ledger has been closed in a controlled way and rolled over into a new ledger. This value is not
      * serialized and hence it should only be relied upon on active (write) ledgers, and not on recovered ledgers.
@@ -29,9 +47,180 @@ class WriteLedger {
     @Getter
     @Setter
     private boolean rolledOver;
+    @GuardedBy("pendingAcknowledgements")
+    private final TreeMap<Long, Write> pendingAcknowledgements;
+    @GuardedBy("pendingAcknowledgements")
+    private long nextSequence;
+    @GuardedBy("pendingAcknowledgements")
+    private long acknowledgedSequence;
+    @GuardedBy("pendingAcknowledgements")
+    private boolean failed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the WriteLedger class for a non-striped Ledger.
+     *
+     * @param ledger   The LedgerHandle for the Ledger.
+     * @param metadata The LedgerMetadata for the Ledger.
+     */
+    WriteLedger(LedgerHandle ledger, LedgerMetadata metadata) {
+        this(Collections.singletonList(ledger), metadata);
+    }
+
+    private WriteLedger(List<LedgerHandle> stripes, LedgerMetadata metadata) {
+        Preconditions.checkArgument(!stripes.isEmpty(), "stripes must not be empty.");
+        this.stripes = Collections.unmodifiableList(new ArrayList<>(stripes));
+        this.ledger = stripes.get(0);
+        this.metadata = metadata;
+        this.pendingAcknowledgements = new TreeMap<>();
+    }
+
+    /**
+     * Creates a new instance of the WriteLedger class for a stripe set.
+     *
+     * @param stripes  The LedgerHandles for the Ledgers in the stripe set, in stripe order. If this contains a single
+     *                 Ledger, the result will be a non-striped WriteLedger.
+     * @param metadata The LedgerMetadata for the first Ledger in the stripe set. All LogAddresses for this stripe set
+     *                 will point to this Ledger.
+     * @return A new instance of the WriteLedger class.
+     */
+    static WriteLedger forStripeSet(List<LedgerHandle> stripes, LedgerMetadata metadata) {
+        return new WriteLedger(stripes, metadata);
+    }
+
+    //endregion
+
+    //region Properties
+
+    /**
+     * Gets a value indicating whether this is a stripe set made up of more than one Ledger.
+     *
+     * @return True or false.
+     */
+    boolean isStriped() {
+        return this.stripes.size() > 1;
+    }
+
+    /**
+     * Gets a value indicating whether this Ledger (or any of the Ledgers in the stripe set) is closed, or whether a write
+     * to this stripe set has failed. No more writes can be made to a closed WriteLedger.
+     *
+     * @return True or false.
+     */
+    boolean isClosed() {
+        synchronized (this.pendingAcknowledgements) {
+            if (this.failed) {
+                return true;
+            }
+        }
+
+        return this.stripes.stream().anyMatch(LedgerHandle::isClosed);
+    }
+
+    /**
+     * Gets the total length of all the Ledgers in the stripe set.
+     *
+     * @return The length.
+     */
+    long getLength() {
+        return this.stripes.stream().mapToLong(LedgerHandle::getLength).sum();
+    }
+
+    /**
+     * Gets the Ledger in the stripe set which the Write with given sequence should be written to.
+     *
+     * @param sequence The sequence of the Write within the stripe set.
+     * @return The LedgerHandle.
+     */
+    LedgerHandle getStripe(long sequence) {
+        return this.stripes.get((int) (sequence % this.stripes.size()));
+    }
+
+    //endregion
+
+    //region Striped Writes
+
+    /**
+     * Assigns the next sequence within the stripe set. Sequences must be assigned in the same order as the Writes are
+     * initiated.
+     *
+     * @return The assigned sequence.
+     */
+    long assignSequence() {
+        synchronized (this.pendingAcknowledgements) {
+            return this.nextSequence++;
+        }
+    }
+
+    /**
+     * Records the fact that the given Write has been acknowledged by BookKeeper. Writes in a stripe set may be acknowledged
+     * out of order, however a Write can only be completed once all Writes with a lower sequence have been acknowledged.
+     *
+     * @param write The Write that was acknowledged. Its Entry Id must be set to its sequence within the stripe set.
+     * @return An ordered List of Writes that can be completed (which may be empty), or null if this stripe set has
+     * failed. In the latter case, the Write's outcome can only be determined once the stripe set is closed.
+     */
+    List<Write> acknowledge(Write write) {
+        synchronized (this.pendingAcknowledgements) {
+            if (this.failed) {
+                return null;
+            }
+
+            this.pendingAcknowledgements.put(write.getEntryId(), write);
+            List<Write> result = new ArrayList<>();
+            Write next;
+            while ((next = this.pendingAcknowledgements.remove(this.acknowledgedSequence)) != null) {
+                result.add(next);
+                this.acknowledgedSequence++;
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Marks this stripe set as failed. No more Writes will be acknowledged after this.
+     *
+     * @return A List of Writes which have been acknowledged by BookKeeper but which could not be completed because of
+     * Writes with lower sequences that have not been acknowledged. Their outcome can only be determined once the stripe
+     * set is closed.
+     */
+    List<Write> fail() {
+        synchronized (this.pendingAcknowledgements) {
+            this.failed = true;
+            List<Write> result = new ArrayList<>(this.pendingAcknowledgements.values());
+            this.pendingAcknowledgements.clear();
+            return result;
+        }
+    }
+
+    /**
+     * Calculates the number of Writes in this stripe set that have been durably persisted without any gaps. Since the
+     * Write with sequence S is written at Entry Id S / StripeCount in stripe S % StripeCount, the first missing sequence
+     * can be calculated using the LastAddConfirmed of each Ledger in the stripe set.
+     *
+     * @param getLastAddConfirmed A Function that returns the (final) LastAddConfirmed for a Ledger in the stripe set.
+     * @return The sequence of the first Write that has not been persisted. All Writes with a lower sequence have been
+     * persisted and will be read back.
+     */
+    long getPersistedSequence(ToLongFunction<LedgerHandle> getLastAddConfirmed) {
+        long result = Long.MAX_VALUE;
+        int stripeCount = this.stripes.size();
+        for (int i = 0; i < stripeCount; i++) {
+            long lac = getLastAddConfirmed.applyAsLong(this.stripes.get(i));
+            result = Math.min(result, (lac + 1) * stripeCount + i);
+        }
+
+        return result;
+    }
+
+    //endregion
 
     @Override
     public String toString() {
-        return String.format("%s, Length = %d, Closed = %s", this.metadata, this.ledger.getLength(), this.ledger.isClosed());
+        return String.format("%s, Length = %d, Closed = %s, Stripes = %d", this.metadata, getLength(), isClosed(), this.stripes.size());
     }
 }
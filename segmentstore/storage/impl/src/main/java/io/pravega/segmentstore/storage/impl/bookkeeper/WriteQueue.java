@@ -100,6 +100,17 @@ class WriteQueue {
         write.setQueueAddedTimestamp(this.timeSupplier.get());
     }
 
+    /**
+     * Gets the amount of time the given Write has spent since it was added to this queue, as measured by this queue's
+     * time supplier.
+     *
+     * @param write The Write to query. This must have been previously added to this queue.
+     * @return The elapsed time, in nanoseconds.
+     */
+    long getElapsedNanos(Write write) {
+        return this.timeSupplier.get() - write.getQueueAddedTimestamp();
+    }
+
     /**
      * Clears the queue of all the items and closes it, preventing any new writes from being added.
      *
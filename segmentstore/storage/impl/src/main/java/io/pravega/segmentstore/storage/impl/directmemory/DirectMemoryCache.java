@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.pravega.common.Exceptions;
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.Timer;
+import io.pravega.common.function.Callbacks;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache backed by a {@link DirectMemoryStore}. Entry data is kept off-heap; only the Key-to-Block-Address mapping is
+ * kept on the Java heap.
+ *
+ * Entries may be read either by copying them ({@link #get}) or via views that point directly to the off-heap memory
+ * ({@link #getView}). An entry with outstanding views is pinned: if it is removed or replaced, its memory is only returned
+ * to the store once the last view referencing it has been released.
+ */
+@Slf4j
+@ThreadSafe
+class DirectMemoryCache implements Cache {
+    //region Members
+
+    @Getter
+    private final String id;
+    private final String logId;
+    private final DirectMemoryStore store;
+    @GuardedBy("entries")
+    private final HashMap<Key, Entry> entries;
+    @GuardedBy("entries")
+    private boolean closed;
+    private final Consumer<String> closeCallback;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCache class.
+     *
+     * @param id            The Cache Id.
+     * @param store         The DirectMemoryStore to allocate memory from. This may be shared with other caches.
+     * @param closeCallback A callback to invoke when the cache is closed.
+     */
+    DirectMemoryCache(String id, DirectMemoryStore store, Consumer<String> closeCallback) {
+        Exceptions.checkNotNullOrEmpty(id, "id");
+        this.id = id;
+        this.logId = String.format("DirectMemoryCache[%s]", id);
+        this.store = Preconditions.checkNotNull(store, "store");
+        this.closeCallback = closeCallback;
+        this.entries = new HashMap<>();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        synchronized (this.entries) {
+            if (this.closed) {
+                return;
+            }
+
+            // Release all the memory we were holding on to, so that other caches sharing the same store may use it.
+            this.closed = true;
+            this.entries.values().forEach(this::discard);
+            this.entries.clear();
+        }
+
+        log.info("{}: Closed.", this.logId);
+
+        Consumer<String> callback = this.closeCallback;
+        if (callback != null) {
+            Callbacks.invokeSafely(callback, this.id, null);
+        }
+    }
+
+    //endregion
+
+    //region Cache Implementation
+
+    @Override
+    public void insert(Key key, byte[] data) {
+        insert(key, new ByteArraySegment(data));
+    }
+
+    @Override
+    public void insert(Key key, ByteArraySegment data) {
+        Preconditions.checkNotNull(key, "key");
+        Timer timer = new Timer();
+
+        // Copy the data into the store before publishing it in the index. If this fails, nothing has changed.
+        int address = this.store.allocate(data.array(), data.arrayOffset(), data.getLength());
+        synchronized (this.entries) {
+            if (this.closed) {
+                this.store.free(address);
+                throw new ObjectClosedException(this);
+            }
+
+            Entry oldEntry = this.entries.put(key, new Entry(address));
+            if (oldEntry != null) {
+                discard(oldEntry);
+            }
+        }
+
+        DirectMemoryCacheMetrics.insert(timer.getElapsedMillis(), data.getLength());
+    }
+
+    @Override
+    public boolean append(Key key, int expectedLength, ByteArraySegment data) {
+        Preconditions.checkNotNull(key, "key");
+        Timer timer = new Timer();
+        synchronized (this.entries) {
+            Exceptions.checkNotClosed(this.closed, this);
+            Entry entry = this.entries.get(key);
+            if (entry == null || this.store.getLength(entry.address) != expectedLength) {
+                return false;
+            }
+
+            // Existing views only cover the data that was in the entry when they were created, so they will not see
+            // (nor be affected by) the appended data. We must hold the lock while doing this, since get() and getView()
+            // may otherwise see a partially linked chain.
+            this.store.append(entry.address, data.array(), data.arrayOffset(), data.getLength());
+        }
+
+        DirectMemoryCacheMetrics.insert(timer.getElapsedMillis(), data.getLength());
+        return true;
+    }
+
+    @Override
+    public byte[] get(Key key) {
+        Timer timer = new Timer();
+        byte[] result;
+        synchronized (this.entries) {
+            Exceptions.checkNotClosed(this.closed, this);
+            Entry entry = this.entries.get(key);
+
+            // We must copy the data while holding the lock, otherwise a concurrent remove() may free (and someone else
+            // reuse) the blocks while we are reading them.
+            result = entry == null ? null : this.store.read(entry.address);
+        }
+
+        DirectMemoryCacheMetrics.get(timer.getElapsedMillis(), result == null ? 0 : result.length);
+        return result;
+    }
+
+    @Override
+    public ByteBuf getView(Key key) {
+        Timer timer = new Timer();
+        Entry entry;
+        List<ByteBuffer> blocks;
+        synchronized (this.entries) {
+            Exceptions.checkNotClosed(this.closed, this);
+            entry = this.entries.get(key);
+            if (entry == null) {
+                DirectMemoryCacheMetrics.get(timer.getElapsedMillis(), 0);
+                return null;
+            }
+
+            // Pin the entry before we let go of the lock; its blocks will not be freed until the view is released.
+            entry.pinCount++;
+            blocks = this.store.getViews(entry.address);
+        }
+
+        EntryView view = new EntryView(entry, blocks.size());
+        blocks.forEach(block -> view.addComponent(true, Unpooled.wrappedBuffer(block)));
+        DirectMemoryCacheMetrics.get(timer.getElapsedMillis(), view.readableBytes());
+        return view.asReadOnly();
+    }
+
+    @Override
+    public void remove(Key key) {
+        synchronized (this.entries) {
+            Exceptions.checkNotClosed(this.closed, this);
+            Entry entry = this.entries.remove(key);
+            if (entry != null) {
+                discard(entry);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Frees the given Entry's memory if it is not pinned by any view; otherwise marks it so that the memory is freed when
+     * the last view is released. The Entry must have already been unlinked from the entries map (or be about to be).
+     */
+    @GuardedBy("entries")
+    private void discard(Entry entry) {
+        entry.discarded = true;
+        if (entry.pinCount == 0) {
+            this.store.free(entry.address);
+        }
+    }
+
+    private void unpin(Entry entry) {
+        synchronized (this.entries) {
+            entry.pinCount--;
+            assert entry.pinCount >= 0 : "negative pin count";
+            if (entry.pinCount == 0 && entry.discarded) {
+                this.store.free(entry.address);
+            }
+        }
+    }
+
+    //endregion
+
+    @Override
+    public String toString() {
+        return this.logId;
+    }
+
+    //region Entry
+
+    /**
+     * A Cache Entry. All fields (except address) are guarded by the entries map lock.
+     */
+    private static class Entry {
+        final int address;
+        int pinCount;
+        boolean discarded;
+
+        Entry(int address) {
+            this.address = address;
+        }
+    }
+
+    /**
+     * A view over the Blocks of an Entry. Unpins the Entry when deallocated (i.e., when its reference count drops to 0).
+     */
+    private class EntryView extends CompositeByteBuf {
+        private final Entry entry;
+
+        EntryView(Entry entry, int blockCount) {
+            super(UnpooledByteBufAllocator.DEFAULT, true, Math.max(1, blockCount));
+            this.entry = entry;
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            unpin(this.entry);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the Direct Memory (off-heap) Cache.
+ */
+public class DirectMemoryCacheConfig {
+    //region Config Names
+
+    public static final Property<Integer> BLOCK_SIZE_BYTES = Property.named("blockSizeBytes", 1024);
+    public static final Property<Integer> SLAB_SIZE_MB = Property.named("slabSizeMB", 16);
+    public static final Property<Integer> HEADROOM_PERCENT = Property.named("headroomPercent", 25);
+    static final int MIN_BLOCK_SIZE_BYTES = 32;
+    private static final String COMPONENT_CODE = "directmemorycache";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The size of a single Cache Block, in bytes (including the block header). Every cache entry occupies an integral
+     * number of blocks, so smaller values reduce the amount of memory wasted by small entries, while larger values
+     * reduce the number of blocks that need to be chained together for large entries.
+     */
+    @Getter
+    private final int blockSizeBytes;
+
+    /**
+     * The size of a single Slab, in bytes. Slabs are contiguous chunks of direct memory that are allocated on demand
+     * (up to the maximum cache size) and then carved up into Cache Blocks.
+     */
+    @Getter
+    private final int slabSizeBytes;
+
+    /**
+     * How much direct memory (as a percentage of the maximum cache size) may be used on top of the maximum cache size.
+     * The CacheManager only accounts for the length of the data stored in the cache, not for the Block headers or the
+     * unused space at the end of each entry's last Block, so the store needs some headroom above the maximum cache size
+     * to absorb this overhead between two consecutive cache policy evaluations.
+     */
+    @Getter
+    private final int headroomPercent;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCacheConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private DirectMemoryCacheConfig(TypedProperties properties) throws ConfigurationException {
+        this.blockSizeBytes = properties.getInt(BLOCK_SIZE_BYTES);
+        if (this.blockSizeBytes < MIN_BLOCK_SIZE_BYTES) {
+            throw new ConfigurationException(String.format("Property '%s' must be at least %s; found '%d'.",
+                    BLOCK_SIZE_BYTES, MIN_BLOCK_SIZE_BYTES, this.blockSizeBytes));
+        }
+
+        int slabSizeMB = properties.getInt(SLAB_SIZE_MB);
+        if (slabSizeMB <= 0 || slabSizeMB > 1024) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer no larger than 1024; found '%d'.",
+                    SLAB_SIZE_MB, slabSizeMB));
+        }
+
+        this.slabSizeBytes = slabSizeMB * 1024 * 1024;
+        if (this.slabSizeBytes < this.blockSizeBytes) {
+            throw new ConfigurationException(String.format("Property '%s' must be smaller than Property '%s'.",
+                    BLOCK_SIZE_BYTES, SLAB_SIZE_MB));
+        }
+
+        this.headroomPercent = properties.getInt(HEADROOM_PERCENT);
+        if (this.headroomPercent < 0 || this.headroomPercent > 100) {
+            throw new ConfigurationException(String.format("Property '%s' must be a value between 0 and 100; found '%d'.",
+                    HEADROOM_PERCENT, this.headroomPercent));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<DirectMemoryCacheConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, DirectMemoryCacheConfig::new);
+    }
+
+    //endregion
+
+    /**
+     * Calculates the maximum number of bytes of direct memory that should be allocated for a cache with the given
+     * maximum size, accounting for {@link #getHeadroomPercent()}.
+     *
+     * @param maxCacheSize The maximum size of the cache, as enforced by the CacheManager.
+     * @return The maximum number of bytes of direct memory to allocate.
+     */
+    long getMaxStoreSize(long maxCacheSize) {
+        return maxCacheSize + (long) (maxCacheSize * (this.headroomPercent / 100.0));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache Factory for the Direct Memory (off-heap) Cache implementation. All Caches created by this factory share the same
+ * pool of direct memory, which is bounded by the maximum size given at construction time.
+ */
+@Slf4j
+public class DirectMemoryCacheFactory implements CacheFactory {
+    //region Members
+
+    private static final String LOG_ID = "DirectMemoryCacheFactory";
+    private final HashMap<String, DirectMemoryCache> caches;
+    private final DirectMemoryStore store;
+    private final AtomicBoolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryCacheFactory class.
+     *
+     * @param config  The configuration to use.
+     * @param maxSize The maximum size of all Caches created by this factory, as enforced by the CacheManager. The amount
+     *                of direct memory that may be used is larger than this (see {@link DirectMemoryCacheConfig#getHeadroomPercent()}).
+     */
+    public DirectMemoryCacheFactory(DirectMemoryCacheConfig config, long maxSize) {
+        Preconditions.checkNotNull(config, "config");
+        this.store = new DirectMemoryStore(config, config.getMaxStoreSize(maxSize));
+        this.caches = new HashMap<>();
+        this.closed = new AtomicBoolean();
+        log.info("{}: Initialized.", LOG_ID);
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            ArrayList<DirectMemoryCache> toClose;
+            synchronized (this.caches) {
+                toClose = new ArrayList<>(this.caches.values());
+            }
+
+            toClose.forEach(DirectMemoryCache::close);
+            this.store.close();
+            log.info("{}: Closed.", LOG_ID);
+        }
+    }
+
+    //endregion
+
+    //region CacheFactory Implementation
+
+    @Override
+    public Cache getCache(String id) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.caches) {
+            return this.caches.computeIfAbsent(id, key -> new DirectMemoryCache(key, this.store, this::cacheClosed));
+        }
+    }
+
+    private void cacheClosed(String cacheId) {
+        synchronized (this.caches) {
+            this.caches.remove(cacheId);
+        }
+    }
+
+    //endregion
+}
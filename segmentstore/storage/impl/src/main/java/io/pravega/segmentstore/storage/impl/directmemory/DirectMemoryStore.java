@@ -0,0 +1,387 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.segmentstore.storage.CacheFullException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Slab allocator over direct (off-heap) memory.
+ *
+ * Memory is requested from the JVM in Slabs of a fixed size, which are allocated on demand (up to a maximum count) and
+ * are never returned until the store is closed. Each Slab is divided into fixed-size Blocks. An entry is stored as a
+ * chain of one or more Blocks, where each Block begins with a header made of:
+ * <ul>
+ * <li> The address of the next Block in the chain (or {@link #NO_BLOCK} if this is the last one).
+ * <li> The number of bytes used in this Block (excluding the header).
+ * </ul>
+ * Unused Blocks are kept in a free list which is threaded through the same header (using the "next" field), so this
+ * class does not need any on-heap structure to track them.
+ *
+ * A Block Address is an integer made up of the Slab index and the Block index within that Slab. It is only valid for
+ * as long as the Block is allocated; once freed (via {@link #free}), it may be handed out again.
+ *
+ * Reads and writes to allocated Blocks are not synchronized by this class; the owner of an entry (its first Block
+ * Address) is responsible for ensuring it does not access it concurrently with {@link #free} for that same entry.
+ */
+@Slf4j
+@ThreadSafe
+class DirectMemoryStore implements AutoCloseable {
+    //region Members
+
+    static final int NO_BLOCK = -1;
+    private static final int NEXT_OFFSET = 0;
+    private static final int LENGTH_OFFSET = Integer.BYTES;
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+    private static final String TRACE_OBJECT_ID = "DirectMemoryStore";
+
+    private final int blockSize;
+    private final int blockDataSize;
+    private final int blocksPerSlab;
+    @Getter
+    private final long maxSize;
+    private final AtomicReferenceArray<ByteBuffer> slabs;
+    @GuardedBy("slabs")
+    private int allocatedSlabCount;
+    @GuardedBy("slabs")
+    private int freeListHead;
+    @GuardedBy("slabs")
+    private long freeBlockCount;
+    @GuardedBy("slabs")
+    private long usedBlockCount;
+    @GuardedBy("slabs")
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the DirectMemoryStore class.
+     *
+     * @param config  The DirectMemoryCacheConfig to use.
+     * @param maxSize The maximum number of bytes this store may allocate. This will be rounded down to a multiple of
+     *                the Slab size (but at least one Slab will be allowed).
+     */
+    DirectMemoryStore(DirectMemoryCacheConfig config, long maxSize) {
+        Preconditions.checkNotNull(config, "config");
+        Preconditions.checkArgument(maxSize > 0, "maxSize must be a positive number.");
+        this.blockSize = config.getBlockSizeBytes();
+        this.blockDataSize = this.blockSize - HEADER_LENGTH;
+        this.blocksPerSlab = config.getSlabSizeBytes() / this.blockSize;
+        int maxSlabCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE / this.blocksPerSlab, maxSize / config.getSlabSizeBytes()));
+        this.maxSize = (long) maxSlabCount * config.getSlabSizeBytes();
+        this.slabs = new AtomicReferenceArray<>(maxSlabCount);
+        this.freeListHead = NO_BLOCK;
+        log.info("{}: Initialized (MaxSize = {}, SlabCount = {}, BlocksPerSlab = {}, BlockSize = {}).",
+                TRACE_OBJECT_ID, this.maxSize, maxSlabCount, this.blocksPerSlab, this.blockSize);
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        synchronized (this.slabs) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+            this.freeListHead = NO_BLOCK;
+            this.freeBlockCount = 0;
+            this.usedBlockCount = 0;
+            for (int i = 0; i < this.allocatedSlabCount; i++) {
+                // Direct ByteBuffers release their memory when they are garbage collected; all we need to do is make
+                // sure we no longer hold references to them.
+                this.slabs.set(i, null);
+            }
+
+            this.allocatedSlabCount = 0;
+        }
+
+        log.info("{}: Closed.", TRACE_OBJECT_ID);
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Stores the given data in a new chain of Blocks.
+     *
+     * @param data   The array containing the data to store.
+     * @param offset The offset within the array where the data begins.
+     * @param length The length of the data.
+     * @return The address of the first Block in the chain. This must be used to retrieve or free the data.
+     * @throws CacheFullException If there is not enough capacity left to store the data.
+     */
+    int allocate(byte[] data, int offset, int length) {
+        Preconditions.checkArgument(length >= 0, "length must be a non-negative number.");
+
+        // Every entry needs at least one Block, even if empty, since we need to be able to tell it exists.
+        int blockCount = Math.max(1, (length + this.blockDataSize - 1) / this.blockDataSize);
+        int[] chain = new int[blockCount];
+        synchronized (this.slabs) {
+            Exceptions.checkNotClosed(this.closed, this);
+            while (this.freeBlockCount < blockCount && this.allocatedSlabCount < this.slabs.length()) {
+                allocateSlab();
+            }
+
+            if (this.freeBlockCount < blockCount) {
+                throw new CacheFullException(String.format(
+                        "Unable to allocate %d bytes (%d blocks). MaxSize = %d, UsedBlocks = %d, FreeBlocks = %d.",
+                        length, blockCount, this.maxSize, this.usedBlockCount, this.freeBlockCount));
+            }
+
+            for (int i = 0; i < blockCount; i++) {
+                chain[i] = this.freeListHead;
+                this.freeListHead = getSlab(chain[i]).getInt(getBlockPosition(chain[i]) + NEXT_OFFSET);
+            }
+
+            this.freeBlockCount -= blockCount;
+            this.usedBlockCount += blockCount;
+        }
+
+        // We now exclusively own these blocks; copy the data outside of the lock.
+        for (int i = 0; i < blockCount; i++) {
+            int blockLength = Math.min(this.blockDataSize, length);
+            ByteBuffer slab = getSlab(chain[i]);
+            int position = getBlockPosition(chain[i]);
+            slab.putInt(position + NEXT_OFFSET, i == blockCount - 1 ? NO_BLOCK : chain[i + 1]);
+            slab.putInt(position + LENGTH_OFFSET, blockLength);
+            if (blockLength > 0) {
+                ByteBuffer target = slab.duplicate();
+                target.position(position + HEADER_LENGTH);
+                target.put(data, offset, blockLength);
+            }
+
+            offset += blockLength;
+            length -= blockLength;
+        }
+
+        assert length == 0 : "not all data has been copied";
+        return chain[0];
+    }
+
+    /**
+     * Appends the given data to the end of the Block chain beginning at the given address. The unused space in the last
+     * Block is filled first, and new Blocks are linked at the end of the chain for whatever does not fit there. The data
+     * already stored in the chain is neither moved nor copied.
+     *
+     * @param address The address of the first Block in the chain.
+     * @param data    The array containing the data to append.
+     * @param offset  The offset within the array where the data begins.
+     * @param length  The length of the data.
+     * @throws CacheFullException If there is not enough capacity left to store the data. If this happens, the chain is
+     *                            not modified.
+     */
+    void append(int address, byte[] data, int offset, int length) {
+        Preconditions.checkArgument(length >= 0, "length must be a non-negative number.");
+        int last = getLastBlock(address);
+        ByteBuffer slab = getSlab(last);
+        int position = getBlockPosition(last);
+        int lastLength = slab.getInt(position + LENGTH_OFFSET);
+        int fillLength = Math.min(this.blockDataSize - lastLength, length);
+
+        // Allocate (and fill) new Blocks for whatever does not fit in the last Block first, since that may fail.
+        int newChain = fillLength < length ? allocate(data, offset + fillLength, length - fillLength) : NO_BLOCK;
+        if (fillLength > 0) {
+            ByteBuffer target = slab.duplicate();
+            target.position(position + HEADER_LENGTH + lastLength);
+            target.put(data, offset, fillLength);
+            slab.putInt(position + LENGTH_OFFSET, lastLength + fillLength);
+        }
+
+        if (newChain != NO_BLOCK) {
+            slab.putInt(position + NEXT_OFFSET, newChain);
+        }
+    }
+
+    /**
+     * Gets the length of the data stored in the Block chain beginning at the given address.
+     *
+     * @param address The address of the first Block in the chain.
+     * @return The length.
+     */
+    int getLength(int address) {
+        int length = 0;
+        int current = address;
+        while (current != NO_BLOCK) {
+            ByteBuffer slab = getSlab(current);
+            int position = getBlockPosition(current);
+            length += slab.getInt(position + LENGTH_OFFSET);
+            current = slab.getInt(position + NEXT_OFFSET);
+        }
+
+        return length;
+    }
+
+    /**
+     * Gets a copy of the data stored in the Block chain beginning at the given address.
+     *
+     * @param address The address of the first Block in the chain.
+     * @return A new array containing the data.
+     */
+    byte[] read(int address) {
+        // First pass: figure out the total length, so we can allocate the result exactly.
+        byte[] result = new byte[getLength(address)];
+
+        // Second pass: copy the data.
+        int resultOffset = 0;
+        int current = address;
+        while (current != NO_BLOCK) {
+            ByteBuffer slab = getSlab(current).duplicate();
+            int position = getBlockPosition(current);
+            int blockLength = slab.getInt(position + LENGTH_OFFSET);
+            slab.position(position + HEADER_LENGTH);
+            slab.get(result, resultOffset, blockLength);
+            resultOffset += blockLength;
+            current = slab.getInt(position + NEXT_OFFSET);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets read-only views over the (non-empty) data sections of the Blocks in the chain beginning at the given address,
+     * in order. No data is copied. The views are only valid for as long as the chain has not been freed.
+     *
+     * @param address The address of the first Block in the chain.
+     * @return A List of ByteBuffers, each being a view of a single Block's data.
+     */
+    List<ByteBuffer> getViews(int address) {
+        ArrayList<ByteBuffer> result = new ArrayList<>();
+        int current = address;
+        while (current != NO_BLOCK) {
+            ByteBuffer slab = getSlab(current);
+            int position = getBlockPosition(current);
+            int blockLength = slab.getInt(position + LENGTH_OFFSET);
+            if (blockLength > 0) {
+                ByteBuffer view = slab.asReadOnlyBuffer();
+                view.position(position + HEADER_LENGTH);
+                view.limit(position + HEADER_LENGTH + blockLength);
+                result.add(view.slice());
+            }
+
+            current = slab.getInt(position + NEXT_OFFSET);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns all the Blocks in the chain beginning at the given address to the free list.
+     *
+     * @param address The address of the first Block in the chain.
+     */
+    void free(int address) {
+        synchronized (this.slabs) {
+            if (this.closed) {
+                // All memory has already been released.
+                return;
+            }
+
+            int current = address;
+            while (current != NO_BLOCK) {
+                ByteBuffer slab = getSlab(current);
+                int position = getBlockPosition(current);
+                int next = slab.getInt(position + NEXT_OFFSET);
+                slab.putInt(position + NEXT_OFFSET, this.freeListHead);
+                slab.putInt(position + LENGTH_OFFSET, 0);
+                this.freeListHead = current;
+                this.freeBlockCount++;
+                this.usedBlockCount--;
+                current = next;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of bytes currently used by allocated Blocks (including headers and unused space in partially
+     * filled Blocks).
+     *
+     * @return The number of bytes used.
+     */
+    long getUsedBytes() {
+        synchronized (this.slabs) {
+            return this.usedBlockCount * this.blockSize;
+        }
+    }
+
+    /**
+     * Gets the number of bytes currently reserved from the JVM (direct memory), whether used or not.
+     *
+     * @return The number of bytes allocated.
+     */
+    long getAllocatedBytes() {
+        synchronized (this.slabs) {
+            return (long) this.allocatedSlabCount * this.blocksPerSlab * this.blockSize;
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @GuardedBy("slabs")
+    private void allocateSlab() {
+        int slabIndex = this.allocatedSlabCount;
+        ByteBuffer slab = ByteBuffer.allocateDirect(this.blocksPerSlab * this.blockSize);
+
+        // Thread every Block in this Slab onto the free list.
+        int firstAddress = slabIndex * this.blocksPerSlab;
+        for (int i = 0; i < this.blocksPerSlab; i++) {
+            int next = i == this.blocksPerSlab - 1 ? this.freeListHead : firstAddress + i + 1;
+            slab.putInt(i * this.blockSize + NEXT_OFFSET, next);
+            slab.putInt(i * this.blockSize + LENGTH_OFFSET, 0);
+        }
+
+        this.slabs.set(slabIndex, slab);
+        this.allocatedSlabCount++;
+        this.freeListHead = firstAddress;
+        this.freeBlockCount += this.blocksPerSlab;
+        DirectMemoryCacheMetrics.allocated((long) this.allocatedSlabCount * this.blocksPerSlab * this.blockSize);
+        log.debug("{}: Allocated Slab {}.", TRACE_OBJECT_ID, slabIndex);
+    }
+
+    private int getLastBlock(int address) {
+        int current = address;
+        int next = getSlab(current).getInt(getBlockPosition(current) + NEXT_OFFSET);
+        while (next != NO_BLOCK) {
+            current = next;
+            next = getSlab(current).getInt(getBlockPosition(current) + NEXT_OFFSET);
+        }
+
+        return current;
+    }
+
+    private ByteBuffer getSlab(int address) {
+        ByteBuffer slab = this.slabs.get(address / this.blocksPerSlab);
+        Exceptions.checkNotClosed(slab == null, this);
+        return slab;
+    }
+
+    private int getBlockPosition(int address) {
+        return (address % this.blocksPerSlab) * this.blockSize;
+    }
+
+    //endregion
+}
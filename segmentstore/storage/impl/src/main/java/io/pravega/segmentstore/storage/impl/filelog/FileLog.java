@@ -0,0 +1,753 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ArrayView;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.storage.DataLogDisabledException;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.WriteFailureException;
+import io.pravega.segmentstore.storage.WriteTooLongException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import javax.annotation.concurrent.GuardedBy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * A DurableDataLog backed by files on the local file system. Each log is stored in its own directory, which contains a
+ * metadata file and a sequence of pre-allocated, memory-mapped log files.
+ *
+ * Writes are queued up and processed by a single Write Processor, which copies all the queued writes into the current
+ * log file and then issues a single fsync (group commit) for all of them. Once a log file is full, it is sealed and a
+ * new one is created; log files are also the unit of truncation, as a file is deleted once all its entries have been
+ * truncated out.
+ *
+ * Exclusive write access is ensured using an epoch stored in the metadata file: every call to initialize() increments
+ * the epoch and seals all the log files that were being written to by previous instances. Every group commit verifies
+ * the epoch after the fsync and fails the writes if it has changed, in which case this instance can no longer be used.
+ * In order to keep this check off the disk in the common case, the metadata file is only re-read (under the lock) if
+ * its attributes (file key, modification time and size) differ from the ones observed when this instance last accessed
+ * it; since the metadata file is always replaced using an atomic move, any update by another instance changes them.
+ *
+ * Only the active log file is kept mapped into memory (along with an open FileChannel for it). Upon rollover or close(),
+ * its FileChannel is closed and all references to its mapping are dropped; Java provides no way to explicitly unmap a
+ * MappedByteBuffer, so the mapping itself is released once it is garbage collected.
+ */
+@Slf4j
+class FileLog implements DurableDataLog {
+    //region Members
+
+    /**
+     * Each entry begins with its length (4 bytes), followed by a CRC32 checksum of the length and the payload (4 bytes).
+     */
+    static final int ENTRY_HEADER_LENGTH = Integer.BYTES * 2;
+    private static final String METADATA_FILE_NAME = "metadata";
+    private static final String METADATA_TEMP_FILE_NAME = "metadata.tmp";
+    private static final String METADATA_LOCK_FILE_NAME = "metadata.lock";
+
+    /**
+     * File locks are held on behalf of the entire JVM, so FileLog instances in the same process that access the same
+     * directory must also synchronize among themselves.
+     */
+    private static final ConcurrentHashMap<Path, Object> METADATA_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path logDirectory;
+    private final FileLogConfig config;
+    private final ScheduledExecutorService executor;
+    private final String traceObjectId;
+    private final AtomicBoolean closed;
+    private final Object lock = new Object();
+    @GuardedBy("lock")
+    private FileLogMetadata metadata;
+    @GuardedBy("writes")
+    private final ArrayDeque<PendingWrite> writes;
+    @GuardedBy("writes")
+    private long queuedLength;
+    @GuardedBy("writes")
+    private boolean writeProcessorRunning;
+
+    /**
+     * The address right after the last acknowledged write in the active file. Readers may not read beyond this point.
+     */
+    private final AtomicReference<FileLogAddress> committedAddress;
+
+    /**
+     * The contents of the metadata file as of the last time this instance accessed it.
+     */
+    private final AtomicReference<CachedMetadata> cachedMetadata;
+
+    // These are only accessed by the Write Processor (or by initialize(), before any writes are accepted, and by close(),
+    // after the Write Processor has stopped).
+    private ActiveFile activeFile;
+    private int activeFileId;
+    private int writeOffset;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileLog class.
+     *
+     * @param containerId  The Id of the Container whose FileLog to open.
+     * @param logDirectory The directory where this log is stored.
+     * @param config       FileLogConfig to use.
+     * @param executor     An Executor to use for async operations.
+     */
+    FileLog(int containerId, Path logDirectory, FileLogConfig config, ScheduledExecutorService executor) {
+        Preconditions.checkArgument(containerId >= 0, "containerId must be a non-negative integer.");
+        this.logDirectory = Preconditions.checkNotNull(logDirectory, "logDirectory");
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.traceObjectId = String.format("FileLog[%d]", containerId);
+        this.closed = new AtomicBoolean();
+        this.writes = new ArrayDeque<>();
+        this.committedAddress = new AtomicReference<>(new FileLogAddress(0, 0));
+        this.cachedMetadata = new AtomicReference<>();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            List<PendingWrite> toCancel;
+            synchronized (this.writes) {
+                toCancel = new ArrayList<>(this.writes);
+                this.writes.clear();
+                this.queuedLength = 0;
+            }
+
+            toCancel.forEach(w -> w.result.completeExceptionally(new CancellationException("FileLog has been closed.")));
+            releaseActiveFileIfIdle();
+            log.info("{}: Closed.", this.traceObjectId);
+        }
+    }
+
+    //endregion
+
+    //region DurableDataLog Implementation
+
+    @Override
+    public void initialize(Duration timeout) throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.metadata == null, "FileLog is already initialized.");
+            val newFile = new AtomicReference<ActiveFile>();
+            FileLogMetadata newMetadata;
+            try {
+                newMetadata = updateMetadata(oldMetadata -> {
+                    if (oldMetadata != null && !oldMetadata.isEnabled()) {
+                        throw new DataLogDisabledException("FileLog is disabled. Cannot initialize.");
+                    }
+
+                    int newFileId = oldMetadata == null ? 1 : Math.max(oldMetadata.getLastFileId(), oldMetadata.getTruncationAddress().getFileId()) + 1;
+                    newFile.set(createFile(newFileId));
+                    return oldMetadata == null ? new FileLogMetadata(newFileId) : oldMetadata.newEpoch(sealActiveFiles(oldMetadata), newFileId);
+                });
+            } catch (Throwable ex) {
+                if (newFile.get() != null) {
+                    newFile.get().close();
+                }
+
+                throw ex;
+            }
+
+            this.metadata = newMetadata;
+            this.activeFile = newFile.get();
+            this.activeFileId = newMetadata.getLastFileId();
+            this.writeOffset = 0;
+            this.committedAddress.set(new FileLogAddress(this.activeFileId, 0));
+            log.info("{}: Initialized ({}).", this.traceObjectId, newMetadata);
+        }
+    }
+
+    @Override
+    public void enable() throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.metadata == null, "FileLog is already initialized; cannot re-enable.");
+            FileLogMetadata newMetadata = updateMetadata(m -> {
+                // Inexistent metadata means the FileLog has never been accessed, and therefore enabled by default.
+                Preconditions.checkState(m != null && !m.isEnabled(), "FileLog is already enabled.");
+                return m.asEnabled();
+            });
+            log.info("{}: Enabled ({}).", this.traceObjectId, newMetadata);
+        }
+    }
+
+    @Override
+    public void disable() throws DurableDataLogException {
+        ensurePreconditions();
+        synchronized (this.lock) {
+            this.metadata = updateMetadata(m -> {
+                checkEpoch(m);
+                Preconditions.checkState(m.isEnabled(), "FileLog is already disabled.");
+                return m.asDisabled();
+            });
+            log.info("{}: Disabled ({}).", this.traceObjectId, this.metadata);
+        }
+
+        // Close this instance of the FileLog. This ensures the proper cancellation of any ongoing writes.
+        close();
+    }
+
+    @Override
+    public CompletableFuture<LogAddress> append(ArrayView data, Duration timeout) {
+        ensurePreconditions();
+        if (data.getLength() > getMaxAppendLength()) {
+            return Futures.failedFuture(new WriteTooLongException(data.getLength(), getMaxAppendLength()));
+        }
+
+        PendingWrite write = new PendingWrite(data, new CompletableFuture<>());
+        boolean startProcessor;
+        synchronized (this.writes) {
+            Exceptions.checkNotClosed(this.closed.get(), this);
+            this.writes.addLast(write);
+            this.queuedLength += data.getLength();
+            startProcessor = !this.writeProcessorRunning;
+            this.writeProcessorRunning = true;
+        }
+
+        if (startProcessor) {
+            this.executor.execute(this::processWrites);
+        }
+
+        return write.result;
+    }
+
+    @Override
+    public CompletableFuture<Void> truncate(LogAddress upToAddress, Duration timeout) {
+        ensurePreconditions();
+        Preconditions.checkArgument(upToAddress instanceof FileLogAddress, "upToAddress must be of type FileLogAddress.");
+        return CompletableFuture.runAsync(() -> {
+            try {
+                truncateSync((FileLogAddress) upToAddress);
+            } catch (DurableDataLogException ex) {
+                throw new CompletionException(ex);
+            }
+        }, this.executor);
+    }
+
+    @Override
+    public CloseableIterator<ReadItem, DurableDataLogException> getReader() throws DurableDataLogException {
+        ensurePreconditions();
+        return new FileLogReader(this.logDirectory, this::getMetadata, this.committedAddress::get, this.traceObjectId);
+    }
+
+    @Override
+    public int getMaxAppendLength() {
+        return Math.min(FileLogConfig.MAX_APPEND_LENGTH, this.config.getFileSize() - ENTRY_HEADER_LENGTH);
+    }
+
+    @Override
+    public long getEpoch() {
+        ensurePreconditions();
+        return getMetadata().getEpoch();
+    }
+
+    @Override
+    public QueueStats getQueueStatistics() {
+        synchronized (this.writes) {
+            int size = this.writes.size();
+            double fillRatio = size == 0 ? 0 : Math.min(1, (double) this.queuedLength / size / getMaxAppendLength());
+            return new QueueStats(size, fillRatio, 0);
+        }
+    }
+
+    //endregion
+
+    //region Writes
+
+    /**
+     * Write Processor main loop. Picks up all the writes that are queued up at the time and commits them as a group,
+     * until there are no more writes left.
+     */
+    private void processWrites() {
+        while (true) {
+            List<PendingWrite> batch;
+            synchronized (this.writes) {
+                if (this.writes.isEmpty()) {
+                    this.writeProcessorRunning = false;
+                    if (this.closed.get()) {
+                        // close() could not release the active file while we were running.
+                        releaseActiveFile();
+                    }
+
+                    return;
+                }
+
+                batch = new ArrayList<>(this.writes);
+                this.writes.clear();
+                this.queuedLength = 0;
+            }
+
+            try {
+                Exceptions.checkNotClosed(this.closed.get(), this);
+                List<FileLogAddress> addresses = writeBatch(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result.complete(addresses.get(i));
+                }
+            } catch (Throwable ex) {
+                // We cannot tell how much of the batch made it to disk, so this instance cannot be used anymore.
+                Throwable failure = ex instanceof DurableDataLogException || ex instanceof RuntimeException
+                        ? ex
+                        : new WriteFailureException("Unable to write to FileLog.", ex);
+                log.error("{}: Unable to write {} entries. Closing.", this.traceObjectId, batch.size(), failure);
+                batch.forEach(w -> w.result.completeExceptionally(failure));
+                close();
+            }
+        }
+    }
+
+    /**
+     * Copies the given writes into the active log file (rolling it over as needed), fsyncs them and then verifies that
+     * this instance is still the exclusive writer.
+     */
+    private List<FileLogAddress> writeBatch(List<PendingWrite> batch) throws IOException, DurableDataLogException {
+        List<FileLogAddress> addresses = new ArrayList<>(batch.size());
+        for (PendingWrite w : batch) {
+            ArrayView data = w.data;
+            if (this.writeOffset + ENTRY_HEADER_LENGTH + data.getLength() > this.config.getFileSize()) {
+                rollover();
+            }
+
+            addresses.add(new FileLogAddress(this.activeFileId, this.writeOffset));
+            MappedByteBuffer buffer = this.activeFile.buffer;
+            buffer.position(this.writeOffset);
+            buffer.putInt(data.getLength());
+            buffer.putInt(checksum(data.getLength(), data.array(), data.arrayOffset()));
+            buffer.put(data.array(), data.arrayOffset(), data.getLength());
+            this.writeOffset = buffer.position();
+        }
+
+        // Group commit: one fsync for the entire batch. We need to verify the epoch after the data has been persisted:
+        // any other instance initializing after this check will find our data when sealing this file.
+        this.activeFile.buffer.force();
+        checkEpoch(loadMetadataIfChanged());
+        this.committedAddress.set(new FileLogAddress(this.activeFileId, this.writeOffset));
+        return addresses;
+    }
+
+    /**
+     * Seals the active log file and creates a new one.
+     */
+    private void rollover() throws IOException, DurableDataLogException {
+        this.activeFile.buffer.force();
+        int newFileId = this.activeFileId + 1;
+        ActiveFile newFile = createFile(newFileId);
+        try {
+            synchronized (this.lock) {
+                this.metadata = updateMetadata(m -> {
+                    checkEpoch(m);
+                    return m.rollover(this.activeFileId, this.writeOffset, newFileId);
+                });
+            }
+        } catch (Throwable ex) {
+            newFile.close();
+            throw ex;
+        }
+
+        // The sealed file is never written to again, so there is no need to keep it mapped.
+        this.activeFile.close();
+        this.activeFile = newFile;
+        this.activeFileId = newFileId;
+        this.writeOffset = 0;
+        this.committedAddress.set(new FileLogAddress(newFileId, 0));
+        log.debug("{}: Rolled over to log file {}.", this.traceObjectId, newFileId);
+    }
+
+    /**
+     * Creates a new, pre-allocated, log file with the given id and maps it into memory.
+     */
+    private ActiveFile createFile(int fileId) throws IOException {
+        Path path = getFilePath(this.logDirectory, fileId);
+
+        // A previous initialize() may have failed after creating this file; it must not contain any stale data.
+        Files.deleteIfExists(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Pre-allocate the file by writing its last byte.
+            channel.write(ByteBuffer.allocate(1), this.config.getFileSize() - 1);
+            return new ActiveFile(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, this.config.getFileSize()));
+        } catch (Throwable ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Releases the active log file, but only if the Write Processor is not running (in which case it will release it
+     * itself when it stops).
+     */
+    private void releaseActiveFileIfIdle() {
+        synchronized (this.writes) {
+            if (!this.writeProcessorRunning) {
+                releaseActiveFile();
+            }
+        }
+    }
+
+    @GuardedBy("writes")
+    private void releaseActiveFile() {
+        if (this.activeFile != null) {
+            this.activeFile.close();
+            this.activeFile = null;
+        }
+    }
+
+    /**
+     * Determines the length of each active log file in the given metadata, by locating the last valid entry in each.
+     */
+    private Map<Integer, Integer> sealActiveFiles(FileLogMetadata metadata) throws IOException {
+        Map<Integer, Integer> result = new HashMap<>();
+        for (FileLogMetadata.LogFile f : metadata.getFiles()) {
+            if (f.isActive()) {
+                Path path = getFilePath(this.logDirectory, f.getFileId());
+                int length = 0;
+                if (Files.exists(path)) {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        length = findEndOfData(channel);
+                    }
+                }
+
+                result.put(f.getFileId(), length);
+                log.info("{}: Sealed log file {} at length {}.", this.traceObjectId, f.getFileId(), length);
+            }
+        }
+
+        return result;
+    }
+
+    private int findEndOfData(FileChannel channel) throws IOException {
+        int offset = 0;
+        int limit = (int) Math.min(Integer.MAX_VALUE, channel.size());
+        byte[] entry = readEntry(channel, offset, limit);
+        while (entry != null) {
+            offset += ENTRY_HEADER_LENGTH + entry.length;
+            entry = readEntry(channel, offset, limit);
+        }
+
+        return offset;
+    }
+
+    //endregion
+
+    //region Truncation
+
+    private void truncateSync(FileLogAddress upToAddress) throws DurableDataLogException {
+        FileLogMetadata oldMetadata;
+        synchronized (this.lock) {
+            oldMetadata = this.metadata;
+            this.metadata = updateMetadata(m -> {
+                checkEpoch(m);
+                return m.truncate(upToAddress);
+            });
+        }
+
+        // Delete the files that are no longer referenced. Failure to do so leaves orphaned files, but does not otherwise
+        // affect the log.
+        for (FileLogMetadata.LogFile f : oldMetadata.getFiles()) {
+            if (f.getFileId() < upToAddress.getFileId() && !f.isActive()) {
+                try {
+                    Files.deleteIfExists(getFilePath(this.logDirectory, f.getFileId()));
+                    log.debug("{}: Deleted truncated log file {}.", this.traceObjectId, f.getFileId());
+                } catch (IOException ex) {
+                    log.warn("{}: Unable to delete truncated log file {}.", this.traceObjectId, f.getFileId(), ex);
+                }
+            }
+        }
+    }
+
+    //endregion
+
+    //region Metadata
+
+    private FileLogMetadata getMetadata() {
+        synchronized (this.lock) {
+            return this.metadata;
+        }
+    }
+
+    private void checkEpoch(FileLogMetadata currentMetadata) throws DataLogWriterNotPrimaryException {
+        long epoch = getMetadata().getEpoch();
+        if (currentMetadata == null || currentMetadata.getEpoch() != epoch) {
+            throw new DataLogWriterNotPrimaryException(String.format("FileLog has been fenced out by another instance (Epoch = %d, Current = %s).",
+                    epoch, currentMetadata));
+        }
+    }
+
+    /**
+     * Gets the current metadata for this log. This only reads the metadata file (under the lock) if it has changed since
+     * the last time this instance accessed it.
+     */
+    private FileLogMetadata loadMetadataIfChanged() throws DurableDataLogException {
+        CachedMetadata cached = this.cachedMetadata.get();
+        if (cached != null) {
+            try {
+                if (cached.matches(Files.readAttributes(getMetadataFilePath(), BasicFileAttributes.class))) {
+                    return cached.metadata;
+                }
+            } catch (IOException ex) {
+                // Inexistent or inaccessible metadata file. Let the full reload below sort it out.
+                log.debug("{}: Unable to read metadata file attributes.", this.traceObjectId, ex);
+            }
+        }
+
+        return updateMetadata(m -> m);
+    }
+
+    /**
+     * Atomically reads, updates and persists the metadata for this log. The metadata is only persisted if the update
+     * returned a different instance than what it was given.
+     *
+     * @param update The update to apply. This will be given the current metadata (or null if the log has never been
+     *               initialized).
+     * @return The new metadata.
+     */
+    private FileLogMetadata updateMetadata(MetadataUpdate update) throws DurableDataLogException {
+        Object jvmLock = METADATA_LOCKS.computeIfAbsent(this.logDirectory.toAbsolutePath().normalize(), p -> new Object());
+        synchronized (jvmLock) {
+            try {
+                Files.createDirectories(this.logDirectory);
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException(String.format("Unable to create FileLog directory '%s'.", this.logDirectory), ex);
+            }
+
+            try (FileChannel lockChannel = FileChannel.open(this.logDirectory.resolve(METADATA_LOCK_FILE_NAME),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                FileLogMetadata oldMetadata = loadMetadata();
+                FileLogMetadata newMetadata = update.apply(oldMetadata);
+                if (newMetadata != oldMetadata) {
+                    persistMetadata(newMetadata);
+                }
+
+                cacheMetadata(newMetadata);
+                return newMetadata;
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException(String.format("Unable to access FileLog metadata in '%s'.", this.logDirectory), ex);
+            }
+        }
+    }
+
+    private void cacheMetadata(FileLogMetadata metadata) throws IOException {
+        CachedMetadata cached = null;
+        if (metadata != null) {
+            cached = new CachedMetadata(Files.readAttributes(getMetadataFilePath(), BasicFileAttributes.class), metadata);
+            if (cached.fileKey == null) {
+                // Without a file key we cannot reliably tell if the file has been replaced; always reload it.
+                cached = null;
+            }
+        }
+
+        this.cachedMetadata.set(cached);
+    }
+
+    private FileLogMetadata loadMetadata() throws IOException {
+        Path path = getMetadataFilePath();
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        return FileLogMetadata.SERIALIZER.deserialize(Files.readAllBytes(path));
+    }
+
+    private void persistMetadata(FileLogMetadata metadata) throws IOException {
+        // Write the metadata to a temporary file, then atomically replace the existing one with it.
+        Path tempPath = this.logDirectory.resolve(METADATA_TEMP_FILE_NAME);
+        val serialized = FileLogMetadata.SERIALIZER.serialize(metadata);
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(serialized.array(), serialized.arrayOffset(), serialized.getLength());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(tempPath, getMetadataFilePath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path getMetadataFilePath() {
+        return this.logDirectory.resolve(METADATA_FILE_NAME);
+    }
+
+    @FunctionalInterface
+    private interface MetadataUpdate {
+        FileLogMetadata apply(FileLogMetadata metadata) throws DurableDataLogException, IOException;
+    }
+
+    /**
+     * FileLogMetadata, along with the attributes of the metadata file it was read from (or written to).
+     */
+    private static class CachedMetadata {
+        private final Object fileKey;
+        private final FileTime lastModifiedTime;
+        private final long size;
+        private final FileLogMetadata metadata;
+
+        CachedMetadata(BasicFileAttributes attributes, FileLogMetadata metadata) {
+            this.fileKey = attributes.fileKey();
+            this.lastModifiedTime = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.metadata = metadata;
+        }
+
+        /**
+         * Determines whether the metadata file with the given attributes is the same one this was read from.
+         */
+        boolean matches(BasicFileAttributes attributes) {
+            return this.fileKey.equals(attributes.fileKey())
+                    && this.lastModifiedTime.equals(attributes.lastModifiedTime())
+                    && this.size == attributes.size();
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Gets the path of the log file with the given id.
+     *
+     * @param logDirectory The directory where the log is stored.
+     * @param fileId       The id of the file.
+     * @return The path.
+     */
+    static Path getFilePath(Path logDirectory, int fileId) {
+        return logDirectory.resolve(String.format("%010d.log", fileId));
+    }
+
+    /**
+     * Reads the entry at the given offset in the given log file.
+     *
+     * @param channel The FileChannel to read from.
+     * @param offset  The offset to read at.
+     * @param limit   The offset beyond which no entry may extend.
+     * @return The payload of the entry, or null if there is no valid entry at the given offset.
+     * @throws IOException If an IOException occurred.
+     */
+    static byte[] readEntry(FileChannel channel, int offset, int limit) throws IOException {
+        if (offset + ENTRY_HEADER_LENGTH > limit) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_LENGTH);
+        readFully(channel, header, offset);
+        header.flip();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length < 0 || length > limit - offset - ENTRY_HEADER_LENGTH) {
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        readFully(channel, ByteBuffer.wrap(payload), offset + ENTRY_HEADER_LENGTH);
+        return checksum(length, payload, 0) == checksum ? payload : null;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position + buffer.position());
+            if (count < 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Calculates the checksum of an entry. The length is included so that a zero-filled region of the log file (which
+     * is what follows the last entry) does not look like an empty entry.
+     */
+    private static int checksum(int length, byte[] array, int arrayOffset) {
+        CRC32 crc = new CRC32();
+        crc.update(length >>> 24);
+        crc.update(length >>> 16);
+        crc.update(length >>> 8);
+        crc.update(length);
+        crc.update(array, arrayOffset, length);
+        return (int) crc.getValue();
+    }
+
+    private void ensurePreconditions() {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.metadata != null, "FileLog is not initialized.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.traceObjectId;
+    }
+
+    //endregion
+
+    /**
+     * The log file currently being written to, along with its memory mapping.
+     */
+    @RequiredArgsConstructor
+    private class ActiveFile implements AutoCloseable {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        @Override
+        public void close() {
+            try {
+                this.channel.close();
+            } catch (IOException ex) {
+                log.warn("{}: Unable to close active log file.", traceObjectId, ex);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingWrite {
+        private final ArrayView data;
+        private final CompletableFuture<LogAddress> result;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.LogAddress;
+
+/**
+ * LogAddress for a FileLog. The high-order 32 bits of the sequence are the Id of the log file, while the low-order 32
+ * bits are the offset of the entry within that file.
+ */
+class FileLogAddress extends LogAddress {
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Creates a new instance of the FileLogAddress class.
+     *
+     * @param fileId The Id of the log file that this Address corresponds to.
+     * @param offset The offset within the log file of the entry that this Address corresponds to.
+     */
+    FileLogAddress(int fileId, int offset) {
+        this(((long) fileId << 32) + (offset & INT_MASK));
+        Preconditions.checkArgument(fileId >= 0, "fileId must be a non-negative number.");
+        Preconditions.checkArgument(offset >= 0, "offset must be a non-negative number.");
+    }
+
+    /**
+     * Creates a new instance of the FileLogAddress class.
+     *
+     * @param sequence The sequence of the Address.
+     */
+    FileLogAddress(long sequence) {
+        super(sequence);
+    }
+
+    /**
+     * Gets the Id of the log file that this Address points to.
+     *
+     * @return The result.
+     */
+    int getFileId() {
+        return (int) (getSequence() >>> 32);
+    }
+
+    /**
+     * Gets the offset within the log file of the entry that this Address points to.
+     *
+     * @return The result.
+     */
+    int getOffset() {
+        return (int) (getSequence() & INT_MASK);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, FileId = %d, Offset = %d", super.toString(), getFileId(), getOffset());
+    }
+}
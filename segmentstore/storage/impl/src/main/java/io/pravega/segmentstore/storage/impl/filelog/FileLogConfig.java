@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.InvalidPropertyValueException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for the local file-based DurableDataLog.
+ */
+public class FileLogConfig {
+    //region Config Names
+
+    public static final Property<String> ROOT = Property.named("root", "/filelog/");
+    public static final Property<Integer> FILE_SIZE = Property.named("fileSizeBytes", 64 * 1024 * 1024);
+
+    public static final String COMPONENT_CODE = "filelog";
+
+    /**
+     * Maximum append length. This matches the one used by BookKeeper so that Data Frames have the same size regardless
+     * of which DurableDataLog implementation is used.
+     */
+    static final int MAX_APPEND_LENGTH = 1024 * 1024 - 1024;
+
+    /**
+     * The smallest acceptable value for FILE_SIZE.
+     */
+    private static final int MIN_FILE_SIZE = 1024;
+
+    //endregion
+
+    //region Members
+
+    /**
+     * Root directory where all the logs are stored. Each log is stored in its own sub-directory.
+     */
+    @Getter
+    private final String root;
+
+    /**
+     * The size, in bytes, of each log file. Log files are pre-allocated to this size when created. When the current log
+     * file cannot accommodate another write, a new one is created. Files are also the unit of truncation: a file is
+     * deleted once all its entries have been truncated out of the log.
+     */
+    @Getter
+    private final int fileSize;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileLogConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private FileLogConfig(TypedProperties properties) throws ConfigurationException {
+        this.root = properties.get(ROOT);
+        this.fileSize = properties.getInt(FILE_SIZE);
+        if (this.fileSize < MIN_FILE_SIZE) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be at least %d.",
+                    FILE_SIZE, this.fileSize, MIN_FILE_SIZE));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<FileLogConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, FileLogConfig::new);
+    }
+
+    //endregion
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.DurableDataLogFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ScheduledExecutorService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Factory for FileLogs. Each log is stored in a sub-directory of the configured root directory, named after the id of
+ * the Container that owns it.
+ */
+@Slf4j
+public class FileLogFactory implements DurableDataLogFactory {
+    //region Members
+
+    private final FileLogConfig config;
+    private final Path root;
+    private final ScheduledExecutorService executor;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileLogFactory class.
+     *
+     * @param config   The configuration to use for all instances created.
+     * @param executor An executor to use for async operations.
+     */
+    public FileLogFactory(FileLogConfig config, ScheduledExecutorService executor) {
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.root = Paths.get(config.getRoot());
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        // Nothing to close; each FileLog owns its own resources.
+    }
+
+    //endregion
+
+    //region DurableDataLogFactory Implementation
+
+    @Override
+    public void initialize() throws DurableDataLogException {
+        try {
+            Files.createDirectories(this.root);
+            log.info("FileLogFactory: Initialized (Root = {}).", this.root.toAbsolutePath());
+        } catch (IOException ex) {
+            throw new DataLogNotAvailableException(String.format("Unable to create FileLog root directory '%s'.", this.root), ex);
+        }
+    }
+
+    @Override
+    public DurableDataLog createDurableDataLog(int containerId) {
+        return new FileLog(containerId, this.root.resolve(Integer.toString(containerId)), this.config, this.executor);
+    }
+
+    //endregion
+}
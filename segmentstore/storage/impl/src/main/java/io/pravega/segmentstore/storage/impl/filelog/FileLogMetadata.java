@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.ObjectBuilder;
+import io.pravega.common.io.serialization.RevisionDataInput;
+import io.pravega.common.io.serialization.RevisionDataOutput;
+import io.pravega.common.io.serialization.VersionedSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.Immutable;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Metadata for a FileLog. Instances of this class are immutable; every modification results in a new instance.
+ */
+@Immutable
+class FileLogMetadata {
+    //region Members
+
+    static final VersionedSerializer.WithBuilder<FileLogMetadata, FileLogMetadataBuilder> SERIALIZER = new Serializer();
+
+    /**
+     * The initial epoch to use for the Log.
+     */
+    private static final long INITIAL_EPOCH = 1;
+
+    /**
+     * A LogAddress to be used when the log is not truncated (initially). File Ids begin at 1, so this will never overlap
+     * with the first entry in the log.
+     */
+    private static final FileLogAddress INITIAL_TRUNCATION_ADDRESS = new FileLogAddress(0, 0);
+
+    /**
+     * The current epoch of the metadata. The epoch is incremented upon every successful initialization.
+     */
+    @Getter
+    private final long epoch;
+
+    /**
+     * Whether the Log described by this FileLogMetadata is enabled or not.
+     */
+    @Getter
+    private final boolean enabled;
+
+    /**
+     * An ordered list of LogFile instances that represent the files in the log.
+     */
+    @Getter
+    private final List<LogFile> files;
+
+    /**
+     * The Address of the last write that was truncated out of the log. Every read will start from the next element.
+     */
+    @Getter
+    private final FileLogAddress truncationAddress;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileLogMetadata class with one (active) file and epoch set to the default value.
+     *
+     * @param initialFileId The Id of the file to start the log with.
+     */
+    FileLogMetadata(int initialFileId) {
+        this(INITIAL_EPOCH, true, Collections.singletonList(new LogFile(initialFileId, LogFile.ACTIVE)), INITIAL_TRUNCATION_ADDRESS);
+    }
+
+    /**
+     * Creates a new instance of the FileLogMetadata class.
+     *
+     * @param epoch             The current Log epoch.
+     * @param enabled           Whether this Log is enabled or not.
+     * @param files             The ordered list of files making up this log.
+     * @param truncationAddress The truncation address for this log. This is the address of the last entry that has been
+     *                          truncated out of the log.
+     */
+    @Builder
+    private FileLogMetadata(long epoch, boolean enabled, List<LogFile> files, FileLogAddress truncationAddress) {
+        Preconditions.checkArgument(epoch > 0, "epoch must be a positive number");
+        this.epoch = epoch;
+        this.enabled = enabled;
+        this.files = Preconditions.checkNotNull(files, "files");
+        this.truncationAddress = Preconditions.checkNotNull(truncationAddress, "truncationAddress");
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Creates a new instance of the FileLogMetadata class which has all active files sealed at the given lengths, an
+     * additional active file and an incremented epoch.
+     *
+     * @param sealedLengths A Map of active file Ids to the lengths to seal them at.
+     * @param newFileId     The Id of the file to add. This must be greater than any existing file Id.
+     * @return A new instance of the FileLogMetadata class.
+     */
+    FileLogMetadata newEpoch(Map<Integer, Integer> sealedLengths, int newFileId) {
+        List<LogFile> newFiles = this.files
+                .stream()
+                .map(f -> f.isActive() ? new LogFile(f.fileId, sealedLengths.get(f.fileId)) : f)
+                .collect(Collectors.toCollection(ArrayList::new));
+        return new FileLogMetadata(this.epoch + 1, this.enabled, withFile(newFiles, newFileId), this.truncationAddress);
+    }
+
+    /**
+     * Creates a new instance of the FileLogMetadata class which has the given active file sealed and an additional
+     * active file.
+     *
+     * @param fileId    The Id of the file to seal.
+     * @param length    The length to seal the file at.
+     * @param newFileId The Id of the file to add. This must be greater than any existing file Id.
+     * @return A new instance of the FileLogMetadata class.
+     */
+    FileLogMetadata rollover(int fileId, int length, int newFileId) {
+        List<LogFile> newFiles = this.files
+                .stream()
+                .map(f -> f.fileId == fileId ? new LogFile(fileId, length) : f)
+                .collect(Collectors.toCollection(ArrayList::new));
+        return new FileLogMetadata(this.epoch, this.enabled, withFile(newFiles, newFileId), this.truncationAddress);
+    }
+
+    /**
+     * Creates a new instance of the FileLogMetadata class which has the given truncation address and which contains
+     * only those files that may still have entries after it. The active file (if any) is never removed.
+     *
+     * @param upToAddress The address of the last entry to truncate out (inclusive).
+     * @return A new instance of the FileLogMetadata class.
+     */
+    FileLogMetadata truncate(FileLogAddress upToAddress) {
+        if (upToAddress.getSequence() <= this.truncationAddress.getSequence()) {
+            // Nothing to do.
+            return this;
+        }
+
+        List<LogFile> newFiles = this.files
+                .stream()
+                .filter(f -> f.fileId >= upToAddress.getFileId() || f.isActive())
+                .collect(Collectors.toList());
+        return new FileLogMetadata(this.epoch, this.enabled, Collections.unmodifiableList(newFiles), upToAddress);
+    }
+
+    /**
+     * Returns a FileLogMetadata class with the exact contents of this instance, but the enabled flag set to true.
+     *
+     * @return This instance, if isEnabled() == true, of a new instance of the FileLogMetadata class which will have
+     * isEnabled() == true, otherwise.
+     */
+    FileLogMetadata asEnabled() {
+        return this.enabled ? this : new FileLogMetadata(this.epoch, true, this.files, this.truncationAddress);
+    }
+
+    /**
+     * Returns a FileLogMetadata class with the exact contents of this instance, but the enabled flag set to false.
+     *
+     * @return This instance, if isEnabled() == false, of a new instance of the FileLogMetadata class which will have
+     * isEnabled() == false, otherwise.
+     */
+    FileLogMetadata asDisabled() {
+        return this.enabled ? new FileLogMetadata(this.epoch, false, this.files, this.truncationAddress) : this;
+    }
+
+    /**
+     * Gets the Id of the last file in the log, or 0 if the log has no files.
+     *
+     * @return The result.
+     */
+    int getLastFileId() {
+        return this.files.isEmpty() ? 0 : this.files.get(this.files.size() - 1).fileId;
+    }
+
+    private List<LogFile> withFile(List<LogFile> files, int newFileId) {
+        Preconditions.checkArgument(newFileId > getLastFileId(), "newFileId must be greater than all existing file ids.");
+        files.add(new LogFile(newFileId, LogFile.ACTIVE));
+        return Collections.unmodifiableList(files);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Epoch = %d, Enabled = %s, FileCount = %d, Truncate = (%d-%d)",
+                this.epoch, this.enabled, this.files.size(), this.truncationAddress.getFileId(), this.truncationAddress.getOffset());
+    }
+
+    //endregion
+
+    //region LogFile
+
+    /**
+     * Metadata about a single file in the log.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    static class LogFile {
+        /**
+         * Length value for a file that is still being written to and whose length has not yet been determined.
+         */
+        static final int ACTIVE = -1;
+
+        /**
+         * The Id of the file. File Ids are strictly increasing within a log.
+         */
+        private final int fileId;
+
+        /**
+         * The number of bytes in this file that contain valid entries, or ACTIVE if the file is still being written to.
+         */
+        private final int length;
+
+        /**
+         * Gets a value indicating whether this file is still being written to.
+         *
+         * @return The result.
+         */
+        boolean isActive() {
+            return this.length == ACTIVE;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("FileId = %d, Length = %d", this.fileId, this.length);
+        }
+    }
+
+    //endregion
+
+    //region Serialization
+
+    static class FileLogMetadataBuilder implements ObjectBuilder<FileLogMetadata> {
+    }
+
+    private static class Serializer extends VersionedSerializer.WithBuilder<FileLogMetadata, FileLogMetadataBuilder> {
+        @Override
+        protected FileLogMetadataBuilder newBuilder() {
+            return FileLogMetadata.builder();
+        }
+
+        @Override
+        protected byte getWriteVersion() {
+            return 0;
+        }
+
+        @Override
+        protected void declareVersions() {
+            version(0).revision(0, this::write00, this::read00);
+        }
+
+        private void write00(FileLogMetadata m, RevisionDataOutput output) throws IOException {
+            output.writeBoolean(m.isEnabled());
+            output.writeCompactLong(m.getEpoch());
+            output.writeLong(m.truncationAddress.getSequence());
+            output.writeCollection(m.files, this::writeFile00);
+        }
+
+        private void read00(RevisionDataInput input, FileLogMetadataBuilder builder) throws IOException {
+            builder.enabled(input.readBoolean());
+            builder.epoch(input.readCompactLong());
+            builder.truncationAddress(new FileLogAddress(input.readLong()));
+            List<LogFile> files = input.readCollection(this::readFile00, ArrayList::new);
+            builder.files(Collections.unmodifiableList(files));
+        }
+
+        private void writeFile00(RevisionDataOutput output, LogFile f) throws IOException {
+            output.writeInt(f.getFileId());
+            output.writeInt(f.getLength());
+        }
+
+        private LogFile readFile00(RevisionDataInput input) throws IOException {
+            return new LogFile(input.readInt(), input.readInt());
+        }
+    }
+
+    //endregion
+}
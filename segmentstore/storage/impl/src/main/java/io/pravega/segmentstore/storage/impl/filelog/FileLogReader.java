@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sequential reader for a FileLog. Reads all the entries after the log's truncation address, in order, up to the last
+ * committed write.
+ */
+@Slf4j
+@NotThreadSafe
+class FileLogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> {
+    //region Members
+
+    private final Path logDirectory;
+    private final Supplier<FileLogMetadata> metadataSupplier;
+    private final Supplier<FileLogAddress> committedAddressSupplier;
+    private final String traceObjectId;
+    private FileChannel currentFile;
+    private int currentFileId;
+    private int currentOffset;
+    private boolean closed;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FileLogReader class.
+     *
+     * @param logDirectory             The directory where the log is stored.
+     * @param metadataSupplier         A Supplier for the current metadata of the log.
+     * @param committedAddressSupplier A Supplier for the address right after the last committed write in the log.
+     * @param traceObjectId            An identifier to use for logging purposes.
+     */
+    FileLogReader(Path logDirectory, Supplier<FileLogMetadata> metadataSupplier, Supplier<FileLogAddress> committedAddressSupplier,
+                  String traceObjectId) {
+        this.logDirectory = Preconditions.checkNotNull(logDirectory, "logDirectory");
+        this.metadataSupplier = Preconditions.checkNotNull(metadataSupplier, "metadataSupplier");
+        this.committedAddressSupplier = Preconditions.checkNotNull(committedAddressSupplier, "committedAddressSupplier");
+        this.traceObjectId = traceObjectId;
+    }
+
+    //endregion
+
+    //region CloseableIterator Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            closeCurrentFile();
+            this.closed = true;
+        }
+    }
+
+    @Override
+    public DurableDataLog.ReadItem getNext() throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed, this);
+        try {
+            while (true) {
+                if (this.currentFile == null && !openNextFile()) {
+                    // Reached the end of the log.
+                    return null;
+                }
+
+                // The committed address moves to the next file only after the metadata has been updated to seal the
+                // current one, so it must be fetched first.
+                FileLogAddress committedAddress = this.committedAddressSupplier.get();
+                FileLogMetadata metadata = this.metadataSupplier.get();
+                FileLogMetadata.LogFile file = getCurrentFile(metadata);
+                boolean sealed = file == null || !file.isActive();
+                int limit;
+                if (sealed) {
+                    limit = file == null ? 0 : file.getLength();
+                } else {
+                    limit = committedAddress.getFileId() == this.currentFileId ? committedAddress.getOffset() : 0;
+                }
+
+                byte[] payload = FileLog.readEntry(this.currentFile, this.currentOffset, limit);
+                if (payload == null) {
+                    if (this.currentOffset < limit) {
+                        throw new DataLogNotAvailableException(String.format("Log file %d is corrupted at offset %d.",
+                                this.currentFileId, this.currentOffset));
+                    } else if (!sealed) {
+                        // We are at the end of the active file; there is nothing more to read for now.
+                        return null;
+                    }
+
+                    // End of a sealed file. Move on to the next one.
+                    closeCurrentFile();
+                    continue;
+                }
+
+                FileLogAddress address = new FileLogAddress(this.currentFileId, this.currentOffset);
+                this.currentOffset += FileLog.ENTRY_HEADER_LENGTH + payload.length;
+                if (address.getSequence() > metadata.getTruncationAddress().getSequence()) {
+                    return new ReadItem(payload, address);
+                }
+            }
+        } catch (IOException ex) {
+            close();
+            throw new DataLogNotAvailableException(String.format("Unable to read from log file %d.", this.currentFileId), ex);
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Opens the first file in the log whose id is greater than the last file read.
+     *
+     * @return True if a file was opened, false if there are no more files in the log.
+     */
+    private boolean openNextFile() throws IOException {
+        FileLogMetadata metadata = this.metadataSupplier.get();
+        for (FileLogMetadata.LogFile f : metadata.getFiles()) {
+            if (f.getFileId() > this.currentFileId) {
+                this.currentFileId = f.getFileId();
+                this.currentOffset = 0;
+                this.currentFile = FileChannel.open(FileLog.getFilePath(this.logDirectory, f.getFileId()), StandardOpenOption.READ);
+                log.debug("{}: Reading log file {}.", this.traceObjectId, f.getFileId());
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the metadata for the file currently being read, or null if it is no longer part of the log.
+     */
+    private FileLogMetadata.LogFile getCurrentFile(FileLogMetadata metadata) {
+        for (FileLogMetadata.LogFile f : metadata.getFiles()) {
+            if (f.getFileId() == this.currentFileId) {
+                return f;
+            }
+        }
+
+        return null;
+    }
+
+    private void closeCurrentFile() {
+        if (this.currentFile != null) {
+            try {
+                this.currentFile.close();
+            } catch (IOException ex) {
+                log.warn("{}: Unable to close log file {}.", this.traceObjectId, this.currentFileId, ex);
+            }
+
+            this.currentFile = null;
+        }
+    }
+
+    //endregion
+
+    //region ReadItem
+
+    @RequiredArgsConstructor
+    private static class ReadItem implements DurableDataLog.ReadItem {
+        private final byte[] payload;
+        @Getter
+        private final LogAddress address;
+
+        @Override
+        public InputStream getPayload() {
+            return new ByteArrayInputStream(this.payload);
+        }
+
+        @Override
+        public int getLength() {
+            return this.payload.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s, Length = %d.", this.address, this.payload.length);
+        }
+    }
+
+    //endregion
+}
@@ -189,6 +189,13 @@ class RocksDBCache implements Cache {
         insert(key, data.getCopy());
     }
 
+    @Override
+    public boolean append(Key key, int expectedLength, ByteArraySegment data) {
+        // RocksDB cannot extend a value in place, so we would have to read, copy and rewrite the whole entry (and also
+        // serialize it again to the write buffer) for every append. Decline, and let the caller insert a new entry instead.
+        return false;
+    }
+
     @Override
     public byte[] get(Key key) {
         ensureInitializedAndNotClosed();
@@ -66,6 +66,8 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
     private static final int THREAD_POOL_SIZE = 3;
     private static final int MAX_WRITE_ATTEMPTS = 3;
     private static final int MAX_LEDGER_SIZE = WRITE_MAX_LENGTH * Math.max(10, WRITE_COUNT / 20);
+    private static final int READ_BATCH_SIZE = 5; // Small batches so that each Ledger is read using multiple batches.
+    private static final int READ_AHEAD_COUNT = 3;
 
     private static final AtomicReference<BookKeeperServiceRunner> BK_SERVICE = new AtomicReference<>();
     private static final AtomicInteger BK_PORT = new AtomicInteger();
@@ -138,6 +140,9 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
                 .with(BookKeeperConfig.ZK_ADDRESS, "localhost:" + BK_PORT.get())
                 .with(BookKeeperConfig.MAX_WRITE_ATTEMPTS, MAX_WRITE_ATTEMPTS)
                 .with(BookKeeperConfig.BK_LEDGER_MAX_SIZE, MAX_LEDGER_SIZE)
+                .with(BookKeeperConfig.BK_STRIPE_COUNT, getStripeCount())
+                .with(BookKeeperConfig.BK_READ_BATCH_SIZE, READ_BATCH_SIZE)
+                .with(BookKeeperConfig.BK_READ_AHEAD_COUNT, READ_AHEAD_COUNT)
                 .with(BookKeeperConfig.ZK_METADATA_PATH, namespace)
                 .with(BookKeeperConfig.BK_LEDGER_PATH, "/pravega/bookkeeper/ledgers")
                 .with(BookKeeperConfig.BK_ENSEMBLE_SIZE, BOOKIE_COUNT)
@@ -367,6 +372,13 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
         return THREAD_POOL_SIZE;
     }
 
+    /**
+     * Gets the number of Ledgers to stripe each BookKeeperLog across.
+     */
+    protected int getStripeCount() {
+        return 1;
+    }
+
     private static void stopFirstBookie() {
         BK_SERVICE.get().stopBookie(0);
     }
@@ -423,4 +435,16 @@ public abstract class BookKeeperLogTests extends DurableDataLogTestBase {
             setUpBookKeeper(false);
         }
     }
+
+    public static class StripedBookKeeperLogTests extends BookKeeperLogTests {
+        @BeforeClass
+        public static void startUp() throws Exception {
+            setUpBookKeeper(false);
+        }
+
+        @Override
+        protected int getStripeCount() {
+            return 3;
+        }
+    }
 }
\ No newline at end of file
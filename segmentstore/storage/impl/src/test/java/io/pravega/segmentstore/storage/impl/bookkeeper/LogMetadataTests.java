@@ -185,6 +185,79 @@ public class LogMetadataTests {
         Assert.assertEquals("Unexpected entry id when result should be in the next ledger.", 0, a.getEntryId());
     }
 
+    /**
+     * Tests addLedgers(), getStripeSet(), getNextAddress() and removeEmptyLedgers() with stripe sets.
+     */
+    @Test(timeout = 5000)
+    public void testStripeSets() {
+        final int stripeCount = 3;
+        Supplier<Long> nextLedgerId = new AtomicLong()::incrementAndGet;
+        Supplier<List<Long>> nextStripeSet = () -> {
+            val ids = new ArrayList<Long>();
+            for (int i = 0; i < stripeCount; i++) {
+                ids.add(nextLedgerId.get() * 2);
+            }
+            return ids;
+        };
+
+        val stripeSets = new ArrayList<List<Long>>();
+        LogMetadata m = null;
+        for (int i = 0; i < LEDGER_COUNT; i++) {
+            val ids = nextStripeSet.get();
+            stripeSets.add(ids);
+            m = m == null ? new LogMetadata(ids) : m.addLedgers(ids);
+        }
+
+        // All Ledgers in a stripe set share the same sequence, and getStripeSet() returns the whole set for any of them.
+        for (int i = 0; i < stripeSets.size(); i++) {
+            val expectedIds = stripeSets.get(i);
+            int expectedSequence = m.getLedger(expectedIds.get(0)).getSequence();
+            for (long ledgerId : expectedIds) {
+                val lm = m.getLedger(ledgerId);
+                Assert.assertEquals("Unexpected sequence for Ledger in stripe set.", expectedSequence, lm.getSequence());
+                val actualIds = m.getStripeSet(lm).stream().map(LedgerMetadata::getLedgerId).collect(Collectors.toList());
+                AssertExtensions.assertListEquals("Unexpected stripe set.", expectedIds, actualIds, Long::equals);
+            }
+
+            // getNextAddress() must skip over the remaining Ledgers in the stripe set.
+            for (long ledgerId : expectedIds) {
+                LedgerAddress a = m.getNextAddress(new LedgerAddress(expectedSequence, ledgerId, 3), 3);
+                if (i == stripeSets.size() - 1) {
+                    Assert.assertNull("Unexpected result when reached the end of the log.", a);
+                } else {
+                    Assert.assertEquals("Unexpected ledger id when result should be in the next stripe set.",
+                            (long) stripeSets.get(i + 1).get(0), a.getLedgerId());
+                    Assert.assertEquals("Unexpected entry id when result should be in the next stripe set.", 0, a.getEntryId());
+                }
+            }
+        }
+
+        // Address between stripe sets (simulate some old address truncated out).
+        val firstId = stripeSets.get(0).get(0);
+        LedgerAddress a = m.getNextAddress(new LedgerAddress(m.getLedger(firstId).getSequence(), firstId + 1, 3), 3);
+        Assert.assertEquals("Unexpected ledger id when address is between stripe sets.", (long) stripeSets.get(1).get(0), a.getLedgerId());
+
+        // removeEmptyLedgers() only removes a stripe set if all its Ledgers are empty.
+        val lacs = new HashMap<Long, Long>();
+        for (int i = 0; i < stripeSets.size(); i++) {
+            for (int j = 0; j < stripeCount; j++) {
+                // Even stripe sets are fully empty; odd ones have data in their first Ledger only.
+                lacs.put(stripeSets.get(i).get(j), i % 2 == 1 && j == 0 ? 1000L : Ledgers.NO_ENTRY_ID);
+            }
+        }
+
+        final int skipCount = 2;
+        val m2 = m.updateLedgerStatus(lacs).removeEmptyLedgers(skipCount);
+        val expectedLedgerIds = new ArrayList<Long>();
+        for (int i = 0; i < stripeSets.size(); i++) {
+            if (i % 2 == 1 || i >= stripeSets.size() - skipCount) {
+                expectedLedgerIds.addAll(stripeSets.get(i));
+            }
+        }
+
+        checkLedgerIds(expectedLedgerIds, m2);
+    }
+
     /**
      * Tests serialization/deserialization.
      */
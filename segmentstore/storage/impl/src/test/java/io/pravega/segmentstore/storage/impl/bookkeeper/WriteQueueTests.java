@@ -68,6 +68,20 @@ public class WriteQueueTests {
         }
     }
 
+    /**
+     * Tests the getElapsedNanos() method, which must use the same time supplier as the one used when adding Writes.
+     */
+    @Test
+    public void testGetElapsedNanos() {
+        AtomicLong time = new AtomicLong(12345);
+        val q = new WriteQueue(time::get);
+        val w = new Write(new ByteArraySegment(new byte[1]), new TestWriteLedger(0), CompletableFuture.completedFuture(null));
+        q.add(w);
+        Assert.assertEquals("Unexpected elapsed time right after adding.", 0, q.getElapsedNanos(w));
+        time.addAndGet(1000);
+        Assert.assertEquals("Unexpected elapsed time.", 1000, q.getElapsedNanos(w));
+    }
+
     /**
      * Tests the close() method.
      */
@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.directmemory;
+
+import io.netty.buffer.ByteBuf;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.Cache;
+import io.pravega.segmentstore.storage.CacheFullException;
+import io.pravega.segmentstore.storage.CacheTestBase;
+import io.pravega.test.common.AssertExtensions;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for DirectMemoryCache.
+ */
+public class DirectMemoryCacheTests extends CacheTestBase {
+    private static final int BLOCK_SIZE = 64;
+    private static final int SLAB_SIZE_MB = 1;
+    private static final long MAX_SIZE = 16 * 1024 * 1024;
+    private static final DirectMemoryCacheConfig CONFIG = DirectMemoryCacheConfig
+            .builder()
+            .with(DirectMemoryCacheConfig.BLOCK_SIZE_BYTES, BLOCK_SIZE)
+            .with(DirectMemoryCacheConfig.SLAB_SIZE_MB, SLAB_SIZE_MB)
+            .build();
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+    private final AtomicReference<DirectMemoryCacheFactory> factory = new AtomicReference<>();
+
+    @Before
+    public void setUp() {
+        this.factory.set(new DirectMemoryCacheFactory(CONFIG, MAX_SIZE));
+    }
+
+    @After
+    public void tearDown() {
+        this.factory.getAndSet(null).close();
+    }
+
+    @Override
+    protected Cache createCache(String cacheId) {
+        return this.factory.get().getCache(cacheId);
+    }
+
+    /**
+     * Tests the ability to store and retrieve entries that span multiple blocks, including empty entries.
+     */
+    @Test
+    public void testMultiBlockEntries() {
+        @Cleanup
+        Cache cache = createCache("multiblock");
+        Random rnd = new Random(0);
+        int[] lengths = new int[]{0, 1, BLOCK_SIZE - 8, BLOCK_SIZE - 7, BLOCK_SIZE, 10 * BLOCK_SIZE + 3, 100000};
+        byte[][] data = new byte[lengths.length][];
+        for (int i = 0; i < lengths.length; i++) {
+            data[i] = new byte[lengths[i]];
+            rnd.nextBytes(data[i]);
+            cache.insert(new TestKey(i), data[i]);
+        }
+
+        for (int i = 0; i < lengths.length; i++) {
+            Assert.assertArrayEquals("Unexpected data for entry " + i, data[i], cache.get(new TestKey(i)));
+        }
+
+        // Overwrite each entry with the data of another one.
+        for (int i = 0; i < lengths.length; i++) {
+            cache.insert(new TestKey(i), data[lengths.length - i - 1]);
+        }
+
+        for (int i = 0; i < lengths.length; i++) {
+            Assert.assertArrayEquals("Unexpected data for overwritten entry " + i, data[lengths.length - i - 1], cache.get(new TestKey(i)));
+        }
+    }
+
+    /**
+     * Tests the behavior of the cache when it reaches its maximum capacity, and that memory is reclaimed upon removal.
+     */
+    @Test
+    public void testCapacity() {
+        @Cleanup
+        DirectMemoryCacheFactory smallFactory = new DirectMemoryCacheFactory(CONFIG, SLAB_SIZE_MB * 1024 * 1024);
+        @Cleanup
+        Cache cache1 = smallFactory.getCache("c1");
+        @Cleanup
+        Cache cache2 = smallFactory.getCache("c2");
+        byte[] data = new byte[10 * BLOCK_SIZE];
+
+        // Fill up the store from the first cache.
+        int count = 0;
+        try {
+            while (true) {
+                cache1.insert(new TestKey(count), data);
+                count++;
+            }
+        } catch (CacheFullException ex) {
+            // This is expected.
+        }
+
+        Assert.assertTrue("Expected at least one entry to have been inserted.", count > 0);
+        AssertExtensions.assertThrows(
+                "Store is shared between caches and should be full.",
+                () -> cache2.insert(new TestKey(0), data),
+                ex -> ex instanceof CacheFullException);
+
+        // Free up an entry from the first cache and verify the second one can use that space.
+        cache1.remove(new TestKey(0));
+        Assert.assertNull("Entry not removed.", cache1.get(new TestKey(0)));
+        cache2.insert(new TestKey(0), data);
+        Assert.assertArrayEquals("Unexpected data after reusing memory.", data, cache2.get(new TestKey(0)));
+
+        // Closing a cache should release all of its memory.
+        cache1.close();
+        for (int i = 1; i < count; i++) {
+            cache2.insert(new TestKey(i), data);
+        }
+    }
+
+    /**
+     * Tests that the store may use more memory than the maximum cache size, as configured via headroomPercent.
+     */
+    @Test
+    public void testHeadroom() {
+        DirectMemoryCacheConfig config = DirectMemoryCacheConfig
+                .builder()
+                .with(DirectMemoryCacheConfig.BLOCK_SIZE_BYTES, BLOCK_SIZE)
+                .with(DirectMemoryCacheConfig.SLAB_SIZE_MB, SLAB_SIZE_MB)
+                .with(DirectMemoryCacheConfig.HEADROOM_PERCENT, 50)
+                .build();
+        long slabSize = SLAB_SIZE_MB * 1024 * 1024;
+        @Cleanup
+        DirectMemoryCacheFactory smallFactory = new DirectMemoryCacheFactory(config, 2 * slabSize);
+        @Cleanup
+        Cache cache = smallFactory.getCache("headroom");
+
+        // Each entry fits in exactly one block (the rest of the block is used by its header).
+        byte[] data = new byte[BLOCK_SIZE - 2 * Integer.BYTES];
+        int count = 0;
+        try {
+            while (true) {
+                cache.insert(new TestKey(count), data);
+                count++;
+            }
+        } catch (CacheFullException ex) {
+            // This is expected.
+        }
+
+        Assert.assertEquals("Unexpected number of entries inserted.", 3 * slabSize / BLOCK_SIZE, count);
+    }
+
+    /**
+     * Tests the getView() method, and that views pin the memory of the entries they point to until released.
+     */
+    @Test
+    public void testViews() {
+        @Cleanup
+        DirectMemoryCacheFactory smallFactory = new DirectMemoryCacheFactory(CONFIG, SLAB_SIZE_MB * 1024 * 1024);
+        @Cleanup
+        Cache cache = smallFactory.getCache("views");
+        Random rnd = new Random(0);
+        byte[] data = new byte[10 * BLOCK_SIZE + 1];
+        rnd.nextBytes(data);
+        cache.insert(new TestKey(0), data);
+        Assert.assertNull("Not expecting a view for a missing entry.", cache.getView(new TestKey(1)));
+
+        ByteBuf view = cache.getView(new TestKey(0));
+        Assert.assertTrue("Expected a read-only view.", view.isReadOnly());
+        Assert.assertArrayEquals("Unexpected view contents.", data, getBytes(view));
+        AssertExtensions.assertThrows(
+                "View allowed modification of the entry.",
+                () -> view.setByte(0, 1),
+                ex -> ex instanceof ReadOnlyBufferException);
+
+        // Remove the entry and fill up the store with other data. None of this should be written over the pinned entry.
+        cache.remove(new TestKey(0));
+        byte[] otherData = new byte[BLOCK_SIZE];
+        int count = 1;
+        try {
+            while (true) {
+                cache.insert(new TestKey(count), otherData);
+                count++;
+            }
+        } catch (CacheFullException ex) {
+            // This is expected.
+        }
+
+        Assert.assertArrayEquals("Pinned view contents changed.", data, getBytes(view));
+
+        // Releasing the view should free up the memory.
+        Assert.assertTrue("Expected the view to have been deallocated.", view.release());
+        cache.insert(new TestKey(0), data);
+        Assert.assertArrayEquals("Unexpected data after reusing memory.", data, cache.get(new TestKey(0)));
+
+        // Replacing an entry with an outstanding view should also preserve the view.
+        ByteBuf view2 = cache.getView(new TestKey(0));
+        cache.remove(new TestKey(1));
+        cache.insert(new TestKey(0), otherData);
+        Assert.assertArrayEquals("Pinned view contents changed after replacement.", data, getBytes(view2));
+        view2.release();
+    }
+
+    /**
+     * Tests that append() extends entries in place without affecting existing views, and that it does not modify the
+     * entry if the store is full.
+     */
+    @Test
+    public void testAppendInPlace() {
+        @Cleanup
+        DirectMemoryCacheFactory smallFactory = new DirectMemoryCacheFactory(CONFIG, SLAB_SIZE_MB * 1024 * 1024);
+        @Cleanup
+        Cache cache = smallFactory.getCache("append");
+        Random rnd = new Random(0);
+        byte[] data = new byte[10 * BLOCK_SIZE + 1];
+        rnd.nextBytes(data);
+
+        // Fill part of the first block, then spill over into new blocks.
+        cache.insert(new TestKey(0), Arrays.copyOf(data, 1));
+        ByteBuf view = cache.getView(new TestKey(0));
+        Assert.assertTrue("append() failed.", cache.append(new TestKey(0), 1, new ByteArraySegment(data, 1, data.length - 1)));
+        Assert.assertArrayEquals("Unexpected contents after append.", data, cache.get(new TestKey(0)));
+        Assert.assertArrayEquals("Append changed an existing view.", Arrays.copyOf(data, 1), getBytes(view));
+        view.release();
+        ByteBuf view2 = cache.getView(new TestKey(0));
+        Assert.assertArrayEquals("Unexpected view contents after append.", data, getBytes(view2));
+        view2.release();
+
+        // Fill up the store, then verify a failed append leaves the entry as it was.
+        int count = 1;
+        try {
+            while (true) {
+                cache.insert(new TestKey(count), new byte[BLOCK_SIZE]);
+                count++;
+            }
+        } catch (CacheFullException ex) {
+            // This is expected.
+        }
+
+        AssertExtensions.assertThrows(
+                "append() succeeded on a full store.",
+                () -> cache.append(new TestKey(0), data.length, new ByteArraySegment(data)),
+                ex -> ex instanceof CacheFullException);
+        Assert.assertArrayEquals("Failed append modified the entry.", data, cache.get(new TestKey(0)));
+    }
+
+    private byte[] getBytes(ByteBuf buf) {
+        byte[] result = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), result);
+        return result;
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode(callSuper = false)
+    private static class TestKey extends Cache.Key {
+        private final int id;
+
+        @Override
+        public byte[] serialize() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
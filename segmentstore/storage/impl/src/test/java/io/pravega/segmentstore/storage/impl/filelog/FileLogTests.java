@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.impl.filelog;
+
+import io.pravega.common.io.FileHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogTestBase;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.WriteTooLongException;
+import io.pravega.test.common.AssertExtensions;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the FileLog class.
+ */
+public class FileLogTests extends DurableDataLogTestBase {
+    //region Setup, Config and Cleanup
+
+    private static final int WRITE_COUNT = 500;
+    private static final int THREAD_POOL_SIZE = 3;
+    private static final int FILE_SIZE = WRITE_MAX_LENGTH * 10; // Very frequent rollovers.
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+    private final AtomicReference<Path> root = new AtomicReference<>();
+    private final AtomicReference<FileLogFactory> factory = new AtomicReference<>();
+    private final AtomicInteger nextContainerId = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        this.root.set(Files.createTempDirectory("filelog"));
+        val config = FileLogConfig
+                .builder()
+                .with(FileLogConfig.ROOT, this.root.get().toString())
+                .with(FileLogConfig.FILE_SIZE, FILE_SIZE)
+                .build();
+        val factory = new FileLogFactory(config, executorService());
+        factory.initialize();
+        this.factory.set(factory);
+    }
+
+    @After
+    public void tearDown() {
+        val factory = this.factory.getAndSet(null);
+        if (factory != null) {
+            factory.close();
+        }
+
+        val root = this.root.getAndSet(null);
+        if (root != null) {
+            FileHelpers.deleteFileOrDirectory(root.toFile());
+        }
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        return THREAD_POOL_SIZE;
+    }
+
+    //endregion
+
+    //region FileLog-specific tests
+
+    /**
+     * Tests that appends larger than a log file are rejected.
+     */
+    @Test
+    public void testAppendTooLong() throws Exception {
+        try (DurableDataLog log = createDurableDataLog()) {
+            log.initialize(TIMEOUT);
+            Assert.assertEquals("Unexpected max append length.", FILE_SIZE - FileLog.ENTRY_HEADER_LENGTH, log.getMaxAppendLength());
+            AssertExtensions.assertSuppliedFutureThrows(
+                    "append() accepted a write that does not fit in a log file.",
+                    () -> log.append(new ByteArraySegment(new byte[log.getMaxAppendLength() + 1]), TIMEOUT),
+                    ex -> ex instanceof WriteTooLongException);
+
+            // The largest append must still fit.
+            val address = log.append(new ByteArraySegment(new byte[log.getMaxAppendLength()]), TIMEOUT).join();
+            Assert.assertNotNull("No address returned from append().", address);
+        }
+    }
+
+    /**
+     * Tests the ability to recover from a partially written entry at the end of a log file (i.e., a torn write caused
+     * by a crash).
+     */
+    @Test
+    public void testRecoverPartialWrite() throws Exception {
+        Object context = createSharedContext();
+        TreeMap<LogAddress, byte[]> writeData;
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            writeData = populate(log, getWriteCount());
+        }
+
+        // Simulate a torn write after the last entry: a valid-looking length, but a payload that does not match the checksum.
+        val lastAddress = (FileLogAddress) writeData.lastKey();
+        int endOffset = lastAddress.getOffset() + FileLog.ENTRY_HEADER_LENGTH + writeData.lastEntry().getValue().length;
+        Path logDirectory = this.root.get().resolve(context.toString());
+        try (RandomAccessFile file = new RandomAccessFile(FileLog.getFilePath(logDirectory, lastAddress.getFileId()).toFile(), "rw")) {
+            Assert.assertTrue("Not enough room in the file for the test.", endOffset + FileLog.ENTRY_HEADER_LENGTH + 1 < file.length());
+            file.seek(endOffset);
+            file.writeInt(1);
+            file.writeInt(12345);
+            file.writeByte(1);
+        }
+
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+            writeData.putAll(populate(log, getWriteCount()));
+        }
+
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Tests that log files are deleted once all their entries have been truncated out.
+     */
+    @Test
+    public void testTruncateDeletesFiles() throws Exception {
+        Object context = createSharedContext();
+        Path logDirectory = this.root.get().resolve(context.toString());
+        @Cleanup
+        DurableDataLog log = createDurableDataLog(context);
+        log.initialize(TIMEOUT);
+        val writeData = populate(log, getWriteCount());
+        val fileIds = writeData.keySet().stream().map(a -> ((FileLogAddress) a).getFileId()).distinct().collect(Collectors.toList());
+        AssertExtensions.assertGreaterThan("Expected multiple log files.", 2, fileIds.size());
+
+        // Truncate up to somewhere in the middle of the log.
+        val addresses = new ArrayList<LogAddress>(writeData.keySet());
+        val truncationAddress = (FileLogAddress) addresses.get(addresses.size() / 2);
+        log.truncate(truncationAddress, TIMEOUT).join();
+        writeData.headMap(truncationAddress, true).clear();
+        for (int fileId : fileIds) {
+            boolean shouldExist = fileId >= truncationAddress.getFileId();
+            Assert.assertEquals("Unexpected existence for log file " + fileId, shouldExist,
+                    Files.exists(FileLog.getFilePath(logDirectory, fileId)));
+        }
+
+        verifyReads(log, writeData);
+    }
+
+    /**
+     * Tests that an instance is fenced out by a newer one even if it has already written (and rolled over) with the
+     * metadata it had cached, and that the newer instance's metadata updates are noticed on the next group commit.
+     */
+    @Test
+    public void testFencedOutAfterWrites() throws Exception {
+        Object context = createSharedContext();
+        TreeMap<LogAddress, byte[]> writeData;
+        try (DurableDataLog log1 = createDurableDataLog(context)) {
+            log1.initialize(TIMEOUT);
+            writeData = populate(log1, getWriteCount());
+            try (DurableDataLog log2 = createDurableDataLog(context)) {
+                log2.initialize(TIMEOUT);
+                AssertExtensions.assertSuppliedFutureThrows(
+                        "The first log was not fenced out after having written to the log.",
+                        () -> log1.append(new ByteArraySegment(new byte[1]), TIMEOUT),
+                        ex -> ex instanceof DataLogWriterNotPrimaryException);
+                writeData.putAll(populate(log2, getWriteCount()));
+                verifyReads(log2, writeData);
+            }
+        }
+    }
+
+    /**
+     * Tests that only the active log file is held open, and that it is released when the log is closed. This relies on
+     * /proc/self/fd to list the files held open by this process, so it is skipped on platforms where that is unavailable.
+     */
+    @Test
+    public void testRolledOverFilesReleased() throws Exception {
+        Path fdDirectory = Paths.get("/proc/self/fd");
+        Assume.assumeTrue("Unable to list open files.", Files.isDirectory(fdDirectory));
+        Object context = createSharedContext();
+        Path logDirectory = this.root.get().resolve(context.toString());
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            val writeData = populate(log, getWriteCount());
+            AssertExtensions.assertGreaterThan("Expected multiple log files.", 2,
+                    writeData.keySet().stream().map(a -> ((FileLogAddress) a).getFileId()).distinct().count());
+            Assert.assertEquals("Unexpected number of open log files after rollovers.", 1, getOpenLogFileCount(fdDirectory, logDirectory));
+        }
+
+        Assert.assertEquals("Unexpected number of open log files after close().", 0, getOpenLogFileCount(fdDirectory, logDirectory));
+    }
+
+    private long getOpenLogFileCount(Path fdDirectory, Path logDirectory) throws IOException {
+        try (val fds = Files.list(fdDirectory)) {
+            return fds.map(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd);
+                } catch (IOException ex) {
+                    // Descriptor closed in the meantime.
+                    return null;
+                }
+            }).filter(target -> target != null && target.startsWith(logDirectory) && target.toString().endsWith(".log"))
+                      .count();
+        }
+    }
+
+    //endregion
+
+    //region DurableDataLogTestBase Implementation
+
+    @Override
+    protected DurableDataLog createDurableDataLog() {
+        return this.factory.get().createDurableDataLog(this.nextContainerId.incrementAndGet());
+    }
+
+    @Override
+    protected DurableDataLog createDurableDataLog(Object sharedContext) {
+        return this.factory.get().createDurableDataLog((int) sharedContext);
+    }
+
+    @Override
+    protected Object createSharedContext() {
+        return this.nextContainerId.incrementAndGet();
+    }
+
+    @Override
+    protected LogAddress createLogAddress(long seqNo) {
+        return new FileLogAddress(seqNo);
+    }
+
+    @Override
+    protected int getWriteCount() {
+        return WRITE_COUNT;
+    }
+
+    //endregion
+}
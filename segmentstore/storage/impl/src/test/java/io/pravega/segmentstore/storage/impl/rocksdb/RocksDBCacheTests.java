@@ -10,13 +10,17 @@
 package io.pravega.segmentstore.storage.impl.rocksdb;
 
 import com.google.common.io.Files;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.Cache;
 import io.pravega.segmentstore.storage.CacheTestBase;
 import java.io.File;
 import java.util.concurrent.atomic.AtomicReference;
+import lombok.Cleanup;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.rules.Timeout;
 
 /**
@@ -42,6 +46,24 @@ public class RocksDBCacheTests extends CacheTestBase {
         this.tempDir.getAndSet(null).delete();
     }
 
+    /**
+     * Tests the append() method. RocksDBCache does not support appends, so it must not change the entry.
+     */
+    @Override
+    @Test
+    public void testAppend() {
+        @Cleanup
+        Cache cache = createCache(CACHE_ID);
+        CacheKey key = new CacheKey(0, 0);
+        Assert.assertFalse("append() succeeded for a missing entry.", cache.append(key, 0, new ByteArraySegment(new byte[1])));
+        Assert.assertNull("append() created a missing entry.", cache.get(key));
+
+        byte[] data = new byte[]{1, 2, 3};
+        cache.insert(key, data);
+        Assert.assertFalse("append() succeeded for an existing entry.", cache.append(key, data.length, new ByteArraySegment(new byte[1])));
+        Assert.assertArrayEquals("append() modified an existing entry.", data, cache.get(key));
+    }
+
     @Override
     protected Cache createCache(String cacheId) {
         return this.factory.get().getCache(cacheId);
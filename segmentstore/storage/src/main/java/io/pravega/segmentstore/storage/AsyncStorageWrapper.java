@@ -16,8 +16,10 @@ import io.pravega.common.concurrent.MultiKeySequentialProcessor;
 import io.pravega.common.function.RunnableWithException;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -93,6 +95,11 @@ public class AsyncStorageWrapper implements Storage {
         return runAsync(() -> this.syncStorage.write(handle, offset, data, length), handle.getSegmentName());
     }
 
+    @Override
+    public CompletableFuture<Void> write(SegmentHandle handle, long offset, List<ByteBuffer> data, Duration timeout) {
+        return runAsync(() -> this.syncStorage.write(handle, offset, data), handle.getSegmentName());
+    }
+
     @Override
     public CompletableFuture<Void> seal(SegmentHandle handle, Duration timeout) {
         return runAsync(() -> this.syncStorage.seal(handle), handle.getSegmentName());
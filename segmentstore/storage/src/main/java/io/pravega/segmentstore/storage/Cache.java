@@ -9,7 +9,10 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.util.ByteArraySegment;
+import java.util.Arrays;
 
 /**
  * Defines a Cache that can be used by the ReadIndex.
@@ -36,6 +39,33 @@ public interface Cache extends AutoCloseable {
      */
     void insert(Key key, ByteArraySegment data);
 
+    /**
+     * Appends the given data to the end of an existing cache entry, but only if that entry has the given length.
+     *
+     * The default implementation replaces the entry with a copy of its existing data followed by the given data, which
+     * means that repeatedly appending to the same entry costs quadratic time in its final length. Implementations that
+     * can extend an entry in place should override this so that only the given data is copied; implementations for which
+     * copying the entry is expensive may override this to always return false, in which case callers must store the data
+     * in a separate entry. Views obtained via {@link #getView} before the append are not affected by it.
+     *
+     * @param key            The key of the entry.
+     * @param expectedLength The length the entry must have for the append to succeed.
+     * @param data           A ByteArraySegment representing the data to append.
+     * @return True if the data was appended, false if there is no entry with the given key and length or if this Cache
+     * does not support appends (in which case nothing has changed).
+     */
+    default boolean append(Key key, int expectedLength, ByteArraySegment data) {
+        byte[] existingData = get(key);
+        if (existingData == null || existingData.length != expectedLength) {
+            return false;
+        }
+
+        byte[] newData = Arrays.copyOf(existingData, existingData.length + data.getLength());
+        data.copyTo(newData, existingData.length, data.getLength());
+        insert(key, newData);
+        return true;
+    }
+
     /**
      * Retrieves a cache entry with given key.
      *
@@ -44,6 +74,23 @@ public interface Cache extends AutoCloseable {
      */
     byte[] get(Key key);
 
+    /**
+     * Retrieves a read-only view of the cache entry with given key, without copying it, if the implementation allows it.
+     *
+     * The returned ByteBuf is reference-counted and the caller owns one reference to it; it must invoke ByteBuf.release()
+     * once it no longer needs it. Implementations guarantee that the memory backing the view will not be reused for other
+     * entries for as long as the view has not been released, even if the entry is removed or replaced in the meantime.
+     *
+     * The default implementation wraps the result of {@link #get}.
+     *
+     * @param key The key to search by.
+     * @return A read-only ByteBuf with the payload associated with the key, or null if no such entry exists.
+     */
+    default ByteBuf getView(Key key) {
+        byte[] data = get(key);
+        return data == null ? null : Unpooled.wrappedBuffer(data).asReadOnly();
+    }
+
     /**
      * Removes any cache entry that is associated with the given key.
      *
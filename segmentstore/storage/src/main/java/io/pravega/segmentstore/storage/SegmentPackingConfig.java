@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import lombok.Getter;
+
+/**
+ * Configuration for packing small Segments into shared Storage units.
+ */
+public class SegmentPackingConfig {
+    //region Config Names
+
+    public static final Property<Long> MAX_PACKED_SEGMENT_LENGTH = Property.named("maxPackedSegmentLength", 0L);
+    public static final Property<Long> MAX_PACK_LENGTH = Property.named("maxPackLength", 64 * 1024 * 1024L);
+    public static final Property<Integer> MAX_PACKED_CHUNK_COUNT = Property.named("maxPackedChunkCount", 100);
+    private static final String COMPONENT_CODE = "packing";
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The SegmentPackingPolicy to apply to all Segments.
+     */
+    @Getter
+    private final SegmentPackingPolicy packingPolicy;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SegmentPackingConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private SegmentPackingConfig(TypedProperties properties) throws ConfigurationException {
+        long maxPackedSegmentLength = properties.getLong(MAX_PACKED_SEGMENT_LENGTH);
+        if (maxPackedSegmentLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", MAX_PACKED_SEGMENT_LENGTH));
+        }
+
+        long maxPackLength = properties.getLong(MAX_PACK_LENGTH);
+        if (maxPackLength <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_PACK_LENGTH));
+        }
+
+        int maxPackedChunkCount = properties.getInt(MAX_PACKED_CHUNK_COUNT);
+        if (maxPackedChunkCount <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", MAX_PACKED_CHUNK_COUNT));
+        }
+
+        this.packingPolicy = new SegmentPackingPolicy(maxPackedSegmentLength, maxPackLength, maxPackedChunkCount);
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<SegmentPackingConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, SegmentPackingConfig::new);
+    }
+
+    //endregion
+}
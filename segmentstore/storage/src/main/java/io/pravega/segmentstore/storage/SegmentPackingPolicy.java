@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+
+/**
+ * A policy that determines which Segments have their data packed into shared, append-only Storage units (packs) instead
+ * of having Storage units of their own.
+ */
+public final class SegmentPackingPolicy {
+    public static final SegmentPackingPolicy NO_PACKING = new SegmentPackingPolicy(0, Long.MAX_VALUE);
+
+    /**
+     * Segments are packed for as long as their length is below this value. Once a Segment reaches this length, all
+     * further data for it is written to Storage units of its own.
+     */
+    @Getter
+    private final long maxSegmentLength;
+
+    /**
+     * Maximum length of a pack.
+     */
+    @Getter
+    private final long maxPackLength;
+
+    /**
+     * Segments are packed for as long as they have fewer SegmentChunks than this value. Every packed write adds a
+     * SegmentChunk to the Segment's Header, so this bounds the size of the Headers of Segments that receive many small
+     * writes.
+     */
+    @Getter
+    private final int maxSegmentChunkCount;
+
+    /**
+     * Creates a new instance of the SegmentPackingPolicy class, with no limit on the number of SegmentChunks.
+     *
+     * @param maxSegmentLength Segments are packed for as long as their length is below this value. A value of 0 disables
+     *                         packing.
+     * @param maxPackLength    Maximum length of a pack.
+     */
+    public SegmentPackingPolicy(long maxSegmentLength, long maxPackLength) {
+        this(maxSegmentLength, maxPackLength, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new instance of the SegmentPackingPolicy class.
+     *
+     * @param maxSegmentLength     Segments are packed for as long as their length is below this value. A value of 0
+     *                             disables packing.
+     * @param maxPackLength        Maximum length of a pack.
+     * @param maxSegmentChunkCount Segments are packed for as long as they have fewer SegmentChunks than this value.
+     */
+    public SegmentPackingPolicy(long maxSegmentLength, long maxPackLength, int maxSegmentChunkCount) {
+        Preconditions.checkArgument(maxSegmentLength >= 0, "maxSegmentLength must be a non-negative number.");
+        Preconditions.checkArgument(maxPackLength > 0, "maxPackLength must be a positive number.");
+        Preconditions.checkArgument(maxSegmentChunkCount > 0, "maxSegmentChunkCount must be a positive number.");
+        this.maxSegmentLength = maxSegmentLength;
+        this.maxPackLength = maxPackLength;
+        this.maxSegmentChunkCount = maxSegmentChunkCount;
+    }
+
+    /**
+     * Gets a value indicating whether a Segment with the given length and number of SegmentChunks should have its next
+     * write packed.
+     *
+     * @param segmentLength     The length of the Segment.
+     * @param segmentChunkCount The number of SegmentChunks in the Segment.
+     * @return True if the write should be packed, false otherwise.
+     */
+    public boolean shouldPack(long segmentLength, int segmentChunkCount) {
+        return segmentLength < this.maxSegmentLength && segmentChunkCount < this.maxSegmentChunkCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MaxSegmentLength = %d, MaxPackLength = %d, MaxSegmentChunkCount = %d",
+                this.maxSegmentLength, this.maxPackLength, this.maxSegmentChunkCount);
+    }
+}
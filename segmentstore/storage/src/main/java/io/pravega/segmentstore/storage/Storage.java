@@ -9,8 +9,13 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -88,6 +93,30 @@ public interface Storage extends ReadOnlyStorage, AutoCloseable {
      */
     CompletableFuture<Void> write(SegmentHandle handle, long offset, InputStream data, int length, Duration timeout);
 
+    /**
+     * Writes the given data to the StreamSegment. This is a gathering write: the given buffers are written in order, as
+     * one contiguous write, without first being copied into a single buffer or InputStream (if the implementation
+     * supports it).
+     *
+     * The default implementation wraps the buffers in an InputStream and invokes
+     * {@link #write(SegmentHandle, long, InputStream, int, Duration)}.
+     *
+     * @param handle  A read-write SegmentHandle that points to a Segment to write to.
+     * @param offset  The offset in the StreamSegment to write data at.
+     * @param data    An ordered List of ByteBuffers representing the data to write. The data between the position and
+     *                the limit of each buffer will be written. The buffers (and their positions) must not be modified
+     *                until the returned CompletableFuture completes; they will not be modified by this method.
+     * @param timeout Timeout for the operation.
+     * @return A CompletableFuture that, when completed, will indicate the operation succeeded. If the operation failed,
+     * it will contain the cause of the failure. Notable exceptions are the same as for
+     * {@link #write(SegmentHandle, long, InputStream, int, Duration)}.
+     * @throws IllegalArgumentException If handle is read-only.
+     */
+    default CompletableFuture<Void> write(SegmentHandle handle, long offset, List<ByteBuffer> data, Duration timeout) {
+        ByteBuf buffer = Unpooled.wrappedBuffer(data.toArray(new ByteBuffer[data.size()]));
+        return write(handle, offset, new ByteBufInputStream(buffer), buffer.readableBytes(), timeout);
+    }
+
     /**
      * Seals a StreamSegment. No further modifications are allowed on the StreamSegment after this operation completes.
      *
@@ -9,12 +9,17 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
 import io.pravega.segmentstore.contracts.BadOffsetException;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import io.pravega.segmentstore.contracts.StreamSegmentException;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * Defines an abstraction for Permanent Storage.
@@ -143,6 +148,31 @@ public interface SyncStorage extends AutoCloseable {
      */
     void write(SegmentHandle handle, long offset, InputStream data, int length) throws StreamSegmentException;
 
+    /**
+     * Writes the given data to the StreamSegment. This is a gathering write: the given buffers are written in order, as
+     * one contiguous write, without first being copied into a single buffer or InputStream (if the implementation
+     * supports it).
+     *
+     * The default implementation wraps the buffers in an InputStream and invokes
+     * {@link #write(SegmentHandle, long, InputStream, int)}.
+     *
+     * @param handle A read-write SegmentHandle that points to a Segment to write to.
+     * @param offset The offset in the StreamSegment to write data at.
+     * @param data   An ordered List of ByteBuffers representing the data to write. The data between the position and
+     *               the limit of each buffer will be written. The buffers (and their positions) will not be modified.
+     * @throws IllegalArgumentException        If handle is read-only.
+     * @throws BadOffsetException              When the given offset does not match the actual length of the segment in
+     *                                         Storage.
+     * @throws StreamSegmentNotExistsException When the given Segment does not exist in Storage.
+     * @throws StreamSegmentSealedException    When the given Segment is Sealed.
+     * @throws StorageNotPrimaryException      When this Storage instance is no longer primary for this Segment (it was
+     *                                         fenced out).
+     */
+    default void write(SegmentHandle handle, long offset, List<ByteBuffer> data) throws StreamSegmentException {
+        ByteBuf buffer = Unpooled.wrappedBuffer(data.toArray(new ByteBuffer[data.size()]));
+        write(handle, offset, new ByteBufInputStream(buffer), buffer.readableBytes());
+    }
+
     /**
      * Seals a StreamSegment. No further modifications are allowed on the StreamSegment after this operation completes.
      *
@@ -9,6 +9,8 @@
  */
 package io.pravega.segmentstore.storage.mocks;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.common.function.Callbacks;
 import io.pravega.common.util.ByteArraySegment;
@@ -97,6 +99,15 @@ public class InMemoryCache implements Cache {
         return data == null ? null : Arrays.copyOf(data, data.length);
     }
 
+    @Override
+    public ByteBuf getView(Cache.Key key) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+
+        // Stored arrays are never modified (only replaced), so we can hand out a read-only view to them without copying.
+        byte[] data = this.map.get(key);
+        return data == null ? null : Unpooled.wrappedBuffer(data).asReadOnly();
+    }
+
     @Override
     public void remove(Cache.Key key) {
         Exceptions.checkNotClosed(this.closed.get(), this);
@@ -34,9 +34,11 @@ final class HandleSerializer {
     private static final Charset ENCODING = Charsets.UTF_8;
     private static final String KEY_POLICY_MAX_SIZE = "maxsize";
     private static final String KEY_CONCAT = "concat";
+    private static final String KEY_PACK = "pack";
     private static final String KEY_VALUE_SEPARATOR = "=";
     private static final String SEPARATOR = "&";
     private static final String CONCAT_SEPARATOR = "@";
+    private static final String PACK_SEPARATOR = ",";
 
     //endregion
 
@@ -70,10 +72,17 @@ final class HandleSerializer {
                 val concatInfo = parseConcat(entry.getValue());
                 om.set(concatInfo.getKey(), concatInfo.getValue());
             } else {
-                // Regular offset->file entry.
-                Preconditions.checkArgument(isValidLong(entry.getKey()), "Invalid key value for '%s'.", entry);
-                long offset = om.adjustOffset(Long.parseLong(entry.getKey()));
-                SegmentChunk s = new SegmentChunk(entry.getValue(), offset);
+                SegmentChunk s;
+                if (entry.getKey().equalsIgnoreCase(KEY_PACK)) {
+                    // Packed SegmentChunk entry.
+                    s = parsePackedChunk(entry.getValue(), om);
+                } else {
+                    // Regular offset->file entry.
+                    Preconditions.checkArgument(isValidLong(entry.getKey()), "Invalid key value for '%s'.", entry);
+                    long offset = om.adjustOffset(Long.parseLong(entry.getKey()));
+                    s = new SegmentChunk(entry.getValue(), offset);
+                }
+
                 Preconditions.checkArgument(lastOffset <= s.getStartOffset(),
                         "SegmentChunk Entry '%s' has out-of-order offset (previous=%s).", s, lastOffset);
                 segmentChunks.add(s);
@@ -110,6 +119,13 @@ final class HandleSerializer {
      * @return A byte array containing the serialization.
      */
     static byte[] serializeChunk(SegmentChunk segmentChunk) {
+        if (segmentChunk.isPacked()) {
+            // Packed SegmentChunks cannot have their lengths inferred from the Storage unit backing them, so we need to
+            // include the length as well.
+            return combine(KEY_PACK, segmentChunk.getStartOffset() + PACK_SEPARATOR + segmentChunk.getPackOffset()
+                    + PACK_SEPARATOR + segmentChunk.getLength() + PACK_SEPARATOR + segmentChunk.getName());
+        }
+
         return combine(Long.toString(segmentChunk.getStartOffset()), segmentChunk.getName());
     }
 
@@ -153,6 +169,14 @@ final class HandleSerializer {
         }
     }
 
+    private static SegmentChunk parsePackedChunk(String value, OffsetAdjuster om) {
+        String[] tokens = value.split(PACK_SEPARATOR, 4);
+        Preconditions.checkArgument(tokens.length == 4 && isValidLong(tokens[0]) && isValidLong(tokens[1]) && isValidLong(tokens[2]),
+                "%s value '%s' is invalid.", KEY_PACK, value);
+        long offset = om.adjustOffset(Long.parseLong(tokens[0]));
+        return SegmentChunk.forPack(tokens[3], Long.parseLong(tokens[1]), offset, Long.parseLong(tokens[2]));
+    }
+
     private static boolean isValidLong(String s) {
         try {
             Long.parseLong(s);
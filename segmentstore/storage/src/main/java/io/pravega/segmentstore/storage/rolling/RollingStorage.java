@@ -10,6 +10,8 @@
 package io.pravega.segmentstore.storage.rolling;
 
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.util.ByteArraySegment;
@@ -24,13 +26,17 @@ import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.contracts.StreamSegmentTruncatedException;
 import io.pravega.segmentstore.contracts.StreamingException;
 import io.pravega.segmentstore.storage.SegmentHandle;
+import io.pravega.segmentstore.storage.SegmentPackingPolicy;
 import io.pravega.segmentstore.storage.SegmentRollingPolicy;
 import io.pravega.segmentstore.storage.StorageNotPrimaryException;
 import io.pravega.segmentstore.storage.SyncStorage;
 import io.pravega.shared.segment.StreamSegmentNameUtils;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -62,6 +68,18 @@ import lombok.val;
  * ** The concat() method should be overridden (in a derived class) to not convert Segments without Header into Segments
  * with Header.
  * ** Existing Segments (made up of Header and multi-SegmentChunks) can still be accessed by means of this class.
+ *
+ * Packing (optional, see SegmentPackingPolicy):
+ * * While a Segment is smaller than the packing threshold, its data is appended to a pack (a Storage unit shared with
+ * other Segments) instead of a SegmentChunk of its own. Every such write adds a packed SegmentChunk to the Header, which
+ * points to the range of bytes within the pack that contains the data.
+ * * Once the Segment reaches the packing threshold (or the maximum number of SegmentChunks allowed while packing), it
+ * rolls over into regular SegmentChunks. Every Header entry needs to be parsed when the Segment is opened (and every
+ * packed one checked against its pack's released ranges), so the latter bounds the cost of Segments that are packed
+ * using many small writes.
+ * * Packed SegmentChunks are carried over by Header merges (concat), and they are released (instead of deleted) upon
+ * truncation or deletion. Packs are deleted once all of their contents have been released (see SegmentPacker).
+ * * Segments with packed SegmentChunks cannot be accessed by versions of this class that do not support packing.
  */
 @Slf4j
 public class RollingStorage implements SyncStorage {
@@ -69,6 +87,7 @@ public class RollingStorage implements SyncStorage {
 
     private final SyncStorage baseStorage;
     private final SegmentRollingPolicy defaultRollingPolicy;
+    private final SegmentPacker packer;
     private final AtomicBoolean closed;
 
     //endregion
@@ -92,8 +111,21 @@ public class RollingStorage implements SyncStorage {
      *                             defined.
      */
     public RollingStorage(SyncStorage baseStorage, SegmentRollingPolicy defaultRollingPolicy) {
+        this(baseStorage, defaultRollingPolicy, SegmentPackingPolicy.NO_PACKING);
+    }
+
+    /**
+     * Creates a new instance of the RollingStorage class.
+     *
+     * @param baseStorage          A SyncStorage that will be used to execute operations.
+     * @param defaultRollingPolicy A SegmentRollingPolicy to apply to every StreamSegment that does not have its own policy
+     *                             defined.
+     * @param packingPolicy        A SegmentPackingPolicy that determines which writes are packed.
+     */
+    public RollingStorage(SyncStorage baseStorage, SegmentRollingPolicy defaultRollingPolicy, SegmentPackingPolicy packingPolicy) {
         this.baseStorage = Preconditions.checkNotNull(baseStorage, "baseStorage");
         this.defaultRollingPolicy = Preconditions.checkNotNull(defaultRollingPolicy, "defaultRollingPolicy");
+        this.packer = new SegmentPacker(baseStorage, packingPolicy);
         this.closed = new AtomicBoolean();
     }
 
@@ -157,12 +189,17 @@ public class RollingStorage implements SyncStorage {
         val chunks = h.chunks();
         int currentIndex = CollectionHelpers.binarySearch(chunks, s -> offset < s.getStartOffset() ? -1 : (offset >= s.getLastOffset() ? 1 : 0));
         assert currentIndex >= 0 : "unable to locate first SegmentChunk index.";
-
         try {
             int bytesRead = 0;
             while (bytesRead < length && currentIndex < chunks.size()) {
                 // Verify if this is a known truncated SegmentChunk; if so, bail out quickly.
                 SegmentChunk current = chunks.get(currentIndex);
+                if (current.isPacked() && current.exists() && this.packer.isReleased(current)) {
+                    // Packs outlive the Segments whose data they contain. Packed SegmentChunks are released when their
+                    // Segment is truncated or deleted (the handle will be refreshed below to find out which one it is).
+                    current.markInexistent();
+                }
+
                 checkTruncatedSegment(null, h, current);
                 if (current.getLength() == 0) {
                     // Empty SegmentChunk; don't bother trying to read from it.
@@ -176,7 +213,7 @@ public class RollingStorage implements SyncStorage {
                 // Read from the actual SegmentChunk into the given buffer.
                 try {
                     val sh = this.baseStorage.openRead(current.getName());
-                    int count = this.baseStorage.read(sh, readOffset, buffer, bufferOffset + bytesRead, readLength);
+                    int count = this.baseStorage.read(sh, current.getStorageOffset() + readOffset, buffer, bufferOffset + bytesRead, readLength);
                     bytesRead += count;
                     if (readOffset + count >= current.getLength()) {
                         currentIndex++;
@@ -302,6 +339,19 @@ public class RollingStorage implements SyncStorage {
 
     @Override
     public void write(SegmentHandle handle, long offset, InputStream data, int length) throws StreamSegmentException {
+        write(handle, offset, length, (target, targetOffset, writeLength) -> this.baseStorage.write(target, targetOffset, data, writeLength));
+    }
+
+    @Override
+    public void write(SegmentHandle handle, long offset, List<ByteBuffer> data) throws StreamSegmentException {
+        // Wrapping the buffers does not copy them (or change their positions). Every write to the base Storage will be
+        // handed (slices of) the original buffers.
+        ByteBuf buffer = Unpooled.wrappedBuffer(data.toArray(new ByteBuffer[data.size()]));
+        write(handle, offset, buffer.readableBytes(),
+                (target, targetOffset, writeLength) -> this.baseStorage.write(target, targetOffset, Arrays.asList(buffer.readSlice(writeLength).nioBuffers())));
+    }
+
+    private void write(SegmentHandle handle, long offset, int length, WriteSource data) throws StreamSegmentException {
         val h = getHandle(handle);
         ensureNotDeleted(h);
         ensureNotSealed(h);
@@ -313,6 +363,11 @@ public class RollingStorage implements SyncStorage {
         // any SegmentChunk's maximum length.
         int bytesWritten = 0;
         while (bytesWritten < length) {
+            if (this.packer.shouldPack(h)) {
+                bytesWritten += writePacked(h, offset + bytesWritten, data, length - bytesWritten);
+                continue;
+            }
+
             if (h.getActiveChunkHandle() == null || h.lastChunk().getLength() >= h.getRollingPolicy().getMaxLength()) {
                 rollover(h);
             }
@@ -321,7 +376,7 @@ public class RollingStorage implements SyncStorage {
             int writeLength = (int) Math.min(length - bytesWritten, h.getRollingPolicy().getMaxLength() - last.getLength());
             assert writeLength > 0 : "non-positive write length";
             long chunkOffset = offset + bytesWritten - last.getStartOffset();
-            this.baseStorage.write(h.getActiveChunkHandle(), chunkOffset, data, writeLength);
+            data.writeTo(h.getActiveChunkHandle(), chunkOffset, writeLength);
             last.increaseLength(writeLength);
             bytesWritten += writeLength;
         }
@@ -485,7 +540,11 @@ public class RollingStorage implements SyncStorage {
         Preconditions.checkArgument(truncationOffset >= 0 && truncationOffset <= h.length(),
                 "truncationOffset must be non-negative and at most the length of the Segment.");
         val last = h.lastChunk();
-        if (last != null && canTruncate(last, truncationOffset) && !h.isSealed()) {
+        if (last != null && last.isPacked()) {
+            // The length of a packed SegmentChunk is recorded in the Header, so we do not need to preserve any of them in
+            // order to be able to calculate the length of the Segment.
+            deleteChunks(h, s -> canTruncate(s, truncationOffset));
+        } else if (last != null && canTruncate(last, truncationOffset) && !h.isSealed()) {
             // If we were asked to truncate the entire (non-sealed) Segment, then rollover at this point so we can delete
             // all existing data.
             rollover(h);
@@ -511,6 +570,26 @@ public class RollingStorage implements SyncStorage {
 
     //region SegmentChunk Operations
 
+    private int writePacked(RollingSegmentHandle handle, long offset, WriteSource data, int length) throws StreamSegmentException {
+        SegmentChunk packedChunk = this.packer.append(offset, data, length);
+        try {
+            serializeNewChunk(handle, packedChunk);
+        } catch (Exception ex) {
+            // The Header does not point to this data, so nobody else will ever release it.
+            try {
+                this.packer.release(Collections.singletonList(packedChunk));
+            } catch (Exception ex2) {
+                ex.addSuppressed(ex2);
+            }
+
+            throw ex;
+        }
+
+        handle.addChunks(Collections.singletonList(packedChunk));
+        log.debug("Wrote {} bytes at offset {} into '{}' for '{}'.", packedChunk.getLength(), offset, packedChunk, handle);
+        return (int) packedChunk.getLength();
+    }
+
     private void rollover(RollingSegmentHandle handle) throws StreamSegmentException {
         Preconditions.checkArgument(handle.getHeaderHandle() != null, "Cannot rollover a Segment with no header.");
         Preconditions.checkArgument(!handle.isReadOnly(), "Cannot rollover using a read-only handle.");
@@ -548,8 +627,8 @@ public class RollingStorage implements SyncStorage {
 
     private void unsealLastChunkIfNecessary(RollingSegmentHandle handle) throws StreamSegmentException {
         SegmentChunk last = handle.lastChunk();
-        if (last == null || !last.isSealed()) {
-            // Nothing to do.
+        if (last == null || !last.isSealed() || last.isPacked()) {
+            // Nothing to do (packed SegmentChunks can never be written to).
             return;
         }
 
@@ -594,8 +673,18 @@ public class RollingStorage implements SyncStorage {
     }
 
     private void deleteChunks(RollingSegmentHandle handle, Predicate<SegmentChunk> canDelete) throws StreamSegmentException {
+        // Packed SegmentChunks share their Storage units with other Segments, so we can only release them.
+        val toRelease = handle.chunks().stream()
+                              .filter(s -> s.isPacked() && s.exists() && canDelete.test(s))
+                              .collect(Collectors.toList());
+        if (!toRelease.isEmpty()) {
+            this.packer.release(toRelease);
+            toRelease.forEach(SegmentChunk::markInexistent);
+            log.debug("Released {} packed SegmentChunk(s) for '{}'.", toRelease.size(), handle);
+        }
+
         for (SegmentChunk s : handle.chunks()) {
-            if (s.exists() && canDelete.test(s)) {
+            if (s.exists() && !s.isPacked() && canDelete.test(s)) {
                 try {
                     val subHandle = this.baseStorage.openWrite(s.getName());
                     this.baseStorage.delete(subHandle);
@@ -652,7 +741,7 @@ public class RollingStorage implements SyncStorage {
 
         SegmentChunk lastSource = source.lastChunk();
         SegmentChunk lastTarget = target.lastChunk();
-        return lastSource != null && lastSource.getStartOffset() == 0
+        return lastSource != null && lastSource.getStartOffset() == 0 && !lastSource.isPacked()
                 && lastTarget != null && !lastTarget.isSealed()
                 && lastTarget.getLength() + lastSource.getLength() <= target.getRollingPolicy().getMaxLength();
     }
@@ -674,9 +763,10 @@ public class RollingStorage implements SyncStorage {
         }
 
         // Update each SegmentChunk's Length (based on offset difference) and mark them as Sealed.
+        // Packed SegmentChunks already have their lengths set (and are sealed).
         SegmentChunk last = null;
         for (SegmentChunk s : handle.chunks()) {
-            if (last != null) {
+            if (last != null && !last.isPacked()) {
                 last.setLength(s.getStartOffset() - last.getStartOffset());
                 last.markSealed();
             }
@@ -684,8 +774,11 @@ public class RollingStorage implements SyncStorage {
             last = s;
         }
 
+        // Packed SegmentChunks are not deleted when truncated, so we need to find out which ones have been released.
+        this.packer.refreshReleased(handle.chunks());
+
         // For the last one, we need to actually check the file and update its info.
-        if (last != null) {
+        if (last != null && !last.isPacked()) {
             val si = this.baseStorage.getStreamSegmentInfo(last.getName());
             last.setLength(si.getLength());
             if (si.isSealed()) {
@@ -826,4 +919,24 @@ public class RollingStorage implements SyncStorage {
     }
 
     //endregion
+
+    //region WriteSource
+
+    /**
+     * Source of data for a write, which may be split across multiple SegmentChunks or packs.
+     */
+    @FunctionalInterface
+    interface WriteSource {
+        /**
+         * Writes the next bytes from this source to the given target.
+         *
+         * @param target       A read-write SegmentHandle for the target.
+         * @param targetOffset The offset within the target to write at.
+         * @param length       The number of bytes to write.
+         * @throws StreamSegmentException If an exception occurred.
+         */
+        void writeTo(SegmentHandle target, long targetOffset, int length) throws StreamSegmentException;
+    }
+
+    //endregion
 }
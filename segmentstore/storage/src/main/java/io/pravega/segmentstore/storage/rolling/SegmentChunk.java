@@ -18,11 +18,19 @@ import lombok.Getter;
 
 /**
  * Represents a range of bytes within a Segment.
+ * <p>
+ * A SegmentChunk is usually backed by a Storage unit of its own. A packed SegmentChunk is instead backed by a range of
+ * bytes within a pack (a Storage unit shared by many Segments); such SegmentChunks have a fixed length and are always sealed.
  */
 @ThreadSafe
 class SegmentChunk {
     //region Private
 
+    /**
+     * Pack Offset value for SegmentChunks that are backed by a Storage unit of their own.
+     */
+    static final long NOT_PACKED = -1;
+
     /**
      * The name of the SegmentChunk.
      */
@@ -33,6 +41,12 @@ class SegmentChunk {
      */
     @Getter
     private final long startOffset;
+    /**
+     * The offset within the pack where this SegmentChunk's data begins, or NOT_PACKED if this SegmentChunk is backed by
+     * a Storage unit of its own.
+     */
+    @Getter
+    private final long packOffset;
     @GuardedBy("this")
     private long length;
     @GuardedBy("this")
@@ -51,9 +65,15 @@ class SegmentChunk {
      * @param startOffset The offset within the owning Segment where this SegmentChunk starts at.
      */
     SegmentChunk(String chunkName, long startOffset) {
+        this(chunkName, startOffset, NOT_PACKED);
+    }
+
+    private SegmentChunk(String chunkName, long startOffset, long packOffset) {
         this.name = Exceptions.checkNotNullOrEmpty(chunkName, "chunkName");
         Preconditions.checkArgument(startOffset >= 0, "startOffset must be a non-negative number.");
+        Preconditions.checkArgument(packOffset >= 0 || packOffset == NOT_PACKED, "packOffset must be a non-negative number.");
         this.startOffset = startOffset;
+        this.packOffset = packOffset;
     }
 
     /**
@@ -67,6 +87,23 @@ class SegmentChunk {
         return new SegmentChunk(StreamSegmentNameUtils.getSegmentChunkName(segmentName, startOffset), startOffset);
     }
 
+    /**
+     * Creates a new instance of the SegmentChunk class that is backed by a range of bytes within a pack.
+     *
+     * @param packName    The name of the pack.
+     * @param packOffset  The offset within the pack where this SegmentChunk's data begins.
+     * @param startOffset The offset within the owning Segment where this SegmentChunk starts at.
+     * @param length      The length of this SegmentChunk.
+     * @return A new (sealed) SegmentChunk.
+     */
+    static SegmentChunk forPack(String packName, long packOffset, long startOffset, long length) {
+        Preconditions.checkArgument(packOffset >= 0, "packOffset must be a non-negative number.");
+        SegmentChunk s = new SegmentChunk(packName, startOffset, packOffset);
+        s.setLength(length);
+        s.markSealed();
+        return s;
+    }
+
     /**
      * Creates a new instance of the SegmentChunk class with the same information as this one, but with a new offset.
      *
@@ -74,7 +111,7 @@ class SegmentChunk {
      * @return A new SegmentChunk.
      */
     SegmentChunk withNewOffset(long newOffset) {
-        SegmentChunk ns = new SegmentChunk(this.name, newOffset);
+        SegmentChunk ns = new SegmentChunk(this.name, newOffset, this.packOffset);
         ns.setLength(getLength());
         if (isSealed()) {
             ns.markSealed();
@@ -91,6 +128,20 @@ class SegmentChunk {
 
     //region Properties
 
+    /**
+     * Gets a value indicating whether this SegmentChunk is backed by a range of bytes within a pack.
+     */
+    boolean isPacked() {
+        return this.packOffset != NOT_PACKED;
+    }
+
+    /**
+     * Gets a value indicating the offset within the Storage unit named by getName() where this SegmentChunk's data begins.
+     */
+    long getStorageOffset() {
+        return isPacked() ? this.packOffset : 0;
+    }
+
     /**
      * Gets a value indicating whether this SegmentChunk has been sealed.
      */
@@ -162,7 +213,7 @@ class SegmentChunk {
 
     @Override
     public synchronized String toString() {
-        return String.format("%s (%d+%d%s)", this.name, this.startOffset, this.length,
+        return String.format("%s%s (%d+%d%s)", this.name, isPacked() ? "@" + this.packOffset : "", this.startOffset, this.length,
                 this.exists ? (this.sealed ? ", sealed" : "") : ", deleted");
     }
 
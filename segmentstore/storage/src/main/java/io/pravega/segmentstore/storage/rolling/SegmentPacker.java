@@ -0,0 +1,518 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.rolling;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.segmentstore.contracts.BadOffsetException;
+import io.pravega.segmentstore.contracts.SegmentProperties;
+import io.pravega.segmentstore.contracts.StreamSegmentException;
+import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
+import io.pravega.segmentstore.storage.SegmentHandle;
+import io.pravega.segmentstore.storage.SegmentPackingPolicy;
+import io.pravega.segmentstore.storage.SyncStorage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Packs data from multiple Segments into shared, append-only Storage units (packs).
+ *
+ * Packs are append-only, so each pack can only be written to by one append at a time. Every append takes exclusive
+ * ownership of an idle active pack (or creates a new one if there is none) for the duration of the write, which means
+ * that concurrent appends are written to different packs. A pack is sealed (and no longer active) once it reaches the
+ * maximum length allowed by the SegmentPackingPolicy. The ranges of bytes written to a pack are referenced by packed
+ * SegmentChunks in the Headers of the Segments that own them.
+ *
+ * Every pack has a companion release log, which records those ranges of bytes in the pack that are no longer referenced
+ * by any Segment (due to the owning Segment being truncated or deleted). Once every byte in a pack has been released, the
+ * pack and its release log are deleted. Releasing the same range multiple times has no effect, which means it is always
+ * safe to retry a failed release. A pack's release log is only read the first time its released ranges are needed; from
+ * then on, they are kept in memory and updated with every release made through this SegmentPacker. This relies on the
+ * fact that all the Segments (and thus all the packs) of a RollingStorage instance are only modified through it.
+ *
+ * A note about failures: if a write to a pack succeeds but the owning Segment's Header could not be updated to point to
+ * it, the range is immediately released. If the process dies between these two steps, the range will never be released
+ * and the pack that contains it will not be reclaimed.
+ */
+@Slf4j
+@ThreadSafe
+class SegmentPacker {
+    //region Members
+
+    private static final String PACK_NAME_PREFIX = "_system/packs/pack_";
+    private static final String RELEASE_LOG_SUFFIX = "$released";
+    private static final Charset ENCODING = Charsets.UTF_8;
+    private static final String KEY_VALUE_SEPARATOR = "=";
+    private static final String SEPARATOR = "&";
+    private static final int MAX_RELEASE_ATTEMPTS = 5;
+
+    private final SyncStorage baseStorage;
+    private final SegmentPackingPolicy packingPolicy;
+    @GuardedBy("this")
+    private final ArrayDeque<ActivePack> idlePacks;
+    @GuardedBy("this")
+    private final Set<String> activePackNames;
+    private final ConcurrentHashMap<String, ReleasedRanges> releasedRanges;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SegmentPacker class.
+     *
+     * @param baseStorage   A SyncStorage that will be used to execute operations.
+     * @param packingPolicy The SegmentPackingPolicy to apply.
+     */
+    SegmentPacker(SyncStorage baseStorage, SegmentPackingPolicy packingPolicy) {
+        this.baseStorage = Preconditions.checkNotNull(baseStorage, "baseStorage");
+        this.packingPolicy = Preconditions.checkNotNull(packingPolicy, "packingPolicy");
+        this.idlePacks = new ArrayDeque<>();
+        this.activePackNames = new HashSet<>();
+        this.releasedRanges = new ConcurrentHashMap<>();
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Gets a value indicating whether the next write to a Segment with the given state should be packed.
+     *
+     * @param handle The RollingSegmentHandle for the Segment.
+     * @return True if the write should be packed, false otherwise.
+     */
+    boolean shouldPack(RollingSegmentHandle handle) {
+        // We can only pack Segments that have a Header (that's where we record the packed SegmentChunks). Once a Segment
+        // has a SegmentChunk of its own, all subsequent writes go to that SegmentChunk.
+        SegmentChunk last = handle.lastChunk();
+        return handle.getHeaderHandle() != null
+                && (last == null || last.isPacked())
+                && this.packingPolicy.shouldPack(handle.length(), handle.chunks().size());
+    }
+
+    /**
+     * Appends the given data to an active pack, creating a new pack if necessary.
+     *
+     * @param segmentOffset The offset within the owning Segment where the data begins.
+     * @param data          A WriteSource providing the data to write.
+     * @param length        The number of bytes to write. Fewer bytes may be written if the active pack does not have
+     *                      enough room for all of them.
+     * @return A packed SegmentChunk that points to the written data.
+     * @throws StreamSegmentException If an exception occurred.
+     */
+    SegmentChunk append(long segmentOffset, RollingStorage.WriteSource data, int length) throws StreamSegmentException {
+        Preconditions.checkArgument(length > 0, "length must be a positive number.");
+
+        // We own this pack until we hand it back, so we need not hold any locks while writing to it.
+        ActivePack pack = acquirePack();
+        long packOffset = pack.length;
+        int writeLength = (int) Math.min(length, this.packingPolicy.getMaxPackLength() - packOffset);
+        String packName = pack.handle.getSegmentName();
+        try {
+            data.writeTo(pack.handle, packOffset, writeLength);
+        } catch (Exception ex) {
+            // We do not know how much of this write (if any) made it into the pack, so we cannot write to it anymore.
+            // Release the range we attempted to write, so that the pack may be reclaimed once everything else is released.
+            log.warn("Unable to write to pack '{}'; abandoning it.", packName, ex);
+            deactivate(packName);
+            try {
+                release(packName, packOffset, writeLength);
+            } catch (Exception ex2) {
+                ex.addSuppressed(ex2);
+            }
+
+            throw ex;
+        }
+
+        pack.length += writeLength;
+        returnPack(pack);
+        return SegmentChunk.forPack(packName, packOffset, segmentOffset, writeLength);
+    }
+
+    /**
+     * Releases the given packed SegmentChunks. Packs that have had all of their bytes released will be deleted.
+     *
+     * @param segmentChunks The SegmentChunks to release. All of them must be packed.
+     * @throws StreamSegmentException If an exception occurred.
+     */
+    void release(Collection<SegmentChunk> segmentChunks) throws StreamSegmentException {
+        Map<String, List<SegmentChunk>> byPack = segmentChunks.stream().collect(Collectors.groupingBy(SegmentChunk::getName));
+        for (val e : byPack.entrySet()) {
+            byte[] records = serializeReleases(e.getValue());
+            if (appendReleaseRecords(e.getKey(), records)) {
+                // If the ranges are loaded now, they will already include these records. Releases are idempotent, so it
+                // does not hurt to add them again (which we must do in case they were loaded before).
+                ReleasedRanges ranges = getReleasedRanges(e.getKey());
+                if (ranges != null) {
+                    e.getValue().forEach(s -> ranges.add(s.getPackOffset(), s.getLength()));
+                    reclaimIfPossible(e.getKey(), ranges);
+                }
+            }
+        }
+    }
+
+    private void release(String packName, long packOffset, long length) throws StreamSegmentException {
+        release(Collections.singletonList(SegmentChunk.forPack(packName, packOffset, 0, length)));
+    }
+
+    /**
+     * Marks as inexistent those of the given packed SegmentChunks that have been released. Releases are not recorded in
+     * the Headers of the Segments (which may be sealed), so this is the only way to find out about truncated packed
+     * SegmentChunks when opening a Segment.
+     *
+     * @param segmentChunks The SegmentChunks to check. Non-packed SegmentChunks are ignored.
+     * @throws StreamSegmentException If an exception occurred.
+     */
+    void refreshReleased(Collection<SegmentChunk> segmentChunks) throws StreamSegmentException {
+        for (SegmentChunk s : segmentChunks) {
+            if (s.isPacked() && s.exists() && isReleased(s)) {
+                s.markInexistent();
+            }
+        }
+    }
+
+    /**
+     * Determines whether the given packed SegmentChunk has been released.
+     *
+     * @param segmentChunk The SegmentChunk to check. Must be packed.
+     * @return True if the SegmentChunk has been released (or its pack has been reclaimed), false otherwise.
+     * @throws StreamSegmentException If an exception occurred.
+     */
+    boolean isReleased(SegmentChunk segmentChunk) throws StreamSegmentException {
+        Preconditions.checkArgument(segmentChunk.isPacked(), "SegmentChunk '%s' is not packed.", segmentChunk);
+        ReleasedRanges ranges = getReleasedRanges(segmentChunk.getName());
+        return ranges == null || ranges.isReleased(segmentChunk.getPackOffset(), segmentChunk.getLength());
+    }
+
+    //endregion
+
+    //region Pack Management
+
+    /**
+     * Takes exclusive ownership of an idle active pack, or creates a new one if there are none.
+     */
+    private ActivePack acquirePack() throws StreamSegmentException {
+        synchronized (this) {
+            // Prefer the most recently used pack; this keeps the number of partially filled packs to a minimum.
+            ActivePack pack = this.idlePacks.pollFirst();
+            if (pack != null) {
+                return pack;
+            }
+        }
+
+        // Create the release log first. This guarantees that every pack has a release log, so a missing release log
+        // means that the pack has already been reclaimed.
+        String packName = PACK_NAME_PREFIX + UUID.randomUUID().toString();
+        this.baseStorage.create(getReleaseLogName(packName));
+        this.baseStorage.create(packName);
+        ActivePack pack = new ActivePack(this.baseStorage.openWrite(packName));
+        this.releasedRanges.put(packName, ReleasedRanges.empty());
+        synchronized (this) {
+            this.activePackNames.add(packName);
+        }
+
+        log.debug("Created pack '{}'.", packName);
+        return pack;
+    }
+
+    /**
+     * Hands back a pack previously obtained from acquirePack(). The pack is sealed if it is full, otherwise it is made
+     * available for subsequent appends.
+     */
+    private void returnPack(ActivePack pack) throws StreamSegmentException {
+        if (pack.length < this.packingPolicy.getMaxPackLength()) {
+            synchronized (this) {
+                this.idlePacks.addFirst(pack);
+            }
+
+            return;
+        }
+
+        try {
+            this.baseStorage.seal(pack.handle);
+        } catch (Exception ex) {
+            // Not sealing a pack does not affect correctness; it only prevents accidental writes to it.
+            if (Exceptions.mustRethrow(ex)) {
+                throw ex;
+            }
+
+            log.warn("Unable to seal pack '{}'.", pack.handle.getSegmentName(), ex);
+        }
+
+        deactivate(pack.handle.getSegmentName());
+    }
+
+    private synchronized void deactivate(String packName) {
+        this.activePackNames.remove(packName);
+    }
+
+    private synchronized boolean isActivePack(String packName) {
+        return this.activePackNames.contains(packName);
+    }
+
+    /**
+     * Gets the ReleasedRanges for the given pack, loading them from its release log if this is the first time they are
+     * needed.
+     *
+     * @return The ReleasedRanges, or null if the pack has been reclaimed.
+     */
+    private ReleasedRanges getReleasedRanges(String packName) throws StreamSegmentException {
+        ReleasedRanges ranges = this.releasedRanges.computeIfAbsent(packName, n -> new ReleasedRanges());
+        synchronized (ranges) {
+            if (!ranges.loaded) {
+                try {
+                    readReleases(packName).forEach(r -> ranges.add(r[0], r[1]));
+                } catch (StreamSegmentNotExistsException ex) {
+                    // Pack has been reclaimed.
+                    this.releasedRanges.remove(packName, ranges);
+                    return null;
+                }
+
+                ranges.loaded = true;
+            }
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Appends the given release records to the pack's release log.
+     *
+     * @return True if the records were appended, false if the pack has already been reclaimed.
+     */
+    private boolean appendReleaseRecords(String packName, byte[] records) throws StreamSegmentException {
+        String releaseLogName = getReleaseLogName(packName);
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            try {
+                val si = this.baseStorage.getStreamSegmentInfo(releaseLogName);
+                val handle = this.baseStorage.openWrite(releaseLogName);
+                this.baseStorage.write(handle, si.getLength(), new ByteArrayInputStream(records), records.length);
+                return true;
+            } catch (StreamSegmentNotExistsException ex) {
+                // Release log is gone, which means the pack has been reclaimed.
+                log.debug("Release log for pack '{}' does not exist; pack has already been reclaimed.", packName);
+                return false;
+            } catch (BadOffsetException ex) {
+                // Someone else appended to this release log at the same time. Since release records can be applied in
+                // any order, we can simply try again.
+                if (attempt >= MAX_RELEASE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private void reclaimIfPossible(String packName, ReleasedRanges ranges) throws StreamSegmentException {
+        if (isActivePack(packName) || ranges.getReleasedPrefixLength() == 0) {
+            // We are still writing to this pack, or there is no way everything in it has been released.
+            return;
+        }
+
+        SegmentProperties packInfo;
+        try {
+            packInfo = this.baseStorage.getStreamSegmentInfo(packName);
+        } catch (StreamSegmentNotExistsException ex) {
+            // Pack has already been deleted, but not its release log. Finish the job.
+            deleteIfExists(getReleaseLogName(packName));
+            this.releasedRanges.remove(packName);
+            return;
+        }
+
+        if (!ranges.isReleased(0, packInfo.getLength())) {
+            return;
+        }
+
+        // Delete the pack before its release log. If we get interrupted in between, a subsequent release will clean up.
+        deleteIfExists(packName);
+        deleteIfExists(getReleaseLogName(packName));
+        this.releasedRanges.remove(packName);
+        log.debug("Reclaimed pack '{}' ({} bytes).", packName, packInfo.getLength());
+    }
+
+    private List<long[]> readReleases(String packName) throws StreamSegmentException {
+        String releaseLogName = getReleaseLogName(packName);
+        val si = this.baseStorage.getStreamSegmentInfo(releaseLogName);
+        byte[] buffer = new byte[(int) si.getLength()];
+        int bytesRead = 0;
+        val handle = this.baseStorage.openRead(releaseLogName);
+        while (bytesRead < buffer.length) {
+            bytesRead += this.baseStorage.read(handle, bytesRead, buffer, bytesRead, buffer.length - bytesRead);
+        }
+
+        return deserializeReleases(buffer);
+    }
+
+    private void deleteIfExists(String name) throws StreamSegmentException {
+        try {
+            this.baseStorage.delete(this.baseStorage.openWrite(name));
+        } catch (StreamSegmentNotExistsException ex) {
+            // Nothing to do.
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    @VisibleForTesting
+    static String getReleaseLogName(String packName) {
+        return packName + RELEASE_LOG_SUFFIX;
+    }
+
+    private static byte[] serializeReleases(List<SegmentChunk> segmentChunks) {
+        StringBuilder sb = new StringBuilder();
+        for (SegmentChunk s : segmentChunks) {
+            Preconditions.checkArgument(s.isPacked(), "SegmentChunk '%s' is not packed.", s);
+            sb.append(s.getPackOffset()).append(KEY_VALUE_SEPARATOR).append(s.getLength()).append(SEPARATOR);
+        }
+
+        return sb.toString().getBytes(ENCODING);
+    }
+
+    private static List<long[]> deserializeReleases(byte[] serialization) {
+        ArrayList<long[]> result = new ArrayList<>();
+        StringTokenizer st = new StringTokenizer(new String(serialization, ENCODING), SEPARATOR, false);
+        while (st.hasMoreTokens()) {
+            String entry = st.nextToken();
+            int sp = entry.indexOf(KEY_VALUE_SEPARATOR);
+            try {
+                Preconditions.checkArgument(sp > 0, "Release entry '%s' is invalid.", entry);
+                result.add(new long[]{Long.parseLong(entry.substring(0, sp)), Long.parseLong(entry.substring(sp + 1))});
+            } catch (IllegalArgumentException ex) {
+                // This is most likely a partially written record. Since the release has not been acknowledged, it will
+                // be retried, so we can safely ignore it.
+                log.warn("Ignoring invalid release record '{}'.", entry);
+            }
+        }
+
+        return result;
+    }
+
+    //endregion
+
+    //region ActivePack
+
+    /**
+     * A pack that can be appended to.
+     */
+    @RequiredArgsConstructor
+    private static class ActivePack {
+        final SegmentHandle handle;
+        long length;
+    }
+
+    //endregion
+
+    //region ReleasedRanges
+
+    /**
+     * The ranges of a pack that have been released. Overlapping and adjacent ranges are merged together, so a range has
+     * been released if and only if it is entirely contained in one of these ranges.
+     */
+    @ThreadSafe
+    static class ReleasedRanges {
+        /**
+         * Whether the contents of the pack's release log have been included.
+         */
+        @GuardedBy("this")
+        private boolean loaded;
+        /**
+         * Maps the offset where each range begins to the offset where it ends (exclusive).
+         */
+        @GuardedBy("this")
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+
+        /**
+         * Creates a new ReleasedRanges for a pack that has nothing released.
+         */
+        static ReleasedRanges empty() {
+            ReleasedRanges result = new ReleasedRanges();
+            result.loaded = true;
+            return result;
+        }
+
+        /**
+         * Records the given range as released.
+         *
+         * @param offset The offset within the pack where the range begins.
+         * @param length The length of the range.
+         */
+        synchronized void add(long offset, long length) {
+            if (length <= 0) {
+                return;
+            }
+
+            long start = offset;
+            long end = offset + length;
+            val floor = this.ranges.floorEntry(start);
+            if (floor != null && floor.getValue() >= start) {
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue());
+            }
+
+            val overlapping = this.ranges.subMap(start, true, end, true);
+            if (!overlapping.isEmpty()) {
+                end = Math.max(end, overlapping.lastEntry().getValue());
+                overlapping.clear();
+            }
+
+            this.ranges.put(start, end);
+        }
+
+        /**
+         * Determines whether every byte in [offset, offset + length) has been released.
+         *
+         * @param offset The offset within the pack where the range to check begins.
+         * @param length The length of the range to check.
+         * @return True if the range has been fully released, false otherwise.
+         */
+        synchronized boolean isReleased(long offset, long length) {
+            if (length <= 0) {
+                return true;
+            }
+
+            val floor = this.ranges.floorEntry(offset);
+            return floor != null && floor.getValue() >= offset + length;
+        }
+
+        /**
+         * Gets the number of bytes at the beginning of the pack that have all been released.
+         */
+        synchronized long getReleasedPrefixLength() {
+            Long end = this.ranges.get(0L);
+            return end == null ? 0 : end;
+        }
+    }
+
+    //endregion
+}
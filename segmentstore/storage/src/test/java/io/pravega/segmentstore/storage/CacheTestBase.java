@@ -9,7 +9,10 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.pravega.common.util.ByteArraySegment;
+import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.function.Consumer;
 import lombok.Cleanup;
 import lombok.EqualsAndHashCode;
@@ -21,7 +24,7 @@ import org.junit.Test;
  * Base unit test class for any class implementing the Cache interface.
  */
 public abstract class CacheTestBase {
-    private static final String CACHE_ID = "cache_id";
+    protected static final String CACHE_ID = "cache_id";
     private static final int SEGMENT_COUNT = 1000;
     private static final int OFFSET_COUNT = 100;
     private static final long OFFSET_MULTIPLIER = 1024 * 1024 * 1024;
@@ -47,6 +50,31 @@ public abstract class CacheTestBase {
         });
     }
 
+    /**
+     * Tests the append() method.
+     */
+    @Test
+    public void testAppend() {
+        final int appendCount = 100;
+        @Cleanup
+        Cache cache = createCache(CACHE_ID);
+        CacheKey key = new CacheKey(0, 0);
+        ByteArrayOutputStream expectedData = new ByteArrayOutputStream();
+        Assert.assertFalse("append() succeeded for a missing entry.", cache.append(key, 0, new ByteArraySegment(new byte[1])));
+        Assert.assertNull("append() created a missing entry.", cache.get(key));
+
+        cache.insert(key, new byte[0]);
+        for (int i = 0; i < appendCount; i++) {
+            byte[] data = new byte[i];
+            Arrays.fill(data, (byte) i);
+            Assert.assertFalse("append() succeeded for an unexpected length.",
+                    cache.append(key, expectedData.size() + 1, new ByteArraySegment(data)));
+            Assert.assertTrue("append() failed for the expected length.", cache.append(key, expectedData.size(), new ByteArraySegment(data)));
+            expectedData.write(data, 0, data.length);
+            Assert.assertArrayEquals("Unexpected contents after append.", expectedData.toByteArray(), cache.get(key));
+        }
+    }
+
     /**
      * Verifies that Remove actually removes from the cache.
      */
@@ -99,7 +127,7 @@ public abstract class CacheTestBase {
 
     @RequiredArgsConstructor
     @EqualsAndHashCode(callSuper = false)
-    private static class CacheKey extends Cache.Key {
+    protected static class CacheKey extends Cache.Key {
         private final long segmentId;
         private final long offset;
 
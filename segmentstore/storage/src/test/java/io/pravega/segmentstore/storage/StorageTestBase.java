@@ -21,8 +21,10 @@ import io.pravega.test.common.ThreadPooledTestSuite;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map.Entry;
 import java.util.Random;
@@ -172,6 +174,60 @@ public abstract class StorageTestBase extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the write() method that accepts a list of buffers (gathering write).
+     *
+     * @throws Exception if an unexpected error occurred.
+     */
+    @Test
+    public void testWriteBuffers() throws Exception {
+        String segmentName = "foo_write_buffers";
+        int appendCount = 10;
+
+        try (Storage s = createStorage()) {
+            s.initialize(DEFAULT_EPOCH);
+            createSegment(segmentName, s);
+
+            val readOnlyHandle = s.openRead(segmentName).join();
+            assertSuppliedFutureThrows(
+                    "write() did not throw for read-only handle.",
+                    () -> s.write(readOnlyHandle, 0, Collections.singletonList(ByteBuffer.wrap("h".getBytes())), TIMEOUT),
+                    ex -> ex instanceof IllegalArgumentException);
+
+            val writeHandle = s.openWrite(segmentName).join();
+            val expectedData = new ByteArrayOutputStream();
+            for (int j = 0; j < appendCount; j++) {
+                // Mix heap and direct buffers, and make sure only the data between position and limit is written.
+                byte[] writeData = String.format(APPEND_FORMAT, segmentName, j).getBytes();
+                val buffers = new ArrayList<ByteBuffer>();
+                int half = writeData.length / 2;
+                val heapBuffer = ByteBuffer.allocate(half + 2);
+                heapBuffer.put((byte) 0).put(writeData, 0, half).put((byte) 0).flip().position(1).limit(half + 1);
+                buffers.add(heapBuffer);
+                val directBuffer = ByteBuffer.allocateDirect(writeData.length - half);
+                directBuffer.put(writeData, half, writeData.length - half).flip();
+                buffers.add(directBuffer);
+                buffers.add(ByteBuffer.allocate(0));
+
+                s.write(writeHandle, expectedData.size(), buffers, TIMEOUT).join();
+                Assert.assertEquals("write() modified the position of a given buffer.", 1, heapBuffer.position());
+                Assert.assertEquals("write() modified the position of a given buffer.", 0, directBuffer.position());
+                expectedData.write(writeData);
+            }
+
+            // Check bad offset.
+            assertSuppliedFutureThrows("write() did not throw bad offset write.",
+                    () -> s.write(writeHandle, expectedData.size() + 1, Collections.singletonList(ByteBuffer.wrap("h".getBytes())), TIMEOUT),
+                    ex -> ex instanceof BadOffsetException);
+
+            // Verify the data.
+            byte[] readBuffer = new byte[expectedData.size()];
+            int bytesRead = s.read(readOnlyHandle, 0, readBuffer, 0, readBuffer.length, TIMEOUT).join();
+            Assert.assertEquals("Unexpected number of bytes read.", readBuffer.length, bytesRead);
+            Assert.assertArrayEquals("Unexpected data read back.", expectedData.toByteArray(), readBuffer);
+        }
+    }
+
     /**
      * Tests the read() method.
      *
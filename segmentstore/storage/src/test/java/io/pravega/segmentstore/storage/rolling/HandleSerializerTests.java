@@ -87,6 +87,48 @@ public class HandleSerializerTests {
         Assert.assertEquals("getHeaderLength", serialization.length, newHandle.getHeaderLength());
     }
 
+    /**
+     * Tests the Serialization-Deserialization for a Handle with packed SegmentChunks, both directly and after concat.
+     */
+    @Test
+    public void testPackedSerialization() throws IOException {
+        final int chunkCount = 10;
+        final String packName = "_system/packs/pack";
+        val source = newHandle(0);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        os.write(serialize(source));
+        for (int i = 0; i < chunkCount; i++) {
+            val chunk = SegmentChunk.forPack(packName + i % 3, i * 7, source.length(), i + 1);
+            source.addChunks(Collections.singletonList(chunk));
+            os.write(HandleSerializer.serializeChunk(chunk));
+        }
+
+        // Concat another packed Segment, then add a regular SegmentChunk at the end.
+        val concatHandle = newHandle("concat", 0);
+        os.write(HandleSerializer.serializeConcat(1, source.length()));
+        val concatChunk = SegmentChunk.forPack(packName, 1234, 0, 5);
+        concatHandle.addChunks(Collections.singletonList(concatChunk));
+        os.write(serialize(concatHandle));
+        source.addChunks(Collections.singletonList(concatChunk.withNewOffset(source.length())));
+        val lastChunk = new SegmentChunk(StreamSegmentNameUtils.getSegmentChunkName(source.getSegmentName(), source.length()), source.length());
+        source.addChunks(Collections.singletonList(lastChunk));
+        os.write(HandleSerializer.serializeChunk(lastChunk));
+
+        val serialization = os.toByteArray();
+        val newHandle = HandleSerializer.deserialize(serialization, source.getHeaderHandle());
+        assertHandleEquals(source, newHandle, source.getHeaderHandle());
+        for (int i = 0; i < source.chunks().size(); i++) {
+            val expected = source.chunks().get(i);
+            val actual = newHandle.chunks().get(i);
+            Assert.assertEquals("isPacked", expected.isPacked(), actual.isPacked());
+            Assert.assertEquals("getPackOffset", expected.getPackOffset(), actual.getPackOffset());
+            if (expected.isPacked()) {
+                Assert.assertEquals("getLength", expected.getLength(), actual.getLength());
+                Assert.assertTrue("isSealed", actual.isSealed());
+            }
+        }
+    }
+
     private void assertHandleEquals(RollingSegmentHandle expected, RollingSegmentHandle actual, SegmentHandle headerHandle) {
         Assert.assertEquals("getSegmentName", expected.getSegmentName(), actual.getSegmentName());
         AssertExtensions.assertListEquals("chunks", expected.chunks(), actual.chunks(), this::chunkEquals);
@@ -0,0 +1,476 @@
+/**
+ * Copyright (c) 2017 Dell Inc., or its subsidiaries. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.pravega.segmentstore.storage.rolling;
+
+import io.pravega.segmentstore.contracts.StreamSegmentException;
+import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
+import io.pravega.segmentstore.contracts.StreamSegmentTruncatedException;
+import io.pravega.segmentstore.storage.AsyncStorageWrapper;
+import io.pravega.segmentstore.storage.SegmentHandle;
+import io.pravega.segmentstore.storage.SegmentPackingPolicy;
+import io.pravega.segmentstore.storage.SegmentRollingPolicy;
+import io.pravega.segmentstore.storage.Storage;
+import io.pravega.segmentstore.storage.SyncStorage;
+import io.pravega.segmentstore.storage.mocks.InMemoryStorage;
+import io.pravega.test.common.AssertExtensions;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the RollingStorage class with Segment packing enabled.
+ */
+public class PackedRollingStorageTests extends RollingStorageTestBase {
+    private static final SegmentRollingPolicy DEFAULT_ROLLING_POLICY = new SegmentRollingPolicy(100);
+    private static final SegmentPackingPolicy DEFAULT_PACKING_POLICY = new SegmentPackingPolicy(200, 150);
+    private static final int SEGMENT_COUNT = 10;
+    private static final int WRITE_COUNT = 5;
+    private static final int WRITE_LENGTH = 13;
+
+    @Override
+    public void testSuccessiveConcats() {
+        // This verifies the number of SegmentChunks, which is different when packing (every packed write results in its
+        // own SegmentChunk). Concatenating packed Segments is verified in testConcatPacked().
+    }
+
+    @Override
+    public void testWriteAfterHeaderMerge() {
+        // This verifies the number of SegmentChunks, which is different when packing (every packed write results in its
+        // own SegmentChunk). Concatenating packed Segments is verified in testConcatPacked().
+    }
+
+    /**
+     * Tests the ability to pack writes from multiple Segments into shared packs and read them back, both using existing
+     * handles and from a new RollingStorage instance (recovery).
+     */
+    @Test
+    public void testPacking() throws Exception {
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        val writtenData = populate(s, SEGMENT_COUNT, WRITE_COUNT, WRITE_LENGTH);
+
+        // Verify that all the data is packed and that multiple Segments share the same packs.
+        val packNames = new HashSet<String>();
+        for (String segmentName : writtenData.keySet()) {
+            val handle = (RollingSegmentHandle) s.openRead(segmentName);
+            Assert.assertTrue("Expecting all SegmentChunks to be packed.", handle.chunks().stream().allMatch(SegmentChunk::isPacked));
+            handle.chunks().forEach(c -> packNames.add(c.getName()));
+        }
+
+        int totalLength = SEGMENT_COUNT * WRITE_COUNT * WRITE_LENGTH;
+        int expectedPackCount = (int) ((totalLength + DEFAULT_PACKING_POLICY.getMaxPackLength() - 1) / DEFAULT_PACKING_POLICY.getMaxPackLength());
+        Assert.assertEquals("Unexpected number of packs.", expectedPackCount, packNames.size());
+        checkWrittenData(writtenData, s);
+
+        // Recover from a new instance.
+        @Cleanup
+        val s2 = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        checkWrittenData(writtenData, s2);
+        for (val e : writtenData.entrySet()) {
+            Assert.assertEquals("Unexpected length after recovery.", e.getValue().size(), s2.getStreamSegmentInfo(e.getKey()).getLength());
+        }
+
+        // A RollingStorage with packing disabled must still be able to read packed Segments.
+        @Cleanup
+        val s3 = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY);
+        checkWrittenData(writtenData, s3);
+    }
+
+    /**
+     * Tests the ability to transition a Segment from packed SegmentChunks to regular SegmentChunks once it reaches the
+     * packing threshold.
+     */
+    @Test
+    public void testPackingThreshold() throws Exception {
+        final int writeLength = 37;
+        final int writeCount = (int) (DEFAULT_PACKING_POLICY.getMaxSegmentLength() * 3 / writeLength);
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        val writtenData = populate(s, 1, writeCount, writeLength);
+        val segmentName = writtenData.keySet().iterator().next();
+        val handle = (RollingSegmentHandle) s.openRead(segmentName);
+        for (SegmentChunk c : handle.chunks()) {
+            boolean expectedPacked = c.getStartOffset() < DEFAULT_PACKING_POLICY.getMaxSegmentLength();
+            Assert.assertEquals("Unexpected packing status for " + c, expectedPacked, c.isPacked());
+            if (!expectedPacked) {
+                Assert.assertTrue("Expected regular SegmentChunk to be bounded by the rolling policy.",
+                        c.getLength() <= DEFAULT_ROLLING_POLICY.getMaxLength());
+            }
+        }
+
+        Assert.assertFalse("Expected the last SegmentChunk to not be packed.", handle.lastChunk().isPacked());
+        checkWrittenData(writtenData, s);
+    }
+
+    /**
+     * Tests that a Segment stops being packed once it has the maximum number of SegmentChunks allowed by the packing policy,
+     * even if it has not reached the packing threshold.
+     */
+    @Test
+    public void testPackedChunkCountThreshold() throws Exception {
+        final int maxChunkCount = 3;
+        final int writeCount = maxChunkCount * 2;
+        val packingPolicy = new SegmentPackingPolicy(DEFAULT_PACKING_POLICY.getMaxSegmentLength(),
+                DEFAULT_PACKING_POLICY.getMaxPackLength(), maxChunkCount);
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, packingPolicy);
+        s.initialize(1);
+        val writtenData = populate(s, 1, writeCount, WRITE_LENGTH);
+        val segmentName = writtenData.keySet().iterator().next();
+        val handle = (RollingSegmentHandle) s.openRead(segmentName);
+        AssertExtensions.assertLessThan("Expected the Segment to be below the packing threshold.",
+                packingPolicy.getMaxSegmentLength(), handle.length());
+        val chunks = handle.chunks();
+        for (int i = 0; i < chunks.size(); i++) {
+            Assert.assertEquals("Unexpected packing status for " + chunks.get(i), i < maxChunkCount, chunks.get(i).isPacked());
+        }
+
+        Assert.assertEquals("Unexpected number of SegmentChunks.", maxChunkCount + 1, chunks.size());
+        checkWrittenData(writtenData, s);
+    }
+
+    /**
+     * Tests the ability to concat a packed Segment into another Segment (which is done using the header merge method).
+     */
+    @Test
+    public void testConcatPacked() throws Exception {
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        val writtenData = populate(s, 2, WRITE_COUNT, WRITE_LENGTH);
+        val names = new ArrayList<String>(writtenData.keySet());
+        val targetName = names.get(0);
+        val sourceName = names.get(1);
+
+        val sourceHandle = (RollingSegmentHandle) s.openWrite(sourceName);
+        int sourceChunkCount = sourceHandle.chunks().size();
+        s.seal(sourceHandle);
+        val targetHandle = (RollingSegmentHandle) s.openWrite(targetName);
+        int targetChunkCount = targetHandle.chunks().size();
+        s.concat(targetHandle, targetHandle.length(), sourceName);
+        writtenData.get(targetName).write(writtenData.remove(sourceName).toByteArray());
+
+        Assert.assertFalse("Expecting the source segment to not exist anymore.", s.exists(sourceName));
+        Assert.assertEquals("Unexpected number of SegmentChunks in target.", targetChunkCount + sourceChunkCount, targetHandle.chunks().size());
+        Assert.assertTrue("Expecting all SegmentChunks to be packed.", targetHandle.chunks().stream().allMatch(SegmentChunk::isPacked));
+        checkWrittenData(writtenData, s);
+
+        // Verify we can continue writing to the target after the concat.
+        val appendData = new byte[WRITE_LENGTH];
+        new Random(0).nextBytes(appendData);
+        s.write(targetHandle, targetHandle.length(), new ByteArrayInputStream(appendData), appendData.length);
+        writtenData.get(targetName).write(appendData);
+        checkWrittenData(writtenData, s);
+
+        // Reload the handle and verify nothing strange happened in Storage.
+        val targetHandle2 = (RollingSegmentHandle) s.openWrite(targetName);
+        Assert.assertEquals("Unexpected number of SegmentChunks in reloaded target handle.", targetHandle.chunks().size(), targetHandle2.chunks().size());
+        Assert.assertEquals("Unexpected reloaded target length.", targetHandle.length(), targetHandle2.length());
+    }
+
+    /**
+     * Tests the ability to truncate packed Segments.
+     */
+    @Test
+    public void testTruncatePacked() throws Exception {
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        val writtenData = populate(s, 1, WRITE_COUNT, WRITE_LENGTH);
+        val segmentName = writtenData.keySet().iterator().next();
+        val data = writtenData.get(segmentName).toByteArray();
+        val handle = (RollingSegmentHandle) s.openWrite(segmentName);
+
+        for (int truncateOffset = 0; truncateOffset <= data.length; truncateOffset += WRITE_LENGTH / 2) {
+            s.truncate(handle, truncateOffset);
+            for (SegmentChunk c : handle.chunks()) {
+                boolean expectedExists = c.getLastOffset() > truncateOffset;
+                Assert.assertEquals("Unexpected SegmentChunk truncation status for " + c, expectedExists, c.exists());
+                if (!expectedExists) {
+                    AssertExtensions.assertThrows(
+                            "Not expecting a read from a truncated SegmentChunk to work.",
+                            () -> s.read(handle, c.getLastOffset() - 1, new byte[1], 0, 1),
+                            ex -> ex instanceof StreamSegmentTruncatedException);
+                }
+            }
+
+            checkWrittenData(data, truncateOffset, handle, s);
+        }
+
+        Assert.assertEquals("Unexpected length after full truncation.", data.length, s.getStreamSegmentInfo(segmentName).getLength());
+    }
+
+    /**
+     * Tests the fact that packs (and their release logs) are deleted once all of their contents have been released.
+     */
+    @Test
+    public void testReclaimPacks() throws Exception {
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        val writtenData = populate(s, SEGMENT_COUNT, WRITE_COUNT, WRITE_LENGTH);
+
+        // Collect all packs, in the order in which they were created.
+        val packNames = new ArrayList<String>();
+        for (String segmentName : writtenData.keySet()) {
+            val handle = (RollingSegmentHandle) s.openRead(segmentName);
+            handle.chunks().stream().map(SegmentChunk::getName).filter(n -> !packNames.contains(n)).forEach(packNames::add);
+        }
+
+        Assert.assertTrue("Expected more than one pack.", packNames.size() > 1);
+        val activePack = getActivePack(s, writtenData.keySet());
+
+        // Truncate half of the Segments and delete the other half.
+        int index = 0;
+        for (val e : writtenData.entrySet()) {
+            val handle = s.openWrite(e.getKey());
+            if (index++ % 2 == 0) {
+                s.truncate(handle, e.getValue().size());
+            } else {
+                s.delete(handle);
+            }
+        }
+
+        // All packs but the active one should have been reclaimed.
+        for (String packName : packNames) {
+            boolean expectedExists = packName.equals(activePack);
+            Assert.assertEquals("Unexpected pack existence for " + packName, expectedExists, baseStorage.exists(packName));
+            Assert.assertEquals("Unexpected release log existence for " + packName, expectedExists,
+                    baseStorage.exists(SegmentPacker.getReleaseLogName(packName)));
+        }
+    }
+
+    /**
+     * Tests the SegmentPacker.ReleasedRanges class.
+     */
+    @Test
+    public void testReleasedRanges() {
+        Assert.assertTrue("Empty range.", ranges().isReleased(0, 0));
+        Assert.assertFalse("No releases.", ranges().isReleased(0, 10));
+        Assert.assertTrue("Single range.", ranges(0, 10).isReleased(0, 10));
+        Assert.assertTrue("Out of order.", ranges(5, 5, 0, 5).isReleased(0, 10));
+        Assert.assertTrue("Overlapping and duplicates.", ranges(0, 6, 3, 4, 3, 4, 7, 3).isReleased(0, 10));
+        Assert.assertTrue("Range spanning several others.", ranges(0, 2, 4, 2, 8, 2, 1, 8).isReleased(0, 10));
+        Assert.assertFalse("Gap at the beginning.", ranges(1, 9).isReleased(0, 10));
+        Assert.assertFalse("Gap in the middle.", ranges(0, 4, 5, 5).isReleased(0, 10));
+        Assert.assertFalse("Gap at the end.", ranges(0, 9).isReleased(0, 10));
+        Assert.assertTrue("Sub-range.", ranges(0, 4, 20, 10, 4, 6).isReleased(3, 7));
+        Assert.assertFalse("Sub-range with gap.", ranges(0, 4, 5, 5).isReleased(3, 7));
+        Assert.assertTrue("Sub-range after gap.", ranges(0, 4, 5, 5).isReleased(5, 5));
+
+        Assert.assertEquals("Unexpected prefix with no releases.", 0, ranges().getReleasedPrefixLength());
+        Assert.assertEquals("Unexpected prefix with gap at the beginning.", 0, ranges(1, 9).getReleasedPrefixLength());
+        Assert.assertEquals("Unexpected prefix with gap in the middle.", 4, ranges(5, 5, 0, 4).getReleasedPrefixLength());
+        Assert.assertEquals("Unexpected prefix with adjacent ranges.", 10, ranges(4, 6, 0, 4).getReleasedPrefixLength());
+    }
+
+    /**
+     * Tests the ability to write to packs concurrently. Each concurrent write must go to a different pack, and writes
+     * must not wait for one another.
+     */
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        @Cleanup
+        val baseStorage = new InMemoryStorage();
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        s.create("Segment_1");
+        s.create("Segment_2");
+        val handle1 = s.openWrite("Segment_1");
+        val handle2 = s.openWrite("Segment_2");
+
+        // Begin a write to the first Segment, but do not let it complete until we have written to the second one.
+        val firstWriteStarted = new CompletableFuture<Void>();
+        val secondWriteCompleted = new CompletableFuture<Void>();
+        val blockingData = new ByteArrayInputStream(new byte[WRITE_LENGTH]) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                firstWriteStarted.complete(null);
+                secondWriteCompleted.join();
+                return super.read(b, off, len);
+            }
+        };
+
+        val firstWrite = CompletableFuture.runAsync(() -> {
+            try {
+                s.write(handle1, 0, blockingData, WRITE_LENGTH);
+            } catch (StreamSegmentException ex) {
+                throw new CompletionException(ex);
+            }
+        }, executorService());
+        firstWriteStarted.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        s.write(handle2, 0, new ByteArrayInputStream(new byte[WRITE_LENGTH]), WRITE_LENGTH);
+        secondWriteCompleted.complete(null);
+        firstWrite.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+        val pack1 = ((RollingSegmentHandle) s.openRead("Segment_1")).lastChunk().getName();
+        val pack2 = ((RollingSegmentHandle) s.openRead("Segment_2")).lastChunk().getName();
+        Assert.assertNotEquals("Expected concurrent writes to go to different packs.", pack1, pack2);
+
+        // Subsequent (non-concurrent) writes should reuse one of these packs.
+        s.write(handle1, WRITE_LENGTH, new ByteArrayInputStream(new byte[WRITE_LENGTH]), WRITE_LENGTH);
+        val pack3 = ((RollingSegmentHandle) s.openRead("Segment_1")).lastChunk().getName();
+        Assert.assertTrue("Expected an existing pack to be reused.", pack3.equals(pack1) || pack3.equals(pack2));
+    }
+
+    /**
+     * Tests the fact that release logs are only read once per pack (and not at all for packs created by the same instance).
+     */
+    @Test
+    public void testReleaseLogReads() throws Exception {
+        val releaseLogReads = new AtomicInteger();
+        @Cleanup
+        val baseStorage = new InMemoryStorage() {
+            @Override
+            public int read(SegmentHandle handle, long offset, byte[] buffer, int bufferOffset, int length) throws StreamSegmentNotExistsException {
+                if (handle.getSegmentName().endsWith(SegmentPacker.getReleaseLogName(""))) {
+                    releaseLogReads.incrementAndGet();
+                }
+
+                return super.read(handle, offset, buffer, bufferOffset, length);
+            }
+        };
+        @Cleanup
+        val s = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        s.initialize(1);
+        val writtenData = populate(s, SEGMENT_COUNT, WRITE_COUNT, WRITE_LENGTH);
+        val segmentName = writtenData.keySet().iterator().next();
+        val data = writtenData.remove(segmentName).toByteArray();
+        s.truncate(s.openWrite(segmentName), WRITE_LENGTH);
+        checkWrittenData(data, WRITE_LENGTH, s.openRead(segmentName), s);
+        checkWrittenData(writtenData, s);
+        Assert.assertEquals("Not expecting any release log reads for packs created by this instance.", 0, releaseLogReads.get());
+
+        // A new instance needs to read every release log, but only once.
+        @Cleanup
+        val s2 = new RollingStorage(baseStorage, DEFAULT_ROLLING_POLICY, DEFAULT_PACKING_POLICY);
+        val packNames = new HashSet<String>();
+        for (String name : writtenData.keySet()) {
+            ((RollingSegmentHandle) s2.openRead(name)).chunks().forEach(c -> packNames.add(c.getName()));
+        }
+
+        checkWrittenData(writtenData, s2);
+
+        AssertExtensions.assertLessThanOrEqual("Expected at most one read per release log.", packNames.size(), releaseLogReads.get());
+        int expectedReads = releaseLogReads.get();
+        checkWrittenData(data, WRITE_LENGTH, s2.openRead(segmentName), s2);
+        AssertExtensions.assertThrows(
+                "Not expecting a read from a truncated SegmentChunk to work.",
+                () -> s2.read(s2.openRead(segmentName), 0, new byte[1], 0, 1),
+                ex -> ex instanceof StreamSegmentTruncatedException);
+        Assert.assertEquals("Not expecting any more release log reads.", expectedReads, releaseLogReads.get());
+    }
+
+    //region StorageTestBase Implementation
+
+    @Override
+    protected Storage createStorage() {
+        return wrap(new InMemoryStorage());
+    }
+
+    @Override
+    protected Storage wrap(SyncStorage storage) {
+        // Pack the first part of each Segment, and make packs small enough so that writes are split across them.
+        val packingPolicy = new SegmentPackingPolicy(DEFAULT_ROLLING_SIZE * 2, DEFAULT_ROLLING_SIZE * 3);
+        return new AsyncStorageWrapper(new RollingStorage(storage, new SegmentRollingPolicy(DEFAULT_ROLLING_SIZE), packingPolicy), executorService());
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private Map<String, ByteArrayOutputStream> populate(RollingStorage s, int segmentCount, int writeCount, int writeLength) throws Exception {
+        val result = new HashMap<String, ByteArrayOutputStream>();
+        val handles = new ArrayList<SegmentHandle>();
+        for (int i = 0; i < segmentCount; i++) {
+            String segmentName = "Segment_" + i;
+            s.create(segmentName);
+            handles.add(s.openWrite(segmentName));
+            result.put(segmentName, new ByteArrayOutputStream());
+        }
+
+        // Interleave the writes, so that multiple Segments share the same packs.
+        final Random rnd = new Random(0);
+        for (int i = 0; i < writeCount; i++) {
+            for (SegmentHandle handle : handles) {
+                val writeStream = result.get(handle.getSegmentName());
+                byte[] appendData = new byte[writeLength];
+                rnd.nextBytes(appendData);
+                s.write(handle, writeStream.size(), new ByteArrayInputStream(appendData), appendData.length);
+                writeStream.write(appendData);
+            }
+        }
+
+        return result;
+    }
+
+    private String getActivePack(RollingStorage s, Set<String> segmentNames) throws StreamSegmentException {
+        // The active pack is the one containing the last write, which is the last SegmentChunk of the last Segment.
+        val lastSegment = segmentNames.stream().max(String::compareTo).get();
+        return ((RollingSegmentHandle) s.openRead(lastSegment)).lastChunk().getName();
+    }
+
+    private SegmentPacker.ReleasedRanges ranges(long... values) {
+        val result = new SegmentPacker.ReleasedRanges();
+        for (int i = 0; i < values.length; i += 2) {
+            result.add(values[i], values[i + 1]);
+        }
+
+        return result;
+    }
+
+    private void checkWrittenData(Map<String, ByteArrayOutputStream> writtenData, RollingStorage s) throws StreamSegmentException {
+        for (val e : writtenData.entrySet()) {
+            checkWrittenData(e.getValue().toByteArray(), 0, s.openRead(e.getKey()), s);
+        }
+    }
+
+    private void checkWrittenData(byte[] writtenData, int offset, SegmentHandle readHandle, RollingStorage s) throws StreamSegmentException {
+        byte[] readBuffer = new byte[writtenData.length - offset];
+        if (readBuffer.length == 0) {
+            // Nothing to check.
+            return;
+        }
+
+        int bytesRead = s.read(readHandle, offset, readBuffer, 0, readBuffer.length);
+        Assert.assertEquals("Unexpected number of bytes read.", readBuffer.length, bytesRead);
+        AssertExtensions.assertArrayEquals("Unexpected data read back.", writtenData, offset, readBuffer, 0, readBuffer.length);
+    }
+
+    //endregion
+}
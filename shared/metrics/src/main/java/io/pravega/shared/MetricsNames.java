@@ -70,6 +70,7 @@ public final class MetricsNames {
     public static final String SEGMENT_DELETE_LATENCY = PREFIX + "segmentstore.segment.delete_latency_ms";              // Histogram
     public static final String SEGMENT_READ_LATENCY = PREFIX + "segmentstore.segment.read_latency_ms";                  // Histogram
     public static final String SEGMENT_WRITE_LATENCY = PREFIX + "segmentstore.segment.write_latency_ms";                // Histogram
+    public static final String SEGMENT_APPEND_QUEUE_LATENCY = PREFIX + "segmentstore.segment.append_queue_latency_ms";  // Histogram
     public static final String SEGMENT_READ_BYTES = PREFIX + "segmentstore.segment.read_bytes";                         // Counter and Per-segment Counter
     public static final String SEGMENT_WRITE_BYTES = PREFIX + "segmentstore.segment.write_bytes";                       // Counter and Per-segment Counter
     public static final String SEGMENT_WRITE_EVENTS = PREFIX + "segmentstore.segment.write_events";                     // Counter and Per-segment Counter
@@ -98,13 +99,29 @@ public final class MetricsNames {
     public static final String STORAGE_WRITE_BYTES = PREFIX + "segmentstore.storage.write_bytes";        // Counter
     public static final String STORAGE_CREATE_COUNT = PREFIX + "segmentstore.storage.create_count";      // Counter
 
-    // Cache (RocksDB) stats
+    // Cache stats
     public static final String CACHE_INSERT_LATENCY = PREFIX + "segmentstore.cache.insert_latency_ms";   // Histogram
     public static final String CACHE_WRITE_BYTES = PREFIX + "segmentstore.cache.write_bytes";            // Counter
     public static final String CACHE_GET_LATENCY = PREFIX + "segmentstore.cache.get_latency_ms";         // Histogram
     public static final String CACHE_READ_BYTES = PREFIX + "segmentstore.cache.read_bytes";              // Counter
     public static final String CACHE_TOTAL_SIZE_BYTES = PREFIX + "segmentstore.cache.size_bytes";        // Gauge
     public static final String CACHE_GENERATION_SPREAD = PREFIX + "segmentstore.cache.gen";              // Histogram
+    public static final String CACHE_PROBATIONARY_SIZE_BYTES = PREFIX + "segmentstore.cache.probationary_size_bytes"; // Gauge
+    public static final String CACHE_CLASS_SIZE_BYTES = PREFIX + "segmentstore.cache.class_size_bytes"; // Per-priority-class Gauge
+    public static final String CACHE_HIT_BYTES = PREFIX + "segmentstore.cache.hit_bytes";                // Counter
+    public static final String CACHE_MISS_BYTES = PREFIX + "segmentstore.cache.miss_bytes";              // Counter
+    public static final String CACHE_DIRECT_MEMORY_ALLOCATED_BYTES = PREFIX + "segmentstore.cache.direct_memory.allocated_bytes"; // Gauge
+
+    // Read Index stats
+    public static final String READ_INDEX_READ_AHEAD_BYTES = PREFIX + "segmentstore.readindex.read_ahead_bytes";                 // Per-container Counter
+    public static final String READ_INDEX_READ_AHEAD_HIT_BYTES = PREFIX + "segmentstore.readindex.read_ahead_hit_bytes";         // Per-container Counter
+    public static final String READ_INDEX_READ_AHEAD_WASTED_BYTES = PREFIX + "segmentstore.readindex.read_ahead_wasted_bytes";   // Per-container Counter
+    public static final String READ_INDEX_READ_AHEAD_PENDING_BYTES = PREFIX + "segmentstore.readindex.read_ahead_pending_bytes"; // Per-container Gauge
+    public static final String READ_INDEX_COMPRESSION_INPUT_BYTES = PREFIX + "segmentstore.readindex.compression_input_bytes";   // Per-container Counter
+    public static final String READ_INDEX_COMPRESSION_OUTPUT_BYTES = PREFIX + "segmentstore.readindex.compression_output_bytes"; // Per-container Counter
+    public static final String READ_INDEX_COMPRESSION_NANOS = PREFIX + "segmentstore.readindex.compression_nanos";               // Per-container Counter
+    public static final String READ_INDEX_DECOMPRESSION_BYTES = PREFIX + "segmentstore.readindex.decompression_bytes";           // Per-container Counter
+    public static final String READ_INDEX_DECOMPRESSION_NANOS = PREFIX + "segmentstore.readindex.decompression_nanos";           // Per-container Counter
 
     // DurableDataLog (Tier1) stats
     public static final String BK_TOTAL_WRITE_LATENCY = PREFIX + "segmentstore.bookkeeper.total_write_latency_ms";   // Including Queue. Per-container Histogram
@@ -112,6 +129,7 @@ public final class MetricsNames {
     public static final String BK_WRITE_BYTES = PREFIX + "segmentstore.bookkeeper.write_bytes";                      // Counter
     public static final String BK_WRITE_QUEUE_SIZE = PREFIX + "segmentstore.bookkeeper.write_queue_size";            // Per-container Histogram
     public static final String BK_WRITE_QUEUE_FILL_RATE = PREFIX + "segmentstore.bookkeeper.write_queue_fill";       // Per-container Histogram
+    public static final String BK_WRITE_QUEUE_WAIT_TIME = PREFIX + "segmentstore.bookkeeper.write_queue_wait_time_ms"; // Per-container Histogram
     public static final String BK_LEDGER_COUNT = PREFIX + "segmentstore.bookkeeper.ledger_count";                    // Per-container Gauge
 
     // Segment container metrics
@@ -133,13 +151,20 @@ public final class MetricsNames {
     public static final String OPERATION_QUEUE_SIZE = PREFIX + "segmentstore.container.operation_queue.size";                                // Per-container Histogram
     public static final String OPERATION_PROCESSOR_IN_FLIGHT = PREFIX + "segmentstore.container.operation_processor.in_flight";              // Per-container Histogram
     public static final String OPERATION_QUEUE_WAIT_TIME = PREFIX + "segmentstore.container.operation_queue.wait_time";                      // Per-container Histogram
+    public static final String OPERATION_SERIALIZATION_LATENCY = PREFIX + "segmentstore.container.operation_serialization.latency_us";       // Per-container Histogram
+    public static final String OPERATION_LOG_WRITE_LATENCY = PREFIX + "segmentstore.container.operation_log.write_latency_ms";               // Per-container Histogram
     public static final String OPERATION_PROCESSOR_DELAY_MILLIS = PREFIX + "segmentstore.container.operation_processor.delay_ms";            // Per-container Histogram
+    public static final String OPERATION_PROCESSOR_BATCHING_DELAY_MILLIS = PREFIX + "segmentstore.container.operation_processor.batching_delay_ms"; // Per-container Histogram
     public static final String OPERATION_COMMIT_LATENCY = PREFIX + "segmentstore.container.operation_commit.latency_ms";                     // Per-container Histogram
     public static final String OPERATION_LATENCY = PREFIX + "segmentstore.container.operation.latency_ms";                                   // Per-container Histogram
     public static final String OPERATION_COMMIT_MEMORY_COUNT = PREFIX + "segmentstore.container.operation_commit.memory_count";              // Per-container Histogram
     public static final String OPERATION_COMMIT_MEMORY_LATENCY = PREFIX + "segmentstore.container.operation_commit.memory_latency_ms";       // Per-container Histogram
     public static final String OPERATION_LOG_SIZE = PREFIX + "segmentstore.container.operation.log_size";                                    // Per-container Counter
 
+    // Storage writer metrics
+    public static final String STORAGE_WRITER_FLUSH_THRESHOLD_BYTES = PREFIX + "segmentstore.container.storage_writer.flush_threshold_bytes"; // Per-container Histogram
+    public static final String STORAGE_WRITER_FLUSH_THRESHOLD_MILLIS = PREFIX + "segmentstore.container.storage_writer.flush_threshold_ms";  // Per-container Histogram
+
     // Segment container metadata
     public static final String ACTIVE_SEGMENT_COUNT = PREFIX + "segmentstore.container.active_segments";   // Per-container Gauge
 
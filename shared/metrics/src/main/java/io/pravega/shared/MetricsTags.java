@@ -24,6 +24,7 @@ public final class MetricsTags {
     public static final String TAG_SEGMENT = "segment";
     public static final String TAG_TRANSACTION = "transaction";
     public static final String TAG_EPOCH = "epoch";
+    public static final String TAG_CACHE_CLASS = "cacheClass";
 
     private static final String TRANSACTION_DELIMITER = "#transaction.";
     private static final String EPOCH_DELIMITER = ".#epoch.";
@@ -49,6 +50,15 @@ public final class MetricsTags {
         return new String[] {TAG_CONTAINER, String.valueOf(containerId)};
     }
 
+    /**
+     * Generate a cache priority class tag (string array) on the input class name to be associated with a metric.
+     * @param priorityClass name of the cache priority class.
+     * @return string array as the cache priority class tag of metric.
+     */
+    public static String[] cacheClassTag(String priorityClass) {
+        return new String[] {TAG_CACHE_CLASS, priorityClass};
+    }
+
     /**
      * Generate a host tag (string array) on the input hostname to be associated with a metric.
      * @param hostname hostname of the metric.
@@ -12,6 +12,7 @@ package io.pravega.shared.protocol.netty;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.CorruptedFrameException;
 import io.pravega.shared.segment.ScaleType;
@@ -813,7 +814,18 @@ public final class WireCommands {
             out.writeBoolean(endOfSegment);
             int dataLength = data.remaining();
             out.writeInt(dataLength);
-            out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            if (data.hasArray()) {
+                out.write(data.array(), data.arrayOffset() + data.position(), dataLength);
+            } else if (out instanceof ByteBufOutputStream) {
+                // Read-only or direct buffers (i.e., views over cached data) have no accessible array; copy them straight
+                // into the outbound buffer instead.
+                ((ByteBufOutputStream) out).buffer().writeBytes(data.duplicate());
+            } else {
+                byte[] array = new byte[dataLength];
+                data.duplicate().get(array);
+                out.write(array);
+            }
+
             out.writeLong(requestId);
         }
 
@@ -172,6 +172,11 @@ public class EndToEndStatsTest {
             }
         }
 
+        @Override
+        public void recordAppendQueueWait(Duration elapsed) {
+
+        }
+
         @Override
         public void merge(String streamSegmentName, long dataLength, int numOfEvents, long txnCreationTime) {
             Counter eventCounter = registry.counter(SEGMENT_WRITE_EVENTS, segmentTags(streamSegmentName));